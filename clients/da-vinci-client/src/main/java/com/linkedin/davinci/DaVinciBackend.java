@@ -319,7 +319,8 @@ public class DaVinciBackend implements Closeable {
             backendConfig.getBlobTransferServiceWriteLimitBytesPerSec(),
             backendConfig.getSnapshotCleanupIntervalInMins(),
             backendConfig.getMaxConcurrentBlobReceiveReplicas(),
-            backendConfig.getBlobTransferClientNettyWorkerThreadCount());
+            backendConfig.getBlobTransferClientNettyWorkerThreadCount(),
+            backendConfig.getBlobTransferMaxParallelPeersPerReplica());
 
         blobTransferManager = new BlobTransferManagerBuilder().setBlobTransferConfig(p2PBlobTransferConfig)
             .setClientConfig(clientConfig)
@@ -10,6 +10,7 @@ import com.linkedin.davinci.listener.response.NoOpReadResponseStats;
 import com.linkedin.davinci.notifier.DaVinciPushStatusUpdateTask;
 import com.linkedin.davinci.stats.ingestion.heartbeat.HeartbeatLagMonitorAction;
 import com.linkedin.davinci.storage.chunking.AbstractAvroChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.BatchValueCallback;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.compression.VeniceCompressor;
@@ -254,6 +255,33 @@ public class VersionBackend {
         compressor.get());
   }
 
+  /**
+   * Reads the values of {@param keyBytesList}, which all belong to {@param userPartition}, with a single batched lookup
+   * in the storage engine. {@param callback} is invoked with the index of each key in the list, and a null value for
+   * the missing keys. The list may be modified in place.
+   */
+  public <V> void readInBatch(
+      int userPartition,
+      List<byte[]> keyBytesList,
+      AbstractAvroChunkingAdapter<V> chunkingAdaptor,
+      StoreDeserializerCache<V> storeDeserializerCache,
+      int readerSchemaId,
+      BinaryDecoder binaryDecoder,
+      BatchValueCallback<V> callback) {
+    chunkingAdaptor.getInBatch(
+        getStorageEngineOrThrow(),
+        userPartition,
+        keyBytesList,
+        null,
+        binaryDecoder,
+        version.isChunkingEnabled(),
+        NoOpReadResponseStats.SINGLETON,
+        readerSchemaId,
+        storeDeserializerCache,
+        compressor.get(),
+        callback);
+  }
+
   public GenericRecord compute(
       int userPartition,
       byte[] keyBytes,
@@ -0,0 +1,57 @@
+package com.linkedin.davinci.blobtransfer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+
+/**
+ * This class describes a file the blob transfer client already has, which the server does not need to send again
+ * if its snapshot contains the same file. The checksum is null when the client only advertises the name and size of
+ * its files, in which case it verifies the checksum of its copy once the server reports the file as reused.
+ */
+public class BlobTransferFileInfo {
+  public String fileName;
+  public long fileSize;
+  public String fileChecksum;
+
+  public BlobTransferFileInfo() {
+  }
+
+  public BlobTransferFileInfo(
+      @JsonProperty("fileName") String fileName,
+      @JsonProperty("fileSize") long fileSize,
+      @JsonProperty("fileChecksum") String fileChecksum) {
+    this.fileName = fileName;
+    this.fileSize = fileSize;
+    this.fileChecksum = fileChecksum;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getFileSize() {
+    return fileSize;
+  }
+
+  public void setFileSize(long fileSize) {
+    this.fileSize = fileSize;
+  }
+
+  public String getFileChecksum() {
+    return fileChecksum;
+  }
+
+  public void setFileChecksum(String fileChecksum) {
+    this.fileChecksum = fileChecksum;
+  }
+
+  @Override
+  public String toString() {
+    return "BlobTransferFileInfo {" + " fileName=" + fileName + ", fileSize=" + fileSize + ", fileChecksum="
+        + fileChecksum + " }";
+  }
+}
@@ -182,6 +182,7 @@ public class BlobTransferManagerBuilder {
           blobTransferConfig.getBaseDir(),
           getAggBlobTransferStats().getAggVersionedBlobTransferStats(),
           blobTransferConfig.getMaxConcurrentBlobReceiveReplicas(),
+          blobTransferConfig.getMaxParallelPeersPerReplica(),
           logContext);
 
       // start the P2P blob transfer manager
@@ -0,0 +1,26 @@
+package com.linkedin.davinci.blobtransfer;
+
+import java.util.List;
+
+
+/**
+ * The manifest of the snapshot of a partition on a peer: the name, size and checksum of all its files, along with
+ * the metadata of the partition at the time of the snapshot.
+ */
+public class BlobTransferManifest {
+  private final List<BlobTransferFileInfo> fileInfos;
+  private final BlobTransferPartitionMetadata partitionMetadata;
+
+  public BlobTransferManifest(List<BlobTransferFileInfo> fileInfos, BlobTransferPartitionMetadata partitionMetadata) {
+    this.fileInfos = fileInfos;
+    this.partitionMetadata = partitionMetadata;
+  }
+
+  public List<BlobTransferFileInfo> getFileInfos() {
+    return fileInfos;
+  }
+
+  public BlobTransferPartitionMetadata getPartitionMetadata() {
+    return partitionMetadata;
+  }
+}
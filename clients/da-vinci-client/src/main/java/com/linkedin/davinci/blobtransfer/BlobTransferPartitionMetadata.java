@@ -1,6 +1,11 @@
 package com.linkedin.davinci.blobtransfer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
 
 
 /**
@@ -11,6 +16,13 @@ public class BlobTransferPartitionMetadata {
   public int partitionId;
   public java.nio.ByteBuffer offsetRecord;
   public java.nio.ByteBuffer storeVersionState;
+  /**
+   * The checksums of the snapshot files, keyed by file name. The files of a snapshot are immutable, and a new metadata
+   * is prepared whenever the snapshot is recreated, so each checksum is computed once and reused by all the transfers
+   * of the snapshot. This is only kept on the server side, since each file carries its checksum in its response.
+   */
+  @JsonIgnore
+  private final Map<String, String> fileChecksums = new VeniceConcurrentHashMap<>();
 
   public BlobTransferPartitionMetadata() {
   }
@@ -58,6 +70,22 @@ public class BlobTransferPartitionMetadata {
     return storeVersionState;
   }
 
+  /**
+   * Get the checksum of a snapshot file, computing it on the first call for this file.
+   * @param file the snapshot file
+   * @return the MD5 checksum of the file as a hex string
+   * @throws IOException if the checksum can not be computed
+   */
+  public String getFileChecksum(File file) throws IOException {
+    String checksum = fileChecksums.get(file.getName());
+    if (checksum == null) {
+      // Concurrent transfers may both compute the checksum of the same file, which yields the same value.
+      checksum = BlobTransferUtils.generateFileChecksum(file.toPath());
+      fileChecksums.put(file.getName(), checksum);
+    }
+    return checksum;
+  }
+
   @Override
   public String toString() {
     return "BlobTransferPartitionMetadata {" + " topicName='" + topicName + ", partitionId=" + partitionId
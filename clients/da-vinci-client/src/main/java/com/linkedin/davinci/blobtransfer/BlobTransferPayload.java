@@ -1,6 +1,7 @@
 package com.linkedin.davinci.blobtransfer;
 
 import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composePartitionDbDir;
+import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composeReusableFilesDir;
 import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composeSnapshotDir;
 import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composeTempPartitionDir;
 
@@ -17,6 +18,7 @@ public class BlobTransferPayload {
   private final String baseDir;
   private final String partitionDir;
   private final String tempPartitionDir;
+  private final String reusableFilesDir;
   private final String storeName;
   private final BlobTransferTableFormat requestTableFormat;
 
@@ -32,6 +34,7 @@ public class BlobTransferPayload {
     this.topicName = storeName + "_v" + version;
     this.partitionDir = composePartitionDbDir(baseDir, topicName, partition);
     this.tempPartitionDir = composeTempPartitionDir(baseDir, topicName, partition);
+    this.reusableFilesDir = composeReusableFilesDir(baseDir, topicName, partition);
     this.requestTableFormat = requestTableFormat;
   }
 
@@ -47,6 +50,10 @@ public class BlobTransferPayload {
     return tempPartitionDir;
   }
 
+  public String getReusableFilesDir() {
+    return reusableFilesDir;
+  }
+
   public String getSnapshotDir() {
     return composeSnapshotDir(partitionDir);
   }
@@ -160,5 +160,11 @@ public class BlobTransferStatusTrackingManager {
           "No active channel found for replica {}. Transfer may not be in progress or already completed.",
           replicaId);
     }
+
+    // Step 3: Close the channels of the files requests, if the replica is fetched from several peers at the same time
+    for (Channel filesChannel: nettyClient.getActiveFilesChannels(replicaId)) {
+      LOGGER.info("Closing active files channel {} for replica {}", filesChannel, replicaId);
+      filesChannel.close();
+    }
   }
 }
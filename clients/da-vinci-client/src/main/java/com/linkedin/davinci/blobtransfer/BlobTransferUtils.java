@@ -22,6 +22,9 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,9 +35,46 @@ public class BlobTransferUtils {
   public static final String BLOB_TRANSFER_STATUS = "X-Blob-Transfer-Status";
   public static final String BLOB_TRANSFER_COMPLETED = "Completed";
   public static final String BLOB_TRANSFER_TYPE = "X-Blob-Transfer-Type";
+  public static final String BLOB_TRANSFER_REQUEST_TYPE = "X-Blob-Transfer-Request-Type";
+
+  public enum BlobTransferRequestType {
+    /**
+     * All the files and the metadata of the partition, which is the default if the request type is not specified.
+     */
+    PARTITION,
+
+    /**
+     * The name, size and checksum of all the files of the snapshot, followed by the metadata of the partition.
+     */
+    MANIFEST,
+
+    /**
+     * Only the files listed in the request, if the snapshot has them with the same size and checksum.
+     */
+    FILES
+  }
 
   public enum BlobTransferType {
-    FILE, METADATA
+    /**
+     * A file whose content follows the response.
+     */
+    FILE,
+
+    /**
+     * The metadata of the partition, sent after all the files.
+     */
+    METADATA,
+
+    /**
+     * A file the client advertised in its request, which is part of the snapshot as is, so only its name and checksum
+     * are sent, and the client links its own copy.
+     */
+    REUSED_FILE,
+
+    /**
+     * The name, size and checksum of all the files of the snapshot, sent instead of the files themselves.
+     */
+    MANIFEST
   }
 
   public enum BlobTransferTableFormat {
@@ -89,6 +129,51 @@ public class BlobTransferUtils {
     return metadataHeader.equals(BlobTransferUtils.BlobTransferType.METADATA.name());
   }
 
+  /**
+   * Check if the HttpResponse message is for a file the client already has.
+   * @param msg the HttpResponse message
+   * @return true if the message is a reused file message, false otherwise
+   */
+  public static boolean isReusedFileMessage(HttpResponse msg) {
+    String typeHeader = msg.headers().get(BlobTransferUtils.BLOB_TRANSFER_TYPE);
+    if (typeHeader == null) {
+      return false;
+    }
+    return typeHeader.equals(BlobTransferUtils.BlobTransferType.REUSED_FILE.name());
+  }
+
+  /**
+   * Check if the HttpResponse message is for the manifest of the snapshot.
+   * @param msg the HttpResponse message
+   * @return true if the message is a manifest message, false otherwise
+   */
+  public static boolean isManifestMessage(HttpResponse msg) {
+    String typeHeader = msg.headers().get(BlobTransferUtils.BLOB_TRANSFER_TYPE);
+    if (typeHeader == null) {
+      return false;
+    }
+    return typeHeader.equals(BlobTransferUtils.BlobTransferType.MANIFEST.name());
+  }
+
+  /**
+   * Describe the files of the reusable files directory of a partition, to be matched with the files of the peer.
+   * The checksums are left out, since computing them would read the whole previous copy of the partition, so only the
+   * files matching a peer file by name and size should be hashed afterwards, see {@link #generateFileChecksum}.
+   * @param reusableFilesDir the reusable files directory
+   * @return the name and size of each file, or an empty list if the directory does not exist
+   */
+  public static List<BlobTransferFileInfo> getReusableFileInfos(String reusableFilesDir) {
+    File[] files = new File(reusableFilesDir).listFiles();
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    List<BlobTransferFileInfo> fileInfos = new ArrayList<>(files.length);
+    for (File file: files) {
+      fileInfos.add(new BlobTransferFileInfo(file.getName(), file.length(), null));
+    }
+    return fileInfos;
+  }
+
   /**
    * Generate MD5 checksum for a file
    * @param filePath the path to the file
@@ -29,7 +29,9 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -56,6 +58,8 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
       "Replica {} get error when connect to peer: {}. Exception: {}";
   private static final String PEER_NO_SNAPSHOT_MSG =
       "Replica {} peer {} does not have the requested blob. Exception: {}";
+  private static final String FAILED_TO_FETCH_STRIPED_BLOB_MSG =
+      "Replica {} failed to fetch blob from peers {} in parallel, falling back to a single peer. Exception: {}";
   private static final String FAILED_TO_FETCH_BLOB_MSG =
       "Replica {} failed to fetch blob from peer {}. Deleting partially downloaded blobs. Exception: {}";
 
@@ -72,6 +76,10 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
   private final ExecutorService replicaBlobFetchExecutor;
   // Status tracking manager is responsible for coordinating blob transfer cancellations
   private final BlobTransferStatusTrackingManager statusTrackingManager;
+  // Max number of peers a replica fetches its files from at the same time, 1 to fetch all of them from a single peer
+  private final int maxParallelPeersPerReplica;
+  // Only used to stop waiting for the manifests of the slow peers when fetching from several peers, null otherwise
+  private final ScheduledExecutorService manifestTimeoutScheduler;
 
   public NettyP2PBlobTransferManager(
       P2PBlobTransferService blobTransferService,
@@ -81,6 +89,27 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
       AggVersionedBlobTransferStats aggVersionedBlobTransferStats,
       int maxConcurrentBlobReceiveReplicas,
       LogContext logContext) {
+    this(
+        blobTransferService,
+        nettyClient,
+        peerFinder,
+        baseDir,
+        aggVersionedBlobTransferStats,
+        maxConcurrentBlobReceiveReplicas,
+        1,
+        logContext);
+  }
+
+  public NettyP2PBlobTransferManager(
+      P2PBlobTransferService blobTransferService,
+      NettyFileTransferClient nettyClient,
+      BlobFinder peerFinder,
+      String baseDir,
+      AggVersionedBlobTransferStats aggVersionedBlobTransferStats,
+      int maxConcurrentBlobReceiveReplicas,
+      int maxParallelPeersPerReplica,
+      LogContext logContext) {
+    this.maxParallelPeersPerReplica = maxParallelPeersPerReplica;
     this.blobTransferService = blobTransferService;
     this.nettyClient = nettyClient;
     this.peerFinder = peerFinder;
@@ -93,6 +122,10 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
         TimeUnit.SECONDS,
         new LinkedBlockingQueue<>(),
         new DaemonThreadFactory("Venice-BlobTransfer-Replica-Blob-Fetch-Executor", logContext));
+    this.manifestTimeoutScheduler = maxParallelPeersPerReplica > 1
+        ? Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("Venice-BlobTransfer-Manifest-Timeout", logContext))
+        : null;
     this.statusTrackingManager = new BlobTransferStatusTrackingManager(nettyClient);
   }
 
@@ -128,8 +161,18 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
     List<String> discoverPeers = response.getDiscoveryResult();
     List<String> connectablePeers = getConnectableHosts(discoverPeers, storeName, version, partition);
 
-    // 2: Process peers sequentially to fetch the blob
-    processPeersSequentially(connectablePeers, storeName, version, partition, tableFormat, perPartitionTransferFuture);
+    // 2: Process peers in parallel or sequentially to fetch the blob
+    if (maxParallelPeersPerReplica > 1 && connectablePeers.size() > 1) {
+      processPeersInParallel(connectablePeers, storeName, version, partition, tableFormat, perPartitionTransferFuture);
+    } else {
+      processPeersSequentially(
+          connectablePeers,
+          storeName,
+          version,
+          partition,
+          tableFormat,
+          perPartitionTransferFuture);
+    }
 
     return perPartitionTransferFuture;
   }
@@ -255,6 +298,66 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
     });
   }
 
+  /**
+   * Fetch the blob from up to {@link #maxParallelPeersPerReplica} peers at the same time, by striping its files across
+   * the peers whose snapshots have them, see {@link StripedBlobTransfer}. A file which fails to be fetched from a peer
+   * is fetched from another one, and if a file cannot be fetched from any of them, the files received so far are
+   * deleted and the blob is fetched from a single peer at a time with {@link #processPeersSequentially}.
+   *
+   * All the requests go through the same global traffic shaping handler as the single peer transfers, so striping
+   * does not change the total bandwidth used for blob transfer on this host, only how much of it one replica can use.
+   */
+  private void processPeersInParallel(
+      List<String> uniqueConnectablePeers,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat,
+      CompletableFuture<InputStream> perPartitionTransferFuture) {
+    String replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
+    Instant startTime = Instant.now();
+    List<String> stripedPeers =
+        uniqueConnectablePeers.subList(0, Math.min(maxParallelPeersPerReplica, uniqueConnectablePeers.size()));
+    new StripedBlobTransfer(
+        nettyClient,
+        statusTrackingManager,
+        replicaBlobFetchExecutor,
+        manifestTimeoutScheduler,
+        stripedPeers,
+        baseDir,
+        storeName,
+        version,
+        partition,
+        tableFormat).run().whenCompleteAsync((v, throwable) -> {
+          if (throwable == null) {
+            long transferTime = Duration.between(startTime, Instant.now()).getSeconds();
+            LOGGER.info(FETCHED_BLOB_SUCCESS_MSG, replicaId, stripedPeers, transferTime);
+            perPartitionTransferFuture.complete(null);
+            updateBlobTransferFileReceiveStats(transferTime, storeName, version, partition);
+            return;
+          }
+          LOGGER.error(FAILED_TO_FETCH_STRIPED_BLOB_MSG, replicaId, stripedPeers, throwable.getMessage());
+          try {
+            RocksDBUtils.cleanupBothPartitionDirAndTempTransferredDir(storeName, version, partition, baseDir);
+          } catch (Exception e) {
+            perPartitionTransferFuture.completeExceptionally(e);
+            return;
+          }
+          if (statusTrackingManager.isBlobTransferCancelRequested(replicaId)) {
+            perPartitionTransferFuture.completeExceptionally(
+                new VeniceBlobTransferCancelledException(String.format(TRANSFER_CANCELLED_MSG_FORMAT, replicaId)));
+            return;
+          }
+          processPeersSequentially(
+              uniqueConnectablePeers,
+              storeName,
+              version,
+              partition,
+              tableFormat,
+              perPartitionTransferFuture);
+        }, replicaBlobFetchExecutor);
+  }
+
   /**
    * Handle the exception thrown when fetching the blob from a peer.
    */
@@ -285,6 +388,9 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
     nettyClient.close();
     peerFinder.close();
     replicaBlobFetchExecutor.shutdown();
+    if (manifestTimeoutScheduler != null) {
+      manifestTimeoutScheduler.shutdownNow();
+    }
   }
 
   /**
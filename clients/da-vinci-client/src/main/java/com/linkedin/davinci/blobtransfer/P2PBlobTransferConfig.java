@@ -34,6 +34,8 @@ public class P2PBlobTransferConfig {
   private final int maxConcurrentBlobReceiveReplicas;
   // Number of Netty worker (event-loop) threads for the blob transfer client.
   private final int p2pTransferClientNettyWorkerThreadCount;
+  // Max number of peers a replica fetches its files from at the same time.
+  private final int maxParallelPeersPerReplica;
 
   public P2PBlobTransferConfig(
       int p2pTransferServerPort,
@@ -51,6 +53,42 @@ public class P2PBlobTransferConfig {
       int snapshotCleanupIntervalInMins,
       int maxConcurrentBlobReceiveReplicas,
       int p2pTransferClientNettyWorkerThreadCount) {
+    this(
+        p2pTransferServerPort,
+        p2pTransferClientPort,
+        baseDir,
+        maxConcurrentSnapshotUser,
+        snapshotRetentionTimeInMin,
+        blobTransferMaxTimeoutInMin,
+        blobReceiveMaxTimeoutInMin,
+        blobReceiveReaderIdleTimeInSeconds,
+        transferSnapshotTableFormat,
+        peersConnectivityFreshnessInSeconds,
+        blobTransferClientReadLimitBytesPerSec,
+        blobTransferServiceWriteLimitBytesPerSec,
+        snapshotCleanupIntervalInMins,
+        maxConcurrentBlobReceiveReplicas,
+        p2pTransferClientNettyWorkerThreadCount,
+        1);
+  }
+
+  public P2PBlobTransferConfig(
+      int p2pTransferServerPort,
+      int p2pTransferClientPort,
+      String baseDir,
+      int maxConcurrentSnapshotUser,
+      int snapshotRetentionTimeInMin,
+      int blobTransferMaxTimeoutInMin,
+      int blobReceiveMaxTimeoutInMin,
+      int blobReceiveReaderIdleTimeInSeconds,
+      BlobTransferUtils.BlobTransferTableFormat transferSnapshotTableFormat,
+      int peersConnectivityFreshnessInSeconds,
+      long blobTransferClientReadLimitBytesPerSec,
+      long blobTransferServiceWriteLimitBytesPerSec,
+      int snapshotCleanupIntervalInMins,
+      int maxConcurrentBlobReceiveReplicas,
+      int p2pTransferClientNettyWorkerThreadCount,
+      int maxParallelPeersPerReplica) {
     this.p2pTransferServerPort = p2pTransferServerPort;
     this.p2pTransferClientPort = p2pTransferClientPort;
     this.baseDir = baseDir;
@@ -66,6 +104,7 @@ public class P2PBlobTransferConfig {
     this.snapshotCleanupIntervalInMins = snapshotCleanupIntervalInMins;
     this.maxConcurrentBlobReceiveReplicas = maxConcurrentBlobReceiveReplicas;
     this.p2pTransferClientNettyWorkerThreadCount = p2pTransferClientNettyWorkerThreadCount;
+    this.maxParallelPeersPerReplica = maxParallelPeersPerReplica;
   }
 
   public int getP2pTransferServerPort() {
@@ -127,4 +166,8 @@ public class P2PBlobTransferConfig {
   public int getP2pTransferClientNettyWorkerThreadCount() {
     return p2pTransferClientNettyWorkerThreadCount;
   }
+
+  public int getMaxParallelPeersPerReplica() {
+    return maxParallelPeersPerReplica;
+  }
 }
@@ -0,0 +1,345 @@
+package com.linkedin.davinci.blobtransfer;
+
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
+import com.linkedin.davinci.blobtransfer.client.NettyFileTransferClient;
+import com.linkedin.venice.exceptions.VeniceBlobTransferCancelledException;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.exceptions.VenicePeersAllFailedException;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.utils.Utils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Fetches the blob of a single replica from several peers at the same time, by striping its files across them.
+ *
+ * The snapshots of different peers are created independently, so they only share some of their files, i.e. the SST
+ * files which were already there when both snapshots were created. The transfer starts by fetching the manifest of
+ * each peer. The peer whose manifest is received first is the primary: its files and metadata make up the fetched
+ * replica, and each of its files is fetched from the least loaded peer whose snapshot has the identical file (same
+ * name, size and checksum). The manifests of the other peers are only waited for up to
+ * {@link #SECONDARY_MANIFEST_TIMEOUT_IN_MS} after the primary one, and the peers which did not answer by then are not
+ * used, so that a slow peer does not hold up the transfer. Files already kept locally from the previous copy of the
+ * replica are linked instead.
+ *
+ * Files are fetched in rounds, with a single request (and channel) per peer in each round. The files of a failed
+ * request are deleted and fetched from the remaining peers in the next round, without restarting the whole transfer.
+ * Each round either receives a file or removes a candidate peer for it, so the transfer ends once all the files are
+ * received, or fails once a file has no candidate peer left.
+ *
+ * All the steps run on the given executor, and the state is only accessed from one step at a time.
+ */
+class StripedBlobTransfer {
+  private static final Logger LOGGER = LogManager.getLogger(StripedBlobTransfer.class);
+  static final long SECONDARY_MANIFEST_TIMEOUT_IN_MS = TimeUnit.SECONDS.toMillis(2);
+
+  private final NettyFileTransferClient nettyClient;
+  private final BlobTransferStatusTrackingManager statusTrackingManager;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService timeoutScheduler;
+  private final List<String> peers;
+  private final String storeName;
+  private final int version;
+  private final int partition;
+  private final BlobTransferTableFormat tableFormat;
+  private final String replicaId;
+  private final BlobTransferPayload payload;
+
+  // The files of the snapshot of each peer which can still be fetched from it, by file name
+  private final Map<String, Map<String, BlobTransferFileInfo>> peerFiles = new LinkedHashMap<>();
+  // The files of the primary snapshot which are not received yet
+  private final List<BlobTransferFileInfo> pendingFiles = new ArrayList<>();
+  private BlobTransferPartitionMetadata primaryMetadata;
+
+  StripedBlobTransfer(
+      NettyFileTransferClient nettyClient,
+      BlobTransferStatusTrackingManager statusTrackingManager,
+      ExecutorService executor,
+      ScheduledExecutorService timeoutScheduler,
+      List<String> peers,
+      String baseDir,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat) {
+    this.nettyClient = nettyClient;
+    this.statusTrackingManager = statusTrackingManager;
+    this.executor = executor;
+    this.timeoutScheduler = timeoutScheduler;
+    this.peers = peers;
+    this.storeName = storeName;
+    this.version = version;
+    this.partition = partition;
+    this.tableFormat = tableFormat;
+    this.replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
+    this.payload = new BlobTransferPayload(baseDir, storeName, version, partition, tableFormat);
+  }
+
+  /**
+   * @return a future completed once all the files are received, the metadata is applied and the temp partition dir is
+   *         moved to the partition dir.
+   */
+  CompletableFuture<Void> run() {
+    Map<String, CompletableFuture<BlobTransferManifest>> manifestFutures = new LinkedHashMap<>();
+    // The peers whose manifest was received, in the order they were received
+    List<String> answeredPeers = new ArrayList<>(peers.size());
+    CompletableFuture<Void> manifestsReceived = new CompletableFuture<>();
+    for (String peer: peers) {
+      CompletableFuture<BlobTransferManifest> manifestFuture = CompletableFuture
+          .supplyAsync(
+              () -> nettyClient.getManifest(peer, storeName, version, partition, tableFormat).toCompletableFuture(),
+              executor)
+          .thenCompose(Function.identity());
+      manifestFuture.thenRun(() -> {
+        synchronized (answeredPeers) {
+          answeredPeers.add(peer);
+          if (answeredPeers.size() == 1) {
+            timeoutScheduler.schedule(
+                () -> manifestsReceived.complete(null),
+                SECONDARY_MANIFEST_TIMEOUT_IN_MS,
+                TimeUnit.MILLISECONDS);
+          }
+        }
+      });
+      manifestFutures.put(peer, manifestFuture);
+    }
+    allCompleted(manifestFutures).thenRun(() -> manifestsReceived.complete(null));
+    return manifestsReceived.thenComposeAsync(v -> {
+      List<String> primaryFirstPeers;
+      synchronized (answeredPeers) {
+        primaryFirstPeers = new ArrayList<>(answeredPeers);
+      }
+      collectManifests(manifestFutures, primaryFirstPeers);
+      reuseLocalFiles();
+      return fetchPendingFiles(1);
+    }, executor).thenRunAsync(() -> {
+      checkNotCancelled();
+      nettyClient.finishTransfer(storeName, version, partition, tableFormat, primaryMetadata);
+    }, executor);
+  }
+
+  /**
+   * @param answeredPeers the peers whose manifest was received, in the order they were received.
+   */
+  private void collectManifests(
+      Map<String, CompletableFuture<BlobTransferManifest>> manifestFutures,
+      List<String> answeredPeers) {
+    checkNotCancelled();
+    for (Map.Entry<String, CompletableFuture<BlobTransferManifest>> entry: manifestFutures.entrySet()) {
+      if (entry.getValue().isCompletedExceptionally()) {
+        LOGGER.warn("Replica {} failed to fetch manifest from peer {}", replicaId, entry.getKey());
+      } else if (!answeredPeers.contains(entry.getKey())) {
+        LOGGER.warn("Replica {} timed out fetching manifest from peer {}, which is skipped", replicaId, entry.getKey());
+      }
+    }
+    for (String peer: answeredPeers) {
+      BlobTransferManifest manifest = manifestFutures.get(peer).join();
+      Map<String, BlobTransferFileInfo> files = new HashMap<>(manifest.getFileInfos().size());
+      for (BlobTransferFileInfo fileInfo: manifest.getFileInfos()) {
+        files.put(fileInfo.getFileName(), fileInfo);
+      }
+      if (primaryMetadata == null) {
+        LOGGER.info("Replica {} uses the snapshot of peer {} with {} files", replicaId, peer, files.size());
+        primaryMetadata = manifest.getPartitionMetadata();
+        pendingFiles.addAll(manifest.getFileInfos());
+      }
+      peerFiles.put(peer, files);
+    }
+    if (primaryMetadata == null) {
+      throw new VenicePeersAllFailedException("Replica " + replicaId + " failed to fetch manifest from any peer");
+    }
+  }
+
+  /**
+   * Link the files kept from the previous copy of the replica which are identical to the primary ones. Only the local
+   * files matching a primary file by name and size are hashed, to be compared with its checksum. Any failure only
+   * disables the reuse, since the files can still be fetched.
+   */
+  private void reuseLocalFiles() {
+    try {
+      List<BlobTransferFileInfo> localFiles = BlobTransferUtils.getReusableFileInfos(payload.getReusableFilesDir());
+      if (localFiles.isEmpty()) {
+        return;
+      }
+      Path tempPartitionDir = Files.createDirectories(Paths.get(payload.getTempPartitionDir()));
+      int reusedFileCount = 0;
+      for (BlobTransferFileInfo localFile: localFiles) {
+        BlobTransferFileInfo pendingFile = findPendingFile(localFile);
+        if (pendingFile == null) {
+          continue;
+        }
+        Path reusableFile = Paths.get(payload.getReusableFilesDir()).resolve(localFile.getFileName());
+        if (!BlobTransferUtils.generateFileChecksum(reusableFile).equals(pendingFile.getFileChecksum())) {
+          continue;
+        }
+        Path linkedFile = tempPartitionDir.resolve(localFile.getFileName());
+        Files.deleteIfExists(linkedFile);
+        Files.createLink(linkedFile, reusableFile);
+        pendingFiles.remove(pendingFile);
+        reusedFileCount++;
+      }
+      LOGGER.info("Replica {} reused {} local files", replicaId, reusedFileCount);
+    } catch (Exception e) {
+      LOGGER.warn("Replica {} failed to reuse local files", replicaId, e);
+    }
+  }
+
+  private BlobTransferFileInfo findPendingFile(BlobTransferFileInfo fileInfo) {
+    for (BlobTransferFileInfo pendingFile: pendingFiles) {
+      if (pendingFile.getFileName().equals(fileInfo.getFileName())
+          && pendingFile.getFileSize() == fileInfo.getFileSize()) {
+        return pendingFile;
+      }
+    }
+    return null;
+  }
+
+  private CompletableFuture<Void> fetchPendingFiles(int round) {
+    if (pendingFiles.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    checkNotCancelled();
+    Map<String, List<BlobTransferFileInfo>> assignedFiles = assignPendingFiles();
+
+    Map<String, CompletableFuture<InputStream>> filesFutures = new HashMap<>();
+    for (Map.Entry<String, List<BlobTransferFileInfo>> entry: assignedFiles.entrySet()) {
+      String peer = entry.getKey();
+      LOGGER.info(
+          "Replica {} fetches {} files from peer {} in round {}",
+          replicaId,
+          entry.getValue().size(),
+          peer,
+          round);
+      filesFutures.put(
+          peer,
+          CompletableFuture.supplyAsync(
+              () -> nettyClient.getFiles(peer, storeName, version, partition, tableFormat, entry.getValue())
+                  .toCompletableFuture(),
+              executor).thenCompose(Function.identity()));
+    }
+    return allCompleted(filesFutures).thenComposeAsync(v -> {
+      for (Map.Entry<String, List<BlobTransferFileInfo>> entry: assignedFiles.entrySet()) {
+        collectFiles(entry.getKey(), entry.getValue(), filesFutures.get(entry.getKey()));
+      }
+      return fetchPendingFiles(round + 1);
+    }, executor);
+  }
+
+  /**
+   * Assign each pending file to the peer with the fewest assigned bytes among the ones which have the identical file,
+   * starting from the largest files, so that all the peers finish at about the same time.
+   */
+  private Map<String, List<BlobTransferFileInfo>> assignPendingFiles() {
+    pendingFiles.sort(Comparator.comparingLong(BlobTransferFileInfo::getFileSize).reversed());
+    Map<String, List<BlobTransferFileInfo>> assignedFiles = new LinkedHashMap<>();
+    Map<String, Long> assignedBytes = new HashMap<>();
+    for (BlobTransferFileInfo pendingFile: pendingFiles) {
+      String assignedPeer = null;
+      for (Map.Entry<String, Map<String, BlobTransferFileInfo>> entry: peerFiles.entrySet()) {
+        if (isSameFile(pendingFile, entry.getValue().get(pendingFile.getFileName())) && (assignedPeer == null
+            || assignedBytes.getOrDefault(entry.getKey(), 0L) < assignedBytes.getOrDefault(assignedPeer, 0L))) {
+          assignedPeer = entry.getKey();
+        }
+      }
+      if (assignedPeer == null) {
+        throw new VeniceException(
+            "Replica " + replicaId + " has no peer left to fetch file " + pendingFile.getFileName() + " from");
+      }
+      assignedFiles.computeIfAbsent(assignedPeer, k -> new ArrayList<>()).add(pendingFile);
+      assignedBytes.merge(assignedPeer, pendingFile.getFileSize(), Long::sum);
+    }
+    pendingFiles.clear();
+    return assignedFiles;
+  }
+
+  /**
+   * Check which of the files assigned to the peer were received. If the request failed, the peer is not used anymore,
+   * and its files are deleted since they may be incomplete. A file the peer skipped, e.g. because it recreated its
+   * snapshot in the meantime, is not fetched from this peer anymore.
+   */
+  private void collectFiles(
+      String peer,
+      List<BlobTransferFileInfo> files,
+      CompletableFuture<InputStream> filesFuture) {
+    Path tempPartitionDir = Paths.get(payload.getTempPartitionDir());
+    if (filesFuture.isCompletedExceptionally()) {
+      LOGGER.warn("Replica {} failed to fetch {} files from peer {}", replicaId, files.size(), peer);
+      peerFiles.remove(peer);
+      for (BlobTransferFileInfo file: files) {
+        deleteFile(tempPartitionDir.resolve(file.getFileName()));
+      }
+      pendingFiles.addAll(files);
+      return;
+    }
+    for (BlobTransferFileInfo file: files) {
+      Path receivedFile = tempPartitionDir.resolve(file.getFileName());
+      if (!isReceived(receivedFile, file)) {
+        LOGGER.warn("Replica {} did not receive file {} from peer {}", replicaId, file.getFileName(), peer);
+        peerFiles.get(peer).remove(file.getFileName());
+        deleteFile(receivedFile);
+        pendingFiles.add(file);
+      }
+    }
+  }
+
+  /**
+   * A file is received once its content matches the manifest, since a complete file of the right size can still be a
+   * different version of it, e.g. left over by a previous attempt, or sent by a peer which recreated its snapshot.
+   */
+  private boolean isReceived(Path receivedFile, BlobTransferFileInfo file) {
+    try {
+      if (!Files.exists(receivedFile) || Files.size(receivedFile) != file.getFileSize()) {
+        return false;
+      }
+      return file.getFileChecksum() == null
+          || file.getFileChecksum().equals(BlobTransferUtils.generateFileChecksum(receivedFile));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private void deleteFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new VeniceException("Failed to delete file " + file + " for replica " + replicaId, e);
+    }
+  }
+
+  private void checkNotCancelled() {
+    if (statusTrackingManager.isBlobTransferCancelRequested(replicaId)) {
+      throw new VeniceBlobTransferCancelledException("Transfer for replica " + replicaId + " was canceled");
+    }
+  }
+
+  private static boolean isSameFile(BlobTransferFileInfo file, BlobTransferFileInfo otherFile) {
+    return otherFile != null && file.getFileName().equals(otherFile.getFileName())
+        && file.getFileSize() == otherFile.getFileSize()
+        && Objects.equals(file.getFileChecksum(), otherFile.getFileChecksum());
+  }
+
+  /**
+   * @return a future completed once all the given futures are completed, whether normally or not.
+   */
+  private static CompletableFuture<Void> allCompleted(Map<String, ? extends CompletableFuture<?>> futures) {
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).handle((v, t) -> null);
+  }
+}
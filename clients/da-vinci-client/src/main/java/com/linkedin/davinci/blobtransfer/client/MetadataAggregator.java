@@ -7,7 +7,7 @@ import io.netty.handler.codec.http.HttpResponse;
 
 /**
  * MetadataAggregator is a custom HttpObjectAggregator that
- * only aggregated HttpResponse messages for metadata.
+ * only aggregated HttpResponse messages for metadata and manifest.
  */
 public class MetadataAggregator extends HttpObjectAggregator {
   public MetadataAggregator(int maxContentLength) {
@@ -18,8 +18,8 @@ public class MetadataAggregator extends HttpObjectAggregator {
   public boolean acceptInboundMessage(Object msg) throws Exception {
     if (msg instanceof HttpResponse) {
       HttpResponse httpMessage = (HttpResponse) msg;
-      // only accept metadata messages to be aggregated
-      if (BlobTransferUtils.isMetadataMessage(httpMessage)) {
+      // only accept metadata and manifest messages to be aggregated
+      if (BlobTransferUtils.isMetadataMessage(httpMessage) || BlobTransferUtils.isManifestMessage(httpMessage)) {
         return super.acceptInboundMessage(msg);
       } else {
         return false;
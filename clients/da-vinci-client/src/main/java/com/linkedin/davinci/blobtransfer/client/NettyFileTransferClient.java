@@ -1,8 +1,13 @@
 package com.linkedin.davinci.blobtransfer.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.linkedin.alpini.base.concurrency.Executors;
 import com.linkedin.alpini.base.misc.ThreadPoolExecutor;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
+import com.linkedin.davinci.blobtransfer.BlobTransferPartitionMetadata;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import com.linkedin.davinci.notifier.VeniceNotifier;
 import com.linkedin.davinci.stats.AggBlobTransferStats;
@@ -11,11 +16,14 @@ import com.linkedin.venice.exceptions.VenicePeersConnectionException;
 import com.linkedin.venice.listener.VerifySslHandler;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.security.SSLFactory;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.LogContext;
+import com.linkedin.venice.utils.ObjectMapperFactory;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -28,6 +36,8 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.ssl.SslHandler;
@@ -36,6 +46,7 @@ import io.netty.handler.traffic.GlobalChannelTrafficShapingHandler;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -44,6 +55,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -96,6 +108,8 @@ public class NettyFileTransferClient {
 
   // Track active channels: <replica_id, active channel with ongoing transfer>
   private final VeniceConcurrentHashMap<String, Channel> activeChannels = new VeniceConcurrentHashMap<>();
+  // Track the channels of the files requests sent to several peers at the same time: <replica_id, active channels>
+  private final VeniceConcurrentHashMap<String, Set<Channel>> activeFilesChannels = new VeniceConcurrentHashMap<>();
 
   // TODO: consider either increasing worker threads or have a dedicated thread pool to handle requests.
   public NettyFileTransferClient(
@@ -303,6 +317,9 @@ public class NettyFileTransferClient {
     String replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
     CompletionStage<InputStream> perHostTransferFuture = new CompletableFuture<>();
     try {
+      // Describe the files kept from the previous copy of the partition, only the ones the server reuses are hashed
+      List<BlobTransferFileInfo> reusableFiles = getReusableFiles(storeName, version, partition);
+
       // Connects to the remote host
       // Must open a new connection for each request (per store per version per partition level),
       // Otherwise response will be mixed up
@@ -363,7 +380,7 @@ public class NettyFileTransferClient {
                   notifierSupplier));
       // Send a GET request
       ChannelFuture requestFuture =
-          ch.writeAndFlush(prepareRequest(storeName, version, partition, requestedTableFormat));
+          ch.writeAndFlush(prepareRequest(storeName, version, partition, requestedTableFormat, reusableFiles));
 
       requestFuture.addListener(f -> {
         if (f.isSuccess()) {
@@ -394,6 +411,119 @@ public class NettyFileTransferClient {
     return perHostTransferFuture;
   }
 
+  /**
+   * Fetch the manifest of the snapshot of the partition from the host, without fetching its files or applying its
+   * metadata.
+   */
+  public CompletionStage<BlobTransferManifest> getManifest(
+      String host,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestedTableFormat) {
+    String replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
+    CompletableFuture<BlobTransferManifest> manifestFuture = new CompletableFuture<>();
+    try {
+      Channel ch = connectToHost(host, storeName, version, partition);
+      ch.pipeline()
+          .addLast(new IdleStateHandler(blobReceiveReaderIdleTimeInSeconds, 0, 0))
+          .addLast(new MetadataAggregator(MAX_METADATA_CONTENT_LENGTH))
+          .addLast(new P2PManifestTransferHandler(manifestFuture, replicaId));
+      ch.writeAndFlush(
+          prepareRequest(
+              storeName,
+              version,
+              partition,
+              requestedTableFormat,
+              BlobTransferRequestType.MANIFEST,
+              Collections.emptyList()))
+          .addListener(f -> {
+            if (!f.isSuccess()) {
+              LOGGER.error("Failed to send manifest request for replica {} to host {}", replicaId, host, f.cause());
+            }
+          });
+      scheduleReceiveTimeout(ch, manifestFuture, replicaId, requestedTableFormat, host);
+    } catch (Exception e) {
+      manifestFuture.completeExceptionally(e);
+    }
+    return manifestFuture;
+  }
+
+  /**
+   * Fetch the given files of the partition from the host into the temp partition dir, which is not moved to the
+   * partition dir once they are received, since the other files are fetched from other hosts at the same time.
+   * The host only sends the files its snapshot has with the same size and checksum, so the caller has to check that
+   * all of them are received.
+   */
+  public CompletionStage<InputStream> getFiles(
+      String host,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestedTableFormat,
+      List<BlobTransferFileInfo> files) {
+    String replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
+    CompletableFuture<InputStream> filesFuture = new CompletableFuture<>();
+    try {
+      Channel ch = connectToHost(host, storeName, version, partition);
+      Set<Channel> replicaChannels = activeFilesChannels.computeIfAbsent(replicaId, k -> ConcurrentHashMap.newKeySet());
+      replicaChannels.add(ch);
+      filesFuture.whenComplete((result, throwable) -> replicaChannels.remove(ch));
+
+      ch.pipeline()
+          .addLast(new IdleStateHandler(blobReceiveReaderIdleTimeInSeconds, 0, 0))
+          .addLast(new MetadataAggregator(MAX_METADATA_CONTENT_LENGTH))
+          .addLast(
+              new P2PFileTransferClientHandler(
+                  baseDir,
+                  filesFuture,
+                  storeName,
+                  version,
+                  partition,
+                  requestedTableFormat,
+                  aggBlobTransferStats,
+                  checksumValidationExecutorService,
+                  false));
+      ch.writeAndFlush(
+          prepareRequest(storeName, version, partition, requestedTableFormat, BlobTransferRequestType.FILES, files))
+          .addListener(f -> {
+            if (f.isSuccess()) {
+              LOGGER.info("Requested {} files for replica {} from remote host {}", files.size(), replicaId, host);
+            } else {
+              LOGGER.error("Failed to send files request for replica {} to host {}", replicaId, host, f.cause());
+            }
+          });
+      scheduleReceiveTimeout(ch, filesFuture, replicaId, requestedTableFormat, host);
+    } catch (Exception e) {
+      filesFuture.completeExceptionally(e);
+    }
+    return filesFuture;
+  }
+
+  /**
+   * Complete a transfer whose files were fetched with {@link #getFiles}: apply the metadata of the snapshot the files
+   * belong to, then move the temp partition dir to the partition dir.
+   */
+  public void finishTransfer(
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat,
+      BlobTransferPartitionMetadata partitionMetadata) {
+    new P2PMetadataTransferHandler(
+        storageMetadataService,
+        baseDir,
+        storeName,
+        version,
+        partition,
+        tableFormat,
+        notifierSupplier).updateStorePartitionMetadata(storageMetadataService, partitionMetadata);
+    RocksDBUtils.renameTempTransferredPartitionDirToPartitionDir(
+        baseDir,
+        Version.composeKafkaTopic(storeName, version),
+        partition);
+  }
+
   /**
    * Get the active channel for a given transfer, if any.
    * @param replicaId the replica ID (format: storeName_vVersion-partition)
@@ -403,6 +533,16 @@ public class NettyFileTransferClient {
     return activeChannels.get(replicaId);
   }
 
+  /**
+   * Get the active channels of the files requests of a given transfer, if any.
+   * @param replicaId the replica ID (format: storeName_vVersion-partition)
+   * @return the active channels, which is empty if no files request is in progress
+   */
+  public Set<Channel> getActiveFilesChannels(String replicaId) {
+    Set<Channel> channels = activeFilesChannels.get(replicaId);
+    return channels == null ? Collections.emptySet() : channels;
+  }
+
   public void close() {
     workerGroup.shutdownGracefully();
     hostConnectExecutorService.shutdown();
@@ -411,17 +551,94 @@ public class NettyFileTransferClient {
     unconnectableHostsToTimestamp.clear();
     connectedHostsToTimestamp.clear();
     activeChannels.clear();
+    activeFilesChannels.clear();
+  }
+
+  private FullHttpRequest prepareRequest(
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestTableFormat,
+      List<BlobTransferFileInfo> reusableFiles) throws JsonProcessingException {
+    return prepareRequest(
+        storeName,
+        version,
+        partition,
+        requestTableFormat,
+        BlobTransferRequestType.PARTITION,
+        reusableFiles);
   }
 
+  /**
+   * @param files the files this host already has for a partition request, so that the server only sends the missing
+   *              ones, or the files to send for a files request.
+   */
   private FullHttpRequest prepareRequest(
       String storeName,
       int version,
       int partition,
-      BlobTransferTableFormat requestTableFormat) {
-    return new DefaultFullHttpRequest(
-        HttpVersion.HTTP_1_1,
-        HttpMethod.GET,
-        String.format("/%s/%d/%d/%s", storeName, version, partition, requestTableFormat.name()));
+      BlobTransferTableFormat requestTableFormat,
+      BlobTransferRequestType requestType,
+      List<BlobTransferFileInfo> files) throws JsonProcessingException {
+    String uri = String.format("/%s/%d/%d/%s", storeName, version, partition, requestTableFormat.name());
+    FullHttpRequest request;
+    if (files.isEmpty()) {
+      request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    } else {
+      byte[] body = ObjectMapperFactory.getInstance().writeValueAsBytes(files);
+      request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri, Unpooled.wrappedBuffer(body));
+      request.headers().set(HttpHeaderNames.CONTENT_LENGTH, body.length);
+      request.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    }
+    // Older servers ignore the header and treat any request as a partition request
+    if (requestType != BlobTransferRequestType.PARTITION) {
+      request.headers().set(BlobTransferUtils.BLOB_TRANSFER_REQUEST_TYPE, requestType.name());
+    }
+    return request;
+  }
+
+  /**
+   * Close the channel if the response is not fully received in time, which fails the future.
+   */
+  private void scheduleReceiveTimeout(
+      Channel ch,
+      CompletableFuture<?> future,
+      String replicaId,
+      BlobTransferTableFormat requestedTableFormat,
+      String host) {
+    connectTimeoutScheduler.schedule(() -> {
+      if (!future.isDone()) {
+        LOGGER.error(
+            "Request timed out for replica {} table format {} from host {} after {} minutes",
+            replicaId,
+            requestedTableFormat,
+            host,
+            blobReceiveTimeoutInMin);
+        ch.close();
+      }
+    }, blobReceiveTimeoutInMin, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Get the files kept from the previous copy of the partition, which can be reused instead of being transferred.
+   * Any failure only disables the reuse, since the whole partition can still be transferred.
+   */
+  private List<BlobTransferFileInfo> getReusableFiles(String storeName, int version, int partition) {
+    String topicName = Version.composeKafkaTopic(storeName, version);
+    try {
+      List<BlobTransferFileInfo> reusableFiles =
+          BlobTransferUtils.getReusableFileInfos(RocksDBUtils.composeReusableFilesDir(baseDir, topicName, partition));
+      if (!reusableFiles.isEmpty()) {
+        LOGGER.info(
+            "Advertising {} reusable files for replica {}",
+            reusableFiles.size(),
+            Utils.getReplicaId(topicName, partition));
+      }
+      return reusableFiles;
+    } catch (Exception e) {
+      LOGGER.warn("Failed to describe reusable files for replica {}", Utils.getReplicaId(topicName, partition), e);
+      return Collections.emptyList();
+    }
   }
 
   /**
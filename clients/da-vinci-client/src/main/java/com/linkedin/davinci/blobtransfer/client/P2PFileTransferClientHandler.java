@@ -12,7 +12,6 @@ import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Utils;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -24,14 +23,16 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
 import java.io.InputStream;
-import java.nio.channels.Channels;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -40,6 +41,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -48,16 +51,22 @@ import org.apache.logging.log4j.Logger;
  * The client-side Netty handler to process responses for P2P file transfer. It's not shareable among multiple requests since it
  * maintains the states for a single partition.
  * It's important to note that this handler is operated in a single thread, and it processes file transfers sequentially.
+ *
+ * The checksum of each file is computed incrementally while its chunks are written, so that the received bytes are
+ * never read back from the disk for validation. The fsyncs, which are the only blocking disk operations left, are
+ * offloaded to the fsync executor: one every {@link #FSYNC_BATCH_SIZE_IN_BYTES} received bytes to bound
+ * the amount of dirty pages, and a final one before the file is closed.
  */
 public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<HttpObject> {
   private static final Logger LOGGER = LogManager.getLogger(P2PFileTransferClientHandler.class);
   private static final Pattern FILENAME_PATTERN = Pattern.compile("filename=\"(.+?)\"");
+  static final long FSYNC_BATCH_SIZE_IN_BYTES = 64 * 1024 * 1024;
   private final CompletionStage<InputStream> inputStreamFuture;
-  private final AtomicReference<Throwable> checksumExceptionHolder = new AtomicReference<>(null);
+  private final AtomicReference<Throwable> fsyncExceptionHolder = new AtomicReference<>(null);
   private final BlobTransferPayload payload;
-  private final ExecutorService checksumValidationExecutorService;
+  private final ExecutorService fsyncExecutorService;
   private final AggBlobTransferStats aggBlobTransferStats;
-  private final List<CompletableFuture<Void>> checksumValidationFutureList = new ArrayList<>();
+  private final List<CompletableFuture<Void>> fsyncFutureList = new ArrayList<>();
   private final String storeName;
   private final int version;
   // mutable states for a single file transfer. It will be updated for each file transfer.
@@ -66,9 +75,17 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
   private String fileChecksum;
   private Path file;
   private long fileContentLength;
+  private MessageDigest fileDigest;
+  private long bytesSinceLastFsync;
+  // The bytes received over this channel, and the time span between the first and the last of them
+  private long channelBytesReceived;
+  private long channelFirstByteTimeNs;
+  private long channelLastByteTimeNs;
   private final String replicaId;
   private long fileTransferStartTime;
   private final long replicaTransferStartTime;
+  // Whether the received files make up the whole partition, which is moved to the partition dir at the end of transfer
+  private final boolean wholePartition;
 
   public P2PFileTransferClientHandler(
       String baseDir,
@@ -78,13 +95,40 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
       int partition,
       BlobTransferUtils.BlobTransferTableFormat tableFormat,
       AggBlobTransferStats aggBlobTransferStats,
-      ExecutorService checksumValidationExecutorService) {
+      ExecutorService fsyncExecutorService) {
+    this(
+        baseDir,
+        inputStreamFuture,
+        storeName,
+        version,
+        partition,
+        tableFormat,
+        aggBlobTransferStats,
+        fsyncExecutorService,
+        true);
+  }
+
+  /**
+   * @param wholePartition false if the files are only part of the partition, which are left in the temp partition dir
+   *                       at the end of transfer, for the caller to move it once it has received all the files.
+   */
+  public P2PFileTransferClientHandler(
+      String baseDir,
+      CompletionStage<InputStream> inputStreamFuture,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferUtils.BlobTransferTableFormat tableFormat,
+      AggBlobTransferStats aggBlobTransferStats,
+      ExecutorService fsyncExecutorService,
+      boolean wholePartition) {
+    this.wholePartition = wholePartition;
     this.inputStreamFuture = inputStreamFuture;
     this.payload = new BlobTransferPayload(baseDir, storeName, version, partition, tableFormat);
     this.storeName = storeName;
     this.version = version;
     this.replicaId = Utils.getReplicaId(payload.getTopicName(), payload.getPartition());
-    this.checksumValidationExecutorService = checksumValidationExecutorService;
+    this.fsyncExecutorService = fsyncExecutorService;
     this.aggBlobTransferStats = aggBlobTransferStats;
     this.replicaTransferStartTime = System.currentTimeMillis();
   }
@@ -143,14 +187,23 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
         throw new VeniceException("No file name specified in the response for " + payload.getFullResourceName());
       }
 
-      LOGGER.info("Starting blob file receiving for file: {} for {}", fileName, replicaId);
-      this.fileTransferStartTime = System.currentTimeMillis();
-      this.fileContentLength = Long.parseLong(response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
-
       // Create a temp directory
       Path tempPartitionDir = Paths.get(payload.getTempPartitionDir());
       Files.createDirectories(tempPartitionDir);
 
+      // The server matched this file with one advertised in the request, link the local copy instead of receiving it
+      if (BlobTransferUtils.isReusedFileMessage(response)) {
+        linkReusedFile(tempPartitionDir);
+        return;
+      }
+
+      LOGGER.info("Starting blob file receiving for file: {} for {}", fileName, replicaId);
+      this.fileTransferStartTime = System.currentTimeMillis();
+      if (channelBytesReceived == 0) {
+        channelFirstByteTimeNs = System.nanoTime();
+      }
+      this.fileContentLength = Long.parseLong(response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+
       // Prepare the file, remove it if it exists
       if (Files.deleteIfExists(tempPartitionDir.resolve(fileName))) {
         LOGGER.warn(
@@ -162,6 +215,8 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
       this.file = Files.createFile(tempPartitionDir.resolve(fileName));
 
       outputFileChannel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+      fileDigest = DigestUtils.getMd5Digest();
+      bytesSinceLastFsync = 0;
 
     } else if (msg instanceof HttpContent) {
       HttpContent content = (HttpContent) msg;
@@ -174,23 +229,17 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
         throw new VeniceException("No file opened to write for " + payload.getFullResourceName());
       }
 
-      // Append content to the given file
-      // TODO: need to do perf test to see if this NIO implementation is really faster than regular I/O libs
-      long count = 0L;
-      long position = outputFileChannel.size();
+      // Append content to the given file, updating the checksum with the same buffers. The received buffers are
+      // usually direct, in which case they are written to the file channel without any copy.
       long totalBytesToTransfer = byteBuf.readableBytes();
-      try (ByteBufInputStream byteBufInputStream = new ByteBufInputStream(byteBuf)) {
-        ReadableByteChannel inputChannel = Channels.newChannel(byteBufInputStream);
-        while (count < totalBytesToTransfer) {
-          long bytesToTransfer = totalBytesToTransfer - count;
-          long transferred = outputFileChannel.transferFrom(inputChannel, position, bytesToTransfer);
-          if (transferred == 0) {
-            break;
-          }
-          position += transferred;
-          count += transferred;
+      for (ByteBuffer nioBuffer: byteBuf.nioBuffers()) {
+        fileDigest.update(nioBuffer.duplicate());
+        while (nioBuffer.hasRemaining()) {
+          outputFileChannel.write(nioBuffer);
         }
       }
+      channelBytesReceived += totalBytesToTransfer;
+      channelLastByteTimeNs = System.nanoTime();
       aggBlobTransferStats.recordBlobTransferBytesReceived(storeName, version, totalBytesToTransfer);
 
       if (content instanceof DefaultLastHttpContent) {
@@ -200,7 +249,6 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
             fileName,
             replicaId,
             LatencyUtils.getElapsedTimeFromMsToMs(fileTransferStartTime));
-        outputFileChannel.force(true);
 
         // Size validation
         if (outputFileChannel.size() != fileContentLength) {
@@ -208,26 +256,30 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
               "File size mismatch for " + fileName + ". Expected: " + fileContentLength + ", Actual: "
                   + outputFileChannel.size());
         }
-        // Close the file channel
-        try {
-          outputFileChannel.close();
-          LOGGER.info("Closed file channel for: {} for replica: {}", fileName, replicaId);
-        } catch (Exception e) {
-          LOGGER.warn(
-              "Failed to close file channel for file {} for replica {} with error: {}",
-              fileName,
-              replicaId,
-              e.getMessage());
+        // Checksum validation, with the checksum computed while receiving the file
+        String actualChecksum = Hex.encodeHexString(fileDigest.digest());
+        if (!actualChecksum.equals(fileChecksum)) {
+          throw new VeniceException(
+              String.format(
+                  "File checksum mismatch for file: %s for replica: %s. Expected: %s, actual: %s",
+                  file,
+                  replicaId,
+                  fileChecksum,
+                  actualChecksum));
         }
+        LOGGER.info("Checksum validation passed for file: {} for replica: {}", fileName, replicaId);
 
-        // Perform checksum validation asynchronously to avoid blocking the Netty event loop
-        CompletableFuture<Void> checksumFuture = new CompletableFuture<>();
-        checksumValidationFutureList.add(checksumFuture);
-        performAsyncChecksumValidation(checksumFuture, this.file, this.fileChecksum, this.fileName);
+        // Flush the file to disk and close it asynchronously to avoid blocking the Netty event loop
+        fsyncFutureList.add(performAsyncFsync(outputFileChannel, fileName, true));
 
         // Reset state for the next file transfer
         resetState();
-
+      } else {
+        bytesSinceLastFsync += totalBytesToTransfer;
+        if (bytesSinceLastFsync >= FSYNC_BATCH_SIZE_IN_BYTES) {
+          fsyncFutureList.add(performAsyncFsync(outputFileChannel, fileName, false));
+          bytesSinceLastFsync = 0;
+        }
       }
     } else {
       throw new VeniceException("Unexpected message received: " + msg.getClass().getName());
@@ -299,6 +351,29 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
 
   }
 
+  /**
+   * Hard-link the reused file from the reusable files directory into the temp partition directory. The files are only
+   * advertised by name and size, so the local copy is only hashed here, once the server matched it, and is checked
+   * against the checksum of the server copy.
+   */
+  private void linkReusedFile(Path tempPartitionDir) throws IOException {
+    Path reusedFile = Paths.get(payload.getReusableFilesDir()).resolve(fileName);
+    if (!Files.exists(reusedFile)) {
+      throw new VeniceException("Reused file " + fileName + " is not found locally for " + replicaId);
+    }
+    String localChecksum = BlobTransferUtils.generateFileChecksum(reusedFile);
+    if (!localChecksum.equals(fileChecksum)) {
+      throw new VeniceException(
+          "Reused file " + fileName + " has checksum " + localChecksum + " locally but " + fileChecksum
+              + " on the server for " + replicaId);
+    }
+    Path linkedFile = tempPartitionDir.resolve(fileName);
+    Files.deleteIfExists(linkedFile);
+    Files.createLink(linkedFile, reusedFile);
+    LOGGER.info("Reused local file: {} with checksum: {} for replica: {}", fileName, fileChecksum, replicaId);
+    resetState();
+  }
+
   private String getFileNameFromHeader(HttpResponse response) {
     String contentDisposition = response.headers().get(HttpHeaderNames.CONTENT_DISPOSITION);
     if (contentDisposition != null) {
@@ -316,22 +391,41 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
         replicaId,
         LatencyUtils.getElapsedTimeFromMsToMs(replicaTransferStartTime));
 
-    // Wait for all the checksum validation futures to complete.
-    CompletableFuture.allOf(checksumValidationFutureList.toArray(new CompletableFuture[0])).join();
-    // Check the exception holder to see if any checksum validation failed.
-    Throwable checksumThrowable = checksumExceptionHolder.get();
-    if (checksumThrowable != null) {
+    // Wait for all the fsync futures to complete.
+    CompletableFuture.allOf(fsyncFutureList.toArray(new CompletableFuture[0])).join();
+    // Check the exception holder to see if any fsync failed.
+    Throwable fsyncThrowable = fsyncExceptionHolder.get();
+    if (fsyncThrowable != null) {
       LOGGER.error(
-          "Caught exception: {} in checksum validation for replica: {}",
-          checksumThrowable.getMessage(),
+          "Caught exception: {} in fsync of received files for replica: {}",
+          fsyncThrowable.getMessage(),
           replicaId);
-      throw new VeniceException(checksumThrowable);
+      throw new VeniceException(fsyncThrowable);
     }
 
+    long transferTimeInMs = LatencyUtils.getElapsedTimeFromMsToMs(replicaTransferStartTime);
     LOGGER.info(
         "All files received and checksum validated successfully for replica: {} took: {}ms",
         replicaId,
-        LatencyUtils.getElapsedTimeFromMsToMs(replicaTransferStartTime));
+        transferTimeInMs);
+    /**
+     * In MB/sec, like the file receive throughput. Only the time spent receiving on this channel counts, without the
+     * connection setup, the snapshot preparation on the server and the final fsyncs, so that the throughput of each
+     * of the channels of a replica fetching from several peers at once is measured.
+     */
+    long channelReceiveTimeNs = channelLastByteTimeNs - channelFirstByteTimeNs;
+    if (channelBytesReceived > 0 && channelReceiveTimeNs > 0) {
+      aggBlobTransferStats.recordBlobTransferChannelReceiveThroughput(
+          storeName,
+          version,
+          (channelBytesReceived / (1000.0 * 1000.0)) / (channelReceiveTimeNs / 1_000_000_000.0));
+    }
+
+    if (!wholePartition) {
+      inputStreamFuture.toCompletableFuture().complete(null);
+      ctx.close();
+      return;
+    }
 
     try {
       RocksDBUtils.renameTempTransferredPartitionDirToPartitionDir(
@@ -392,65 +486,35 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
     fileContentLength = 0;
     file = null;
     fileChecksum = null;
+    fileDigest = null;
+    bytesSinceLastFsync = 0;
   }
 
   /**
-   * Performs checksum validation asynchronously to avoid blocking the Netty event loop thread.
-   * This method offloads the CPU-intensive checksum computation to a separate thread pool.
+   * Flushes the received file to disk asynchronously to avoid blocking the Netty event loop thread, and closes the file
+   * channel afterward if it's the final fsync of the file.
    */
-  private void performAsyncChecksumValidation(
-      CompletableFuture<Void> checksumValidationFuture,
-      Path fileToValidate,
-      String expectedChecksum,
-      String fileNameToValidate) {
-    // Capture current state variables before async execution
+  private CompletableFuture<Void> performAsyncFsync(FileChannel fileChannel, String fileNameToSync, boolean close) {
     long startTime = System.currentTimeMillis();
-    CompletableFuture.supplyAsync(() -> {
+    return CompletableFuture.runAsync(() -> {
       try {
-        // Perform the CPU-intensive checksum computation in the background thread
-        long checksumGenerationStartTime = System.currentTimeMillis();
-        String checksum = BlobTransferUtils.generateFileChecksum(fileToValidate);
-        LOGGER.info(
-            "Checksum generation for file: {} for replica: {} took: {}ms",
-            fileNameToValidate,
-            replicaId,
-            LatencyUtils.getElapsedTimeFromMsToMs(checksumGenerationStartTime));
-        return checksum;
+        fileChannel.force(true);
+        if (close) {
+          fileChannel.close();
+          LOGGER.info(
+              "Synced and closed file channel for: {} for replica: {} took: {}ms",
+              fileNameToSync,
+              replicaId,
+              LatencyUtils.getElapsedTimeFromMsToMs(startTime));
+        }
+      } catch (ClosedChannelException e) {
+        // The transfer failed and the file channel got closed by the cleanup, which deletes the file anyway
+        LOGGER.debug("File channel for: {} for replica: {} is already closed", fileNameToSync, replicaId);
       } catch (Exception e) {
-        throw new RuntimeException("Failed to generate checksum for file: " + fileNameToValidate, e);
+        LOGGER.error("Caught exception when syncing file: {} for replica: {}", fileNameToSync, replicaId, e);
+        fsyncExceptionHolder.compareAndSet(null, e);
       }
-    }, checksumValidationExecutorService).whenComplete((actualChecksum, throwable) -> {
-      if (throwable != null) {
-        LOGGER.error(
-            "Caught exception when generating checksum for file: {} for replica: {}",
-            fileNameToValidate,
-            replicaId);
-        checksumExceptionHolder.compareAndSet(null, throwable);
-        checksumValidationFuture.complete(null);
-        return;
-      }
-      if (!actualChecksum.equals(expectedChecksum)) {
-        String errorMessage = String.format(
-            "File checksum mismatch for file: %s for replica: %s. Expected: %s, actual: %s",
-            fileToValidate,
-            replicaId,
-            expectedChecksum,
-            actualChecksum);
-        LOGGER.error(errorMessage);
-        VeniceException exception = new VeniceException(errorMessage);
-        checksumExceptionHolder.compareAndSet(null, exception);
-        checksumValidationFuture.complete(null);
-        return;
-      }
-      checksumValidationFuture.complete(null);
-
-      // Checksum validation passed, complete the file transfer
-      LOGGER.info(
-          "Checksum validation passed for file {}: for replica: {} took: {}ms",
-          fileNameToValidate,
-          replicaId,
-          LatencyUtils.getElapsedTimeFromMsToMs(startTime));
-    });
+    }, fsyncExecutorService);
   }
 
   private void fastFailoverIncompleteTransfer(String causeForFailPendingTransfer, ChannelHandlerContext ctx) {
@@ -0,0 +1,124 @@
+package com.linkedin.davinci.blobtransfer.client;
+
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_COMPLETED;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_STATUS;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
+import com.linkedin.davinci.blobtransfer.BlobTransferPartitionMetadata;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
+import com.linkedin.venice.exceptions.VeniceBlobTransferFileNotFoundException;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ObjectMapperFactory;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * The client-side Netty handler to process the response of a manifest request, which consists of the manifest, the
+ * metadata and the end of transfer. Unlike {@link P2PMetadataTransferHandler}, the metadata is not applied, since the
+ * caller decides which peer the partition is built from.
+ */
+public class P2PManifestTransferHandler extends SimpleChannelInboundHandler<HttpObject> {
+  private static final Logger LOGGER = LogManager.getLogger(P2PManifestTransferHandler.class);
+  private static final TypeReference<List<BlobTransferFileInfo>> FILE_INFOS_TYPE =
+      new TypeReference<List<BlobTransferFileInfo>>() {
+      };
+
+  private final CompletableFuture<BlobTransferManifest> manifestFuture;
+  private final String replicaId;
+  private List<BlobTransferFileInfo> fileInfos;
+  private BlobTransferPartitionMetadata partitionMetadata;
+
+  public P2PManifestTransferHandler(CompletableFuture<BlobTransferManifest> manifestFuture, String replicaId) {
+    this.manifestFuture = manifestFuture;
+    this.replicaId = replicaId;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
+    if (manifestFuture.isDone() || !(msg instanceof HttpResponse)) {
+      // the content of the end of transfer, or of an error response which was already handled
+      return;
+    }
+    HttpResponse response = (HttpResponse) msg;
+    if (!response.status().equals(HttpResponseStatus.OK)) {
+      if (response.status().equals(HttpResponseStatus.NOT_FOUND)) {
+        throw new VeniceBlobTransferFileNotFoundException(
+            "Requested manifest from remote peer is not found. Response: " + response.status());
+      }
+      throw new VeniceException("Failed to fetch manifest from remote peer. Response: " + response.status());
+    }
+
+    if (BlobTransferUtils.isManifestMessage(response)) {
+      try (InputStream inputStream = new ByteBufInputStream(((FullHttpResponse) response).content().duplicate())) {
+        fileInfos = ObjectMapperFactory.getInstance().readValue(inputStream, FILE_INFOS_TYPE);
+      }
+    } else if (BlobTransferUtils.isMetadataMessage(response)) {
+      partitionMetadata = parseMetadata((FullHttpResponse) response);
+    } else if (BLOB_TRANSFER_COMPLETED.equals(response.headers().get(BLOB_TRANSFER_STATUS))) {
+      if (fileInfos == null || partitionMetadata == null) {
+        throw new VeniceException("Incomplete manifest received from remote peer for " + replicaId);
+      }
+      LOGGER.info("Received manifest of {} files from remote peer for {}", fileInfos.size(), replicaId);
+      manifestFuture.complete(new BlobTransferManifest(fileInfos, partitionMetadata));
+      ctx.close();
+    } else {
+      // A peer which does not support manifest requests sends the whole partition instead
+      throw new VeniceException("Remote peer does not support manifest requests for " + replicaId);
+    }
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    super.channelInactive(ctx);
+    failManifest(new VeniceException("Channel close before receiving manifest for " + replicaId));
+  }
+
+  @Override
+  public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+    if (evt instanceof IdleStateEvent && ((IdleStateEvent) evt).state() == IdleState.READER_IDLE) {
+      failManifest(new VeniceException("Channel idle before receiving manifest for " + replicaId));
+      ctx.close();
+      return;
+    }
+    super.userEventTriggered(ctx, evt);
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    failManifest(cause);
+    ctx.close();
+  }
+
+  private void failManifest(Throwable cause) {
+    if (manifestFuture.completeExceptionally(cause)) {
+      LOGGER.error("Failed to receive manifest for replica: {} with cause: {}", replicaId, cause.getMessage());
+    }
+  }
+
+  private BlobTransferPartitionMetadata parseMetadata(FullHttpResponse response) throws IOException {
+    try (InputStream inputStream = new ByteBufInputStream(response.content().duplicate())) {
+      BlobTransferPartitionMetadata metadata =
+          ObjectMapperFactory.getInstance().readValue(inputStream, BlobTransferPartitionMetadata.class);
+      if (metadata == null) {
+        throw new VeniceException("No transferPartitionMetadata received for " + replicaId);
+      }
+      return metadata;
+    }
+  }
+}
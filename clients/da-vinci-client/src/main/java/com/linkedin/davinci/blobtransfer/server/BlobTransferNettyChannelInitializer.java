@@ -20,6 +20,8 @@ import java.util.Optional;
 
 
 public class BlobTransferNettyChannelInitializer extends ChannelInitializer<SocketChannel> {
+  // Large enough for the files advertised by a client in its request, at about 100 bytes per file
+  private static final int MAX_REQUEST_CONTENT_LENGTH = 8 * 1024 * 1024;
   private final Optional<SSLFactory> sslFactory;
   private final SslFactory alpiniSslFactory;
   private final Optional<BlobTransferAclHandler> aclHandler;
@@ -59,7 +61,7 @@ public class BlobTransferNettyChannelInitializer extends ChannelInitializer<Sock
 
     pipeline.addLast("globalTrafficShaper", globalChannelTrafficShapingHandler)
         .addLast("codec", new HttpServerCodec()) // for http encoding/decoding.
-        .addLast("aggregator", new HttpObjectAggregator(65536));
+        .addLast("aggregator", new HttpObjectAggregator(MAX_REQUEST_CONTENT_LENGTH));
 
     if (sslFactory.isPresent()) {
       pipeline.addLast(verifySsl);
@@ -1,8 +1,10 @@
 package com.linkedin.davinci.blobtransfer.server;
 
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_COMPLETED;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_REQUEST_TYPE;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_STATUS;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_TYPE;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferType;
 import static com.linkedin.venice.utils.NettyUtils.setupResponseAndFlush;
@@ -10,20 +12,23 @@ import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
 import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_OCTET_STREAM;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.davinci.blobtransfer.BlobSnapshotManager;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
 import com.linkedin.davinci.blobtransfer.BlobTransferPartitionMetadata;
 import com.linkedin.davinci.blobtransfer.BlobTransferPayload;
-import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
 import com.linkedin.davinci.stats.AggBlobTransferStats;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.request.RequestHelper;
 import com.linkedin.venice.utils.ObjectMapperFactory;
 import com.linkedin.venice.utils.Utils;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
@@ -35,14 +40,22 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.AttributeKey;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -71,6 +84,9 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
       AttributeKey.valueOf("blobTransferRequest");
   private static final AttributeKey<AtomicBoolean> SUCCESS_COUNTED =
       AttributeKey.valueOf("successCountedAsActiveCurrentUser");
+  private static final TypeReference<List<BlobTransferFileInfo>> FILE_INFOS_TYPE =
+      new TypeReference<List<BlobTransferFileInfo>>() {
+      };
 
   public P2PFileTransferServerHandler(
       String baseDir,
@@ -112,10 +128,15 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
     BlobTransferPayload blobTransferRequest = null;
     final File snapshotDir;
     BlobTransferPartitionMetadata transferPartitionMetadata;
+    final BlobTransferRequestType requestType;
+    // The files the client already has for a partition request, or the files it asks for for a files request
+    final Map<String, BlobTransferFileInfo> requestFiles;
 
     try {
       blobTransferRequest = parseBlobTransferPayload(URI.create(httpRequest.uri()));
       snapshotDir = new File(blobTransferRequest.getSnapshotDir());
+      requestType = parseRequestType(httpRequest);
+      requestFiles = parseRequestFiles(httpRequest);
 
       // Check the snapshot table format
       BlobTransferTableFormat currentSnapshotTableFormat = blobSnapshotManager.getBlobTransferTableFormat();
@@ -183,12 +204,20 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
     // Set up the time limitation for the transfer
     long startTime = System.currentTimeMillis();
     String replicaInfo = Utils.getReplicaId(blobTransferRequest.getTopicName(), blobTransferRequest.getPartition());
+    if (requestType == BlobTransferRequestType.MANIFEST) {
+      sendManifest(ctx, files, transferPartitionMetadata, replicaInfo);
+      sendMetadata(ctx, transferPartitionMetadata);
+      sendEndOfTransfer(ctx, replicaInfo);
+      return;
+    }
     LOGGER.info(
-        "Start transferring {} files for replica {} to remote host {}.",
-        files.length,
+        "Start transferring {} files for replica {} to remote host {} for {} request.",
+        requestType == BlobTransferRequestType.FILES ? requestFiles.size() : files.length,
         replicaInfo,
-        ctx.channel().remoteAddress());
+        ctx.channel().remoteAddress(),
+        requestType);
     // transfer files
+    int reusedFileCount = 0;
     for (File file: files) {
       // check if the transfer for all files is timed out for this partition
       if (System.currentTimeMillis() - startTime >= TimeUnit.MINUTES.toMillis(blobTransferMaxTimeoutInMin)) {
@@ -198,13 +227,39 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
         setupResponseAndFlush(HttpResponseStatus.REQUEST_TIMEOUT, errMessage.getBytes(), false, ctx);
         return;
       }
+      if (requestType == BlobTransferRequestType.FILES) {
+        // only send the requested files, the client fetches the missing ones from other peers
+        if (matchesFileInfo(file, requestFiles, transferPartitionMetadata)) {
+          sendFile(file, ctx, blobTransferRequest, transferPartitionMetadata, replicaInfo);
+        }
+        continue;
+      }
+      // skip the content of the files the client already has
+      if (matchesFileInfo(file, requestFiles, transferPartitionMetadata)) {
+        sendReusedFile(file, ctx, transferPartitionMetadata, replicaInfo);
+        reusedFileCount++;
+        continue;
+      }
       // send file
-      sendFile(file, ctx, blobTransferRequest, replicaInfo);
+      sendFile(file, ctx, blobTransferRequest, transferPartitionMetadata, replicaInfo);
+    }
+    if (reusedFileCount > 0) {
+      LOGGER.info(
+          "Skipped sending {} of {} files already present on remote host {} for replica {}.",
+          reusedFileCount,
+          files.length,
+          ctx.channel().remoteAddress(),
+          replicaInfo);
     }
 
-    sendMetadata(ctx, transferPartitionMetadata);
+    // the metadata is part of the manifest for a files request
+    if (requestType == BlobTransferRequestType.PARTITION) {
+      sendMetadata(ctx, transferPartitionMetadata);
+    }
+    sendEndOfTransfer(ctx, replicaInfo);
+  }
 
-    // end of transfer
+  private void sendEndOfTransfer(ChannelHandlerContext ctx, String replicaInfo) {
     HttpResponse endOfTransfer = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
     endOfTransfer.headers().set(BLOB_TRANSFER_STATUS, BLOB_TRANSFER_COMPLETED);
     ctx.writeAndFlush(endOfTransfer).addListener(future -> {
@@ -271,20 +326,20 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
       File file,
       ChannelHandlerContext ctx,
       BlobTransferPayload blobTransferPayload,
+      BlobTransferPartitionMetadata transferPartitionMetadata,
       String replicaInfo) throws IOException {
     LOGGER.info(
         "Sending file: {} for replica {} to host {}.",
         file.getName(),
         replicaInfo,
         ctx.channel().remoteAddress());
-    RandomAccessFile raf = new RandomAccessFile(file, "r");
     ChannelFuture sendFileFuture;
-    long length = raf.length();
+    long length = file.length();
 
     long checksumStartTime = System.currentTimeMillis();
-    String fileChecksum = BlobTransferUtils.generateFileChecksum(file.toPath());
+    String fileChecksum = transferPartitionMetadata.getFileChecksum(file);
     LOGGER.info(
-        "Checksum calculation for file: {} for replica {} took {} ms.",
+        "Checksum lookup for file: {} for replica {} took {} ms.",
         file.getName(),
         replicaInfo,
         System.currentTimeMillis() - checksumStartTime);
@@ -298,10 +353,23 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
 
     ctx.write(response);
 
-    // Use ChunkedFile with adaptive chunk size
+    // Use adaptive chunk size
     // It means minimum chunk size: 16 KB (16384 bytes), maximum chunk size: 2 MB (1024 * 1024 bytes)
     int chunkSize = Math.min(2 * 1024 * 1024, (int) Math.max(16384, length / 4));
-    sendFileFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(raf, 0, length, chunkSize)));
+    if (ctx.pipeline().get(SslHandler.class) == null) {
+      /**
+       * Without TLS, the file is sent with {@link DefaultFileRegion}, which lets the kernel copy it to the socket
+       * (sendfile), without going through user space. It is still split into chunks, so that the traffic shaping
+       * handler can throttle the transfer smoothly. Each region opens the file lazily and closes it once written.
+       */
+      for (long position = 0; position < length; position += chunkSize) {
+        ctx.write(new DefaultFileRegion(file, position, Math.min(chunkSize, length - position)));
+      }
+      sendFileFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    } else {
+      RandomAccessFile raf = new RandomAccessFile(file, "r");
+      sendFileFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(raf, 0, length, chunkSize)));
+    }
 
     sendFileFuture.addListener(future -> {
       if (future.isSuccess()) {
@@ -329,6 +397,118 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
     });
   }
 
+  /**
+   * A file listed by the client matches the snapshot file if it has the same name, size and checksum. A file listed
+   * without a checksum matches by name and size, the client then checks its copy against the checksum of the response.
+   */
+  private boolean matchesFileInfo(
+      File file,
+      Map<String, BlobTransferFileInfo> fileInfos,
+      BlobTransferPartitionMetadata transferPartitionMetadata) throws IOException {
+    BlobTransferFileInfo fileInfo = fileInfos.get(file.getName());
+    return fileInfo != null && fileInfo.getFileSize() == file.length() && (fileInfo.getFileChecksum() == null
+        || transferPartitionMetadata.getFileChecksum(file).equals(fileInfo.getFileChecksum()));
+  }
+
+  /**
+   * Send the name, size and checksum of all the snapshot files, so that the client can fetch them from several peers.
+   */
+  private void sendManifest(
+      ChannelHandlerContext ctx,
+      File[] files,
+      BlobTransferPartitionMetadata transferPartitionMetadata,
+      String replicaInfo) throws IOException {
+    List<BlobTransferFileInfo> fileInfos = new ArrayList<>(files.length);
+    for (File file: files) {
+      fileInfos.add(
+          new BlobTransferFileInfo(file.getName(), file.length(), transferPartitionMetadata.getFileChecksum(file)));
+    }
+    byte[] manifestBytes = ObjectMapperFactory.getInstance().writeValueAsBytes(fileInfos);
+    FullHttpResponse manifestResponse =
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(manifestBytes));
+    manifestResponse.headers().set(HttpHeaderNames.CONTENT_LENGTH, manifestBytes.length);
+    manifestResponse.headers().set(HttpHeaderNames.CONTENT_TYPE, APPLICATION_JSON);
+    manifestResponse.headers().set(BLOB_TRANSFER_TYPE, BlobTransferType.MANIFEST);
+    ctx.writeAndFlush(manifestResponse).addListener(future -> {
+      if (future.isSuccess()) {
+        LOGGER.info(
+            "Manifest of {} files for replica {} sent successfully to host {}",
+            files.length,
+            replicaInfo,
+            ctx.channel().remoteAddress());
+      } else {
+        LOGGER.error(
+            "Failed to send manifest for replica {} to host {}",
+            replicaInfo,
+            ctx.channel().remoteAddress(),
+            future.cause());
+      }
+    });
+  }
+
+  /**
+   * Tell the client to reuse its own copy of the file, with an empty response carrying the file name and checksum.
+   */
+  private void sendReusedFile(
+      File file,
+      ChannelHandlerContext ctx,
+      BlobTransferPartitionMetadata transferPartitionMetadata,
+      String replicaInfo) throws IOException {
+    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+    response.headers().set(HttpHeaderNames.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"");
+    response.headers().set(HttpHeaderNames.CONTENT_MD5, transferPartitionMetadata.getFileChecksum(file));
+    response.headers().set(BLOB_TRANSFER_TYPE, BlobTransferType.REUSED_FILE);
+    ctx.writeAndFlush(response).addListener(future -> {
+      if (!future.isSuccess()) {
+        LOGGER.error(
+            "Failed to send reused file: {} for replica: {} to host: {}",
+            file.getName(),
+            replicaInfo,
+            ctx.channel().remoteAddress(),
+            future.cause());
+      }
+    });
+  }
+
+  /**
+   * Parse the request type from the request header, which is absent in the requests of older clients.
+   */
+  private BlobTransferRequestType parseRequestType(FullHttpRequest httpRequest) throws IllegalArgumentException {
+    String requestType = httpRequest.headers().get(BLOB_TRANSFER_REQUEST_TYPE);
+    if (requestType == null) {
+      return BlobTransferRequestType.PARTITION;
+    }
+    try {
+      return BlobTransferRequestType.valueOf(requestType);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid request type: " + requestType + " for " + httpRequest.uri());
+    }
+  }
+
+  /**
+   * Parse the files listed in the request body, which is empty if there are none.
+   * @param httpRequest the request
+   * @return the listed files by file name
+   */
+  private Map<String, BlobTransferFileInfo> parseRequestFiles(FullHttpRequest httpRequest)
+      throws IllegalArgumentException {
+    if (!httpRequest.content().isReadable()) {
+      return Collections.emptyMap();
+    }
+    List<BlobTransferFileInfo> fileInfos;
+    try (InputStream inputStream = new ByteBufInputStream(httpRequest.content().duplicate())) {
+      fileInfos = ObjectMapperFactory.getInstance().readValue(inputStream, FILE_INFOS_TYPE);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid files in the request for " + httpRequest.uri(), e);
+    }
+    Map<String, BlobTransferFileInfo> requestFiles = new HashMap<>(fileInfos.size());
+    for (BlobTransferFileInfo fileInfo: fileInfos) {
+      requestFiles.put(fileInfo.getFileName(), fileInfo);
+    }
+    return requestFiles;
+  }
+
   /**
    * Send metadata for the given blob transfer request
    * @param ctx the channel context
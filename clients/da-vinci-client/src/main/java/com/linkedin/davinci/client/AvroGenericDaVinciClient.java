@@ -68,7 +68,13 @@ import com.linkedin.venice.utils.PropertyBuilder;
 import com.linkedin.venice.utils.ReferenceCounted;
 import com.linkedin.venice.utils.RetryUtils;
 import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.concurrent.ThreadPoolFactory;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
+import com.linkedin.venice.utils.pools.ObjectPool;
+import com.linkedin.venice.utils.pools.ThreadLocalObjectPool;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -86,8 +92,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -115,7 +122,7 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         };
   }
 
-  private static final ThreadLocal<ReusableObjects> REUSABLE_OBJECTS = ThreadLocal.withInitial(ReusableObjects::new);
+  private static final ObjectPool<ReusableObjects> REUSABLE_OBJECTS = new ThreadLocalObjectPool<>(ReusableObjects::new);
 
   /**
    * The following two fields are used to speed up the requests with a big number of keys:
@@ -148,6 +155,13 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
 
   private final AbstractAvroChunkingAdapter<V> chunkingAdapter;
   private final Executor readChunkExecutorForLargeRequest;
+  // Only set when the client is configured with its own thread pool for large requests
+  private volatile ExecutorService dedicatedReadChunkExecutor;
+  /**
+   * Hands out the reusable objects of the large batch request chunks. The virtual threads of the dedicated executor are
+   * started for each chunk, so they share a bounded pool of objects instead of the thread-local ones.
+   */
+  private volatile ObjectPool<ReusableObjects> readChunkReusableObjects = REUSABLE_OBJECTS;
 
   private final DaVinciRecordTransformerConfig recordTransformerConfig;
   private int readerSchemaId;
@@ -469,12 +483,41 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
   }
 
   Executor getReadChunkExecutorForLargeRequest() {
-    return this.readChunkExecutorForLargeRequest;
+    ExecutorService dedicatedExecutor = this.dedicatedReadChunkExecutor;
+    return dedicatedExecutor != null ? dedicatedExecutor : this.readChunkExecutorForLargeRequest;
+  }
+
+  /**
+   * The keys of a batch get request sharing the same partition, which are looked up with a single batched read.
+   */
+  private static class PartitionKeys<K> {
+    final int partition;
+    final List<K> keys = new ArrayList<>();
+    final List<byte[]> keyBytesList = new ArrayList<>();
+
+    PartitionKeys(int partition) {
+      this.partition = partition;
+    }
+  }
+
+  /**
+   * A contiguous range of the keys of a partition, so that a split of a large request can cover several partitions,
+   * and a large partition can span several splits.
+   */
+  private static class PartitionKeyRange<K> {
+    final PartitionKeys<K> partitionKeys;
+    final int from;
+    final int to;
+
+    PartitionKeyRange(PartitionKeys<K> partitionKeys, int from, int to) {
+      this.partitionKeys = partitionKeys;
+      this.from = from;
+      this.to = to;
+    }
   }
 
   CompletableFuture<Map<K, V>> batchGetFromLocalStorage(Iterable<K> keys) {
     // expose underlying getAll functionality.
-    Map<K, V> result = new VeniceConcurrentHashMap<>();
     try (ReferenceCounted<VersionBackend> versionRef = getStoreBackend().getDaVinciCurrentVersion()) {
       VersionBackend versionBackend = versionRef.get();
       if (versionBackend == null) {
@@ -482,64 +525,161 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         throw new VeniceClientException("Da Vinci client is not subscribed, storeName=" + getStoreName());
       }
 
-      Consumer<Iterable<K>> keyArrayConsumer = keyList -> {
-        ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
-
-        for (K key: keyList) {
-          byte[] keyBytes = getKeySerializer().serialize(key);
-          int partition = versionBackend.getPartition(keyBytes);
-
-          if (isPartitionReadyToServe(versionBackend, partition)) {
-            V value = versionBackend.read(
-                partition,
-                keyBytes,
-                getAvroChunkingAdapter(),
-                getStoreDeserializerCache(),
-                readerSchemaId,
-                reusableObjects.binaryDecoder,
-                reusableObjects.rawValue,
-                null); // TODO: Consider supporting object re-use for batch get as well.
-            if (value != null) {
-              // The result should only contain entries for the keys that have a value associated with them
-              result.put(key, value);
-            }
-          } else if (!isPartitionSubscribed(versionBackend, partition)) {
-            storeBackend.getStats().recordBadRequest();
-            throw new NonLocalAccessException(versionBackend.toString(), partition);
-          } else {
-            throw new VeniceClientException(
-                "Partition: " + partition + " for store version: " + versionBackend + " is not ready to serve");
+      // Group the keys by partition, so that each partition is read with batched lookups
+      Int2ObjectMap<PartitionKeys<K>> keysByPartition = new Int2ObjectOpenHashMap<>();
+      int keyCount = 0;
+      VeniceClientException partitionException = null;
+      for (K key: keys) {
+        keyCount++;
+        if (partitionException != null) {
+          // Keep counting the keys, to tell whether the failure should be thrown or reported through the future
+          continue;
+        }
+        byte[] keyBytes = getKeySerializer().serialize(key);
+        int partition = versionBackend.getPartition(keyBytes);
+        PartitionKeys<K> partitionKeys = keysByPartition.get(partition);
+        if (partitionKeys == null) {
+          try {
+            throwIfPartitionNotReadyToServe(versionBackend, partition);
+          } catch (VeniceClientException e) {
+            partitionException = e;
+            continue;
           }
+          partitionKeys = new PartitionKeys<>(partition);
+          keysByPartition.put(partition, partitionKeys);
         }
-      };
-      int chunkSplitThreshold = getDaVinciConfig().getLargeBatchRequestSplitThreshold();
+        partitionKeys.keys.add(key);
+        partitionKeys.keyBytesList.add(keyBytes);
+      }
 
-      if (keys instanceof Set && ((Set) keys).size() > chunkSplitThreshold) {
-        // Execute large request concurrently
-        List<List<K>> splits = split((Set) keys, chunkSplitThreshold);
-        CompletableFuture[] splitFutures = new CompletableFuture[splits.size()];
-        for (int cur = 0; cur < splits.size(); ++cur) {
-          List<K> currentSplit = splits.get(cur);
-          splitFutures[cur] = CompletableFuture
-              .runAsync(() -> keyArrayConsumer.accept(currentSplit), getReadChunkExecutorForLargeRequest());
+      int chunkSplitThreshold = getDaVinciConfig().getLargeBatchRequestSplitThreshold();
+      if (partitionException != null) {
+        if (keyCount <= chunkSplitThreshold) {
+          throw partitionException;
         }
-        CompletableFuture<Map<K, V>> resultFuture = new CompletableFuture<>();
-        CompletableFuture.allOf(splitFutures).whenComplete((ignored, throwable) -> {
-          if (throwable != null) {
-            resultFuture.completeExceptionally(throwable);
-          } else {
-            resultFuture.complete(result);
+        // Large requests report the partitions which cannot serve through the returned future
+        return failedFuture(partitionException);
+      }
+      if (keyCount <= chunkSplitThreshold) {
+        Map<K, V> result = newResultMap(keyCount);
+        for (PartitionKeys<K> partitionKeys: keysByPartition.values()) {
+          readPartitionKeyRange(
+              versionBackend,
+              new PartitionKeyRange<>(partitionKeys, 0, partitionKeys.keys.size()),
+              result);
+        }
+        return CompletableFuture.completedFuture(result);
+      }
+
+      // Execute large request concurrently, in splits of up to the threshold keys
+      List<List<PartitionKeyRange<K>>> splits = new ArrayList<>();
+      List<PartitionKeyRange<K>> currentSplit = new ArrayList<>();
+      int currentSplitSize = 0;
+      for (PartitionKeys<K> partitionKeys: keysByPartition.values()) {
+        int partitionKeyCount = partitionKeys.keys.size();
+        for (int from = 0; from < partitionKeyCount;) {
+          int to = Math.min(partitionKeyCount, from + chunkSplitThreshold - currentSplitSize);
+          currentSplit.add(new PartitionKeyRange<>(partitionKeys, from, to));
+          currentSplitSize += to - from;
+          from = to;
+          if (currentSplitSize == chunkSplitThreshold) {
+            splits.add(currentSplit);
+            currentSplit = new ArrayList<>();
+            currentSplitSize = 0;
           }
-        });
+        }
+      }
+      if (!currentSplit.isEmpty()) {
+        splits.add(currentSplit);
+      }
 
-        return resultFuture;
-      } else {
-        keyArrayConsumer.accept(keys);
-        return CompletableFuture.completedFuture(result);
+      /**
+       * Each split fills its own result map from a single thread, and the maps are merged once all the splits are
+       * done, which avoids contending on a shared concurrent map.
+       */
+      Executor readChunkExecutor = getReadChunkExecutorForLargeRequest();
+      CompletableFuture<Map<K, V>>[] splitFutures = new CompletableFuture[splits.size()];
+      for (int cur = 0; cur < splits.size(); ++cur) {
+        List<PartitionKeyRange<K>> split = splits.get(cur);
+        try {
+          splitFutures[cur] = CompletableFuture.supplyAsync(() -> {
+            int splitKeyCount = 0;
+            for (PartitionKeyRange<K> range: split) {
+              splitKeyCount += range.to - range.from;
+            }
+            Map<K, V> splitResult = newResultMap(splitKeyCount);
+            for (PartitionKeyRange<K> range: split) {
+              readPartitionKeyRange(versionBackend, range, splitResult);
+            }
+            return splitResult;
+          }, readChunkExecutor);
+        } catch (RejectedExecutionException e) {
+          // The dedicated executor is shut down by a concurrent close
+          return failedFuture(new VeniceClientException("Da Vinci client is closed, storeName=" + getStoreName(), e));
+        }
       }
+      int totalKeyCount = keyCount;
+      return CompletableFuture.allOf(splitFutures).thenApply(ignored -> {
+        Map<K, V> result = newResultMap(totalKeyCount);
+        for (CompletableFuture<Map<K, V>> splitFuture: splitFutures) {
+          result.putAll(splitFuture.join());
+        }
+        return result;
+      });
     }
   }
 
+  private static <T> CompletableFuture<T> failedFuture(Throwable t) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(t);
+    return future;
+  }
+
+  private void throwIfPartitionNotReadyToServe(VersionBackend versionBackend, int partition) {
+    if (isPartitionReadyToServe(versionBackend, partition)) {
+      return;
+    }
+    if (!isPartitionSubscribed(versionBackend, partition)) {
+      storeBackend.getStats().recordBadRequest();
+      throw new NonLocalAccessException(versionBackend.toString(), partition);
+    }
+    throw new VeniceClientException(
+        "Partition: " + partition + " for store version: " + versionBackend + " is not ready to serve");
+  }
+
+  /**
+   * Reads the keys of the given range with a single batched lookup, and adds the found values to {@param result}. The
+   * result should only contain entries for the keys that have a value associated with them.
+   */
+  private void readPartitionKeyRange(VersionBackend versionBackend, PartitionKeyRange<K> range, Map<K, V> result) {
+    PartitionKeys<K> partitionKeys = range.partitionKeys;
+    List<K> keys = partitionKeys.keys;
+    int from = range.from;
+    ObjectPool<ReusableObjects> reusableObjectsPool = readChunkReusableObjects;
+    ReusableObjects reusableObjects = reusableObjectsPool.get();
+    try {
+      // The key bytes may be modified in place, which is fine since the ranges of a partition never overlap
+      versionBackend.readInBatch(
+          partitionKeys.partition,
+          partitionKeys.keyBytesList.subList(from, range.to),
+          getAvroChunkingAdapter(),
+          getStoreDeserializerCache(),
+          readerSchemaId,
+          reusableObjects.binaryDecoder,
+          (index, value) -> {
+            if (value != null) {
+              result.put(keys.get(from + index), value);
+            }
+          });
+    } finally {
+      reusableObjectsPool.dispose(reusableObjects);
+    }
+  }
+
+  private static <K, V> Map<K, V> newResultMap(int expectedSize) {
+    return new HashMap<>((int) (expectedSize / 0.75f) + 1);
+  }
+
   @Override
   public CompletableFuture<Map<K, V>> batchGet(Set<K> keys) throws VeniceClientException {
     throwIfNotReady();
@@ -948,6 +1088,7 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
       if (daVinciConfig.isCacheEnabled()) {
         cacheBackend = getBackend().getObjectCache();
       }
+      initDedicatedReadChunkExecutor();
       storeBackend = getBackend().getStoreOrThrow(getStoreName());
       if (managedClients.isPresent()) {
         storeBackend.setManaged(daVinciConfig.isManaged());
@@ -1030,6 +1171,31 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     return this.getClass().getSimpleName();
   }
 
+  /**
+   * Creates the thread pool of the large batch requests of this client, when it is configured with its own one.
+   */
+  @VisibleForTesting
+  void initDedicatedReadChunkExecutor() {
+    ExecutorService executor = null;
+    int largeBatchRequestThreadPoolSize = daVinciConfig.getLargeBatchRequestThreadPoolSize();
+    if (daVinciConfig.isLargeBatchRequestVirtualThreadsEnabled()) {
+      int maxConcurrency = largeBatchRequestThreadPoolSize > 0
+          ? largeBatchRequestThreadPoolSize
+          : Runtime.getRuntime().availableProcessors();
+      readChunkReusableObjects = new BoundedObjectPool<>(maxConcurrency, ReusableObjects::new);
+      executor = ThreadPoolFactory.createVirtualThreadPool(
+          maxConcurrency,
+          "DaVinci_Read_Chunk_Executor_" + getStoreName(),
+          null,
+          new LinkedBlockingQueue<>());
+    } else if (largeBatchRequestThreadPoolSize > 0) {
+      executor = Executors.newFixedThreadPool(
+          largeBatchRequestThreadPoolSize,
+          new DaemonThreadFactory("DaVinci_Read_Chunk_Executor_" + getStoreName()));
+    }
+    dedicatedReadChunkExecutor = executor;
+  }
+
   @VisibleForTesting
   void closeInner() {
     try {
@@ -1041,6 +1207,14 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
       if (cacheBackend != null) {
         cacheBackend.close();
       }
+      /**
+       * The executor is kept, so that the large requests racing with the close are rejected by it and fail their
+       * future, instead of falling back to the shared executor after the backend is released.
+       */
+      ExecutorService executor = dedicatedReadChunkExecutor;
+      if (executor != null) {
+        executor.shutdown();
+      }
       daVinciBackend.release();
       logger.info("Client is closed successfully, storeName={}", getStoreName());
     } catch (Throwable e) {
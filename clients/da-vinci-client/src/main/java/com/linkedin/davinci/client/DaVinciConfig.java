@@ -47,6 +47,19 @@ public class DaVinciConfig {
    */
   private int largeBatchRequestSplitThreshold = AvroGenericDaVinciClient.DEFAULT_CHUNK_SPLIT_THRESHOLD;
 
+  /**
+   * When positive, the chunks of large batch requests are executed in a thread pool of this size dedicated to the
+   * client, instead of the pool shared by all the clients, so that one hot store cannot starve the others.
+   */
+  private int largeBatchRequestThreadPoolSize = 0;
+
+  /**
+   * When enabled and the running JDK supports virtual threads, the chunks of large batch requests are executed on
+   * virtual threads in a pool dedicated to the client, with at most {@link #largeBatchRequestThreadPoolSize} (or the
+   * number of processors when not positive) chunks executing concurrently.
+   */
+  private boolean largeBatchRequestVirtualThreadsEnabled = false;
+
   /**
    * Determines whether to enable request-based metadata retrieval directly from the Venice Server.
    * By default, metadata is retrieved from a system store via a thin client.
@@ -76,6 +89,10 @@ public class DaVinciConfig {
         .append(cacheConfig)
         .append(", largeBatchRequestSplitThreshold=")
         .append(largeBatchRequestSplitThreshold)
+        .append(", largeBatchRequestThreadPoolSize=")
+        .append(largeBatchRequestThreadPoolSize)
+        .append(", largeBatchRequestVirtualThreadsEnabled=")
+        .append(largeBatchRequestVirtualThreadsEnabled)
         .append("}");
     return sb.toString();
   }
@@ -154,6 +171,27 @@ public class DaVinciConfig {
     return this;
   }
 
+  public int getLargeBatchRequestThreadPoolSize() {
+    return largeBatchRequestThreadPoolSize;
+  }
+
+  public DaVinciConfig setLargeBatchRequestThreadPoolSize(int largeBatchRequestThreadPoolSize) {
+    if (largeBatchRequestThreadPoolSize < 0) {
+      throw new IllegalArgumentException("'largeBatchRequestThreadPoolSize' param cannot be negative");
+    }
+    this.largeBatchRequestThreadPoolSize = largeBatchRequestThreadPoolSize;
+    return this;
+  }
+
+  public boolean isLargeBatchRequestVirtualThreadsEnabled() {
+    return largeBatchRequestVirtualThreadsEnabled;
+  }
+
+  public DaVinciConfig setLargeBatchRequestVirtualThreadsEnabled(boolean largeBatchRequestVirtualThreadsEnabled) {
+    this.largeBatchRequestVirtualThreadsEnabled = largeBatchRequestVirtualThreadsEnabled;
+    return this;
+  }
+
   public boolean isUseRequestBasedMetaRepository() {
     return useRequestBasedMetaRepository;
   }
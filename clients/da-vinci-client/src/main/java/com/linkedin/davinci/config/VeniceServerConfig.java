@@ -9,11 +9,13 @@ import static com.linkedin.venice.ConfigKeys.BLOB_RECEIVE_READER_IDLE_TIME_IN_SE
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_ACL_ENABLED;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_CLIENT_NETTY_WORKER_THREADS;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_CLIENT_READ_LIMIT_BYTES_PER_SEC;
+import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_DELTA_TRANSFER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_DISABLED_OFFSET_LAG_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_DISABLED_TIME_LAG_THRESHOLD_IN_MINUTES;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MANAGER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MAX_CONCURRENT_BLOB_RECEIVE_REPLICAS;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MAX_CONCURRENT_SNAPSHOT_USER;
+import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MAX_PARALLEL_PEERS_PER_REPLICA;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MAX_TIMEOUT_IN_MIN;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_PEERS_CONNECTIVITY_FRESHNESS_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_RECEIVER_SERVER_POLICY;
@@ -70,6 +72,7 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_PRINCIPAL_NAME;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_COLLECTION_FIELD_ELEMENT_REPLACEMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_DCR_BUG_INJECTION_STORE_TO_REGION_MAP;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_INGESTION_STORAGE_LOOKUP_THREAD_POOL_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_ACTIVE_KEY_COUNT_FOR_ALL_BATCH_PUSH_ENABLED;
@@ -81,15 +84,19 @@ import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SIGNAL_ID
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SIGNAL_REFRESH_INTERVAL_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SINGLE_GET_LATENCY_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADD_RMD_TO_BATCH_PUSH_FOR_HYBRID_STORES;
+import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_LOOKUP_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_PUSH_RECORD_COUNT_VERIFICATION_FAIL_ON_MISMATCH_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_REPORT_END_OF_INCREMENTAL_PUSH_STATUS_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOB_TRANSFER_ADAPTIVE_THROTTLER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOB_TRANSFER_ADAPTIVE_THROTTLER_UPDATE_PERCENTAGE;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOCKING_QUEUE_TYPE;
 import static com.linkedin.venice.ConfigKeys.SERVER_CHANNEL_OPTION_WRITE_BUFFER_WATERMARK_HIGH_BYTES;
+import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_COUNT_BY_VALUE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_FAST_AVRO_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_THREAD_NUM;
+import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_TOP_K_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_VALUE_PROJECTION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POLL_TRACKER_STALE_THRESHOLD_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_ALLOCATION_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_SIZE_FOR_CURRENT_VERSION_AA_WC_LEADER;
@@ -151,6 +158,8 @@ import static com.linkedin.venice.ConfigKeys.SERVER_LAG_MONITOR_CLEANUP_CYCLE;
 import static com.linkedin.venice.ConfigKeys.SERVER_LEADER_COMPLETE_STATE_CHECK_IN_FOLLOWER_VALID_INTERVAL_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_LEADER_HANDOVER_USE_DOL_MECHANISM_FOR_SYSTEM_STORES;
 import static com.linkedin.venice.ConfigKeys.SERVER_LEADER_HANDOVER_USE_DOL_MECHANISM_FOR_USER_STORES;
+import static com.linkedin.venice.ConfigKeys.SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_PER_VERSION;
+import static com.linkedin.venice.ConfigKeys.SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_TOTAL;
 import static com.linkedin.venice.ConfigKeys.SERVER_LEAKED_RESOURCE_CLEANUP_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_LEAKED_RESOURCE_CLEAN_UP_INTERVAL_IN_MINUTES;
 import static com.linkedin.venice.ConfigKeys.SERVER_LOAD_CONTROLLER_ACCEPT_MULTIPLIER;
@@ -179,6 +188,8 @@ import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_NO_READ_THRESHOLD_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_SERVICE_SCHEDULE_INTERNAL_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_LOCALITY_AWARE_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_MAX_CHUNK_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_RESOURCE_SHUTDOWN_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_SHUTDOWN_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_GRACEFUL_DROP_DELAY_IN_SECONDS;
@@ -218,7 +229,11 @@ import static com.linkedin.venice.ConfigKeys.SERVER_SOURCE_TOPIC_OFFSET_CHECK_IN
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_STOP_CONSUMPTION_TIMEOUT_IN_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORAGE_EXECUTION_FAIR_SCHEDULING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_MAX_CONCURRENCY;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_EARLY_TERMINATION_THRESHOLD_MS_MAP;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_STORAGE_EXECUTION_WEIGHT_MAP;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_VERSION_METADATA_WAIT_DURING_STATE_TRANSITION_TIME_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_STUCK_CONSUMER_REPAIR_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_STUCK_CONSUMER_REPAIR_INTERVAL_SECOND;
@@ -229,6 +244,8 @@ import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_CURREN
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_CURRENT_VERSION_SEPARATE_RT_LEADER;
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_NON_CURRENT_VERSION_AA_WC_LEADER;
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_NON_CURRENT_VERSION_NON_AA_WC_LEADER;
+import static com.linkedin.venice.ConfigKeys.SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION;
+import static com.linkedin.venice.ConfigKeys.SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_TOTAL;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNIQUE_INGESTED_KEY_COUNT_HLL_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNIQUE_INGESTED_KEY_COUNT_HLL_LOG2K;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNSUB_AFTER_BATCHPUSH;
@@ -242,9 +259,11 @@ import static com.linkedin.venice.ConfigKeys.SEVER_CALCULATE_QUOTA_USAGE_BASED_O
 import static com.linkedin.venice.ConfigKeys.SORTED_INPUT_DRAINER_SIZE;
 import static com.linkedin.venice.ConfigKeys.STORE_CHANGE_NOTIFIER_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_AFTER_LEADER_LOGIC_ENABLED;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_BATCHING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_MEMORY_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_NOTIFY_DELTA;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_NUMBER;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_WORK_STEALING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SYSTEM_SCHEMA_CLUSTER_NAME;
 import static com.linkedin.venice.ConfigKeys.SYSTEM_SCHEMA_INITIALIZATION_AT_START_TIME_ENABLED;
 import static com.linkedin.venice.ConfigKeys.TIME_LAG_THRESHOLD_FOR_FAST_ONLINE_TRANSITION_IN_RESTART_MINUTES;
@@ -382,6 +401,14 @@ public class VeniceServerConfig extends VeniceClusterConfig {
    */
   private final long storeWriterBufferNotifyDelta;
 
+  private final boolean storeWriterWorkStealingEnabled;
+
+  private final boolean storeWriterBufferBatchingEnabled;
+  private final int transientRecordOffHeapCapacityPerPartition;
+  private final long transientRecordOffHeapCapacityTotal;
+  private final long leaderRecordLookupCacheCapacityPerVersion;
+  private final long leaderRecordLookupCacheCapacityTotal;
+
   /**
    * The number of threads being used to serve get requests.
    */
@@ -486,6 +513,9 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final long storeVersionMetadataWaitDuringStateTransitionTimeMs;
 
   private final boolean computeFastAvroEnabled;
+  private final boolean computeValueProjectionEnabled;
+  private final boolean computeCountByValueEnabled;
+  private final boolean computeTopKEnabled;
 
   /**
    * Whether to replace an existing collection-merge array element with the incoming element on a conflict, instead of
@@ -512,12 +542,23 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final int parallelBatchGetChunkSize;
 
+  private final boolean parallelBatchGetLocalityAwareEnabled;
+
+  private final int parallelBatchGetMaxChunkSize;
+
+  private final boolean batchLookupEnabled;
+
   private final boolean keyValueProfilingEnabled;
 
   private final boolean enableDatabaseMemoryStats;
 
   private final Map<String, Integer> storeToEarlyTerminationThresholdMSMap;
 
+  private final boolean storageExecutionFairSchedulingEnabled;
+  private final Map<String, Integer> storeToStorageExecutionWeightMap;
+  private final boolean storageExecutionVirtualThreadsEnabled;
+  private final int storageExecutionVirtualThreadsMaxConcurrency;
+
   /**
    * TEST-ONLY. Regions allowed for A/A DCR bug injection: EI (ei4, ei-ltx1). This hardcoded allowlist prevents enabling
    * the chaos knob in prod. Stores mapped to regions not in this set cause startup failure.
@@ -690,6 +731,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final long blobTransferServiceWriteLimitBytesPerSec;
   private final long blobTransferDisabledOffsetLagThreshold;
   private final int blobTransferDisabledTimeLagThresholdInMinutes;
+  private final boolean blobTransferDeltaTransferEnabled;
+  private final int blobTransferMaxParallelPeersPerReplica;
   private final int snapshotCleanupIntervalInMins;
   private final int maxConcurrentBlobReceiveReplicas;
   private final int dvcP2pBlobTransferServerPort;
@@ -708,6 +751,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final int channelOptionWriteBufferHighBytes;
   private final boolean aaWCWorkloadParallelProcessingEnabled;
   private final int aaWCWorkloadParallelProcessingThreadPoolSize;
+  private final int aaWCKeyLevelLockStripeCount;
   private final boolean crossTpParallelProcessingEnabled;
   private final int crossTpParallelProcessingThreadPoolSize;
   private final boolean crossTpParallelProcessingCurrentVersionAAWCLeaderOnly;
@@ -854,6 +898,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         serverProperties.getLong(BLOB_TRANSFER_DISABLED_OFFSET_LAG_THRESHOLD, 100000L);
     blobTransferDisabledTimeLagThresholdInMinutes =
         serverProperties.getInt(BLOB_TRANSFER_DISABLED_TIME_LAG_THRESHOLD_IN_MINUTES, 0); // Default: Disabled.
+    blobTransferDeltaTransferEnabled = serverProperties.getBoolean(BLOB_TRANSFER_DELTA_TRANSFER_ENABLED, false);
+    blobTransferMaxParallelPeersPerReplica = serverProperties.getInt(BLOB_TRANSFER_MAX_PARALLEL_PEERS_PER_REPLICA, 1);
 
     dvcP2pBlobTransferServerPort = serverProperties.getInt(DAVINCI_P2P_BLOB_TRANSFER_SERVER_PORT, -1);
     dvcP2pBlobTransferClientPort =
@@ -881,6 +927,16 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeWriterBufferMemoryCapacity =
         serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_MEMORY_CAPACITY, 10 * 1024 * 1024);
     storeWriterBufferNotifyDelta = serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_NOTIFY_DELTA, 1 * 1024 * 1024);
+    storeWriterWorkStealingEnabled = serverProperties.getBoolean(STORE_WRITER_WORK_STEALING_ENABLED, false);
+    storeWriterBufferBatchingEnabled = serverProperties.getBoolean(STORE_WRITER_BUFFER_BATCHING_ENABLED, false);
+    transientRecordOffHeapCapacityPerPartition =
+        (int) serverProperties.getSizeInBytes(SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION, 0);
+    transientRecordOffHeapCapacityTotal =
+        serverProperties.getSizeInBytes(SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_TOTAL, 1024 * 1024 * 1024);
+    leaderRecordLookupCacheCapacityPerVersion =
+        serverProperties.getSizeInBytes(SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_PER_VERSION, 0);
+    leaderRecordLookupCacheCapacityTotal =
+        serverProperties.getSizeInBytes(SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_TOTAL, 1024 * 1024 * 1024);
     restServiceStorageThreadNum = serverProperties.getInt(SERVER_REST_SERVICE_STORAGE_THREAD_NUM, 16);
     serverComputeThreadNum = serverProperties.getInt(SERVER_COMPUTE_THREAD_NUM, 16);
     nettyIdleTimeInSeconds = serverProperties.getInt(SERVER_NETTY_IDLE_TIME_SECONDS, (int) TimeUnit.HOURS.toSeconds(3));
@@ -958,6 +1014,9 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeVersionMetadataWaitDuringStateTransitionTimeMs =
         serverProperties.getLong(SERVER_STORE_VERSION_METADATA_WAIT_DURING_STATE_TRANSITION_TIME_MS, 300_000);
     computeFastAvroEnabled = serverProperties.getBoolean(SERVER_COMPUTE_FAST_AVRO_ENABLED, true);
+    computeValueProjectionEnabled = serverProperties.getBoolean(SERVER_COMPUTE_VALUE_PROJECTION_ENABLED, false);
+    computeCountByValueEnabled = serverProperties.getBoolean(SERVER_COMPUTE_COUNT_BY_VALUE_ENABLED, false);
+    computeTopKEnabled = serverProperties.getBoolean(SERVER_COMPUTE_TOP_K_ENABLED, false);
     activeActiveCollectionFieldElementReplacementEnabled =
         serverProperties.getBoolean(SERVER_AA_COLLECTION_FIELD_ELEMENT_REPLACEMENT_ENABLED, false);
     participantMessageConsumptionDelayMs = serverProperties.getLong(PARTICIPANT_MESSAGE_CONSUMPTION_DELAY_MS, 60000);
@@ -969,6 +1028,12 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     enableParallelBatchGet = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_BATCH_GET, false);
     parallelBatchGetChunkSize = serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE, 5);
+    parallelBatchGetLocalityAwareEnabled =
+        serverProperties.getBoolean(SERVER_PARALLEL_BATCH_GET_LOCALITY_AWARE_ENABLED, false);
+    parallelBatchGetMaxChunkSize = Math.max(
+        parallelBatchGetChunkSize,
+        serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_MAX_CHUNK_SIZE, parallelBatchGetChunkSize * 20));
+    batchLookupEnabled = serverProperties.getBoolean(SERVER_BATCH_LOOKUP_ENABLED, false);
 
     keyValueProfilingEnabled = serverProperties.getBoolean(KEY_VALUE_PROFILING_ENABLED, false);
     enableDatabaseMemoryStats = serverProperties.getBoolean(SERVER_DATABASE_MEMORY_STATS_ENABLED, true);
@@ -979,6 +1044,17 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeToEarlyTerminationThresholdMSMapProp.forEach(
         (storeName, thresholdStr) -> storeToEarlyTerminationThresholdMSMap
             .put(storeName, Integer.parseInt(thresholdStr.trim())));
+    storageExecutionFairSchedulingEnabled =
+        serverProperties.getBoolean(SERVER_STORAGE_EXECUTION_FAIR_SCHEDULING_ENABLED, false);
+    storeToStorageExecutionWeightMap = new HashMap<>();
+    serverProperties.getMap(SERVER_STORE_TO_STORAGE_EXECUTION_WEIGHT_MAP, Collections.emptyMap())
+        .forEach(
+            (storeName, weightStr) -> storeToStorageExecutionWeightMap
+                .put(storeName, Integer.parseInt(weightStr.trim())));
+    storageExecutionVirtualThreadsEnabled =
+        serverProperties.getBoolean(SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_ENABLED, false);
+    storageExecutionVirtualThreadsMaxConcurrency =
+        serverProperties.getInt(SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_MAX_CONCURRENCY, 0);
     aaDcrBugInjectionStoreToRegionMap =
         serverProperties.getMap(SERVER_AA_DCR_BUG_INJECTION_STORE_TO_REGION_MAP, Collections.emptyMap());
     databaseLookupQueueCapacity = serverProperties.getInt(SERVER_DATABASE_LOOKUP_QUEUE_CAPACITY, Integer.MAX_VALUE);
@@ -1247,6 +1323,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         serverProperties.getBoolean(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED, false);
     aaWCWorkloadParallelProcessingThreadPoolSize =
         serverProperties.getInt(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE, 8);
+    aaWCKeyLevelLockStripeCount = serverProperties.getInt(SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT, 0);
     crossTpParallelProcessingEnabled = serverProperties.getBoolean(SERVER_CROSS_TP_PARALLEL_PROCESSING_ENABLED, false);
     crossTpParallelProcessingThreadPoolSize =
         serverProperties.getInt(SERVER_CROSS_TP_PARALLEL_PROCESSING_THREAD_POOL_SIZE, 4);
@@ -1447,6 +1524,14 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return blobTransferDisabledTimeLagThresholdInMinutes;
   }
 
+  public boolean isBlobTransferDeltaTransferEnabled() {
+    return blobTransferDeltaTransferEnabled;
+  }
+
+  public int getBlobTransferMaxParallelPeersPerReplica() {
+    return blobTransferMaxParallelPeersPerReplica;
+  }
+
   public int getSnapshotCleanupIntervalInMins() {
     return snapshotCleanupIntervalInMins;
   }
@@ -1504,6 +1589,30 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return this.storeWriterBufferNotifyDelta;
   }
 
+  public boolean isStoreWriterWorkStealingEnabled() {
+    return this.storeWriterWorkStealingEnabled;
+  }
+
+  public boolean isStoreWriterBufferBatchingEnabled() {
+    return this.storeWriterBufferBatchingEnabled;
+  }
+
+  public int getTransientRecordOffHeapCapacityPerPartition() {
+    return this.transientRecordOffHeapCapacityPerPartition;
+  }
+
+  public long getTransientRecordOffHeapCapacityTotal() {
+    return this.transientRecordOffHeapCapacityTotal;
+  }
+
+  public long getLeaderRecordLookupCacheCapacityPerVersion() {
+    return this.leaderRecordLookupCacheCapacityPerVersion;
+  }
+
+  public long getLeaderRecordLookupCacheCapacityTotal() {
+    return this.leaderRecordLookupCacheCapacityTotal;
+  }
+
   public int getRestServiceStorageThreadNum() {
     return restServiceStorageThreadNum;
   }
@@ -1620,6 +1729,18 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return computeFastAvroEnabled;
   }
 
+  public boolean isComputeValueProjectionEnabled() {
+    return computeValueProjectionEnabled;
+  }
+
+  public boolean isComputeCountByValueEnabled() {
+    return computeCountByValueEnabled;
+  }
+
+  public boolean isComputeTopKEnabled() {
+    return computeTopKEnabled;
+  }
+
   public boolean isActiveActiveCollectionFieldElementReplacementEnabled() {
     return activeActiveCollectionFieldElementReplacementEnabled;
   }
@@ -1648,6 +1769,18 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return parallelBatchGetChunkSize;
   }
 
+  public boolean isParallelBatchGetLocalityAwareEnabled() {
+    return parallelBatchGetLocalityAwareEnabled;
+  }
+
+  public int getParallelBatchGetMaxChunkSize() {
+    return parallelBatchGetMaxChunkSize;
+  }
+
+  public boolean isBatchLookupEnabled() {
+    return batchLookupEnabled;
+  }
+
   public boolean isKeyValueProfilingEnabled() {
     return keyValueProfilingEnabled;
   }
@@ -1660,6 +1793,22 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return storeToEarlyTerminationThresholdMSMap;
   }
 
+  public boolean isStorageExecutionFairSchedulingEnabled() {
+    return storageExecutionFairSchedulingEnabled;
+  }
+
+  public Map<String, Integer> getStoreToStorageExecutionWeightMap() {
+    return storeToStorageExecutionWeightMap;
+  }
+
+  public boolean isStorageExecutionVirtualThreadsEnabled() {
+    return storageExecutionVirtualThreadsEnabled;
+  }
+
+  public int getStorageExecutionVirtualThreadsMaxConcurrency() {
+    return storageExecutionVirtualThreadsMaxConcurrency;
+  }
+
   /**
    * TEST-ONLY. Returns true when A/A DCR injection is active for the store on this server (store region == local region).
    * If the region is not in the EI allowlist, injection is refused and logged to prevent enabling in prod.
@@ -2225,6 +2374,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return aaWCWorkloadParallelProcessingThreadPoolSize;
   }
 
+  public int getAAWCKeyLevelLockStripeCount() {
+    return aaWCKeyLevelLockStripeCount;
+  }
+
   public boolean isCrossTpParallelProcessingEnabled() {
     return crossTpParallelProcessingEnabled;
   }
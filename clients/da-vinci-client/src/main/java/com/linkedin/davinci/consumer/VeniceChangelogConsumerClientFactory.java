@@ -286,9 +286,10 @@ public class VeniceChangelogConsumerClientFactory {
         "KME reader backed PubSubMessageDeserializer is disabled, falling back to default deserializer. kmeEnabled: {}, isD2ClientPresent: {}",
         kmeEnabled,
         d2Client != null);
-    // Safe default when KME is disabled or D2 is unavailable.
+    // Safe default when KME is disabled or D2 is unavailable. The optimized serializer still wraps the payloads of
+    // the records instead of copying them, since it only differs in how bytes fields are decoded.
     return new PubSubMessageDeserializer(
-        new KafkaValueSerializer(),
+        new OptimizedKafkaValueSerializer(),
         new LandFillObjectPool<>(KafkaMessageEnvelope::new),
         new LandFillObjectPool<>(KafkaMessageEnvelope::new),
         producerTimestampFallbackEnabled);
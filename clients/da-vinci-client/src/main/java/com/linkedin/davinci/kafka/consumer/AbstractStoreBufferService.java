@@ -4,6 +4,7 @@ import com.linkedin.davinci.validation.PartitionTracker;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.service.AbstractVeniceService;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 
@@ -19,6 +20,17 @@ public abstract class AbstractStoreBufferService extends AbstractVeniceService {
       String kafkaUrl,
       long beforeProcessingRecordTimestampNs) throws InterruptedException;
 
+  /**
+   * Queues a batch of follower records of the same partition, in consumption order, so that they are processed
+   * together by the drainer.
+   */
+  public abstract void putConsumerRecords(
+      List<DefaultPubSubMessage> consumerRecords,
+      long[] beforeProcessingRecordTimestampsNs,
+      StoreIngestionTask ingestionTask,
+      int partition,
+      String kafkaUrl) throws InterruptedException;
+
   /**
    * Waits for all messages already queued to the drainer for this partition to be processed (persisted to disk).
    * Returns when the drainer queue is empty. Throws VeniceException if the timeout is reached before the queue
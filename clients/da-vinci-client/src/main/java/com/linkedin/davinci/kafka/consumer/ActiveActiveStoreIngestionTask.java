@@ -96,10 +96,16 @@ import org.apache.logging.log4j.Logger;
  */
 public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestionTask {
   private static final Logger LOGGER = LogManager.getLogger(ActiveActiveStoreIngestionTask.class);
+  private static final Lazy<LeaderRecordLookupCache.CachedRecord> NO_LEADER_RECORD_LOOKUP = Lazy.of(() -> null);
 
   private final int rmdProtocolVersionId;
   private final MergeConflictResolver mergeConflictResolver;
   private final RmdSerDe rmdSerDe;
+  /**
+   * The values and RMDs this leader persisted for recently updated keys, or null if the cache is disabled. See
+   * {@link LeaderRecordLookupCache}.
+   */
+  private final LeaderRecordLookupCache leaderRecordLookupCache;
   private final Lazy<KeyLevelLocksManager> keyLevelLocksManager;
   private final AggVersionedIngestionStats aggVersionedIngestionStats;
   private final RemoteIngestionRepairService remoteIngestionRepairService;
@@ -165,11 +171,14 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     int knownKafkaClusterNumber = serverConfig.getKafkaClusterIdToUrlMap().size();
 
     int initialPoolSize = knownKafkaClusterNumber + 1;
+    int keyLevelLockStripeCount = serverConfig.getAAWCKeyLevelLockStripeCount();
     this.keyLevelLocksManager = Lazy.of(
-        () -> new KeyLevelLocksManager(
-            getVersionTopic().getName(),
-            initialPoolSize,
-            getKeyLevelLockMaxPoolSizeBasedOnServerConfig(serverConfig, storeVersionPartitionCount)));
+        () -> keyLevelLockStripeCount > 0
+            ? new StripedKeyLevelLocksManager(getVersionTopic().getName(), keyLevelLockStripeCount)
+            : new KeyLevelLocksManager(
+                getVersionTopic().getName(),
+                initialPoolSize,
+                getKeyLevelLockMaxPoolSizeBasedOnServerConfig(serverConfig, storeVersionPartitionCount)));
     StringAnnotatedStoreSchemaCache annotatedReadOnlySchemaRepository =
         new StringAnnotatedStoreSchemaCache(storeName, schemaRepository);
 
@@ -185,6 +194,11 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             isWriteComputationEnabled,
             getServerConfig().isComputeFastAvroEnabled(),
             getServerConfig().isActiveActiveCollectionFieldElementReplacementEnabled());
+    long leaderRecordLookupCacheCapacity = serverConfig.getLeaderRecordLookupCacheCapacityPerVersion();
+    // Chunked versions are excluded, since overwriting a chunked value requires the manifest of its old chunks
+    this.leaderRecordLookupCache = leaderRecordLookupCacheCapacity > 0 && !isChunked && !isRmdChunked
+        ? new LeaderRecordLookupCache(leaderRecordLookupCacheCapacity, builder.getLeaderRecordLookupCacheBudget())
+        : null;
     this.remoteIngestionRepairService = builder.getRemoteIngestionRepairService();
     this.reusableObjectsSupplier = Objects.requireNonNull(builder.getReusableObjectsSupplier());
 
@@ -245,6 +259,10 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       long beforeProcessingPerRecordTimestampNs,
       long beforeProcessingBatchRecordsTimestampMs) {
     if (!consumerRecordWrapper.getMessage().getTopicPartition().getPubSubTopic().isRealTime()) {
+      if (leaderRecordLookupCache != null && !consumerRecordWrapper.getMessage().getKey().isControlMessage()) {
+        // The record is persisted without going through the conflict resolution of this replica
+        leaderRecordLookupCache.invalidate(consumerRecordWrapper.getMessage().getKey().getKey());
+      }
       /**
        * We don't need to lock the partition here because during VT consumption there is only one consumption source.
        */
@@ -453,12 +471,15 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
    * @param partitionConsumptionState The {@link PartitionConsumptionState} of the current partition
    * @param key                       Bytes of key.
    * @param partition                 The partition to fetch the replication metadata from storage engine
+   * @param lookupCacheRecordProvider The record of the key in the {@link LeaderRecordLookupCache}, shared with the
+   *                                  value lookup of the same record so that the cache is only looked up once
    * @return The object containing RMD and value schema id. If nothing is found, return null
    */
   RmdWithValueSchemaId getReplicationMetadataAndSchemaId(
       PartitionConsumptionState partitionConsumptionState,
       byte[] key,
       int partition,
+      Lazy<LeaderRecordLookupCache.CachedRecord> lookupCacheRecordProvider,
       long currentTimeForMetricsMs) {
     getHostLevelIngestionStats().recordIngestionReplicationMetadataLookupCount(currentTimeForMetricsMs);
     PartitionConsumptionState.TransientRecord cachedRecord = partitionConsumptionState.getTransientRecord(key);
@@ -472,17 +493,25 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
           cachedRecord.getReplicationMetadataRecord(),
           cachedRecord.getRmdManifest());
     }
+    byte[] replicationMetadataWithValueSchemaBytes;
     ChunkedValueManifestContainer rmdManifestContainer = new ChunkedValueManifestContainer();
-    byte[] replicationMetadataWithValueSchemaBytes =
-        getRmdWithValueSchemaByteBufferFromStorage(partition, key, rmdManifestContainer, currentTimeForMetricsMs);
-    if (replicationMetadataWithValueSchemaBytes == null) {
-      return null; // No RMD for this key
+    LeaderRecordLookupCache.CachedRecord lookupCacheRecord = lookupCacheRecordProvider.get();
+    if (lookupCacheRecord != null) {
+      replicationMetadataWithValueSchemaBytes = lookupCacheRecord.getValueSchemaIdPrependedRmdBytes();
+    } else {
+      replicationMetadataWithValueSchemaBytes =
+          getRmdWithValueSchemaByteBufferFromStorage(partition, key, rmdManifestContainer, currentTimeForMetricsMs);
+      if (replicationMetadataWithValueSchemaBytes == null) {
+        return null; // No RMD for this key
+      }
     }
     RmdWithValueSchemaId rmdWithValueSchemaId = new RmdWithValueSchemaId();
     // Get old RMD manifest value from RMD Manifest container object.
     rmdWithValueSchemaId.setRmdManifest(rmdManifestContainer.getManifest());
-    getRmdSerDe()
-        .deserializeValueSchemaIdPrependedRmdBytes(replicationMetadataWithValueSchemaBytes, rmdWithValueSchemaId);
+    // The RMD record is only deserialized if the value-level timestamp is not enough to resolve the conflict.
+    getRmdSerDe().deserializeValueSchemaIdPrependedRmdBytesLazily(
+        replicationMetadataWithValueSchemaBytes,
+        rmdWithValueSchemaId);
     return rmdWithValueSchemaId;
   }
 
@@ -490,6 +519,55 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     return rmdSerDe;
   }
 
+  /**
+   * @return the record of the key in the {@link LeaderRecordLookupCache}, or null if the cache is disabled or does not
+   *         hold the key
+   */
+  private LeaderRecordLookupCache.CachedRecord getFromLeaderRecordLookupCache(
+      byte[] key,
+      long currentTimeForMetricsMs) {
+    if (leaderRecordLookupCache == null) {
+      return null;
+    }
+    LeaderRecordLookupCache.CachedRecord cachedRecord = leaderRecordLookupCache.get(key);
+    if (cachedRecord != null) {
+      getHostLevelIngestionStats().recordLeaderRecordLookupCacheHitCount(currentTimeForMetricsMs);
+    } else {
+      getHostLevelIngestionStats().recordLeaderRecordLookupCacheMissCount(currentTimeForMetricsMs);
+    }
+    return cachedRecord;
+  }
+
+  /**
+   * Caches the value and RMD which the leader just set as the transient record of the key, so that they can be looked
+   * up without reading storage once the transient record is removed.
+   */
+  private void putInLeaderRecordLookupCache(
+      int partition,
+      byte[] key,
+      ByteBuffer updatedValueBytes,
+      int valueSchemaId,
+      ByteBuffer updatedRmdBytes) {
+    if (leaderRecordLookupCache == null) {
+      return;
+    }
+    byte[] rmdBytesWithValueSchemaId = new byte[ByteUtils.SIZE_OF_INT + updatedRmdBytes.remaining()];
+    ByteUtils.writeInt(rmdBytesWithValueSchemaId, valueSchemaId, 0);
+    updatedRmdBytes.duplicate().get(rmdBytesWithValueSchemaId, ByteUtils.SIZE_OF_INT, updatedRmdBytes.remaining());
+    if (updatedValueBytes == null) {
+      leaderRecordLookupCache.put(partition, key, null, 0, 0, valueSchemaId, rmdBytesWithValueSchemaId);
+    } else {
+      leaderRecordLookupCache.put(
+          partition,
+          key,
+          updatedValueBytes.array(),
+          updatedValueBytes.position(),
+          updatedValueBytes.remaining(),
+          valueSchemaId,
+          rmdBytesWithValueSchemaId);
+    }
+  }
+
   /**
    * This method tries to retrieve the RMD bytes with prepended value schema ID from storage engine. It will also store
    * RMD manifest into passed-in {@link ChunkedValueManifestContainer} container object if current RMD value is chunked.
@@ -571,12 +649,17 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             ingestionTaskName + " : Invalid/Unrecognized operation type submitted: " + kafkaValue.messageType);
     }
     final ChunkedValueManifestContainer valueManifestContainer = new ChunkedValueManifestContainer();
+    // Shared by the RMD and value lookups, so that the hit or miss of the key is only recorded once
+    final Lazy<LeaderRecordLookupCache.CachedRecord> lookupCacheRecordProvider = leaderRecordLookupCache == null
+        ? NO_LEADER_RECORD_LOOKUP
+        : Lazy.of(() -> getFromLeaderRecordLookupCache(keyBytes, beforeProcessingBatchRecordsTimestampMs));
     Lazy<ByteBufferValueRecord<ByteBuffer>> oldValueProvider = Lazy.of(
         () -> getValueBytesForKey(
             partitionConsumptionState,
             keyBytes,
             consumerRecord.getTopicPartition(),
             valueManifestContainer,
+            lookupCacheRecordProvider,
             beforeProcessingBatchRecordsTimestampMs));
     if (hasComplexVenicePartitionerMaterializedView && msgType == MessageType.DELETE) {
       // We need to lookup first because this function updates the transient cache before writing the view.
@@ -588,6 +671,7 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
         partitionConsumptionState,
         keyBytes,
         partition,
+        lookupCacheRecordProvider,
         beforeProcessingBatchRecordsTimestampMs);
 
     long writeTimestamp = getWriteTimestampFromKME(kafkaValue);
@@ -605,9 +689,7 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     // Capture pre-DCR timestamp for the ts=0 sentinel fast-path in wasOldValueAlive.
     // DCR mutates rmdRecord in-place (AbstractMerge.putWithRecordLevelTimestamp),
     // so reading the timestamp after DCR would always see the incoming write's ts.
-    final Object preDcrTimestamp = (rmdWithValueSchemaID != null)
-        ? rmdWithValueSchemaID.getRmdRecord().get(RmdConstants.TIMESTAMP_FIELD_POS)
-        : null;
+    final Object preDcrTimestamp = getPreDcrTimestamp(rmdWithValueSchemaID);
 
     long beforeDCRTimestampInNs = System.nanoTime();
     switch (msgType) {
@@ -715,8 +797,13 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       if (updatedValueBytes == null) {
         hostLevelIngestionStats.recordTombstoneCreatedDCR();
         aggVersionedIngestionStats.recordTombStoneCreationDCR(storeName, versionNumber);
-        partitionConsumptionState
-            .setTransientRecord(kafkaClusterId, consumerRecord.getPosition(), keyBytes, valueSchemaId, rmdRecord);
+        partitionConsumptionState.setTransientRecord(
+            kafkaClusterId,
+            consumerRecord.getPosition(),
+            keyBytes,
+            valueSchemaId,
+            rmdRecord,
+            updatedRmdBytes);
       } else {
         int valueLen = updatedValueBytes.remaining();
         partitionConsumptionState.setTransientRecord(
@@ -727,8 +814,15 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             updatedValueBytes.position(),
             valueLen,
             valueSchemaId,
-            rmdRecord);
+            rmdRecord,
+            updatedRmdBytes);
       }
+      putInLeaderRecordLookupCache(
+          partitionConsumptionState.getPartition(),
+          keyBytes,
+          updatedValueBytes,
+          valueSchemaId,
+          updatedRmdBytes);
       return new PubSubMessageProcessedResult(
           new MergeConflictResultWrapper(
               mergeConflictResult,
@@ -880,13 +974,22 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       byte[] key,
       PubSubTopicPartition topicPartition,
       ChunkedValueManifestContainer valueManifestContainer,
+      Lazy<LeaderRecordLookupCache.CachedRecord> lookupCacheRecordProvider,
       long currentTimeForMetricsMs) {
     ByteBufferValueRecord<ByteBuffer> originalValue = null;
     getHostLevelIngestionStats().recordIngestionValueBytesLookupCount(currentTimeForMetricsMs);
     // Find the existing value. If a value for this key is found from the transient map then use that value, otherwise
     // get it from DB.
     PartitionConsumptionState.TransientRecord transientRecord = partitionConsumptionState.getTransientRecord(key);
-    if (transientRecord == null) {
+    LeaderRecordLookupCache.CachedRecord lookupCacheRecord =
+        transientRecord == null ? lookupCacheRecordProvider.get() : null;
+    if (lookupCacheRecord != null) {
+      if (lookupCacheRecord.getValue() != null) {
+        originalValue = new ByteBufferValueRecord<>(
+            decompressValue(ByteBuffer.wrap(lookupCacheRecord.getValue())),
+            lookupCacheRecord.getValueSchemaId());
+      }
+    } else if (transientRecord == null) {
       long lookupStartTimeInNS = System.nanoTime();
       IngestionTaskReusableObjects reusableObjects = reusableObjectsSupplier.get();
       ByteBuffer reusedRawValue = reusableObjects.getReusedByteBuffer();
@@ -1049,6 +1152,20 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     return isValuePresentForKey(oldValueByteBufferProvider, partitionConsumptionState, keyBytes);
   }
 
+  /**
+   * @return the timestamp field of the RMD before DCR runs, read from the value-level timestamp decoded from the RMD
+   *         bytes when available so that the RMD record does not get deserialized just for this.
+   */
+  private static Object getPreDcrTimestamp(RmdWithValueSchemaId rmdWithValueSchemaID) {
+    if (rmdWithValueSchemaID == null) {
+      return null;
+    }
+    if (rmdWithValueSchemaID.hasValueLevelTimestamp()) {
+      return rmdWithValueSchemaID.getValueLevelTimestamp();
+    }
+    return rmdWithValueSchemaID.getRmdRecord().get(RmdConstants.TIMESTAMP_FIELD_POS);
+  }
+
   /**
    * Checks whether the old value exists for key count signal computation. Uses a three-tier
    * strategy to minimize I/O:
@@ -1092,8 +1209,11 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
   }
 
   ByteBuffer getCurrentValueFromTransientRecord(PartitionConsumptionState.TransientRecord transientRecord) {
-    ByteBuffer compressedValue =
-        ByteBuffer.wrap(transientRecord.getValue(), transientRecord.getValueOffset(), transientRecord.getValueLen());
+    return decompressValue(
+        ByteBuffer.wrap(transientRecord.getValue(), transientRecord.getValueOffset(), transientRecord.getValueLen()));
+  }
+
+  private ByteBuffer decompressValue(ByteBuffer compressedValue) {
     try {
       return getCompressionStrategy().isCompressionEnabled()
           ? getCompressor().get()
@@ -1334,6 +1454,10 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     final int partition = partitionConsumptionState.getPartition();
     final OffsetRecord offsetRecord = partitionConsumptionState.getOffsetRecord();
     final PubSubTopic leaderTopic = offsetRecord.getLeaderTopic(pubSubTopicRepository);
+    if (leaderRecordLookupCache != null) {
+      // Drop whatever is left from a previous leadership of this replica, since it may have been overwritten since
+      leaderRecordLookupCache.invalidatePartition(partition);
+    }
 
     /**
      * Note that this function is called after the new leader has waited for 5 minutes of inactivity on the local VT topic.
@@ -1349,6 +1473,21 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     preparePositionCheckpointAndStartConsumptionAsLeader(leaderTopic, partitionConsumptionState, true);
   }
 
+  @Override
+  protected void onDemotedToFollower(PartitionConsumptionState partitionConsumptionState) {
+    if (leaderRecordLookupCache != null) {
+      // Followers never read the cache, and the records it holds would be stale by the next promotion anyway
+      leaderRecordLookupCache.invalidatePartition(partitionConsumptionState.getPartition());
+    }
+  }
+
+  @Override
+  protected void releasePartitionResources(int partition) {
+    if (leaderRecordLookupCache != null) {
+      leaderRecordLookupCache.invalidatePartition(partition);
+    }
+  }
+
   /**
    * Ensures the PubSub URL is present in the PubSub cluster URL-to-ID map before subscribing to a topic.
    * Prevents subscription to unknown PubSub URLs, which can cause issues during message consumption.
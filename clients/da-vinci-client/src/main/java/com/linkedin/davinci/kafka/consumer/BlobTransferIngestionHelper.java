@@ -194,6 +194,11 @@ public class BlobTransferIngestionHelper {
     String replicaId = pcs.getReplicaId();
     LOGGER.info("Starting async blob transfer for replica: {}", replicaId);
 
+    // Keep the SST files of the existing partition data, so that the peer does not need to send them again
+    if (serverConfig.isBlobTransferDeltaTransferEnabled()) {
+      keepReusableFilesBeforeBlobTransfer(kafkaVersionTopic, partition, replicaId);
+    }
+
     // Prepare storage for blob transfer: drop existing partition data and clean up directories
     if (storageEngine.containsPartition(partition)) {
       storageEngine.dropPartition(partition, false);
@@ -257,6 +262,20 @@ public class BlobTransferIngestionHelper {
         serverConfig.getRocksDBPath());
   }
 
+  /**
+   * Hard-link the SST files of the partition into its reusable files directory, which is advertised to the peer by the
+   * blob transfer client, and removed once the transfer is over. Failing to do so only means a full transfer.
+   */
+  private void keepReusableFilesBeforeBlobTransfer(String kafkaVersionTopic, int partitionId, String replicaId) {
+    try {
+      int linkedFileCount =
+          RocksDBUtils.linkSSTFilesToReusableFilesDir(serverConfig.getRocksDBPath(), kafkaVersionTopic, partitionId);
+      LOGGER.info("Kept {} reusable SST files before blob transfer for replica {}", linkedFileCount, replicaId);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to keep reusable SST files before blob transfer for replica {}", replicaId, e);
+    }
+  }
+
   /**
    * Add a partition to the storage engine when blob transfer starts
    * with disabled read, disabled write, and rocksDB not open, but have blob transfer in-progress flag.
@@ -368,6 +387,13 @@ public class BlobTransferIngestionHelper {
     String rocksDBPath = serverConfig.getRocksDBPath();
     String kafkaTopic = Version.composeKafkaTopic(storeName, versionNumber);
 
+    // The reused files are linked into the partition by now, and the others are not needed anymore
+    try {
+      RocksDBUtils.deleteDirectory(RocksDBUtils.composeReusableFilesDir(rocksDBPath, kafkaTopic, partition));
+    } catch (Exception e) {
+      LOGGER.error("Failed to clean up reusable files directory for {}", replicaId, e);
+    }
+
     if (transferSuccessful) {
       String tempPartitionDir = RocksDBUtils.composeTempPartitionDir(rocksDBPath, kafkaTopic, partition);
       File tempPartitionDirFile = new File(tempPartitionDir);
@@ -0,0 +1,71 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Accumulates the follower records consumed in one poll for a partition, so that they are queued to the
+ * {@link AbstractStoreBufferService} as a single node by {@link #flush}. It is only used by the thread processing the
+ * poll, and is not thread-safe.
+ */
+class FollowerRecordBatch {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final long maxSizeInBytes;
+  private List<DefaultPubSubMessage> records = new ArrayList<>(INITIAL_CAPACITY);
+  private long[] beforeProcessingRecordTimestampsNs = new long[INITIAL_CAPACITY];
+  private long sizeInBytes = 0;
+
+  /**
+   * @param maxSizeInBytes the heap size above which the batch is full, which should not exceed the notify delta of the
+   *                       store buffer, so that a batch never holds more memory than a drainer frees at once.
+   */
+  FollowerRecordBatch(long maxSizeInBytes) {
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  /**
+   * @return true if the batch is full and should be flushed.
+   */
+  boolean add(DefaultPubSubMessage record, long beforeProcessingRecordTimestampNs) {
+    int index = records.size();
+    if (index == beforeProcessingRecordTimestampsNs.length) {
+      beforeProcessingRecordTimestampsNs = Arrays.copyOf(beforeProcessingRecordTimestampsNs, index * 2);
+    }
+    records.add(record);
+    beforeProcessingRecordTimestampsNs[index] = beforeProcessingRecordTimestampNs;
+    sizeInBytes += record.getHeapSize();
+    return sizeInBytes >= maxSizeInBytes;
+  }
+
+  boolean isEmpty() {
+    return records.isEmpty();
+  }
+
+  int size() {
+    return records.size();
+  }
+
+  /**
+   * Queues the pending records, if any, and resets the batch. The records and timestamps are handed over to the store
+   * buffer, so new ones are allocated for the next batch.
+   */
+  void flush(
+      AbstractStoreBufferService storeBufferService,
+      StoreIngestionTask ingestionTask,
+      int partition,
+      String kafkaUrl) throws InterruptedException {
+    if (records.isEmpty()) {
+      return;
+    }
+    List<DefaultPubSubMessage> batchRecords = records;
+    long[] batchTimestampsNs = beforeProcessingRecordTimestampsNs;
+    records = new ArrayList<>(INITIAL_CAPACITY);
+    beforeProcessingRecordTimestampsNs = new long[INITIAL_CAPACITY];
+    sizeInBytes = 0;
+    storeBufferService.putConsumerRecords(batchRecords, batchTimestampsNs, ingestionTask, partition, kafkaUrl);
+  }
+}
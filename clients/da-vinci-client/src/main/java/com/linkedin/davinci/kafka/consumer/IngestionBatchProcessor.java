@@ -110,6 +110,28 @@ public class IngestionBatchProcessor {
     }
   }
 
+  /**
+   * @return whether {@link #lockManager} is a {@link StripedKeyLevelLocksManager}, in which case batches should be
+   *         locked by {@link #lockKeyStripes}, which neither allocates nor mutates a map per key, instead of
+   *         {@link #lockKeys}.
+   */
+  public boolean isKeyLockStriped() {
+    return lockManager instanceof StripedKeyLevelLocksManager;
+  }
+
+  /**
+   * Locks the stripes of all the keys (except Control Messages) passed by the params in a deterministic order.
+   *
+   * @return the locked stripes, to be passed to {@link #unlockKeyStripes}.
+   */
+  public long[] lockKeyStripes(List<DefaultPubSubMessage> records) {
+    return ((StripedKeyLevelLocksManager) lockManager).lockStripes(records);
+  }
+
+  public void unlockKeyStripes(long[] lockedStripes) {
+    ((StripedKeyLevelLocksManager) lockManager).unlockStripes(lockedStripes);
+  }
+
   public static boolean isAllMessagesFromRTTopic(Iterable<DefaultPubSubMessage> records) {
     for (DefaultPubSubMessage record: records) {
       if (!record.getTopicPartition().getPubSubTopic().isRealTime()) {
@@ -459,6 +459,7 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
           serverConfig.getLogContext(),
           metricsRepository,
           true,
+          serverConfig.isStoreWriterWorkStealingEnabled(),
           serverConfig.getClusterName());
     }
     this.kafkaMessageEnvelopeSchemaReader = kafkaMessageEnvelopeSchemaReader;
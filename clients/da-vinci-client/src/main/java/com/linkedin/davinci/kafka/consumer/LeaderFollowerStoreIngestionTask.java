@@ -588,6 +588,8 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
             HeartbeatLagMonitorAction.SET_FOLLOWER_MONITOR,
             partitionConsumptionState.getReplicaId());
         LOGGER.info("Replica: {} moved to standby/follower state", partitionConsumptionState.getReplicaId());
+        partitionConsumptionState.releaseOffHeapTransientRecordBuffer();
+        onDemotedToFollower(partitionConsumptionState);
 
         /**
          * Close the writer to make sure the current segment is closed after the leader is demoted to standby.
@@ -609,6 +611,13 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
     }
   }
 
+  /**
+   * Invoked once a leader partition has moved to standby and the records it consumed from its leader topic have been
+   * processed, so that subclasses can drop the state they only keep as leader.
+   */
+  protected void onDemotedToFollower(PartitionConsumptionState partitionConsumptionState) {
+  }
+
   /**
    * The following function will be executed after processing all the quick actions in the consumer action queues,
    * so that the long running actions doesn't block other partition's consumer actions. Besides, there is no thread
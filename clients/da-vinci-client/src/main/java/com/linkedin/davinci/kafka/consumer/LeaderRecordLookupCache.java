@@ -0,0 +1,234 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.davinci.utils.ByteArrayKey;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * A size-bounded cache of the value and replication metadata which the leader of an Active/Active store version wrote
+ * for a key, so that hot keys do not pay a RocksDB lookup on every update once their transient record is purged by the
+ * drainer.
+ *
+ * An entry is written whenever the leader resolves a conflict in favor of the incoming record, i.e. whenever it sets a
+ * transient record, so that it describes the same state as the transient record once the latter is persisted and
+ * purged. The cache is only consulted when there is no transient record for the key. Entries are invalidated whenever
+ * the key is consumed from the version topic, since the replica then persists it without going through its own
+ * conflict resolution, and all the entries of a partition are invalidated when the partition is promoted to leader,
+ * demoted to follower or unsubscribed.
+ *
+ * The cache is split into segments by key hash, each of them an LRU map bounded by its share of the memory budget, so
+ * that the consumer and drainer threads of different partitions rarely contend on the same lock. Entries are also
+ * reserved from a {@link MemoryBudget} shared by the caches of all the versions hosted by the server.
+ */
+public class LeaderRecordLookupCache {
+  static final int SEGMENT_COUNT = 16;
+  /**
+   * A rough estimate of the heap overhead of an entry on top of its key, value and RMD bytes: the map entry, the key
+   * wrapper, the {@link CachedRecord} and the array headers.
+   */
+  static final int ENTRY_OVERHEAD_IN_BYTES = 160;
+
+  /**
+   * The value and RMD of a key, as the leader set them in its transient record.
+   */
+  public static class CachedRecord {
+    private final int partition;
+    private final byte[] value;
+    private final int valueSchemaId;
+    private final byte[] valueSchemaIdPrependedRmdBytes;
+    private final int sizeInBytes;
+
+    CachedRecord(
+        int partition,
+        byte[] keyBytes,
+        byte[] value,
+        int valueSchemaId,
+        byte[] valueSchemaIdPrependedRmdBytes) {
+      this.partition = partition;
+      this.value = value;
+      this.valueSchemaId = valueSchemaId;
+      this.valueSchemaIdPrependedRmdBytes = valueSchemaIdPrependedRmdBytes;
+      this.sizeInBytes = ENTRY_OVERHEAD_IN_BYTES + keyBytes.length + (value == null ? 0 : value.length)
+          + valueSchemaIdPrependedRmdBytes.length;
+    }
+
+    public int getPartition() {
+      return partition;
+    }
+
+    /**
+     * @return the value bytes, as set in the transient record, or null if the key is deleted
+     */
+    public byte[] getValue() {
+      return value;
+    }
+
+    public int getValueSchemaId() {
+      return valueSchemaId;
+    }
+
+    public byte[] getValueSchemaIdPrependedRmdBytes() {
+      return valueSchemaIdPrependedRmdBytes;
+    }
+
+    int getSizeInBytes() {
+      return sizeInBytes;
+    }
+  }
+
+  private static class Segment {
+    private final long capacityInBytes;
+    private final MemoryBudget hostBudget;
+    private final LinkedHashMap<ByteArrayKey, CachedRecord> records = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    Segment(long capacityInBytes, MemoryBudget hostBudget) {
+      this.capacityInBytes = capacityInBytes;
+      this.hostBudget = hostBudget;
+    }
+
+    synchronized CachedRecord get(ByteArrayKey key) {
+      return records.get(key);
+    }
+
+    synchronized void put(ByteArrayKey key, CachedRecord record) {
+      invalidate(key);
+      int sizeInBytes = record.getSizeInBytes();
+      if (sizeInBytes > capacityInBytes) {
+        // Keeping it would evict everything else
+        return;
+      }
+      Iterator<CachedRecord> iterator = records.values().iterator();
+      while (usedBytes + sizeInBytes > capacityInBytes) {
+        evict(iterator);
+      }
+      // The host budget is shared with the other caches, so only evicting from this segment may not be enough
+      while (!hostBudget.tryReserve(sizeInBytes)) {
+        if (!iterator.hasNext()) {
+          return;
+        }
+        evict(iterator);
+      }
+      records.put(key, record);
+      usedBytes += sizeInBytes;
+    }
+
+    synchronized void invalidate(ByteArrayKey key) {
+      CachedRecord previous = records.remove(key);
+      if (previous != null) {
+        release(previous);
+      }
+    }
+
+    synchronized void invalidatePartition(int partition) {
+      Iterator<Map.Entry<ByteArrayKey, CachedRecord>> iterator = records.entrySet().iterator();
+      while (iterator.hasNext()) {
+        CachedRecord record = iterator.next().getValue();
+        if (record.getPartition() == partition) {
+          iterator.remove();
+          release(record);
+        }
+      }
+    }
+
+    private void evict(Iterator<CachedRecord> iterator) {
+      CachedRecord eldest = iterator.next();
+      iterator.remove();
+      release(eldest);
+    }
+
+    private void release(CachedRecord record) {
+      usedBytes -= record.getSizeInBytes();
+      hostBudget.release(record.getSizeInBytes());
+    }
+
+    synchronized long getUsedBytes() {
+      return usedBytes;
+    }
+
+    synchronized int size() {
+      return records.size();
+    }
+  }
+
+  private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+  /**
+   * @param capacityInBytes the heap budget of this cache.
+   * @param hostBudget the heap budget shared by all the caches of the host, which entries are reserved from as well.
+   */
+  public LeaderRecordLookupCache(long capacityInBytes, MemoryBudget hostBudget) {
+    if (capacityInBytes <= 0) {
+      throw new IllegalArgumentException("capacityInBytes must be positive, got: " + capacityInBytes);
+    }
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      segments[i] = new Segment(capacityInBytes / SEGMENT_COUNT, Objects.requireNonNull(hostBudget));
+    }
+  }
+
+  /**
+   * @return the cached record of the key, or null if it is not cached
+   */
+  public CachedRecord get(byte[] keyBytes) {
+    ByteArrayKey key = ByteArrayKey.wrap(keyBytes);
+    return getSegment(key).get(key);
+  }
+
+  /**
+   * Caches the value and RMD the leader set for the key, replacing any previously cached record of the key.
+   *
+   * @param value the array holding the value bytes, or null if the key is deleted. The value bytes are copied, so
+   *              that the cache does not retain the rest of the array.
+   * @param valueSchemaIdPrependedRmdBytes the serialized RMD with the value schema ID prepended, like it is persisted.
+   *                                       The array is retained, so it must not be modified afterwards.
+   */
+  public void put(
+      int partition,
+      byte[] keyBytes,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      byte[] valueSchemaIdPrependedRmdBytes) {
+    ByteArrayKey key = ByteArrayKey.wrap(keyBytes);
+    byte[] valueCopy = value == null ? null : Arrays.copyOfRange(value, valueOffset, valueOffset + valueLen);
+    getSegment(key)
+        .put(key, new CachedRecord(partition, keyBytes, valueCopy, valueSchemaId, valueSchemaIdPrependedRmdBytes));
+  }
+
+  public void invalidate(byte[] keyBytes) {
+    ByteArrayKey key = ByteArrayKey.wrap(keyBytes);
+    getSegment(key).invalidate(key);
+  }
+
+  public void invalidatePartition(int partition) {
+    for (Segment segment: segments) {
+      segment.invalidatePartition(partition);
+    }
+  }
+
+  public long getUsedBytes() {
+    long usedBytes = 0;
+    for (Segment segment: segments) {
+      usedBytes += segment.getUsedBytes();
+    }
+    return usedBytes;
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment segment: segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  private Segment getSegment(ByteArrayKey key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+  }
+}
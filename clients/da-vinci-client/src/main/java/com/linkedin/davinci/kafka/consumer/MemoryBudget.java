@@ -0,0 +1,48 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A host-level memory budget shared by the per-partition or per-version buffers of a server, so that they cannot add
+ * up beyond it as the number of hosted replicas grows. It is used for the direct buffers of the
+ * {@link OffHeapTransientRecordStore}s, whose owners keep their transient records on the heap when they cannot reserve
+ * one, and for the heap used by the {@link LeaderRecordLookupCache}s, which evict entries to stay within it.
+ */
+class MemoryBudget {
+  private final long capacityInBytes;
+  private final AtomicLong reservedBytes = new AtomicLong();
+
+  MemoryBudget(long capacityInBytes) {
+    if (capacityInBytes <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, but got: " + capacityInBytes);
+    }
+    this.capacityInBytes = capacityInBytes;
+  }
+
+  /**
+   * @return true if {@param bytes} were reserved, or false if they would exceed the capacity.
+   */
+  boolean tryReserve(long bytes) {
+    long reserved;
+    do {
+      reserved = reservedBytes.get();
+      if (reserved + bytes > capacityInBytes) {
+        return false;
+      }
+    } while (!reservedBytes.compareAndSet(reserved, reserved + bytes));
+    return true;
+  }
+
+  void release(long bytes) {
+    reservedBytes.addAndGet(-bytes);
+  }
+
+  long getReservedBytes() {
+    return reservedBytes.get();
+  }
+
+  long getCapacityInBytes() {
+    return capacityInBytes;
+  }
+}
@@ -0,0 +1,555 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static com.linkedin.davinci.kafka.consumer.StoreIngestionTask.REDUNDANT_LOGGING_FILTER;
+
+import com.linkedin.davinci.kafka.consumer.PartitionConsumptionState.TransientRecord;
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import com.linkedin.davinci.utils.ByteArrayKey;
+import com.linkedin.venice.pubsub.api.PubSubPosition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import io.netty.util.internal.PlatformDependent;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * A size-bounded store for the transient records of a partition, which keeps the value bytes and the serialized
+ * replication metadata of every in-flight key in a direct buffer instead of on the heap.
+ *
+ * Keys are indexed by an open-addressing hash table with linear probing over the key bytes. The value and RMD bytes of
+ * an entry are written into a single allocation of a ring buffer, which is allocated lazily on the first write so that
+ * partitions which never lead do not pay for it. Records are removed roughly in the order they are written, once the
+ * drainer persists them, so the space at the head of the ring is reclaimed as soon as the oldest allocations are
+ * released.
+ *
+ * Transient records cannot be evicted, since they hold the only copy of a value which is not persisted yet, so a
+ * record which does not fit into the ring is kept on the heap instead, and counted as an overflow. The same applies
+ * when the ring cannot be allocated because the host-level {@link MemoryBudget} is exhausted. Once the partition
+ * is demoted to follower, the ring is freed as soon as its last record is persisted, see
+ * {@link #releaseBufferWhenEmpty}.
+ *
+ * {@link #get} returns a view of the entry, which is created once per entry like the records of the heap map, and
+ * which only copies the value to the heap and deserializes the RMD when they are first asked for. Before the space of
+ * an entry with a view can be reused, the bytes are copied into the view, so that the callers holding it are not
+ * affected. All operations are guarded by the store's monitor, since records are written by the consumer thread and
+ * removed by the drainer thread.
+ */
+class OffHeapTransientRecordStore {
+  private static final Logger LOGGER = LogManager.getLogger(OffHeapTransientRecordStore.class);
+  private static final int INITIAL_TABLE_SIZE = 64;
+  private static final int OVERFLOW_NONE = 0;
+  private static final int OVERFLOW_TOO_LARGE = 1;
+  private static final int OVERFLOW_FULL = 2;
+  private static final int OVERFLOW_OVER_BUDGET = 3;
+
+  private final String replicaId;
+  private final int capacityInBytes;
+  private final MemoryBudget budget;
+  private final HostLevelIngestionStats hostLevelIngestionStats;
+  private final Map<ByteArrayKey, TransientRecord> overflowRecords = new HashMap<>();
+  /** Live and released-but-not-reclaimed allocations of the ring, in allocation order. */
+  private final ArrayDeque<Entry> allocations = new ArrayDeque<>();
+
+  private ByteBuffer buffer;
+  private Entry[] table = new Entry[INITIAL_TABLE_SIZE];
+  private int entryCount = 0;
+  private int tail = 0;
+  private long usedBytes = 0;
+  private boolean closed = false;
+  private boolean releaseBufferWhenEmpty = false;
+
+  OffHeapTransientRecordStore(
+      String replicaId,
+      int capacityInBytes,
+      MemoryBudget budget,
+      HostLevelIngestionStats hostLevelIngestionStats) {
+    if (capacityInBytes <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, but got: " + capacityInBytes);
+    }
+    this.replicaId = replicaId;
+    this.capacityInBytes = capacityInBytes;
+    this.budget = budget;
+    this.hostLevelIngestionStats = hostLevelIngestionStats;
+  }
+
+  /**
+   * @param replicationMetadataBytes the serialized {@code replicationMetadataRecord}, which saves serializing it
+   *                                 again, or null to serialize it here
+   */
+  void put(
+      int kafkaClusterId,
+      PubSubPosition consumedPosition,
+      byte[] key,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer replicationMetadataBytes) {
+    ByteBuffer rmdBytes = replicationMetadataBytes;
+    if (replicationMetadataRecord != null && rmdBytes == null) {
+      rmdBytes = ByteBuffer.wrap(
+          FastSerializerDeserializerFactory.getFastAvroGenericSerializer(replicationMetadataRecord.getSchema())
+              .serialize(replicationMetadataRecord));
+    }
+    int overflowReason = putInternal(
+        kafkaClusterId,
+        consumedPosition,
+        key,
+        value,
+        valueOffset,
+        valueLen,
+        valueSchemaId,
+        replicationMetadataRecord,
+        rmdBytes);
+    if (overflowReason == OVERFLOW_NONE) {
+      return;
+    }
+    hostLevelIngestionStats.recordTransientRecordOffHeapOverflowCount();
+    String message;
+    if (overflowReason == OVERFLOW_TOO_LARGE) {
+      message = "A transient record is larger than the off-heap transient record store of replica: " + replicaId
+          + ", so it is kept on the heap";
+    } else if (overflowReason == OVERFLOW_OVER_BUDGET) {
+      message = "The host-level off-heap transient record budget of " + budget.getCapacityInBytes()
+          + " bytes is exhausted, so the transient records of replica: " + replicaId + " are kept on the heap";
+    } else {
+      message = "The off-heap transient record store of replica: " + replicaId
+          + " is full, as its oldest record is not persisted yet, so new transient records are kept on the heap";
+    }
+    if (!REDUNDANT_LOGGING_FILTER.isRedundantException(message)) {
+      LOGGER.warn("{}, capacity in bytes: {}", message, capacityInBytes);
+    }
+  }
+
+  /**
+   * @return {@link #OVERFLOW_NONE}, or the reason why the record was kept on the heap
+   */
+  private synchronized int putInternal(
+      int kafkaClusterId,
+      PubSubPosition consumedPosition,
+      byte[] key,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer rmdBytes) {
+    removeEntry(key);
+    ByteArrayKey overflowKey = overflowRecords.isEmpty() ? null : ByteArrayKey.wrap(key);
+    if (overflowKey != null) {
+      overflowRecords.remove(overflowKey);
+    }
+
+    int storedValueLen = value == null ? 0 : valueLen;
+    int length = storedValueLen + (rmdBytes == null ? 0 : rmdBytes.remaining());
+    int overflowReason = OVERFLOW_NONE;
+    int address = -1;
+    if (closed) {
+      // The partition is closed, and the records which are still set do not need to be counted
+      address = -2;
+    } else if (length > capacityInBytes) {
+      address = -2;
+      overflowReason = OVERFLOW_TOO_LARGE;
+    } else if (length > 0) {
+      address = allocate(length);
+      if (address == -2) {
+        overflowReason = OVERFLOW_FULL;
+      } else if (address == -3) {
+        address = -2;
+        overflowReason = OVERFLOW_OVER_BUDGET;
+      }
+    }
+    if (address == -2) {
+      TransientRecord record =
+          new TransientRecord(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, consumedPosition);
+      if (replicationMetadataRecord != null) {
+        record.setReplicationMetadataRecord(replicationMetadataRecord);
+      }
+      overflowRecords.put(overflowKey == null ? ByteArrayKey.wrap(key) : overflowKey, record);
+      return overflowReason;
+    }
+
+    Entry entry = new Entry(
+        key,
+        hash(key),
+        address,
+        length,
+        value == null ? -1 : valueLen,
+        valueSchemaId,
+        replicationMetadataRecord == null ? null : replicationMetadataRecord.getSchema(),
+        kafkaClusterId,
+        consumedPosition);
+    if (address >= 0) {
+      ByteBuffer target = buffer.duplicate();
+      target.position(address);
+      if (value != null) {
+        target.put(value, valueOffset, valueLen);
+      }
+      if (rmdBytes != null) {
+        target.put(rmdBytes.duplicate());
+      }
+      allocations.addLast(entry);
+      usedBytes += length;
+    }
+    insertEntry(entry);
+    return OVERFLOW_NONE;
+  }
+
+  TransientRecord get(byte[] key) {
+    TransientRecord record = getInternal(key);
+    if (record == null) {
+      hostLevelIngestionStats.recordTransientRecordOffHeapMissCount();
+    } else {
+      hostLevelIngestionStats.recordTransientRecordOffHeapHitCount();
+    }
+    return record;
+  }
+
+  private synchronized TransientRecord getInternal(byte[] key) {
+    Entry entry = table[findSlot(key, hash(key))];
+    if (entry != null) {
+      return getView(entry);
+    }
+    return overflowRecords.isEmpty() ? null : overflowRecords.get(ByteArrayKey.wrap(key));
+  }
+
+  /**
+   * Removes the record of {@param key} only if it was written for the given position, with the same semantics as
+   * {@link PartitionConsumptionState#mayRemoveTransientRecord}.
+   *
+   * @return the record which remains for the key, or null if there is none.
+   */
+  synchronized TransientRecord mayRemove(int kafkaClusterId, PubSubPosition recordPosition, byte[] key) {
+    int slot = findSlot(key, hash(key));
+    Entry entry = table[slot];
+    if (entry != null) {
+      if (entry.kafkaClusterId == kafkaClusterId && entry.consumedPosition == recordPosition) {
+        deleteSlot(slot);
+        release(entry);
+        return null;
+      }
+      return getView(entry);
+    }
+    if (overflowRecords.isEmpty()) {
+      return null;
+    }
+    ByteArrayKey overflowKey = ByteArrayKey.wrap(key);
+    TransientRecord record = overflowRecords.get(overflowKey);
+    if (record != null && record.getKafkaClusterId() == kafkaClusterId
+        && record.getConsumedPosition() == recordPosition) {
+      overflowRecords.remove(overflowKey);
+      return null;
+    }
+    return record;
+  }
+
+  synchronized int size() {
+    return entryCount + overflowRecords.size();
+  }
+
+  /**
+   * @return the bytes of the direct buffer held by live records.
+   */
+  synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  /**
+   * Drops all the records and frees the direct buffer, once the partition is unsubscribed and its buffered records are
+   * drained. The views returned before keep their bytes, and the records set afterward are kept on the heap.
+   */
+  synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Entry entry: allocations) {
+      if (entry.view != null) {
+        entry.view.load();
+      }
+    }
+    Arrays.fill(table, null);
+    entryCount = 0;
+    allocations.clear();
+    overflowRecords.clear();
+    usedBytes = 0;
+    tail = 0;
+    freeBuffer();
+  }
+
+  /**
+   * Frees the direct buffer once all the records it holds are persisted, which is right away if there are none. This
+   * is called when the partition is demoted to follower, so that followers do not hold on to the budget. A record set
+   * afterward, once the partition leads again, allocates a new buffer.
+   */
+  synchronized void releaseBufferWhenEmpty() {
+    releaseBufferWhenEmpty = true;
+    if (allocations.isEmpty()) {
+      freeBuffer();
+    }
+  }
+
+  private void freeBuffer() {
+    if (buffer != null) {
+      PlatformDependent.freeDirectBuffer(buffer);
+      buffer = null;
+      tail = 0;
+      budget.release(capacityInBytes);
+    }
+  }
+
+  private OffHeapTransientRecord getView(Entry entry) {
+    if (entry.view == null) {
+      entry.view = new OffHeapTransientRecord(entry);
+    }
+    return entry.view;
+  }
+
+  /**
+   * @return the address of the allocated bytes in the ring, -2 if there is not enough contiguous free space, or -3 if
+   *         the ring cannot be allocated within the host-level budget.
+   */
+  private int allocate(int length) {
+    releaseBufferWhenEmpty = false;
+    if (buffer == null) {
+      if (!budget.tryReserve(capacityInBytes)) {
+        return -3;
+      }
+      buffer = ByteBuffer.allocateDirect(capacityInBytes);
+    }
+    if (allocations.isEmpty()) {
+      tail = length;
+      return 0;
+    }
+    int head = allocations.peekFirst().address;
+    int address;
+    if (tail > head) {
+      // Not wrapped: the free space is after the tail, and before the head.
+      if (tail + length <= capacityInBytes) {
+        address = tail;
+      } else if (length <= head) {
+        address = 0;
+      } else {
+        return -2;
+      }
+    } else if (tail + length <= head) {
+      address = tail;
+    } else {
+      return -2;
+    }
+    tail = address + length;
+    return address;
+  }
+
+  private void release(Entry entry) {
+    if (entry.address < 0) {
+      return;
+    }
+    if (entry.view != null) {
+      // The space can be reused from now on
+      entry.view.load();
+    }
+    entry.released = true;
+    usedBytes -= entry.length;
+    while (!allocations.isEmpty() && allocations.peekFirst().released) {
+      allocations.pollFirst();
+    }
+    if (releaseBufferWhenEmpty && allocations.isEmpty()) {
+      freeBuffer();
+    }
+  }
+
+  private void removeEntry(byte[] key) {
+    int slot = findSlot(key, hash(key));
+    Entry entry = table[slot];
+    if (entry != null) {
+      deleteSlot(slot);
+      release(entry);
+    }
+  }
+
+  private void insertEntry(Entry entry) {
+    if (2 * (entryCount + 1) > table.length) {
+      Entry[] oldTable = table;
+      table = new Entry[oldTable.length * 2];
+      for (Entry e: oldTable) {
+        if (e != null) {
+          table[findSlot(e.key, e.hash)] = e;
+        }
+      }
+    }
+    table[findSlot(entry.key, entry.hash)] = entry;
+    entryCount++;
+  }
+
+  /**
+   * @return the slot holding {@param key}, or the empty slot where it would be inserted.
+   */
+  private int findSlot(byte[] key, int hash) {
+    int mask = table.length - 1;
+    int slot = hash & mask;
+    Entry entry;
+    while ((entry = table[slot]) != null) {
+      if (entry.hash == hash && Arrays.equals(entry.key, key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Deletes the entry in {@param slot}, and shifts back the following entries of the probe sequence so that no
+   * tombstone is needed.
+   */
+  private void deleteSlot(int slot) {
+    int mask = table.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    Entry entry;
+    while ((entry = table[next]) != null) {
+      int home = entry.hash & mask;
+      // Move the entry into the gap if its home slot is not cyclically within (gap, next].
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        table[gap] = entry;
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    table[gap] = null;
+    entryCount--;
+  }
+
+  private static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    return h ^ (h >>> 16);
+  }
+
+  private static final class Entry {
+    private final byte[] key;
+    private final int hash;
+    /** The address of the value followed by the RMD in the ring, or -1 if both are empty. */
+    private final int address;
+    private final int length;
+    private final int valueLen;
+    private final int valueSchemaId;
+    private final Schema rmdSchema;
+    private final int kafkaClusterId;
+    private final PubSubPosition consumedPosition;
+    private OffHeapTransientRecord view;
+    private boolean released = false;
+
+    private Entry(
+        byte[] key,
+        int hash,
+        int address,
+        int length,
+        int valueLen,
+        int valueSchemaId,
+        Schema rmdSchema,
+        int kafkaClusterId,
+        PubSubPosition consumedPosition) {
+      this.key = key;
+      this.hash = hash;
+      this.address = address;
+      this.length = length;
+      this.valueLen = valueLen;
+      this.valueSchemaId = valueSchemaId;
+      this.rmdSchema = rmdSchema;
+      this.kafkaClusterId = kafkaClusterId;
+      this.consumedPosition = consumedPosition;
+    }
+  }
+
+  /**
+   * The view of an entry, which reads the value and RMD bytes from the ring when they are first asked for.
+   */
+  private final class OffHeapTransientRecord extends TransientRecord {
+    private final Entry entry;
+    // Guarded by the store's monitor
+    private boolean loaded = false;
+    private byte[] value;
+    private byte[] rmdBytes;
+
+    private OffHeapTransientRecord(Entry entry) {
+      super(
+          null,
+          entry.valueLen >= 0 ? 0 : -1,
+          entry.valueLen,
+          entry.valueSchemaId,
+          entry.kafkaClusterId,
+          entry.consumedPosition);
+      this.entry = entry;
+    }
+
+    /**
+     * Copies the bytes of the entry to the heap, which must be called with the store's monitor held.
+     */
+    private void load() {
+      if (loaded) {
+        return;
+      }
+      loaded = true;
+      if (entry.address >= 0) {
+        ByteBuffer source = buffer.duplicate();
+        source.position(entry.address);
+        if (entry.valueLen >= 0) {
+          value = new byte[entry.valueLen];
+          source.get(value);
+        }
+        if (entry.rmdSchema != null) {
+          rmdBytes = new byte[entry.length - Math.max(entry.valueLen, 0)];
+          source.get(rmdBytes);
+        }
+      } else if (entry.valueLen == 0) {
+        value = new byte[0];
+      }
+    }
+
+    @Override
+    public byte[] getValue() {
+      synchronized (OffHeapTransientRecordStore.this) {
+        load();
+        return value;
+      }
+    }
+
+    @Override
+    public void setReplicationMetadataRecord(GenericRecord replicationMetadataRecord) {
+      synchronized (OffHeapTransientRecordStore.this) {
+        load();
+        rmdBytes = null;
+      }
+      super.setReplicationMetadataRecord(replicationMetadataRecord);
+    }
+
+    @Override
+    public GenericRecord getReplicationMetadataRecord() {
+      byte[] bytesToDeserialize;
+      synchronized (OffHeapTransientRecordStore.this) {
+        load();
+        bytesToDeserialize = rmdBytes;
+        rmdBytes = null;
+      }
+      if (bytesToDeserialize != null) {
+        super.setReplicationMetadataRecord(
+            FastSerializerDeserializerFactory.<GenericRecord>getFastAvroGenericDeserializer(
+                entry.rmdSchema,
+                entry.rmdSchema).deserialize(bytesToDeserialize));
+      }
+      return super.getReplicationMetadataRecord();
+    }
+  }
+}
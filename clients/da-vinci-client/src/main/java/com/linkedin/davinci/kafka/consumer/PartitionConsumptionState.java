@@ -3,6 +3,7 @@ package com.linkedin.davinci.kafka.consumer;
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 import com.linkedin.davinci.helix.LeaderFollowerPartitionStateModel;
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
 import com.linkedin.davinci.stats.ingestion.heartbeat.HeartbeatKey;
 import com.linkedin.davinci.utils.ByteArrayKey;
 import com.linkedin.venice.kafka.protocol.GUID;
@@ -249,6 +250,12 @@ public class PartitionConsumptionState {
    */
   private final Map<ByteArrayKey, TransientRecord> transientRecordMap = new VeniceConcurrentHashMap<>();
 
+  /**
+   * When set by {@link #enableOffHeapTransientRecordStore(int, HostLevelIngestionStats)}, transient records are kept
+   * in this store instead of {@link #transientRecordMap}, with the same semantics.
+   */
+  private volatile OffHeapTransientRecordStore offHeapTransientRecordStore;
+
   /**
    * This field is used to track whether the last queued record has been fully processed or not.
    * For Leader role, it is redundant from {@literal ProducedRecord#persistedToDBFuture} since it is tracking
@@ -1043,7 +1050,30 @@ public class PartitionConsumptionState {
       byte[] key,
       int valueSchemaId,
       GenericRecord replicationMetadataRecord) {
-    setTransientRecord(kafkaClusterId, consumedPosition, key, null, -1, -1, valueSchemaId, replicationMetadataRecord);
+    setTransientRecord(kafkaClusterId, consumedPosition, key, valueSchemaId, replicationMetadataRecord, null);
+  }
+
+  /**
+   * @param replicationMetadataBytes the serialized {@code replicationMetadataRecord} if it is at hand, which saves
+   *                                 serializing it again when the record is kept off-heap, or null.
+   */
+  public void setTransientRecord(
+      int kafkaClusterId,
+      PubSubPosition consumedPosition,
+      byte[] key,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer replicationMetadataBytes) {
+    setTransientRecord(
+        kafkaClusterId,
+        consumedPosition,
+        key,
+        null,
+        -1,
+        -1,
+        valueSchemaId,
+        replicationMetadataRecord,
+        replicationMetadataBytes);
   }
 
   public void setTransientRecord(
@@ -1055,6 +1085,46 @@ public class PartitionConsumptionState {
       int valueLen,
       int valueSchemaId,
       GenericRecord replicationMetadataRecord) {
+    setTransientRecord(
+        kafkaClusterId,
+        consumedPosition,
+        key,
+        value,
+        valueOffset,
+        valueLen,
+        valueSchemaId,
+        replicationMetadataRecord,
+        null);
+  }
+
+  /**
+   * @param replicationMetadataBytes the serialized {@code replicationMetadataRecord} if it is at hand, which saves
+   *                                 serializing it again when the record is kept off-heap, or null.
+   */
+  public void setTransientRecord(
+      int kafkaClusterId,
+      PubSubPosition consumedPosition,
+      byte[] key,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer replicationMetadataBytes) {
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    if (offHeapStore != null) {
+      offHeapStore.put(
+          kafkaClusterId,
+          consumedPosition,
+          key,
+          value,
+          valueOffset,
+          valueLen,
+          valueSchemaId,
+          replicationMetadataRecord,
+          replicationMetadataBytes);
+      return;
+    }
     TransientRecord transientRecord =
         new TransientRecord(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, consumedPosition);
     if (replicationMetadataRecord != null) {
@@ -1065,6 +1135,10 @@ public class PartitionConsumptionState {
   }
 
   public TransientRecord getTransientRecord(byte[] key) {
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    if (offHeapStore != null) {
+      return offHeapStore.get(key);
+    }
     return transientRecordMap.get(ByteArrayKey.wrap(key));
   }
 
@@ -1077,6 +1151,10 @@ public class PartitionConsumptionState {
    * @return
    */
   public TransientRecord mayRemoveTransientRecord(int kafkaClusterId, PubSubPosition recordPosition, byte[] key) {
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    if (offHeapStore != null) {
+      return offHeapStore.mayRemove(kafkaClusterId, recordPosition, key);
+    }
     return transientRecordMap.computeIfPresent(ByteArrayKey.wrap(key), (k, v) -> {
       if (v.kafkaClusterId == kafkaClusterId && v.consumedPosition == recordPosition) {
         return null;
@@ -1098,7 +1176,56 @@ public class PartitionConsumptionState {
   }
 
   public int getTransientRecordMapSize() {
-    return transientRecordMap.size();
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    return offHeapStore == null ? transientRecordMap.size() : offHeapStore.size();
+  }
+
+  /**
+   * Keeps the transient records of this partition in an {@link OffHeapTransientRecordStore} of the given capacity
+   * instead of on the heap. This must be called before any transient record is set.
+   *
+   * @param capacityInBytes the size of the direct buffer, which is only allocated when the first record is set.
+   * @param budget the host-level budget the direct buffer is reserved from.
+   * @param hostLevelIngestionStats the stats recording the hits, misses and overflows of the store.
+   */
+  void enableOffHeapTransientRecordStore(
+      int capacityInBytes,
+      MemoryBudget budget,
+      HostLevelIngestionStats hostLevelIngestionStats) {
+    if (!transientRecordMap.isEmpty()) {
+      throw new IllegalStateException("Transient records were already set for replica: " + getReplicaId());
+    }
+    this.offHeapTransientRecordStore =
+        new OffHeapTransientRecordStore(getReplicaId(), capacityInBytes, budget, hostLevelIngestionStats);
+  }
+
+  /**
+   * Frees the direct buffer of the off-heap transient record store, if any, once the transient records set while
+   * leading are persisted, since only leaders set transient records.
+   */
+  public void releaseOffHeapTransientRecordBuffer() {
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    if (offHeapStore != null) {
+      offHeapStore.releaseBufferWhenEmpty();
+    }
+  }
+
+  /**
+   * Frees the direct buffer of the off-heap transient record store, if any, once the partition is unsubscribed and its
+   * buffered records are drained.
+   */
+  public void closeOffHeapTransientRecordStore() {
+    OffHeapTransientRecordStore offHeapStore = offHeapTransientRecordStore;
+    if (offHeapStore != null) {
+      offHeapStore.close();
+    }
+  }
+
+  /**
+   * @return the off-heap transient record store of this partition, or null if transient records are kept on the heap.
+   */
+  OffHeapTransientRecordStore getOffHeapTransientRecordStore() {
+    return offHeapTransientRecordStore;
   }
 
   public boolean skipKafkaMessage() {
@@ -1200,6 +1327,14 @@ public class PartitionConsumptionState {
     public int getValueSchemaId() {
       return valueSchemaId;
     }
+
+    int getKafkaClusterId() {
+      return kafkaClusterId;
+    }
+
+    PubSubPosition getConsumedPosition() {
+      return consumedPosition;
+    }
   }
 
   /**
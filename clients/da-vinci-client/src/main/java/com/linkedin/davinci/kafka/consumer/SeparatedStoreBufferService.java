@@ -5,6 +5,7 @@ import com.linkedin.davinci.validation.PartitionTracker;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import io.tehuti.metrics.MetricsRepository;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,6 +39,7 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.getLogContext(),
             metricsRepository,
             true,
+            serverConfig.isStoreWriterWorkStealingEnabled(),
             clusterName),
         new StoreBufferService(
             serverConfig.getDrainerPoolSizeUnsortedInput(),
@@ -47,6 +49,7 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.getLogContext(),
             metricsRepository,
             false,
+            serverConfig.isStoreWriterWorkStealingEnabled(),
             clusterName));
     LOGGER.info(
         "Created separated store buffer service with {} sorted drainers and {} unsorted drainers queues with capacity of {}",
@@ -88,6 +91,17 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
         beforeProcessingRecordTimestampNs);
   }
 
+  @Override
+  public void putConsumerRecords(
+      List<DefaultPubSubMessage> consumerRecords,
+      long[] beforeProcessingRecordTimestampsNs,
+      StoreIngestionTask ingestionTask,
+      int partition,
+      String kafkaUrl) throws InterruptedException {
+    getDelegate(ingestionTask)
+        .putConsumerRecords(consumerRecords, beforeProcessingRecordTimestampsNs, ingestionTask, partition, kafkaUrl);
+  }
+
   @Override
   public void drainBufferedRecordsFromTopicPartition(PubSubTopicPartition topicPartition, long timeoutMs)
       throws InterruptedException {
@@ -10,10 +10,12 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.linkedin.davinci.stats.StoreBufferServiceStats;
 import com.linkedin.davinci.utils.LockAssistedCompletableFuture;
 import com.linkedin.davinci.validation.PartitionTracker;
+import com.linkedin.venice.annotation.VisibleForTesting;
 import com.linkedin.venice.exceptions.VeniceChecksumException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.memory.ClassSizeEstimator;
+import com.linkedin.venice.memory.InstanceSizeEstimator;
 import com.linkedin.venice.memory.Measurable;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
@@ -26,19 +28,28 @@ import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.LogContext;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.collections.MemoryBoundBlockingQueue;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -60,9 +71,23 @@ import org.apache.logging.log4j.Logger;
  * For now, the assumption is that one-consumer-polling-thread should be fast enough to catch up with Kafka MM replication,
  * and data processing is the slowest part. If we find that polling is also slow later on, we may consider to adopt a consumer
  * thread pool to speed up polling from local Kafka brokers.
+ *
+ * When work stealing is enabled, the static assignment above only determines the home drainer of a topic+partition,
+ * which accounts for its buffered memory. The records are buffered in a {@link PartitionQueue} per topic+partition,
+ * and a partition queue with pending records is linked into the ready list of its home drainer. A drainer processes
+ * the partition queues of its own ready list, and when that list is empty, it steals a whole partition queue from the
+ * longest ready list of the other drainers. A partition queue is held by at most one drainer at any time, so the
+ * records of a topic+partition are still processed in order, but a few heavy partitions hashed to the same drainer no
+ * longer leave the other drainers idle.
  */
 public class StoreBufferService extends AbstractStoreBufferService {
   private static final Logger LOGGER = LogManager.getLogger(StoreBufferService.class);
+  private static final int MAX_NODES_PER_PARTITION_TURN = 100;
+  /**
+   * An idle drainer is woken up as soon as a partition queue is added to its own ready list, so this only bounds how
+   * long it takes to notice that another drainer has a backlog to steal from.
+   */
+  private static final long IDLE_DRAINER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
   private final int drainerNum;
   private final ArrayList<MemoryBoundBlockingQueue<QueueNode>> blockingQueueArr;
   private ExecutorService executorService;
@@ -75,6 +100,15 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
   private final boolean isSorted;
 
+  private final boolean workStealingEnabled;
+  /**
+   * The fields below are only used when {@link #workStealingEnabled} is true. A partition queue is removed once it is
+   * found drained by {@link #drainBufferedRecordsFromTopicPartition}, which runs whenever a partition is unsubscribed
+   * or dropped, see {@link #removePartitionQueueIfDrained}.
+   */
+  private final Map<Long, PartitionQueue> partitionQueues = new VeniceConcurrentHashMap<>();
+  private final List<ReadyList> readyLists = new ArrayList<>();
+
   private volatile boolean isStarted = false;
   private final LogContext logContext;
 
@@ -86,6 +120,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       LogContext logContext,
       MetricsRepository metricsRepository,
       boolean sorted,
+      boolean workStealingEnabled,
       String clusterName) {
     this(
         drainerNum,
@@ -96,6 +131,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
         logContext,
         metricsRepository,
         sorted,
+        workStealingEnabled,
         clusterName);
   }
 
@@ -109,6 +145,20 @@ public class StoreBufferService extends AbstractStoreBufferService {
       boolean queueLeaderWrites,
       StoreBufferServiceStats stats,
       LogContext logContext) {
+    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, queueLeaderWrites, stats, logContext, false);
+  }
+
+  /**
+   * Package-private constructor for testing
+   */
+  StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      StoreBufferServiceStats stats,
+      LogContext logContext,
+      boolean workStealingEnabled) {
     this(
         drainerNum,
         bufferCapacityPerDrainer,
@@ -118,6 +168,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
         logContext,
         null,
         true,
+        workStealingEnabled,
         null);
   }
 
@@ -137,13 +188,22 @@ public class StoreBufferService extends AbstractStoreBufferService {
       LogContext logContext,
       MetricsRepository metricsRepository,
       boolean sorted,
+      boolean workStealingEnabled,
       String clusterName) {
     this.logContext = logContext;
     this.drainerNum = drainerNum;
     this.blockingQueueArr = new ArrayList<>();
     this.bufferCapacityPerDrainer = bufferCapacityPerDrainer;
+    this.workStealingEnabled = workStealingEnabled;
     for (int cur = 0; cur < drainerNum; ++cur) {
+      /**
+       * In the work stealing mode, the records are buffered in the partition queues, and the blocking queue of their
+       * home drainer only accounts for their memory.
+       */
       this.blockingQueueArr.add(new MemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta));
+      if (workStealingEnabled) {
+        this.readyLists.add(new ReadyList());
+      }
     }
     this.isSorted = sorted;
     this.leaderRecordHandler = queueLeaderWrites ? this::queueLeaderRecord : StoreBufferService::processRecord;
@@ -157,7 +217,8 @@ public class StoreBufferService extends AbstractStoreBufferService {
             this::getTotalMemoryUsage,
             this::getTotalRemainingMemory,
             this::getMaxMemoryUsagePerDrainer,
-            this::getMinMemoryUsagePerDrainer);
+            this::getMinMemoryUsagePerDrainer,
+            this::newDrainerProcessingImbalanceReader);
     /*
      * {@link #getDrainerIndexForConsumerRecord} hashes the topic name and partition to determine a drainer. Due to the
      * different naming conventions for RT (_rt) and Separate RT (_rt_sep), different drainers might be assigned while
@@ -174,19 +235,138 @@ public class StoreBufferService extends AbstractStoreBufferService {
   }
 
   protected int getDrainerIndexForConsumerRecord(DefaultPubSubMessage consumerRecord, int partition) {
+    return getDrainerIndex(getTopicHashCode(consumerRecord.getTopicPartition().getPubSubTopic()), partition);
+  }
+
+  private int getTopicHashCode(PubSubTopic topic) {
+    Integer topicHashCode = hashCodeCache.get(topic);
+    if (topicHashCode == null) { // this should never happen, but FindBugs linting needs to be soothed
+      topicHashCode = Utils.calculateTopicHashCode(topic);
+    }
+    return topicHashCode;
+  }
+
+  private int getDrainerIndex(int topicHashCode, int partition) {
     /**
      * This will guarantee that 'topicHash' will be a positive integer, whose maximum value is
      * {@link Integer.MAX_VALUE} / 2 + 1, which could make sure 'topicHash + consumerRecord.partition()' should be
      * positive for most time to guarantee even partition assignment.
      */
-    Integer topicHashCode = hashCodeCache.get(consumerRecord.getTopicPartition().getPubSubTopic());
-    if (topicHashCode == null) { // this should never happen, but FindBugs linting needs to be soothed
-      topicHashCode = Utils.calculateTopicHashCode(consumerRecord.getTopicPartition().getPubSubTopic());
-    }
     int topicHash = Math.abs(topicHashCode / 2);
     return Math.abs((topicHash + partition) % this.drainerNum);
   }
 
+  /**
+   * The key of a {@link PartitionQueue} combines the same normalized topic hash code and partition as the drainer
+   * assignment, so that the records which used to share a drainer for ordering purposes also share a partition queue.
+   */
+  private static long getPartitionQueueKey(int topicHashCode, int partition) {
+    return ((long) topicHashCode << 32) | (partition & 0xFFFFFFFFL);
+  }
+
+  private void putNode(DefaultPubSubMessage consumerRecord, int partition, QueueNode node) throws InterruptedException {
+    if (!workStealingEnabled) {
+      getDrainerForConsumerRecord(consumerRecord, partition).put(node);
+      return;
+    }
+    int topicHashCode = getTopicHashCode(consumerRecord.getTopicPartition().getPubSubTopic());
+    long key = getPartitionQueueKey(topicHashCode, partition);
+    int homeDrainerIndex = getDrainerIndex(topicHashCode, partition);
+    blockingQueueArr.get(homeDrainerIndex).acquireMemory(node);
+    while (true) {
+      PartitionQueue partitionQueue = partitionQueues.get(key);
+      if (partitionQueue == null) {
+        partitionQueue = partitionQueues.computeIfAbsent(key, k -> new PartitionQueue(homeDrainerIndex));
+      }
+      /**
+       * The lock is uncontended, except against {@link #removePartitionQueueIfDrained}: a removed partition queue
+       * must not receive any more node, otherwise it could be processed concurrently with its replacement.
+       */
+      synchronized (partitionQueue) {
+        if (partitionQueue.removed) {
+          continue;
+        }
+        partitionQueue.nodes.add(node);
+        if (partitionQueue.scheduled.compareAndSet(false, true)) {
+          readyLists.get(homeDrainerIndex).offerLast(partitionQueue);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes the partition queue of the given key if it holds no record and is not held by any drainer. Records of
+   * the same topic+partition queued afterwards, e.g. by another version sharing the same real-time topic, go to a new
+   * partition queue.
+   *
+   * @return true if there is no partition queue holding records for the given key.
+   */
+  private boolean removePartitionQueueIfDrained(long key) {
+    PartitionQueue partitionQueue = partitionQueues.get(key);
+    if (partitionQueue == null) {
+      return true;
+    }
+    synchronized (partitionQueue) {
+      if (!partitionQueue.isDrained()) {
+        return false;
+      }
+      partitionQueue.removed = true;
+    }
+    partitionQueues.remove(key, partitionQueue);
+    return true;
+  }
+
+  /**
+   * Takes the next node of a partition queue held by the calling drainer, and releases its memory.
+   */
+  private QueueNode pollNode(PartitionQueue partitionQueue) {
+    QueueNode node = partitionQueue.nodes.poll();
+    if (node != null) {
+      blockingQueueArr.get(partitionQueue.homeDrainerIndex).releaseMemory(node);
+    }
+    return node;
+  }
+
+  /**
+   * Hands a partition queue back after a drainer is done with its turn. A partition queue with pending records goes
+   * back to the tail of the ready list of its home drainer. Otherwise, it is unscheduled, and rescheduled right away
+   * if a record was added concurrently, since the producer of that record saw it as still scheduled.
+   */
+  private void releasePartitionQueue(PartitionQueue partitionQueue) {
+    if (partitionQueue.nodes.isEmpty()) {
+      partitionQueue.scheduled.set(false);
+      if (partitionQueue.nodes.isEmpty() || !partitionQueue.scheduled.compareAndSet(false, true)) {
+        return;
+      }
+    }
+    readyLists.get(partitionQueue.homeDrainerIndex).offerLast(partitionQueue);
+  }
+
+  /**
+   * Steals the partition queue at the tail of the longest ready list of the other drainers, or returns null if they
+   * are all empty.
+   */
+  private PartitionQueue stealPartitionQueue(int thiefIndex) {
+    int victimIndex = -1;
+    int maxReadyCount = 0;
+    for (int i = 0; i < drainerNum; ++i) {
+      int readyCount = readyLists.get(i).size();
+      if (i != thiefIndex && readyCount > maxReadyCount) {
+        maxReadyCount = readyCount;
+        victimIndex = i;
+      }
+    }
+    if (victimIndex < 0) {
+      return null;
+    }
+    PartitionQueue partitionQueue = readyLists.get(victimIndex).pollLast();
+    if (partitionQueue != null) {
+      storeBufferServiceStats.recordPartitionSteal();
+    }
+    return partitionQueue;
+  }
+
   @Override
   public void putConsumerRecord(
       DefaultPubSubMessage consumerRecord,
@@ -202,7 +382,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
        * end-to-end completeness when producing to local Kafka is needed.
        */
       CompletableFuture<Void> recordFuture = new CompletableFuture<>();
-      getDrainerForConsumerRecord(consumerRecord, partition).put(
+      putNode(
+          consumerRecord,
+          partition,
           new FollowerQueueNode(
               consumerRecord,
               ingestionTask,
@@ -227,6 +409,34 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  /**
+   * Queues the follower records consumed in one poll for a partition as a single {@link BatchQueueNode}, so that the
+   * whole batch shares one node and one persisted future, which is set up as the last queued record persisted future
+   * of the partition. The caller hands over {@param consumerRecords} and must not modify it afterward.
+   */
+  @Override
+  public void putConsumerRecords(
+      List<DefaultPubSubMessage> consumerRecords,
+      long[] beforeProcessingRecordTimestampsNs,
+      StoreIngestionTask ingestionTask,
+      int partition,
+      String kafkaUrl) throws InterruptedException {
+    if (consumerRecords.isEmpty()) {
+      return;
+    }
+    CompletableFuture<Void> batchFuture = new CompletableFuture<>();
+    BatchQueueNode node =
+        new BatchQueueNode(consumerRecords, beforeProcessingRecordTimestampsNs, ingestionTask, kafkaUrl, batchFuture);
+    DefaultPubSubMessage firstRecord = node.getConsumerRecord();
+    putNode(firstRecord, partition, node);
+
+    PartitionConsumptionState partitionConsumptionState =
+        ingestionTask.getPartitionConsumptionState(firstRecord.getTopicPartition().getPartitionNumber());
+    if (partitionConsumptionState != null) {
+      partitionConsumptionState.setLastQueuedRecordPersistedFuture(batchFuture);
+    }
+  }
+
   private interface RecordHandler {
     void handle(
         DefaultPubSubMessage consumerRecord,
@@ -244,7 +454,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
       int partition,
       String kafkaUrl,
       long beforeProcessingRecordTimestamp) throws InterruptedException {
-    getDrainerForConsumerRecord(consumerRecord, partition).put(
+    putNode(
+        consumerRecord,
+        partition,
         new LeaderQueueNode(
             consumerRecord,
             ingestionTask,
@@ -306,17 +518,25 @@ public class StoreBufferService extends AbstractStoreBufferService {
       throws InterruptedException {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     int workerIndex = getDrainerIndexForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber());
-    BlockingQueue<QueueNode> blockingQueue = blockingQueueArr.get(workerIndex);
     if (!drainerList.get(workerIndex).isRunning.get()) {
       throw new VeniceException(
           "Drainer thread " + workerIndex + " has stopped running, cannot drain the topic "
               + topicPartition.getPubSubTopic().getName());
     }
 
-    QueueNode fakeNode = new QueueNode(fakeRecord, null, "dummyKafkaUrl", 0);
+    BooleanSupplier hasBufferedRecords;
+    if (workStealingEnabled) {
+      long key =
+          getPartitionQueueKey(getTopicHashCode(topicPartition.getPubSubTopic()), topicPartition.getPartitionNumber());
+      hasBufferedRecords = () -> !removePartitionQueueIfDrained(key);
+    } else {
+      BlockingQueue<QueueNode> blockingQueue = blockingQueueArr.get(workerIndex);
+      QueueNode fakeNode = new QueueNode(fakeRecord, null, "dummyKafkaUrl", 0);
+      hasBufferedRecords = () -> blockingQueue.contains(fakeNode);
+    }
     long deadline = System.currentTimeMillis() + timeoutMs;
     while (System.currentTimeMillis() < deadline) {
-      if (!blockingQueue.contains(fakeNode)) {
+      if (!hasBufferedRecords.getAsBoolean()) {
         LOGGER.info(
             "The blocking queue of store writer thread: {} doesn't contain any record for: {}",
             workerIndex,
@@ -338,7 +558,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     CommandQueueNode syncOffsetCmd =
         new CommandQueueNode(CommandQueueNode.CommandType.SYNC_OFFSET, fakeRecord, ingestionTask);
-    getDrainerForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber()).put(syncOffsetCmd);
+    putNode(fakeRecord, topicPartition.getPartitionNumber(), syncOffsetCmd);
     return syncOffsetCmd.getExecutedFuture();
   }
 
@@ -353,7 +573,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreIngestionTask ingestionTask) throws InterruptedException {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     SyncGlobalRtDivNode syncGlobalRtDivNode = new SyncGlobalRtDivNode(fakeRecord, ingestionTask);
-    getDrainerForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber()).put(syncGlobalRtDivNode);
+    putNode(fakeRecord, topicPartition.getPartitionNumber(), syncGlobalRtDivNode);
     return syncGlobalRtDivNode.getExecutedFuture();
   }
 
@@ -375,7 +595,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreIngestionTask ingestionTask) throws InterruptedException {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     SyncVtDivNode syncDivNode = new SyncVtDivNode(fakeRecord, vtDivSnapshot, lastRecordPersistedFuture, ingestionTask);
-    getDrainerForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber()).put(syncDivNode);
+    putNode(fakeRecord, topicPartition.getPartitionNumber(), syncDivNode);
     return syncDivNode.getExecutedFuture();
   }
 
@@ -387,7 +607,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
     // Submit all the buffer drainers
     for (int cur = 0; cur < drainerNum; ++cur) {
-      StoreBufferDrainer drainer = new StoreBufferDrainer(this.blockingQueueArr.get(cur), cur, storeBufferServiceStats);
+      StoreBufferDrainer drainer = workStealingEnabled
+          ? new WorkStealingStoreBufferDrainer(cur)
+          : new StoreBufferDrainer(this.blockingQueueArr.get(cur), cur, storeBufferServiceStats);
       this.executorService.submit(drainer);
       drainerList.add(drainer);
     }
@@ -407,11 +629,19 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  private long getMemoryUsage(int drainerIndex) {
+    return blockingQueueArr.get(drainerIndex).getMemoryUsage();
+  }
+
+  private long getRemainingMemory(int drainerIndex) {
+    return blockingQueueArr.get(drainerIndex).remainingMemoryCapacityInByte();
+  }
+
   @Override
   public long getTotalMemoryUsage() {
     long totalUsage = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
-      totalUsage += queue.getMemoryUsage();
+    for (int index = 0; index < drainerNum; index++) {
+      totalUsage += getMemoryUsage(index);
     }
     return totalUsage;
   }
@@ -419,8 +649,8 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getTotalRemainingMemory() {
     long totalRemaining = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
-      totalRemaining += queue.remainingMemoryCapacityInByte();
+    for (int index = 0; index < drainerNum; index++) {
+      totalRemaining += getRemainingMemory(index);
     }
     return totalRemaining;
   }
@@ -434,19 +664,19 @@ public class StoreBufferService extends AbstractStoreBufferService {
       return maxUsage;
     }
 
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
-      maxUsage = Math.max(maxUsage, queue.getMemoryUsage());
-      if (queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer) {
+    for (int index = 0; index < drainerNum; index++) {
+      long memoryUsage = getMemoryUsage(index);
+      maxUsage = Math.max(maxUsage, memoryUsage);
+      if (memoryUsage > 0.8 * bufferCapacityPerDrainer) {
         slowDrainerExists = true;
       }
     }
 
-    for (int index = 0; index < blockingQueueArr.size(); index++) {
+    for (int index = 0; index < drainerNum; index++) {
       StoreBufferDrainer drainer = drainerList.get(index);
       // print drainer info when there is a slow drainer.
       if (slowDrainerExists) {
-        MemoryBoundBlockingQueue<QueueNode> queue = blockingQueueArr.get(index);
-        int count = queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer ? 5 : 1;
+        int count = getMemoryUsage(index) > 0.8 * bufferCapacityPerDrainer ? 5 : 1;
         List<Map.Entry<PubSubTopicPartition, Long>> slowestEntries = drainer.topicToTimeSpent.entrySet()
             .stream()
             .sorted(comparing(Map.Entry::getValue, reverseOrder()))
@@ -471,12 +701,47 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getMinMemoryUsagePerDrainer() {
     long minUsage = Long.MAX_VALUE;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
-      minUsage = Math.min(minUsage, queue.getMemoryUsage());
+    for (int index = 0; index < drainerNum; index++) {
+      minUsage = Math.min(minUsage, getMemoryUsage(index));
     }
     return minUsage;
   }
 
+  @VisibleForTesting
+  int getPartitionQueueCount() {
+    return partitionQueues.size();
+  }
+
+  /**
+   * Returns a new reader of the drainer processing imbalance. Each call of the reader returns the number of records
+   * processed by the busiest drainer since its previous call, relative to the average across drainers: 1.0 means that
+   * the load is evenly spread, and {@link #drainerNum} means that a single drainer did all the work, while 0 means
+   * that no record was processed. Each reader keeps its own snapshot of the processed record counts, so that several
+   * metric reporters do not reset each other's interval.
+   */
+  DoubleSupplier newDrainerProcessingImbalanceReader() {
+    long[] lastProcessedRecordCounts = new long[drainerNum];
+    return () -> getDrainerProcessingImbalance(lastProcessedRecordCounts);
+  }
+
+  private double getDrainerProcessingImbalance(long[] lastProcessedRecordCounts) {
+    if (!isStarted) {
+      return 0;
+    }
+    long maxProcessedCount = 0;
+    long totalProcessedCount = 0;
+    synchronized (lastProcessedRecordCounts) {
+      for (int index = 0; index < drainerNum; index++) {
+        long processedRecordCount = drainerList.get(index).processedRecordCount.get();
+        long processedCount = processedRecordCount - lastProcessedRecordCounts[index];
+        lastProcessedRecordCounts[index] = processedRecordCount;
+        maxProcessedCount = Math.max(maxProcessedCount, processedCount);
+        totalProcessedCount += processedCount;
+      }
+    }
+    return totalProcessedCount == 0 ? 0 : (double) maxProcessedCount * drainerNum / totalProcessedCount;
+  }
+
   /**
    * Queue node type in {@link BlockingQueue} of each drainer thread.
    */
@@ -603,6 +868,75 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  /**
+   * Carries the follower records of one poll for a single partition, in consumption order. The first record stands for
+   * the whole batch in {@link QueueNode#getConsumerRecord()}, which is all the drainer selection and
+   * {@link BlockingQueue#contains(Object)} need, since all the records belong to the same topic-partition.
+   */
+  static class BatchQueueNode extends QueueNode {
+    /**
+     * N.B.: Same as {@link FollowerQueueNode}, an "empty" {@link CompletableFuture} is taken into account.
+     */
+    private static final int PARTIAL_CLASS_OVERHEAD =
+        getClassOverhead(BatchQueueNode.class) + getClassOverhead(CompletableFuture.class);
+
+    private final List<DefaultPubSubMessage> consumerRecords;
+    private final long[] beforeProcessingRecordTimestampsNs;
+    private final CompletableFuture<Void> queuedRecordsPersistedFuture;
+    private final int heapSize;
+
+    public BatchQueueNode(
+        List<DefaultPubSubMessage> consumerRecords,
+        long[] beforeProcessingRecordTimestampsNs,
+        StoreIngestionTask ingestionTask,
+        String kafkaUrl,
+        CompletableFuture<Void> queuedRecordsPersistedFuture) {
+      super(consumerRecords.get(0), ingestionTask, kafkaUrl, beforeProcessingRecordTimestampsNs[0]);
+      this.consumerRecords = consumerRecords;
+      this.beforeProcessingRecordTimestampsNs = beforeProcessingRecordTimestampsNs;
+      this.queuedRecordsPersistedFuture = queuedRecordsPersistedFuture;
+      /**
+       * The size is computed once here, since it is needed by both the producer and the drainer for the memory
+       * accounting. The backing array of the list is counted with one 8-byte reference per record.
+       */
+      int size = PARTIAL_CLASS_OVERHEAD
+          + InstanceSizeEstimator.getByteArraySizeByLength(Long.BYTES * beforeProcessingRecordTimestampsNs.length)
+          + InstanceSizeEstimator.getByteArraySizeByLength(Long.BYTES * consumerRecords.size());
+      for (int i = 0; i < consumerRecords.size(); i++) {
+        size += consumerRecords.get(i).getHeapSize();
+      }
+      this.heapSize = size;
+    }
+
+    public List<DefaultPubSubMessage> getConsumerRecords() {
+      return consumerRecords;
+    }
+
+    public long getBeforeProcessingRecordTimestampNs(int index) {
+      return beforeProcessingRecordTimestampsNs[index];
+    }
+
+    @Override
+    public CompletableFuture<Void> getQueuedRecordPersistedFuture() {
+      return queuedRecordsPersistedFuture;
+    }
+
+    @Override
+    public int hashCode() {
+      return super.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return super.equals(o);
+    }
+
+    @Override
+    public int getHeapSize() {
+      return heapSize;
+    }
+  }
+
   static class LeaderQueueNode extends QueueNode {
     private static final int SHALLOW_CLASS_OVERHEAD = ClassSizeEstimator.getClassOverhead(LeaderQueueNode.class);
 
@@ -823,8 +1157,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
     private static final Logger LOGGER = LogManager.getLogger(StoreBufferDrainer.class);
     private final BlockingQueue<QueueNode> blockingQueue;
     private final AtomicBoolean isRunning = new AtomicBoolean(true);
-    private final int drainerIndex;
+    protected final int drainerIndex;
     private final ConcurrentMap<PubSubTopicPartition, Long> topicToTimeSpent = new ConcurrentHashMap<>();
+    private final AtomicLong processedRecordCount = new AtomicLong();
     private final StoreBufferServiceStats stats;
 
     public StoreBufferDrainer(BlockingQueue<QueueNode> blockingQueue, int drainerIndex, StoreBufferServiceStats stats) {
@@ -837,112 +1172,325 @@ public class StoreBufferService extends AbstractStoreBufferService {
       isRunning.set(false);
     }
 
+    /**
+     * @return the next node to process, or null if there is none for now.
+     */
+    protected QueueNode nextNode() throws InterruptedException {
+      return blockingQueue.take();
+    }
+
     @Override
     public void run() {
       LOGGER.info("Starting StoreBufferDrainer Thread for drainer: {}....", drainerIndex);
-      QueueNode node = null;
+      while (isRunning.get()) {
+        QueueNode node;
+        try {
+          node = nextNode();
+        } catch (InterruptedException e) {
+          LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+          break;
+        }
+        if (node != null && !processNode(node)) {
+          break;
+        }
+      }
+      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+    }
+
+    /**
+     * @return false if the drainer should exit.
+     */
+    private boolean processNode(QueueNode node) {
       DefaultPubSubMessage consumerRecord = null;
       LeaderProducedRecordContext leaderProducedRecordContext = null;
       StoreIngestionTask ingestionTask = null;
       CompletableFuture<Void> recordPersistedFuture = null;
       String storeName = OpenTelemetryMetricsSetup.UNKNOWN_STORE_NAME;
-      while (isRunning.get()) {
-        try {
-          node = blockingQueue.take();
+      try {
+        consumerRecord = node.getConsumerRecord();
+        int partitionNum = consumerRecord.getTopicPartition().getPartitionNumber();
+        leaderProducedRecordContext = node.getLeaderProducedRecordContext();
+        ingestionTask = node.getIngestionTask();
+        recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+        storeName =
+            OpenTelemetryMetricsSetup.sanitizeStoreName(ingestionTask != null ? ingestionTask.getStoreName() : null);
+
+        long startTime = System.currentTimeMillis();
+
+        if (node instanceof CommandQueueNode) {
+          processCommand(
+              (CommandQueueNode) node,
+              ingestionTask,
+              ingestionTask.getPartitionConsumptionState(partitionNum));
+          return true;
+        } else if (node instanceof SyncVtDivNode) {
+          ((SyncVtDivNode) node).execute();
+          return true;
+        } else if (node instanceof SyncGlobalRtDivNode) {
+          ((SyncGlobalRtDivNode) node).execute();
+          return true;
+        } else if (node instanceof BatchQueueNode) {
+          return processBatchNode((BatchQueueNode) node, storeName);
+        }
 
-          consumerRecord = node.getConsumerRecord();
-          int partitionNum = consumerRecord.getTopicPartition().getPartitionNumber();
-          leaderProducedRecordContext = node.getLeaderProducedRecordContext();
-          ingestionTask = node.getIngestionTask();
-          recordPersistedFuture = node.getQueuedRecordPersistedFuture();
-          storeName =
-              OpenTelemetryMetricsSetup.sanitizeStoreName(ingestionTask != null ? ingestionTask.getStoreName() : null);
+        processRecord(
+            consumerRecord,
+            ingestionTask,
+            leaderProducedRecordContext,
+            consumerRecord.getTopicPartition().getPartitionNumber(),
+            node.getKafkaUrl(),
+            node.getBeforeProcessingRecordTimestampNs());
+
+        /**
+         * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
+         */
+        if (recordPersistedFuture != null) {
+          recordPersistedFuture.complete(null);
+        }
+        recordProcessed(consumerRecord, startTime, storeName);
+      } catch (Throwable e) {
+        return handleThrowable(
+            e,
+            consumerRecord,
+            ingestionTask,
+            leaderProducedRecordContext,
+            recordPersistedFuture,
+            storeName);
+      }
+      return true;
+    }
 
+    /**
+     * Processes the records of a {@link BatchQueueNode} in order. A failing record is handled the same way as a failing
+     * single record node, and the remaining records of the batch are still processed, as they would be if they had been
+     * queued one by one. The persisted future of the batch completes once all the records are processed, exceptionally
+     * with the first failure, if any.
+     *
+     * @return false if the drainer should exit.
+     */
+    private boolean processBatchNode(BatchQueueNode node, String storeName) {
+      StoreIngestionTask ingestionTask = node.getIngestionTask();
+      List<DefaultPubSubMessage> consumerRecords = node.getConsumerRecords();
+      Exception firstException = null;
+      for (int i = 0; i < consumerRecords.size(); i++) {
+        DefaultPubSubMessage consumerRecord = consumerRecords.get(i);
+        try {
           long startTime = System.currentTimeMillis();
-
-          if (node instanceof CommandQueueNode) {
-            processCommand(
-                (CommandQueueNode) node,
-                ingestionTask,
-                ingestionTask.getPartitionConsumptionState(partitionNum));
-            continue;
-          } else if (node instanceof SyncVtDivNode) {
-            ((SyncVtDivNode) node).execute();
-            continue;
-          } else if (node instanceof SyncGlobalRtDivNode) {
-            ((SyncGlobalRtDivNode) node).execute();
-            continue;
-          }
-
           processRecord(
               consumerRecord,
               ingestionTask,
-              leaderProducedRecordContext,
+              null,
               consumerRecord.getTopicPartition().getPartitionNumber(),
               node.getKafkaUrl(),
-              node.getBeforeProcessingRecordTimestampNs());
-
-          /**
-           * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
-           */
-          if (recordPersistedFuture != null) {
-            recordPersistedFuture.complete(null);
-          }
-          long latencyInMS = System.currentTimeMillis() - startTime;
-          this.stats.recordInternalProcessingLatency(latencyInMS, storeName);
-          topicToTimeSpent.compute(consumerRecord.getTopicPartition(), (K, V) -> (V == null ? 0 : V) + latencyInMS);
+              node.getBeforeProcessingRecordTimestampNs(i));
+          recordProcessed(consumerRecord, startTime, storeName);
         } catch (Throwable e) {
-          if (e instanceof InterruptedException) {
-            LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
-            break;
+          if (!handleThrowable(e, consumerRecord, ingestionTask, null, null, storeName)) {
+            return false;
           }
-          StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
-          if (consumerRecord == null) {
-            logBuilder.append(" received throwable: ");
-          } else {
-            String consumerRecordString = consumerRecord.toString();
-            if (consumerRecordString.length() > 1024) {
-              // Careful not to flood the logs with too much content...
-              consumerRecordString = consumerRecordString.substring(0, 1024);
-              logBuilder
-                  .append(" received throwable while processing consumer record (truncated at 1024 characters): ");
-            } else {
-              logBuilder.append(" received throwable while processing consumer record: ");
-            }
-            logBuilder.append(consumerRecordString);
+          if (firstException == null) {
+            // Only exceptions let the drainer keep going
+            firstException = (Exception) e;
           }
-          LOGGER.error(logBuilder.toString(), e);
-          stats.recordInternalProcessingError(storeName);
-
-          /**
-           * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
-           */
-          if (e instanceof Exception) {
-            Exception processConsumerRecordException = (Exception) e;
-            if (ingestionTask != null) {
-              try {
-                ingestionTask.setIngestionException(
-                    consumerRecord.getTopicPartition().getPartitionNumber(),
-                    processConsumerRecordException);
-              } catch (VeniceException ingestionException) {
-                ingestionTask.setLastStoreIngestionException(ingestionException);
-              }
-              if (e instanceof VeniceChecksumException) {
-                ingestionTask.recordChecksumVerificationFailure();
-              }
-            }
-            if (leaderProducedRecordContext != null) {
-              leaderProducedRecordContext.completePersistedToDBFuture(processConsumerRecordException);
-            }
-            if (recordPersistedFuture != null) {
-              recordPersistedFuture.completeExceptionally(processConsumerRecordException);
-            }
-          } else {
-            break;
+        }
+      }
+      if (firstException == null) {
+        node.getQueuedRecordPersistedFuture().complete(null);
+      } else {
+        node.getQueuedRecordPersistedFuture().completeExceptionally(firstException);
+      }
+      return true;
+    }
+
+    private void recordProcessed(DefaultPubSubMessage consumerRecord, long startTime, String storeName) {
+      long latencyInMS = System.currentTimeMillis() - startTime;
+      this.stats.recordInternalProcessingLatency(latencyInMS, storeName);
+      topicToTimeSpent.compute(consumerRecord.getTopicPartition(), (K, V) -> (V == null ? 0 : V) + latencyInMS);
+      processedRecordCount.incrementAndGet();
+    }
+
+    /**
+     * @return false if the drainer should exit.
+     */
+    private boolean handleThrowable(
+        Throwable e,
+        DefaultPubSubMessage consumerRecord,
+        StoreIngestionTask ingestionTask,
+        LeaderProducedRecordContext leaderProducedRecordContext,
+        CompletableFuture<Void> recordPersistedFuture,
+        String storeName) {
+      if (e instanceof InterruptedException) {
+        LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+        return false;
+      }
+      StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
+      if (consumerRecord == null) {
+        logBuilder.append(" received throwable: ");
+      } else {
+        String consumerRecordString = consumerRecord.toString();
+        if (consumerRecordString.length() > 1024) {
+          // Careful not to flood the logs with too much content...
+          consumerRecordString = consumerRecordString.substring(0, 1024);
+          logBuilder.append(" received throwable while processing consumer record (truncated at 1024 characters): ");
+        } else {
+          logBuilder.append(" received throwable while processing consumer record: ");
+        }
+        logBuilder.append(consumerRecordString);
+      }
+      LOGGER.error(logBuilder.toString(), e);
+      stats.recordInternalProcessingError(storeName);
+
+      /**
+       * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
+       */
+      if (e instanceof Exception) {
+        Exception processConsumerRecordException = (Exception) e;
+        if (ingestionTask != null) {
+          try {
+            ingestionTask.setIngestionException(
+                consumerRecord.getTopicPartition().getPartitionNumber(),
+                processConsumerRecordException);
+          } catch (VeniceException ingestionException) {
+            ingestionTask.setLastStoreIngestionException(ingestionException);
+          }
+          if (e instanceof VeniceChecksumException) {
+            ingestionTask.recordChecksumVerificationFailure();
           }
         }
+        if (leaderProducedRecordContext != null) {
+          leaderProducedRecordContext.completePersistedToDBFuture(processConsumerRecordException);
+        }
+        if (recordPersistedFuture != null) {
+          recordPersistedFuture.completeExceptionally(processConsumerRecordException);
+        }
+      } else {
+        return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Drainer of the work stealing mode. It holds one {@link PartitionQueue} at a time, and processes up to
+   * {@link #MAX_NODES_PER_PARTITION_TURN} of its nodes before handing it back, so that a heavy partition cannot
+   * monopolize a drainer while other partitions are waiting in its ready list.
+   */
+  private class WorkStealingStoreBufferDrainer extends StoreBufferDrainer {
+    private PartitionQueue currentPartitionQueue;
+    private int nodeCountInTurn;
+
+    WorkStealingStoreBufferDrainer(int drainerIndex) {
+      // Nodes are taken from the partition queues rather than from a per-drainer blocking queue
+      super(null, drainerIndex, storeBufferServiceStats);
+    }
+
+    @Override
+    protected QueueNode nextNode() throws InterruptedException {
+      if (currentPartitionQueue != null) {
+        if (nodeCountInTurn < MAX_NODES_PER_PARTITION_TURN) {
+          QueueNode node = pollNode(currentPartitionQueue);
+          if (node != null) {
+            nodeCountInTurn++;
+            return node;
+          }
+        }
+        releasePartitionQueue(currentPartitionQueue);
+        currentPartitionQueue = null;
+      }
+
+      ReadyList readyList = readyLists.get(drainerIndex);
+      PartitionQueue partitionQueue = readyList.pollFirst();
+      if (partitionQueue == null) {
+        partitionQueue = stealPartitionQueue(drainerIndex);
+      }
+      if (partitionQueue == null) {
+        readyList.awaitNotEmpty(IDLE_DRAINER_PARK_NANOS);
+        return null;
+      }
+      currentPartitionQueue = partitionQueue;
+      nodeCountInTurn = 0;
+      return nextNode();
+    }
+  }
+
+  /**
+   * Per topic+partition buffer of the work stealing mode. While {@link #scheduled} is true, the partition queue is
+   * either linked into exactly one ready list or held by exactly one drainer, and it is not empty unless that drainer
+   * is processing its last node.
+   */
+  private static class PartitionQueue {
+    private final Queue<QueueNode> nodes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final int homeDrainerIndex;
+    /**
+     * Guarded by the partition queue monitor, see {@link #removePartitionQueueIfDrained}.
+     */
+    private boolean removed = false;
+
+    PartitionQueue(int homeDrainerIndex) {
+      this.homeDrainerIndex = homeDrainerIndex;
+    }
+
+    boolean isDrained() {
+      return nodes.isEmpty() && !scheduled.get();
+    }
+  }
+
+  /**
+   * Lock-free ready list of a drainer. The size is tracked separately since {@link ConcurrentLinkedDeque#size()}
+   * traverses the whole deque, and the owning drainer parks when idle rather than polling, so that producers only pay
+   * an unpark when they schedule a partition queue.
+   */
+  private static class ReadyList {
+    private final ConcurrentLinkedDeque<PartitionQueue> partitionQueues = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Thread parkedDrainer;
+
+    void offerLast(PartitionQueue partitionQueue) {
+      partitionQueues.offerLast(partitionQueue);
+      size.incrementAndGet();
+      Thread drainer = parkedDrainer;
+      if (drainer != null) {
+        LockSupport.unpark(drainer);
+      }
+    }
+
+    PartitionQueue pollFirst() {
+      return decrementIfPolled(partitionQueues.pollFirst());
+    }
+
+    PartitionQueue pollLast() {
+      return decrementIfPolled(partitionQueues.pollLast());
+    }
+
+    private PartitionQueue decrementIfPolled(PartitionQueue partitionQueue) {
+      if (partitionQueue != null) {
+        size.decrementAndGet();
+      }
+      return partitionQueue;
+    }
+
+    int size() {
+      return size.get();
+    }
+
+    /**
+     * Parks the owning drainer until a partition queue is added to this ready list, or the timeout elapses. The
+     * emptiness check happens after publishing the parked thread, so that a concurrent {@link #offerLast} cannot be
+     * missed.
+     */
+    void awaitNotEmpty(long timeoutNanos) throws InterruptedException {
+      parkedDrainer = Thread.currentThread();
+      try {
+        if (partitionQueues.isEmpty()) {
+          LockSupport.parkNanos(this, timeoutNanos);
+        }
+      } finally {
+        parkedDrainer = null;
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
       }
-      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
     }
   }
 
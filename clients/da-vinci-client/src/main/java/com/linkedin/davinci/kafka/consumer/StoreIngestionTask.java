@@ -193,6 +193,7 @@ import java.util.function.Function;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import javax.annotation.Nonnull;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
@@ -344,6 +345,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
    */
   protected final DataIntegrityValidator consumerDiv;
   protected final HostLevelIngestionStats hostLevelIngestionStats;
+  /** The host-level budget of the off-heap transient record stores, or null if they are disabled. */
+  private final MemoryBudget transientRecordOffHeapBudget;
   protected final AggVersionedDIVStats versionedDIVStats;
   protected final AggVersionedIngestionStats versionedIngestionStats;
   protected AggVersionedDaVinciRecordTransformerStats recordTransformerStats;
@@ -619,6 +622,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     this.storageEngine = Objects.requireNonNull(refCountedStorageEngine.get());
     this.isDaVinciClient = builder.isDaVinciClient();
     this.serverConfig = builder.getServerConfig();
+    this.transientRecordOffHeapBudget = serverConfig.getTransientRecordOffHeapCapacityPerPartition() > 0
+        ? builder.getTransientRecordOffHeapBudget()
+        : null;
     // Hybrid signal tracking requires batch counting for a correct baseline at EOP.
     // If hybrid is enabled, force batch counting ON implicitly.
     this.activeKeyCountForHybridStoreEnabled = !isDaVinciClient && serverConfig.isActiveKeyCountForHybridStoreEnabled()
@@ -1459,8 +1465,17 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
       int kafkaClusterId,
       long beforeProcessingPerRecordTimestampNs,
       long beforeProcessingBatchRecordsTimestampMs,
-      ValueHolder<Double> elapsedTimeForPuttingIntoQueue) throws InterruptedException {
+      ValueHolder<Double> elapsedTimeForPuttingIntoQueue,
+      FollowerRecordBatch followerRecordBatch) throws InterruptedException {
     DefaultPubSubMessage record = consumerRecordWrapper.getMessage();
+    /**
+     * Only the records of a standby replica are batched, since it never produces to Kafka. Any other record is queued
+     * from either this thread or a producer callback, so the pending batch is queued first to preserve the order.
+     */
+    boolean batchRecord = followerRecordBatch != null && partitionConsumptionState.getLeaderFollowerState() == STANDBY;
+    if (followerRecordBatch != null && !batchRecord) {
+      flushFollowerRecordBatch(followerRecordBatch, topicPartition, kafkaUrl, elapsedTimeForPuttingIntoQueue);
+    }
     if (record.getKey().isControlMessage()) {
       ControlMessage controlMessage = (ControlMessage) record.getValue().payloadUnion;
       if (ControlMessageType.valueOf(controlMessage.controlMessageType) == ControlMessageType.START_OF_PUSH) {
@@ -1491,6 +1506,16 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
     switch (delegateConsumerRecordResult) {
       case QUEUED_TO_DRAINER:
+        if (batchRecord) {
+          /**
+           * The VT DIV snapshot is not needed here, since the batching is only enabled along with Global RT DIV being
+           * disabled, see {@link #produceToStoreBufferServiceOrKafka}.
+           */
+          if (followerRecordBatch.add(record, beforeProcessingPerRecordTimestampNs)) {
+            flushFollowerRecordBatch(followerRecordBatch, topicPartition, kafkaUrl, elapsedTimeForPuttingIntoQueue);
+          }
+          break;
+        }
         boolean measureTime = recordLevelMetricEnabled.get();
         long queuePutStartTimeInNS = measureTime ? System.nanoTime() : 0;
 
@@ -1526,6 +1551,26 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     return record.getPayloadSize();
   }
 
+  private void flushFollowerRecordBatch(
+      FollowerRecordBatch followerRecordBatch,
+      PubSubTopicPartition topicPartition,
+      String kafkaUrl,
+      ValueHolder<Double> elapsedTimeForPuttingIntoQueue) throws InterruptedException {
+    if (followerRecordBatch.isEmpty()) {
+      return;
+    }
+    boolean measureTime = recordLevelMetricEnabled.get();
+    long queuePutStartTimeInNS = measureTime ? System.nanoTime() : 0;
+
+    // blocking call
+    followerRecordBatch.flush(storeBufferService, this, topicPartition.getPartitionNumber(), kafkaUrl);
+
+    if (measureTime) {
+      elapsedTimeForPuttingIntoQueue.setValue(
+          elapsedTimeForPuttingIntoQueue.getValue() + LatencyUtils.getElapsedTimeFromNSToMS(queuePutStartTimeInNS));
+    }
+  }
+
   /**
    * This function is in charge of producing the consumer records to the writer buffers maintained by {@link StoreBufferService}.
    *
@@ -1569,33 +1614,54 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     ValueHolder<Double> elapsedTimeForPuttingIntoQueue = new ValueHolder<>(0d);
     long beforeProcessingBatchRecordsTimestampMs = System.currentTimeMillis();
 
+    /**
+     * With Global RT DIV, the VT DIV snapshots are queued right after the record triggering them, and wait for the last
+     * queued record to be persisted, so they are incompatible with batching follower records.
+     */
+    FollowerRecordBatch followerRecordBatch =
+        serverConfig.isStoreWriterBufferBatchingEnabled() && !isGlobalRtDivEnabled()
+            ? new FollowerRecordBatch(serverConfig.getStoreWriterBufferNotifyDelta())
+            : null;
+
     partitionConsumptionState = partitionConsumptionStateMap.get(topicPartition.getPartitionNumber());
-    for (DefaultPubSubMessage record: records) {
-      long beforeProcessingPerRecordTimestampNs = System.nanoTime();
-      partitionConsumptionState.setLatestPolledMessageTimestampInMs(beforeProcessingBatchRecordsTimestampMs);
-      if (!shouldProcessRecord(record)) {
-        continue;
-      }
+    try {
+      for (DefaultPubSubMessage record: records) {
+        long beforeProcessingPerRecordTimestampNs = System.nanoTime();
+        partitionConsumptionState.setLatestPolledMessageTimestampInMs(beforeProcessingBatchRecordsTimestampMs);
+        if (!shouldProcessRecord(record)) {
+          continue;
+        }
 
-      // Check schema id availability before putting consumer record to drainer queue
-      waitReadyToProcessRecord(record);
+        // Check schema id availability before putting consumer record to drainer queue
+        waitReadyToProcessRecord(record);
 
-      int recordSize = handleSingleMessage(
-          new PubSubMessageProcessedResultWrapper(record),
-          topicPartition,
-          partitionConsumptionState,
-          kafkaUrl,
-          kafkaClusterId,
-          beforeProcessingPerRecordTimestampNs,
-          beforeProcessingBatchRecordsTimestampMs,
-          elapsedTimeForPuttingIntoQueue);
-      totalBytesRead += recordSize;
-      // Key VT bytes (local or remote) by version topic name, and key RT bytes by broker URL.
-      PubSubTopic topic = topicPartition.getPubSubTopic();
-      if (isGlobalRtDivEnabled() && (versionTopic.equals(topic) || topic.isRealTime())) {
-        String consumedBytesKey = versionTopic.equals(topic) ? versionTopic.getName() : kafkaUrl;
-        partitionConsumptionState.addConsumedBytesSinceLastGlobalRtDivSync(consumedBytesKey, recordSize);
+        int recordSize = handleSingleMessage(
+            new PubSubMessageProcessedResultWrapper(record),
+            topicPartition,
+            partitionConsumptionState,
+            kafkaUrl,
+            kafkaClusterId,
+            beforeProcessingPerRecordTimestampNs,
+            beforeProcessingBatchRecordsTimestampMs,
+            elapsedTimeForPuttingIntoQueue,
+            followerRecordBatch);
+        totalBytesRead += recordSize;
+        // Key VT bytes (local or remote) by version topic name, and key RT bytes by broker URL.
+        PubSubTopic topic = topicPartition.getPubSubTopic();
+        if (isGlobalRtDivEnabled() && (versionTopic.equals(topic) || topic.isRealTime())) {
+          String consumedBytesKey = versionTopic.equals(topic) ? versionTopic.getName() : kafkaUrl;
+          partitionConsumptionState.addConsumedBytesSinceLastGlobalRtDivSync(consumedBytesKey, recordSize);
+        }
       }
+    } catch (Exception e) {
+      // Still queue the records handled before the failure, as they would have been without batching
+      if (followerRecordBatch != null && !(e instanceof InterruptedException)) {
+        flushFollowerRecordBatch(followerRecordBatch, topicPartition, kafkaUrl, elapsedTimeForPuttingIntoQueue);
+      }
+      throw e;
+    }
+    if (followerRecordBatch != null) {
+      flushFollowerRecordBatch(followerRecordBatch, topicPartition, kafkaUrl, elapsedTimeForPuttingIntoQueue);
     }
 
     /**
@@ -1654,8 +1720,15 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     /**
      * Process records batch by batch.
      */
+    boolean isKeyLockStriped = ingestionBatchProcessor.isKeyLockStriped();
     for (List<DefaultPubSubMessage> batch: batches) {
-      NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap = ingestionBatchProcessor.lockKeys(batch);
+      long[] lockedStripes = null;
+      NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap = null;
+      if (isKeyLockStriped) {
+        lockedStripes = ingestionBatchProcessor.lockKeyStripes(batch);
+      } else {
+        keyLockMap = ingestionBatchProcessor.lockKeys(batch);
+      }
       try {
         long beforeProcessingPerRecordTimestampNs = System.nanoTime();
         List<PubSubMessageProcessedResultWrapper> processedResults = ingestionBatchProcessor.process(
@@ -1690,7 +1763,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
               kafkaClusterId,
               beforeProcessingPerRecordTimestampNs,
               beforeProcessingBatchRecordsTimestampMs,
-              elapsedTimeForPuttingIntoQueue);
+              elapsedTimeForPuttingIntoQueue,
+              null);
           totalBytesRead += recordSize;
           // Batch path only handles RT messages (guaranteed by isAllMessagesFromRTTopic), so key by kafkaUrl.
           if (isGlobalRtDivEnabled()) {
@@ -1706,7 +1780,11 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           }
         }
       } finally {
-        ingestionBatchProcessor.unlockKeys(keyLockMap);
+        if (isKeyLockStriped) {
+          ingestionBatchProcessor.unlockKeyStripes(lockedStripes);
+        } else {
+          ingestionBatchProcessor.unlockKeys(keyLockMap);
+        }
       }
     }
 
@@ -2439,6 +2517,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     LOGGER.info("Detached Kafka consumer(s) for version topic: {}", kafkaVersionTopic);
     try {
       partitionConsumptionStateMap.values().parallelStream().forEach(PartitionConsumptionState::unsubscribe);
+      partitionConsumptionStateMap.values().forEach(PartitionConsumptionState::closeOffHeapTransientRecordStore);
+      partitionConsumptionStateMap.keySet().forEach(this::releasePartitionResources);
       partitionConsumptionStateMap.clear();
     } catch (Exception e) {
       LOGGER.error("{} Error while unsubscribing topic.", ingestionTaskName, e);
@@ -2767,6 +2847,10 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
          * two variables to avoid the race condition.
          */
         partitionConsumptionStateMap.remove(partition);
+        if (consumptionState != null) {
+          consumptionState.closeOffHeapTransientRecordStore();
+        }
+        releasePartitionResources(partition);
         if (consumerAction.isHelixTriggeredAction()) {
           LOGGER.info(
               "Removing tracking of replica: {} from storage utilization manager as this UNSUBSCRIBE is helix triggered action",
@@ -2875,6 +2959,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         isWriteComputationEnabled,
         isChunked,
         serverConfig.getRegionName());
+    maybeEnableOffHeapTransientRecordStore(freshPcs);
     if (uniqueIngestedKeyCountHllEnabled) {
       int lgK = serverConfig.getUniqueIngestedKeyCountHllLog2K();
       boolean isNewSubscription = PubSubSymbolicPosition.EARLIEST.equals(offsetRecord.getCheckpointedLocalVtPosition());
@@ -2898,6 +2983,13 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     return freshPcs;
   }
 
+  private void maybeEnableOffHeapTransientRecordStore(PartitionConsumptionState pcs) {
+    int capacityInBytes = serverConfig.getTransientRecordOffHeapCapacityPerPartition();
+    if (capacityInBytes > 0) {
+      pcs.enableOffHeapTransientRecordStore(capacityInBytes, transientRecordOffHeapBudget, hostLevelIngestionStats);
+    }
+  }
+
   /**
    * Creates a lightweight placeholder {@link PartitionConsumptionState} for the transformer-only
    * subscription path (no blob transfer). Unlike {@link #createAndInstallPartitionConsumptionState},
@@ -2929,6 +3021,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         isWriteComputationEnabled,
         isChunked,
         serverConfig.getRegionName());
+    maybeEnableOffHeapTransientRecordStore(pcs);
     pcs.setCurrentVersionSupplier(isCurrentVersion);
 
     boolean isFutureVersionReady = isFutureVersionReady(kafkaVersionTopic, storeRepository);
@@ -3200,6 +3293,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           isWriteComputationEnabled,
           isChunked,
           serverConfig.getRegionName());
+      maybeEnableOffHeapTransientRecordStore(consumptionState);
       if (uniqueIngestedKeyCountHllEnabled) {
         consumptionState.initializeUniqueKeyCountHll(serverConfig.getUniqueIngestedKeyCountHllLog2K());
       }
@@ -4811,6 +4905,13 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     }
   }
 
+  /**
+   * Invoked once a partition is unsubscribed and its buffered records are processed, or when the task is closed, so
+   * that subclasses can release the state they keep for the partition.
+   */
+  protected void releasePartitionResources(int partition) {
+  }
+
   protected void logStorageOperationWhileUnsubscribed(int partition) {
     // TODO Consider if this is going to be too noisy, in which case we could mute it.
     LOGGER.info(
@@ -6219,6 +6320,22 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         0L);
   }
 
+  /** Sums {@link OffHeapTransientRecordStore#getUsedBytes()} across all partitions. */
+  public long getTransientRecordOffHeapUsedBytes() {
+    return sumOffHeapTransientRecordStores(OffHeapTransientRecordStore::getUsedBytes);
+  }
+
+  private long sumOffHeapTransientRecordStores(ToLongFunction<OffHeapTransientRecordStore> extractor) {
+    long total = 0;
+    for (PartitionConsumptionState pcs: partitionConsumptionStateMap.values()) {
+      OffHeapTransientRecordStore store = pcs.getOffHeapTransientRecordStore();
+      if (store != null) {
+        total += extractor.applyAsLong(store);
+      }
+    }
+    return total;
+  }
+
   /** Sums {@link #getActiveKeyCount(ReplicaType)} across all partitions regardless of replica type. */
   public long getActiveKeyCount() {
     return getActiveKeyCount(null);
@@ -127,6 +127,8 @@ public class StoreIngestionTaskFactory {
     private Supplier<BlobTransferManager> blobTransferManagerSupplier;
     private Set<String> blobTransferDisabledStores;
     private volatile BlobTransferIngestionHelper blobTransferHelper;
+    private volatile MemoryBudget transientRecordOffHeapBudget;
+    private volatile MemoryBudget leaderRecordLookupCacheBudget;
 
     private interface Setter {
       void apply();
@@ -371,5 +373,35 @@ public class StoreIngestionTaskFactory {
           blobTransferDisabledStores);
       return blobTransferHelper;
     }
+
+    /**
+     * Returns the host-level budget of the off-heap transient record stores, which is shared by all the ingestion
+     * tasks built by this factory, creating it lazily on first call.
+     */
+    MemoryBudget getTransientRecordOffHeapBudget() {
+      if (transientRecordOffHeapBudget == null) {
+        synchronized (this) {
+          if (transientRecordOffHeapBudget == null) {
+            transientRecordOffHeapBudget = new MemoryBudget(serverConfig.getTransientRecordOffHeapCapacityTotal());
+          }
+        }
+      }
+      return transientRecordOffHeapBudget;
+    }
+
+    /**
+     * Returns the host-level budget of the leader record lookup caches, which is shared by all the ingestion tasks
+     * built by this factory, creating it lazily on first call.
+     */
+    MemoryBudget getLeaderRecordLookupCacheBudget() {
+      if (leaderRecordLookupCacheBudget == null) {
+        synchronized (this) {
+          if (leaderRecordLookupCacheBudget == null) {
+            leaderRecordLookupCacheBudget = new MemoryBudget(serverConfig.getLeaderRecordLookupCacheCapacityTotal());
+          }
+        }
+      }
+      return leaderRecordLookupCacheBudget;
+    }
   }
 }
@@ -0,0 +1,102 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.davinci.utils.ByteArrayKey;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A {@link KeyLevelLocksManager} backed by a fixed table of lock stripes, indexed by the hash of the raw key bytes.
+ *
+ * The same key always maps to the same stripe, so there is no key to lock map to maintain and no reference count to
+ * track: {@link #acquireLockByKey} is a hash and an array lookup, and {@link #releaseLock} is a no-op. Different keys
+ * may share a stripe, which only costs some contention, so the stripe count should be well above the number of keys
+ * locked at the same time across all consumers of a store version.
+ *
+ * A whole batch is locked by {@link #lockStripes}, which collects the stripes of its keys in a bitmap and locks them in
+ * ascending order. Since every thread acquires stripes in the same order, and the single record path only holds one
+ * stripe at a time, concurrent batches cannot deadlock.
+ */
+public class StripedKeyLevelLocksManager extends KeyLevelLocksManager {
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  /**
+   * @param stripeCount the number of stripes, which is rounded up to a power of 2.
+   */
+  protected StripedKeyLevelLocksManager(String storeVersion, int stripeCount) {
+    super(storeVersion, 0, 0);
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive, but got: " + stripeCount);
+    }
+    int size = Integer.highestOneBit(stripeCount);
+    if (size < stripeCount) {
+      size <<= 1;
+    }
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+    this.mask = size - 1;
+  }
+
+  @Override
+  ReentrantLock acquireLockByKey(ByteArrayKey key) {
+    return stripes[getStripeIndex(key.hashCode())];
+  }
+
+  @Override
+  void releaseLock(ByteArrayKey key) {
+    // Stripes are never handed back, so there is nothing to release.
+  }
+
+  /**
+   * Locks the stripes of all the keys (except Control Messages) of {@param records}, in ascending stripe order.
+   *
+   * @return the bitmap of the locked stripes, to be passed to {@link #unlockStripes}.
+   */
+  long[] lockStripes(List<DefaultPubSubMessage> records) {
+    long[] lockedStripes = new long[(stripes.length + 63) >>> 6];
+    for (int i = 0; i < records.size(); i++) {
+      DefaultPubSubMessage record = records.get(i);
+      if (!record.getKey().isControlMessage()) {
+        int stripeIndex = getStripeIndex(Arrays.hashCode(record.getKey().getKey()));
+        lockedStripes[stripeIndex >>> 6] |= 1L << stripeIndex;
+      }
+    }
+    for (int word = 0; word < lockedStripes.length; word++) {
+      long bits = lockedStripes[word];
+      while (bits != 0) {
+        stripes[(word << 6) + Long.numberOfTrailingZeros(bits)].lock();
+        bits &= bits - 1;
+      }
+    }
+    return lockedStripes;
+  }
+
+  /**
+   * Unlocks the stripes locked by {@link #lockStripes}, in descending stripe order.
+   */
+  void unlockStripes(long[] lockedStripes) {
+    for (int word = lockedStripes.length - 1; word >= 0; word--) {
+      long bits = lockedStripes[word];
+      while (bits != 0) {
+        int bit = 63 - Long.numberOfLeadingZeros(bits);
+        stripes[(word << 6) + bit].unlock();
+        bits &= ~(1L << bit);
+      }
+    }
+  }
+
+  int getStripeCount() {
+    return stripes.length;
+  }
+
+  private int getStripeIndex(int hashCode) {
+    // Mix the hash, so that the stripe depends on all of its bits.
+    int h = hashCode * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+}
@@ -1,6 +1,7 @@
 package com.linkedin.davinci.replication;
 
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import java.util.function.Supplier;
 import org.apache.avro.generic.GenericRecord;
 
 
@@ -9,11 +10,23 @@ import org.apache.avro.generic.GenericRecord;
  *    1. RMD record.
  *    2. RMD protocol version ID.
  *    3. Value schema ID used to generate the RMD schema.
+ *
+ * The RMD record can also be deserialized lazily, in which case the value-level timestamp is decoded upfront so that
+ * the conflict resolution can skip the record deserialization when the value-level timestamp alone decides the
+ * outcome. See {@link com.linkedin.davinci.replication.merge.RmdSerDe#deserializeValueSchemaIdPrependedRmdBytesLazily}.
  */
 public class RmdWithValueSchemaId {
+  /**
+   * Returned by {@link #getValueLevelTimestamp()} when the value-level timestamp was not decoded from the RMD bytes,
+   * either because the RMD contains field-level timestamps or because the RMD record was deserialized eagerly.
+   */
+  public static final long UNKNOWN_VALUE_LEVEL_TIMESTAMP = Long.MIN_VALUE;
+
   private int valueSchemaId;
   private int rmdProtocolVersionId;
   private GenericRecord rmdRecord;
+  private Supplier<GenericRecord> rmdRecordSupplier;
+  private long valueLevelTimestamp = UNKNOWN_VALUE_LEVEL_TIMESTAMP;
 
   private ChunkedValueManifest rmdManifest;
 
@@ -47,6 +60,20 @@ public class RmdWithValueSchemaId {
 
   public void setRmdRecord(GenericRecord rmdRecord) {
     this.rmdRecord = rmdRecord;
+    this.rmdRecordSupplier = null;
+    this.valueLevelTimestamp = UNKNOWN_VALUE_LEVEL_TIMESTAMP;
+  }
+
+  /**
+   * Sets the supplier deserializing the RMD record on the first {@link #getRmdRecord()} call.
+   */
+  public void setRmdRecordSupplier(Supplier<GenericRecord> rmdRecordSupplier) {
+    this.rmdRecord = null;
+    this.rmdRecordSupplier = rmdRecordSupplier;
+  }
+
+  public void setValueLevelTimestamp(long valueLevelTimestamp) {
+    this.valueLevelTimestamp = valueLevelTimestamp;
   }
 
   public void setRmdManifest(ChunkedValueManifest rmdManifest) {
@@ -54,9 +81,31 @@ public class RmdWithValueSchemaId {
   }
 
   public GenericRecord getRmdRecord() {
+    if (rmdRecordSupplier != null) {
+      rmdRecord = rmdRecordSupplier.get();
+      rmdRecordSupplier = null;
+    }
     return rmdRecord;
   }
 
+  /**
+   * @return whether the RMD record is not deserialized yet, i.e. whether {@link #getRmdRecord()} would deserialize it
+   */
+  public boolean isRmdRecordDeserializationPending() {
+    return rmdRecordSupplier != null;
+  }
+
+  /**
+   * @return the value-level timestamp decoded from the RMD bytes, or {@link #UNKNOWN_VALUE_LEVEL_TIMESTAMP}
+   */
+  public long getValueLevelTimestamp() {
+    return valueLevelTimestamp;
+  }
+
+  public boolean hasValueLevelTimestamp() {
+    return valueLevelTimestamp != UNKNOWN_VALUE_LEVEL_TIMESTAMP;
+  }
+
   public int getValueSchemaId() {
     return valueSchemaId;
   }
@@ -44,7 +44,9 @@ import org.apache.commons.lang3.Validate;
 /**
  * The workflow is
  * Query old replication metadata. If it's null (and running in first batch push merge policy), then write the new value directly.
- * If the old replication metadata exists, then deserialize it and run Merge<BB>.
+ * If the old replication metadata exists and only holds a value-level timestamp decoded from its bytes, compare it with
+ * the incoming TS and either drop the new value or write it directly, without deserializing the metadata.
+ * Otherwise, deserialize the old replication metadata and run Merge<BB>.
  * If the incoming TS is higher than the entirety of the old replication metadata, then write the new value directly.
  * If the incoming TS is lower than the entirety of the old replication metadata, then drop the new value.
  * If the incoming TS is partially higher, partially lower, than the old replication metadata, then query the old value, deserialize it, and pass it to Merge<GR>, Merge<Map> or Merge<List> .
@@ -124,6 +126,16 @@ public class MergeConflictResolver {
           "Invalid schema Id of old value found when replication metadata exists for store = " + storeName
               + "; schema ID = " + rmdWithValueSchemaID.getValueSchemaId());
     }
+    if (!useFieldLevelTimestamp && rmdWithValueSchemaID.hasValueLevelTimestamp()) {
+      MergeConflictResult result = putWithDecodedValueLevelTimestamp(
+          rmdWithValueSchemaID.getValueLevelTimestamp(),
+          newValueBytes,
+          putOperationTimestamp,
+          newValueSchemaID);
+      if (result != null) {
+        return result;
+      }
+    }
     final GenericRecord oldRmdRecord = rmdWithValueSchemaID.getRmdRecord();
     final Object oldTimestampObject = oldRmdRecord.get(TIMESTAMP_FIELD_POS);
 
@@ -176,6 +188,12 @@ public class MergeConflictResolver {
           "Invalid schema ID of old value found when replication metadata exists for store " + storeName
               + "; invalid value schema ID: " + oldValueSchemaID);
     }
+    if (!useFieldLevelTimestamp && rmdWithValueSchemaID.hasValueLevelTimestamp()) {
+      return deleteWithDecodedValueLevelTimestamp(
+          rmdWithValueSchemaID.getValueLevelTimestamp(),
+          oldValueSchemaID,
+          deleteOperationTimestamp);
+    }
 
     final GenericRecord oldRmdRecord = rmdWithValueSchemaID.getRmdRecord();
     final Object oldTimestampObject = oldRmdRecord.get(TIMESTAMP_FIELD_POS);
@@ -254,6 +272,56 @@ public class MergeConflictResolver {
         updatedValueAndRmd.getRmd());
   }
 
+  /**
+   * Resolves a PUT against the value-level timestamp decoded from the old RMD bytes, without deserializing the old RMD
+   * record. This follows {@link AbstractMerge#putWithRecordLevelTimestamp}, except for timestamp ties which need the
+   * old value to break, and for which null is returned so that the regular merge path handles them.
+   */
+  private MergeConflictResult putWithDecodedValueLevelTimestamp(
+      final long oldTimestamp,
+      ByteBuffer newValueBytes,
+      final long putOperationTimestamp,
+      final int newValueSchemaID) {
+    if (oldTimestamp > putOperationTimestamp) {
+      return MergeConflictResult.getIgnoredResult();
+    }
+    if (oldTimestamp == putOperationTimestamp) {
+      return null;
+    }
+    return new MergeConflictResult(
+        newValueBytes,
+        newValueSchemaID,
+        true,
+        createValueLevelTimestampRmd(newValueSchemaID, putOperationTimestamp));
+  }
+
+  /**
+   * Resolves a DELETE against the value-level timestamp decoded from the old RMD bytes, without deserializing the old
+   * RMD record. This follows {@link AbstractMerge#deleteWithValueLevelTimestamp}.
+   */
+  private MergeConflictResult deleteWithDecodedValueLevelTimestamp(
+      final long oldTimestamp,
+      final int oldValueSchemaID,
+      final long deleteOperationTimestamp) {
+    // Delete wins when old and new write operation timestamps are equal.
+    if (oldTimestamp > deleteOperationTimestamp) {
+      return MergeConflictResult.getIgnoredResult();
+    }
+    return new MergeConflictResult(
+        null,
+        oldValueSchemaID,
+        false,
+        createValueLevelTimestampRmd(oldValueSchemaID, deleteOperationTimestamp));
+  }
+
+  private GenericRecord createValueLevelTimestampRmd(final int valueSchemaID, final long timestamp) {
+    GenericRecord newRmd = newRmdCreator.apply(valueSchemaID);
+    newRmd.put(TIMESTAMP_FIELD_POS, timestamp);
+    // The winning write replaces the whole value, so the offset vector is reset like in the regular merge path.
+    newRmd.put(REPLICATION_CHECKPOINT_VECTOR_FIELD_POS, Collections.emptyList());
+    return newRmd;
+  }
+
   private MergeConflictResult mergePutWithValueLevelTimestamp(
       Lazy<ByteBuffer> oldValueBytesProvider,
       GenericRecord oldRmdRecord,
@@ -1,5 +1,7 @@
 package com.linkedin.davinci.replication.merge;
 
+import static com.linkedin.venice.schema.rmd.RmdConstants.TIMESTAMP_FIELD_POS;
+
 import com.linkedin.davinci.replication.RmdWithValueSchemaId;
 import com.linkedin.davinci.serializer.avro.MapOrderPreservingSerDeFactory;
 import com.linkedin.davinci.serializer.avro.fast.MapOrderPreservingFastSerDeFactory;
@@ -8,9 +10,11 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.schema.rmd.RmdSchemaEntry;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.RetryUtils;
 import com.linkedin.venice.utils.SparseConcurrentList;
 import com.linkedin.venice.utils.collections.BiIntKeyCache;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Collections;
@@ -69,20 +73,71 @@ public class RmdSerDe {
       byte[] valueSchemaIdPrependedBytes,
       RmdWithValueSchemaId rmdWithValueSchemaId) {
     Validate.notNull(valueSchemaIdPrependedBytes);
-    ByteBuffer rmdWithValueSchemaID = ByteBuffer.wrap(valueSchemaIdPrependedBytes);
-    final int valueSchemaId = rmdWithValueSchemaID.getInt();
+    final int valueSchemaId = ByteUtils.readInt(valueSchemaIdPrependedBytes, 0);
+    GenericRecord rmdRecord = deserializeRmdRecord(valueSchemaId, valueSchemaIdPrependedBytes);
+    rmdWithValueSchemaId.setValueSchemaId(valueSchemaId);
+    rmdWithValueSchemaId.setRmdProtocolVersionId(rmdVersionId);
+    rmdWithValueSchemaId.setRmdRecord(rmdRecord);
+  }
+
+  /**
+   * Same as {@link #deserializeValueSchemaIdPrependedRmdBytes}, except that the RMD record is only deserialized on the
+   * first {@link RmdWithValueSchemaId#getRmdRecord()} call. If the RMD holds a value-level timestamp, it is decoded
+   * straight from the bytes and made available via {@link RmdWithValueSchemaId#getValueLevelTimestamp()}, which is
+   * all the conflict resolution needs when the incoming write wins or loses outright.
+   */
+  public void deserializeValueSchemaIdPrependedRmdBytesLazily(
+      byte[] valueSchemaIdPrependedBytes,
+      RmdWithValueSchemaId rmdWithValueSchemaId) {
+    Validate.notNull(valueSchemaIdPrependedBytes);
+    final int valueSchemaId = ByteUtils.readInt(valueSchemaIdPrependedBytes, 0);
+    rmdWithValueSchemaId.setValueSchemaId(valueSchemaId);
+    rmdWithValueSchemaId.setRmdProtocolVersionId(rmdVersionId);
+    rmdWithValueSchemaId.setRmdRecordSupplier(() -> deserializeRmdRecord(valueSchemaId, valueSchemaIdPrependedBytes));
+    rmdWithValueSchemaId.setValueLevelTimestamp(readValueLevelTimestamp(valueSchemaId, valueSchemaIdPrependedBytes));
+  }
+
+  /**
+   * Decodes the value-level timestamp, i.e. the first field of the RMD record, without deserializing the record.
+   *
+   * @return the value-level timestamp, or {@link RmdWithValueSchemaId#UNKNOWN_VALUE_LEVEL_TIMESTAMP} if the RMD holds
+   *         field-level timestamps.
+   */
+  long readValueLevelTimestamp(final int valueSchemaId, byte[] valueSchemaIdPrependedBytes) {
+    Schema timestampSchema = getRmdSchema(valueSchemaId).getFields().get(TIMESTAMP_FIELD_POS).schema();
     OptimizedBinaryDecoder binaryDecoder = OptimizedBinaryDecoderFactory.defaultFactory()
         .createOptimizedBinaryDecoder(
-            rmdWithValueSchemaID.array(), // bytes of replication metadata with NO value schema ID.
-            rmdWithValueSchemaID.position(),
-            rmdWithValueSchemaID.remaining());
+            valueSchemaIdPrependedBytes,
+            ByteUtils.SIZE_OF_INT,
+            valueSchemaIdPrependedBytes.length - ByteUtils.SIZE_OF_INT);
+    try {
+      if (timestampSchema.getType() == Schema.Type.UNION) {
+        timestampSchema = timestampSchema.getTypes().get(binaryDecoder.readIndex());
+      }
+      if (timestampSchema.getType() != Schema.Type.LONG) {
+        return RmdWithValueSchemaId.UNKNOWN_VALUE_LEVEL_TIMESTAMP;
+      }
+      return binaryDecoder.readLong();
+    } catch (IOException e) {
+      throw new VeniceException(
+          String.format(
+              "Failed to decode the RMD timestamp for store: %s with value schema ID: %d",
+              annotatedStoreSchemaCache.getStoreName(),
+              valueSchemaId),
+          e);
+    }
+  }
+
+  private GenericRecord deserializeRmdRecord(final int valueSchemaId, byte[] valueSchemaIdPrependedBytes) {
+    OptimizedBinaryDecoder binaryDecoder = OptimizedBinaryDecoderFactory.defaultFactory()
+        .createOptimizedBinaryDecoder(
+            valueSchemaIdPrependedBytes, // bytes of replication metadata with NO value schema ID.
+            ByteUtils.SIZE_OF_INT,
+            valueSchemaIdPrependedBytes.length - ByteUtils.SIZE_OF_INT);
 
     // We allow 5 retries of 1 sec delay between each attempt to get the deserializer in case of a slow schema
     // repository.
-    GenericRecord rmdRecord = getRmdDeserializerWithRetry(valueSchemaId, valueSchemaId, 5).deserialize(binaryDecoder);
-    rmdWithValueSchemaId.setValueSchemaId(valueSchemaId);
-    rmdWithValueSchemaId.setRmdProtocolVersionId(rmdVersionId);
-    rmdWithValueSchemaId.setRmdRecord(rmdRecord);
+    return getRmdDeserializerWithRetry(valueSchemaId, valueSchemaId, 5).deserialize(binaryDecoder);
   }
 
   /**
@@ -54,6 +54,18 @@ public class AggBlobTransferStats {
     }
   }
 
+  /**
+   * Records the receive throughput of a single blob transfer channel, from the first response to the end of transfer.
+   * This method only updates version-specific statistics.
+   *
+   * @param storeName the name of the Venice store
+   * @param version the version number of the store
+   * @param throughput the throughput in MB/sec
+   */
+  public void recordBlobTransferChannelReceiveThroughput(String storeName, int version, double throughput) {
+    aggVersionedBlobTransferStats.recordBlobTransferChannelReceiveThroughput(storeName, version, throughput);
+  }
+
   /**
    * Returns the versioned blob transfer statistics aggregator.
    *
@@ -166,6 +166,16 @@ public class AggVersionedBlobTransferStats
     recordVersionedAndTotalStat(storeName, version, stats -> stats.recordBlobTransferFileReceiveThroughput(throughput));
   }
 
+  /**
+   * Record the receive throughput of a single blob transfer channel (Tehuti only).
+   */
+  public void recordBlobTransferChannelReceiveThroughput(String storeName, int version, double throughput) {
+    recordVersionedAndTotalStat(
+        storeName,
+        version,
+        stats -> stats.recordBlobTransferChannelReceiveThroughput(throughput));
+  }
+
   /**
    * Records the blob transfer time (Tehuti and OTel).
    *
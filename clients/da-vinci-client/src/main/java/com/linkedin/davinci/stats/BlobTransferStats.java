@@ -27,6 +27,8 @@ public class BlobTransferStats {
 
   // The blob file receiving throughput (in MB/sec) and time (in sec)
   protected static final String BLOB_TRANSFER_THROUGHPUT = "blob_transfer_file_receive_throughput";
+  // The receive throughput (in MB/sec) of a single transfer channel, measured while receiving
+  protected static final String BLOB_TRANSFER_CHANNEL_RECEIVE_THROUGHPUT = "blob_transfer_channel_receive_throughput";
   protected static final String BLOB_TRANSFER_TIME = "blob_transfer_time";
   protected static final String BLOB_TRANSFER_BYTES_RECEIVED = "blob_transfer_bytes_received";
   protected static final String BLOB_TRANSFER_BYTES_SENT = "blob_transfer_bytes_sent";
@@ -41,6 +43,8 @@ public class BlobTransferStats {
   private Sensor blobTransferFailedNumResponsesSensor;
   private Gauge blobTransferFileReceiveThroughputGauge = new Gauge();
   private Sensor blobTransferFileReceiveThroughputSensor;
+  private Gauge blobTransferChannelReceiveThroughputGauge = new Gauge();
+  private Sensor blobTransferChannelReceiveThroughputSensor;
   private Gauge blobTransferTimeGauge = new Gauge();
   private Sensor blobTransferTimeSensor;
   private LongAdderRateGauge blobTransferBytesReceivedSensor;
@@ -68,6 +72,10 @@ public class BlobTransferStats {
     blobTransferFileReceiveThroughputSensor = localMetricRepository.sensor(BLOB_TRANSFER_THROUGHPUT);
     blobTransferFileReceiveThroughputSensor.add(BLOB_TRANSFER_THROUGHPUT, blobTransferFileReceiveThroughputGauge);
 
+    blobTransferChannelReceiveThroughputSensor = localMetricRepository.sensor(BLOB_TRANSFER_CHANNEL_RECEIVE_THROUGHPUT);
+    blobTransferChannelReceiveThroughputSensor
+        .add(BLOB_TRANSFER_CHANNEL_RECEIVE_THROUGHPUT, blobTransferChannelReceiveThroughputGauge);
+
     blobTransferTimeSensor = localMetricRepository.sensor(BLOB_TRANSFER_TIME);
     blobTransferTimeSensor.add(BLOB_TRANSFER_TIME, blobTransferTimeGauge);
 
@@ -103,6 +111,14 @@ public class BlobTransferStats {
     blobTransferFileReceiveThroughputSensor.record(throughput, System.currentTimeMillis());
   }
 
+  /**
+   * Record the receive throughput of a single blob transfer channel.
+   * @param throughput in MB/sec
+   */
+  public void recordBlobTransferChannelReceiveThroughput(double throughput) {
+    blobTransferChannelReceiveThroughputSensor.record(throughput, System.currentTimeMillis());
+  }
+
   /**
    * Record the blob transfer time.
    * @param time the time in second
@@ -147,6 +163,14 @@ public class BlobTransferStats {
     }
   }
 
+  public double getBlobTransferChannelReceiveThroughput() {
+    if (blobTransferChannelReceiveThroughputGauge == null) {
+      return 0;
+    } else {
+      return blobTransferChannelReceiveThroughputGauge.measure(METRIC_CONFIG, System.currentTimeMillis());
+    }
+  }
+
   public double getBlobTransferTime() {
     if (blobTransferTimeGauge == null) {
       return 0;
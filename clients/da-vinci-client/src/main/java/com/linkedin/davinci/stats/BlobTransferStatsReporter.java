@@ -43,6 +43,11 @@ public class BlobTransferStatsReporter extends AbstractVeniceStatsReporter<BlobT
             this,
             () -> getStats().getBlobTransferFileReceiveThroughput(),
             BlobTransferStats.BLOB_TRANSFER_THROUGHPUT));
+    registerSensor(
+        new IngestionStatsGauge(
+            this,
+            () -> getStats().getBlobTransferChannelReceiveThroughput(),
+            BlobTransferStats.BLOB_TRANSFER_CHANNEL_RECEIVE_THROUGHPUT));
     registerSensor(
         new IngestionStatsGauge(this, () -> getStats().getBlobTransferTime(), BlobTransferStats.BLOB_TRANSFER_TIME));
     registerSensor(
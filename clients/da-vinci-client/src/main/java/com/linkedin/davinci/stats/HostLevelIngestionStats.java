@@ -149,6 +149,27 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
    */
   private final Sensor leaderIngestionReplicationMetadataLookUpLatencySensor;
 
+  /**
+   * Measure the number of times the value or replication metadata of a key without transient record was found in the
+   * {@link com.linkedin.davinci.kafka.consumer.LeaderRecordLookupCache}
+   */
+  private final Sensor leaderRecordLookupCacheHitCount;
+
+  /**
+   * Measure the number of times the value or replication metadata of a key without transient record was not found in
+   * the {@link com.linkedin.davinci.kafka.consumer.LeaderRecordLookupCache}, and had to be read from storage
+   */
+  private final Sensor leaderRecordLookupCacheMissCount;
+
+  /**
+   * Measure the number of times a transient record was found, or not found, in an off-heap transient record store, and
+   * the number of transient records which did not fit into their store, and were kept on the heap. These are null when
+   * the stores are not enabled.
+   */
+  private final Sensor transientRecordOffHeapHitCount;
+  private final Sensor transientRecordOffHeapMissCount;
+  private final Sensor transientRecordOffHeapOverflowCount;
+
   private final Sensor leaderIngestionActiveActivePutLatencySensor;
 
   private final Sensor leaderIngestionActiveActiveUpdateLatencySensor;
@@ -316,6 +337,18 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
 
     registerActiveKeyCountGauge(activeKeyCountEnabled, isTotalStats, ingestionTaskMap, storeName);
 
+    // Register metrics of the off-heap transient record stores, when they are enabled
+    if (serverConfig.getTransientRecordOffHeapCapacityPerPartition() > 0) {
+      registerSensor(
+          new AsyncGauge(
+              measurable(
+                  ingestionTaskMap,
+                  storeName,
+                  StoreIngestionTask::getTransientRecordOffHeapUsedBytes,
+                  StoreIngestionTask::getTransientRecordOffHeapUsedBytes),
+              "transient_record_off_heap_used_bytes"));
+    }
+
     // Stats which are per-store only:
     String keySizeSensorName = "record_key_size_in_bytes";
     this.keySizeSensor = registerSensor(keySizeSensorName, avgAndMax());
@@ -488,6 +521,40 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
         () -> totalStats.leaderIngestionReplicationMetadataLookUpLatencySensor,
         avgAndMax());
 
+    this.leaderRecordLookupCacheHitCount = registerPerStoreAndTotalSensor(
+        "leader_record_lookup_cache_hit_count",
+        totalStats,
+        () -> totalStats.leaderRecordLookupCacheHitCount,
+        new Rate());
+
+    this.leaderRecordLookupCacheMissCount = registerPerStoreAndTotalSensor(
+        "leader_record_lookup_cache_miss_count",
+        totalStats,
+        () -> totalStats.leaderRecordLookupCacheMissCount,
+        new Rate());
+
+    if (serverConfig.getTransientRecordOffHeapCapacityPerPartition() > 0) {
+      this.transientRecordOffHeapHitCount = registerPerStoreAndTotalSensor(
+          "transient_record_off_heap_hit_count",
+          totalStats,
+          () -> totalStats.transientRecordOffHeapHitCount,
+          new Rate());
+      this.transientRecordOffHeapMissCount = registerPerStoreAndTotalSensor(
+          "transient_record_off_heap_miss_count",
+          totalStats,
+          () -> totalStats.transientRecordOffHeapMissCount,
+          new Rate());
+      this.transientRecordOffHeapOverflowCount = registerPerStoreAndTotalSensor(
+          "transient_record_off_heap_overflow_count",
+          totalStats,
+          () -> totalStats.transientRecordOffHeapOverflowCount,
+          new Rate());
+    } else {
+      this.transientRecordOffHeapHitCount = null;
+      this.transientRecordOffHeapMissCount = null;
+      this.transientRecordOffHeapOverflowCount = null;
+    }
+
     this.leaderIngestionActiveActivePutLatencySensor = registerPerStoreAndTotalSensor(
         "leader_ingestion_active_active_put_latency",
         totalStats,
@@ -724,6 +791,32 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
     leaderIngestionReplicationMetadataLookupCount.record(1, currentTimeMs);
   }
 
+  public void recordLeaderRecordLookupCacheHitCount(long currentTimeMs) {
+    leaderRecordLookupCacheHitCount.record(1, currentTimeMs);
+  }
+
+  public void recordLeaderRecordLookupCacheMissCount(long currentTimeMs) {
+    leaderRecordLookupCacheMissCount.record(1, currentTimeMs);
+  }
+
+  public void recordTransientRecordOffHeapHitCount() {
+    if (transientRecordOffHeapHitCount != null) {
+      transientRecordOffHeapHitCount.record();
+    }
+  }
+
+  public void recordTransientRecordOffHeapMissCount() {
+    if (transientRecordOffHeapMissCount != null) {
+      transientRecordOffHeapMissCount.record();
+    }
+  }
+
+  public void recordTransientRecordOffHeapOverflowCount() {
+    if (transientRecordOffHeapOverflowCount != null) {
+      transientRecordOffHeapOverflowCount.record();
+    }
+  }
+
   public void recordUpdateIgnoredDCR() {
     totalUpdateIgnoredDCRRate.record();
   }
@@ -40,6 +40,16 @@ public enum StoreBufferServiceOtelMetricEntity implements ModuleMetricEntityInte
       "drainer.record.processing.error_count", MetricType.COUNTER, MetricUnit.NUMBER,
       "Count of errors encountered while processing records in the drainer",
       setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE, VENICE_STORE_NAME)
+  ),
+  PROCESSING_IMBALANCE_RATIO(
+      "drainer.writer.processing.imbalance_ratio", MetricType.ASYNC_DOUBLE_GAUGE, MetricUnit.RATIO,
+      "Records processed by the busiest drainer writer relative to the average across writers",
+      setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE)
+  ),
+  PARTITION_STEAL_COUNT(
+      "drainer.partition.steal_count", MetricType.COUNTER, MetricUnit.NUMBER,
+      "Count of partition queues taken over by an idle drainer writer from another writer",
+      setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE)
   );
 
   private final MetricEntity metricEntity;
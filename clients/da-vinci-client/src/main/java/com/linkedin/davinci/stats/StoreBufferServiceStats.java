@@ -22,13 +22,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.DoubleSupplier;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 
 public class StoreBufferServiceStats extends AbstractVeniceStats {
   enum TehutiMetricName implements TehutiMetricNameEnum {
     TOTAL_MEMORY_USAGE, TOTAL_REMAINING_MEMORY, MAX_MEMORY_USAGE_PER_WRITER, MIN_MEMORY_USAGE_PER_WRITER,
-    INTERNAL_PROCESSING_LATENCY, INTERNAL_PROCESSING_ERROR;
+    INTERNAL_PROCESSING_LATENCY, INTERNAL_PROCESSING_ERROR, DRAINER_PROCESSING_IMBALANCE, PARTITION_STEAL;
   }
 
   private final VeniceOpenTelemetryMetricsRepository otelRepository;
@@ -48,6 +50,8 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
    */
   private final VeniceConcurrentHashMap<String, MetricEntityStateBase> errorPerStore = new VeniceConcurrentHashMap<>();
 
+  private final MetricEntityStateBase partitionStealMetric;
+
   public StoreBufferServiceStats(
       MetricsRepository metricsRepository,
       String metricNamePrefix,
@@ -56,7 +60,8 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
       LongSupplier totalMemoryUsageSupplier,
       LongSupplier totalRemainingMemorySupplier,
       LongSupplier maxMemoryUsagePerDrainerSupplier,
-      LongSupplier minMemoryUsagePerDrainerSupplier) {
+      LongSupplier minMemoryUsagePerDrainerSupplier,
+      Supplier<DoubleSupplier> processingImbalanceReaderFactory) {
     super(metricsRepository, metricNamePrefix);
 
     VeniceDrainerType bufferType = sorted ? VeniceDrainerType.SORTED : VeniceDrainerType.UNSORTED;
@@ -90,6 +95,32 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
         StoreBufferServiceOtelMetricEntity.MEMORY_USED_PER_WRITER_MIN,
         TehutiMetricName.MIN_MEMORY_USAGE_PER_WRITER,
         minMemoryUsagePerDrainerSupplier);
+
+    /**
+     * The imbalance is measured over the interval since the previous read, so the Tehuti and OTel gauges, which are
+     * collected independently, each get their own reader.
+     */
+    DoubleSupplier tehutiProcessingImbalanceReader = processingImbalanceReaderFactory.get();
+    AsyncMetricEntityStateBase.create(
+        StoreBufferServiceOtelMetricEntity.PROCESSING_IMBALANCE_RATIO.getMetricEntity(),
+        otelRepository,
+        this::registerSensorIfAbsent,
+        TehutiMetricName.DRAINER_PROCESSING_IMBALANCE,
+        Collections.singletonList(
+            new AsyncGauge(
+                (ig, ig2) -> tehutiProcessingImbalanceReader.getAsDouble(),
+                TehutiMetricName.DRAINER_PROCESSING_IMBALANCE.getMetricName())),
+        baseDimensionsMap,
+        baseAttributes,
+        processingImbalanceReaderFactory.get());
+    this.partitionStealMetric = MetricEntityStateBase.create(
+        StoreBufferServiceOtelMetricEntity.PARTITION_STEAL_COUNT.getMetricEntity(),
+        otelRepository,
+        this::registerSensorIfAbsent,
+        TehutiMetricName.PARTITION_STEAL,
+        Collections.singletonList(new OccurrenceRate()),
+        baseDimensionsMap,
+        baseAttributes);
   }
 
   private void registerMemoryGauge(
@@ -147,4 +178,8 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
   public void recordInternalProcessingError(String storeName) {
     getOrCreateErrorState(storeName).record(1);
   }
+
+  public void recordPartitionSteal() {
+    partitionStealMetric.record(1);
+  }
 }
@@ -16,6 +16,7 @@ import com.linkedin.venice.utils.ByteUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.function.BiFunction;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
@@ -226,6 +227,46 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         compressor);
   }
 
+  /**
+   * Batched variant of {@link #get(StorageEngine, int, byte[], ByteBuffer, Object, BinaryDecoder, boolean,
+   * ReadResponseStats, int, StoreDeserializerCache, VeniceCompressor)} for keys which all belong to the same
+   * {@param partition}. The value passed to the {@param callback} may be recycled for the next key, so it must be
+   * consumed before the callback returns.
+   *
+   * N.B.: When {@param isChunked} is true, the elements of {@param keys} are replaced in place by their non-chunked
+   * serialized form.
+   */
+  public void getInBatch(
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      T reusedValue,
+      BinaryDecoder reusedDecoder,
+      boolean isChunked,
+      ReadResponseStats responseStats,
+      int readerSchemaId,
+      StoreDeserializerCache<T> storeDeserializerCache,
+      VeniceCompressor compressor,
+      BatchValueCallback<T> callback) {
+    if (isChunked) {
+      for (int i = 0; i < keys.size(); i++) {
+        keys.set(i, ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(keys.get(i)));
+      }
+    }
+    ChunkingUtils.getFromStorageInBatch(
+        this,
+        store,
+        partition,
+        keys,
+        responseStats,
+        reusedValue,
+        reusedDecoder,
+        readerSchemaId,
+        storeDeserializerCache,
+        compressor,
+        callback);
+  }
+
   public void getByPartialKey(
       StorageEngine store,
       int userPartition,
@@ -265,8 +306,12 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
       reusedValue,
       veniceCompressor,
       deserializer,
-      readResponse) -> deserializer
-          .deserialize(reusedValue, veniceCompressor.decompress(bytes, offset, inputBytesLength), reusedDecoder);
+      readResponse) -> deserializer.deserialize(
+          reusedValue,
+          isDecompressionBufferReusable()
+              ? veniceCompressor.decompressIntoReusableBuffer(bytes, offset, inputBytesLength)
+              : veniceCompressor.decompress(bytes, offset, inputBytesLength),
+          reusedDecoder);
 
   private final DecoderWrapper<byte[], T> byteArrayDecoder =
       (reusedDecoder, bytes, inputBytesLength, reusedValue, deserializer, readResponse, compressor) -> deserializer
@@ -290,6 +335,15 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
   private final DecoderWrapper<byte[], T> decompressingByteArrayDecoder =
       (reusedDecoder, bytes, inputBytesLength, reusedValue, deserializer, readResponse, compressor) -> {
         try {
+          if (isDecompressionBufferReusable()) {
+            return deserializer.deserialize(
+                reusedValue,
+                compressor.decompressIntoReusableBuffer(
+                    bytes,
+                    ValueRecord.SCHEMA_HEADER_LENGTH,
+                    inputBytesLength - ValueRecord.SCHEMA_HEADER_LENGTH),
+                reusedDecoder);
+          }
           // Fetch the schema id.
           int schemaId = ByteUtils.readInt(bytes, 0);
           return deserializer.deserialize(
@@ -316,6 +370,15 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
   private final DecoderWrapper<InputStream, T> instrumentedDecompressingInputStreamDecoder =
       new InstrumentedDecoderWrapper<>(decompressingInputStreamDecoder);
 
+  /**
+   * Whether values can be decompressed into a buffer reused across reads, see
+   * {@link VeniceCompressor#decompressIntoReusableBuffer(byte[], int, int)}. It is only the case for adapters whose
+   * deserializers copy everything they need out of the decompressed bytes, rather than returning views of them.
+   */
+  protected boolean isDecompressionBufferReusable() {
+    return false;
+  }
+
   private DecoderWrapper<byte[], T> getByteArrayDecoder(CompressionStrategy compressionStrategy) {
     if (compressionStrategy == CompressionStrategy.NO_OP) {
       return instrumentedByteArrayDecoder;
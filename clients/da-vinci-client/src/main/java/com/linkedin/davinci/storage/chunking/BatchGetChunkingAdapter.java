@@ -6,6 +6,7 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 
 /**
@@ -68,4 +69,37 @@ public class BatchGetChunkingAdapter implements ChunkingAdapter<ByteBuffer, Mult
     }
     return ChunkingUtils.getFromStorage(BATCH_GET_CHUNKING_ADAPTER, store, partition, key, response);
   }
+
+  /**
+   * Batched variant of {@link #get(StorageEngine, int, ByteBuffer, boolean, ReadResponseStats)} for keys which all
+   * belong to the same {@param partition}.
+   *
+   * N.B.: When {@param isChunked} is true, the elements of {@param keys} are replaced in place by their non-chunked
+   * serialized form.
+   */
+  public static void getInBatch(
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      boolean isChunked,
+      ReadResponseStats response,
+      BatchValueCallback<MultiGetResponseRecordV1> callback) {
+    if (isChunked) {
+      for (int i = 0; i < keys.size(); i++) {
+        keys.set(i, ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(keys.get(i)));
+      }
+    }
+    ChunkingUtils.getFromStorageInBatch(
+        BATCH_GET_CHUNKING_ADAPTER,
+        store,
+        partition,
+        keys,
+        response,
+        null,
+        null,
+        -1,
+        null,
+        null,
+        callback);
+  }
 }
@@ -0,0 +1,11 @@
+package com.linkedin.davinci.storage.chunking;
+
+/**
+ * Receives the values resolved by the batched lookup functions of this package, such as
+ * {@link BatchGetChunkingAdapter#getInBatch}. The {@param index} is the position of the corresponding key in the
+ * list of keys which was passed in, and the {@param value} is null if the key does not exist.
+ */
+@FunctionalInterface
+public interface BatchValueCallback<VALUE> {
+  void onValue(int index, VALUE value);
+}
@@ -17,8 +17,11 @@ import com.linkedin.venice.serialization.avro.ChunkedValueManifestSerializer;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
@@ -393,6 +396,135 @@ public class ChunkingUtils {
         compressor);
   }
 
+  /**
+   * Batched variant of {@link #getFromStorage(ChunkingAdapter, StorageGetFunction, String, int, ByteBuffer,
+   * ReadResponseStats, Object, BinaryDecoder, int, StoreDeserializerCache, VeniceCompressor,
+   * ChunkedValueManifestContainer)}, which looks up all the keys of a single partition with
+   * {@link StorageEngine#multiGet(int, List)}.
+   *
+   * The lookup happens in two passes:
+   *
+   * 1. All top-level keys are queried in a single batch.
+   * 2. The chunk keys of all the {@link ChunkedValueManifest}s found in the first pass are queried in a second batch.
+   *
+   * The values are then handed over to the {@param callback} in the same order as the {@param keys}, so that the
+   * {@param reusedValue} can be recycled from one key to the next, exactly as in the single key code path.
+   */
+  static <VALUE, CHUNKS_CONTAINER> void getFromStorageInBatch(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      ReadResponseStats responseStats,
+      VALUE reusedValue,
+      BinaryDecoder reusedDecoder,
+      int readerSchemaId,
+      StoreDeserializerCache<VALUE> storeDeserializerCache,
+      VeniceCompressor compressor,
+      BatchValueCallback<VALUE> callback) {
+    String storeVersionName = store.getStoreVersionName();
+    long databaseLookupStartTimeInNS = responseStats.getCurrentTimeInNanos();
+    List<byte[]> values = store.multiGet(partition, keys);
+    if (values.size() != keys.size()) {
+      throw new VeniceException(
+          "Storage engine returned " + values.size() + " values for " + keys.size() + " keys in "
+              + getExceptionMessageDetails(storeVersionName, partition, null));
+    }
+
+    // First pass: find the manifests and gather all of their chunk keys into a single batch.
+    ChunkedValueManifest[] manifests = null;
+    List<byte[]> chunkKeys = null;
+    byte[] value;
+    for (int i = 0; i < values.size(); i++) {
+      value = values.get(i);
+      if (value == null) {
+        continue;
+      }
+      int writerSchemaId = ValueRecord.parseSchemaId(value);
+      if (writerSchemaId > 0) {
+        continue;
+      } else if (writerSchemaId != AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion()) {
+        throw new VeniceException("Found a record with invalid schema ID: " + writerSchemaId);
+      }
+      if (manifests == null) {
+        manifests = new ChunkedValueManifest[values.size()];
+        chunkKeys = new ArrayList<>();
+      }
+      ChunkedValueManifest chunkedValueManifest = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, writerSchemaId);
+      manifests[i] = chunkedValueManifest;
+      for (ByteBuffer chunkKey: chunkedValueManifest.keysWithChunkIdSuffix) {
+        chunkKeys.add(ByteUtils.extractByteArray(chunkKey));
+      }
+    }
+
+    // Second pass: fetch all the chunks at once.
+    List<byte[]> chunks = chunkKeys == null ? null : store.multiGet(partition, chunkKeys);
+    responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+
+    // Third pass: construct the values in key order.
+    int chunkCursor = 0;
+    VALUE result;
+    for (int i = 0; i < values.size(); i++) {
+      value = values.get(i);
+      if (value == null) {
+        result = null;
+      } else if (manifests == null || manifests[i] == null) {
+        responseStats.addValueSize(value.length);
+        result = adapter.constructValue(
+            value,
+            value.length,
+            reusedValue,
+            reusedDecoder,
+            responseStats,
+            ValueRecord.parseSchemaId(value),
+            readerSchemaId,
+            storeDeserializerCache,
+            compressor);
+      } else {
+        ChunkedValueManifest chunkedValueManifest = manifests[i];
+        CHUNKS_CONTAINER assembledValueContainer = adapter.constructChunksContainer(chunkedValueManifest);
+        int actualSize = 0;
+        byte[] valueChunk;
+        for (int chunkIndex = 0; chunkIndex < chunkedValueManifest.keysWithChunkIdSuffix.size(); chunkIndex++) {
+          valueChunk = chunks.get(chunkCursor++);
+          if (valueChunk == null) {
+            throw new VeniceException(
+                "Chunk not found in " + getExceptionMessageDetails(storeVersionName, partition, chunkIndex));
+          }
+          int chunkSchemaId = ValueRecord.parseSchemaId(valueChunk);
+          if (chunkSchemaId != AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion()) {
+            throw new VeniceException(
+                "Did not get the chunk schema ID while attempting to retrieve a chunk! " + "Instead, got schema ID: "
+                    + chunkSchemaId + " from " + getExceptionMessageDetails(storeVersionName, partition, chunkIndex));
+          }
+          actualSize += valueChunk.length - ValueRecord.SCHEMA_HEADER_LENGTH;
+          adapter.addChunkIntoContainer(assembledValueContainer, chunkIndex, valueChunk);
+        }
+        if (actualSize != chunkedValueManifest.size) {
+          throw new VeniceException(
+              "The fully assembled large value does not have the expected size! " + "actualSize: " + actualSize
+                  + ", chunkedValueManifest.size: " + chunkedValueManifest.size + ", "
+                  + getExceptionMessageDetails(storeVersionName, partition, null));
+        }
+        responseStats.addValueSize(actualSize);
+        responseStats.incrementMultiChunkLargeValueCount();
+        result = adapter.constructValue(
+            assembledValueContainer,
+            reusedValue,
+            reusedDecoder,
+            responseStats,
+            chunkedValueManifest.schemaId,
+            readerSchemaId,
+            storeDeserializerCache,
+            compressor);
+      }
+      if (result != null) {
+        reusedValue = result;
+      }
+      callback.onValue(i, result);
+    }
+  }
+
   private static String getExceptionMessageDetails(String storeVersionName, int partition, Integer chunkIndex) {
     String message = "store-version: " + storeVersionName + ", partition: " + partition;
     if (chunkIndex != null) {
@@ -12,4 +12,12 @@ public class GenericChunkingAdapter<V extends GenericRecord> extends AbstractAvr
   /** Singleton */
   protected GenericChunkingAdapter() {
   }
+
+  /**
+   * Avro decoders copy the bytes and strings they read, so the records never refer to the decompressed bytes.
+   */
+  @Override
+  protected boolean isDecompressionBufferReusable() {
+    return true;
+  }
 }
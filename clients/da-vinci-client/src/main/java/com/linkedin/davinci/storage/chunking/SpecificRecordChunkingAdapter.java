@@ -4,4 +4,11 @@ import org.apache.avro.specific.SpecificRecord;
 
 
 public class SpecificRecordChunkingAdapter<V extends SpecificRecord> extends AbstractAvroChunkingAdapter<V> {
+  /**
+   * Avro decoders copy the bytes and strings they read, so the records never refer to the decompressed bytes.
+   */
+  @Override
+  protected boolean isDecompressionBufferReusable() {
+    return true;
+  }
 }
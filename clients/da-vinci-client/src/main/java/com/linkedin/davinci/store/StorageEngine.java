@@ -8,6 +8,8 @@ import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.pubsub.PubSubContext;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -119,6 +121,19 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
 
   ByteBuffer get(int partitionId, byte[] key, ByteBuffer valueToBePopulated) throws VeniceException;
 
+  /**
+   * Batched variant of {@link #get(int, byte[])}.
+   *
+   * @return a list positionally aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  default List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException {
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (byte[] key: keys) {
+      values.add(get(partitionId, key));
+    }
+    return values;
+  }
+
   byte[] get(int partitionId, ByteBuffer keyBuffer) throws VeniceException;
 
   void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback);
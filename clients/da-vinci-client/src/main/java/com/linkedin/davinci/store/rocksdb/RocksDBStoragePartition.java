@@ -695,6 +695,11 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     return withOpenDatabase(db -> db.get(keyBuffer.array(), keyBuffer.position(), keyBuffer.remaining()));
   }
 
+  /**
+   * Batched lookup through RocksDB's native {@code MultiGet}, which amortizes the JNI crossing and groups the block
+   * cache / SST lookups of all the keys in a single call.
+   */
+  @Override
   public List<byte[]> multiGet(List<byte[]> keys) {
     return withOpenDatabase(db -> db.multiGetAsList(keys));
   }
@@ -561,6 +561,73 @@ public class TestNettyP2PBlobTransferManager {
     });
   }
 
+  /**
+   * Both "localhost" and "127.0.0.1" reach the same server, so their snapshots have the identical files, which are
+   * striped across both of them.
+   */
+  @Test
+  public void testFetchFilesFromParallelPeers()
+      throws IOException, ExecutionException, InterruptedException, TimeoutException {
+    // Preparation:
+    BlobPeersDiscoveryResponse response = new BlobPeersDiscoveryResponse();
+    response.setDiscoveryResult(Arrays.asList("localhost", "127.0.0.1"));
+    doReturn(response).when(finder).discoverBlobPeers(anyString(), anyInt(), anyInt());
+
+    StoreVersionState storeVersionState = new StoreVersionState();
+    Mockito.doReturn(storeVersionState).when(storageMetadataService).getStoreVersionState(Mockito.any());
+
+    InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer =
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer();
+    OffsetRecord expectOffsetRecord =
+        new OffsetRecord(partitionStateSerializer, DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING);
+    expectOffsetRecord.setOffsetLag(1000L);
+    Mockito.doReturn(expectOffsetRecord)
+        .when(storageMetadataService)
+        .getLastOffset(Mockito.any(), Mockito.anyInt(), any());
+
+    snapshotPreparation();
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(anyString(), anyInt());
+
+    // The server is already started by the default manager
+    NettyP2PBlobTransferManager parallelManager = new NettyP2PBlobTransferManager(
+        server,
+        client,
+        finder,
+        tmpPartitionDir.toString(),
+        versionedBlobTransferStats,
+        5,
+        2,
+        LogContext.forTests(VeniceComponent.DAVINCI_CLIENT.name()));
+
+    // Execution:
+    CompletionStage<InputStream> future =
+        parallelManager.get(TEST_STORE, TEST_VERSION, TEST_PARTITION, BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    future.toCompletableFuture().get(1, TimeUnit.MINUTES);
+
+    // Verification:
+    // The large file is fetched from one peer, and the two small ones from the other
+    for (String host: Arrays.asList("localhost", "127.0.0.1")) {
+      Mockito.verify(client, Mockito.times(1))
+          .getManifest(host, TEST_STORE, TEST_VERSION, TEST_PARTITION, BlobTransferTableFormat.BLOCK_BASED_TABLE);
+      Mockito.verify(client, Mockito.times(1)).getFiles(
+          eq(host),
+          eq(TEST_STORE),
+          eq(TEST_VERSION),
+          eq(TEST_PARTITION),
+          eq(BlobTransferTableFormat.BLOCK_BASED_TABLE),
+          any());
+    }
+    Mockito.verify(client, Mockito.never()).get(anyString(), anyString(), anyInt(), anyInt(), Mockito.any());
+
+    Assert.assertTrue(Arrays.equals(Files.readAllBytes(file1), Files.readAllBytes(destFile1)));
+    Assert.assertTrue(Arrays.equals(Files.readAllBytes(file2), Files.readAllBytes(destFile2)));
+    Assert.assertTrue(Arrays.equals(Files.readAllBytes(file3), Files.readAllBytes(destFile3)));
+    Mockito.verify(storageMetadataService, Mockito.times(1))
+        .put(TEST_STORE + "_v" + TEST_VERSION, TEST_PARTITION, expectOffsetRecord);
+    Mockito.verify(storageMetadataService, Mockito.times(1))
+        .computeStoreVersionState(Mockito.anyString(), Mockito.any());
+  }
+
   @Test
   public void testAllPeersFailException() {
     // Preparation:
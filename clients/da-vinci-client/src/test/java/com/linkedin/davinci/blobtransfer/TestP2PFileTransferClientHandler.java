@@ -66,7 +66,7 @@ public class TestP2PFileTransferClientHandler {
   int TEST_PARTITION = 0;
   CompletionStage<InputStream> inputStreamFuture;
   StorageMetadataService storageMetadataService;
-  ExecutorService checksumValidationExecutorService;
+  ExecutorService fsyncExecutorService;
   AggBlobTransferStats blobTransferStats;
 
   P2PFileTransferClientHandler clientFileHandler;
@@ -79,7 +79,7 @@ public class TestP2PFileTransferClientHandler {
     inputStreamFuture = new CompletableFuture<>();
     storageMetadataService = Mockito.mock(StorageMetadataService.class);
     blobTransferStats = Mockito.mock(AggBlobTransferStats.class);
-    checksumValidationExecutorService = Executors.newSingleThreadExecutor();
+    fsyncExecutorService = Executors.newSingleThreadExecutor();
 
     clientFileHandler = Mockito.spy(
         new P2PFileTransferClientHandler(
@@ -90,7 +90,7 @@ public class TestP2PFileTransferClientHandler {
             TEST_PARTITION,
             BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE,
             blobTransferStats,
-            checksumValidationExecutorService));
+            fsyncExecutorService));
 
     veniceNotifier = Mockito.mock(VeniceNotifier.class);
     clientMetadataHandler = Mockito.spy(
@@ -224,6 +224,38 @@ public class TestP2PFileTransferClientHandler {
     }
   }
 
+  @Test
+  public void testFileChecksumMismatchFailsBeforeEndOfTransfer() throws IOException {
+    DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers().add("Content-Disposition", "filename=\"test_file.txt\"");
+    response.headers().add("Content-Length", "10");
+    response.headers().add(BLOB_TRANSFER_TYPE, BlobTransferType.FILE);
+    response.headers().add("Content-MD5", checksumGenerateHelper("1234567890"));
+
+    // The checksum is computed across the chunks while they are received
+    ch.writeInbound(response);
+    ch.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("12345", CharsetUtil.UTF_8)));
+    Assert.assertFalse(inputStreamFuture.toCompletableFuture().isDone());
+    ch.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("67899", CharsetUtil.UTF_8)));
+
+    // The transfer fails as soon as the file is received, and the partial file is removed
+    Assert.assertTrue(inputStreamFuture.toCompletableFuture().isCompletedExceptionally());
+    try {
+      inputStreamFuture.toCompletableFuture().join();
+      Assert.fail("Expected exception not thrown");
+    } catch (Exception e) {
+      Assert.assertTrue(e.getCause() instanceof VeniceException);
+      Assert.assertTrue(e.getCause().getMessage().contains("File checksum mismatch"));
+    }
+    BlobTransferPayload payload = new BlobTransferPayload(
+        baseDir.toString(),
+        TEST_STORE,
+        TEST_VERSION,
+        TEST_PARTITION,
+        BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    Assert.assertFalse(Files.exists(Paths.get(payload.getTempPartitionDir()).resolve("test_file.txt")));
+  }
+
   // Technically, it shouldn't happen as the response and content are supposed to arrive in order but just in case
   @Test
   public void testOutOfOrderResponseTransfer() {
@@ -277,6 +309,11 @@ public class TestP2PFileTransferClientHandler {
     Path file1 = dest.resolve("test_file.txt");
     Assert.assertTrue(Files.exists(file1));
     Assert.assertEquals(Files.size(file1), 5);
+    // The throughput of the channel is recorded once, at the end of transfer
+    Mockito.verify(blobTransferStats).recordBlobTransferChannelReceiveThroughput(
+        Mockito.eq(TEST_STORE),
+        Mockito.eq(TEST_VERSION),
+        Mockito.anyDouble());
 
     // Verify the temp directory is cleaned up
     Path tempDir = Paths.get(payload.getTempPartitionDir());
@@ -334,6 +371,91 @@ public class TestP2PFileTransferClientHandler {
     Assert.assertEquals(Files.size(file2), 10);
   }
 
+  @Test
+  public void testReusedFileTransfer() throws ExecutionException, InterruptedException, IOException, TimeoutException {
+    BlobTransferPayload payload = new BlobTransferPayload(
+        baseDir.toString(),
+        TEST_STORE,
+        TEST_VERSION,
+        TEST_PARTITION,
+        BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    Path reusableFilesDir = Paths.get(payload.getReusableFilesDir());
+    Files.createDirectories(reusableFilesDir);
+    Files.write(reusableFilesDir.resolve("test_file1.sst"), "12345".getBytes());
+
+    // The first file is reused from the local copy, the second one is received
+    DefaultHttpResponse response1 = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response1.headers().add("Content-Disposition", "filename=\"test_file1.sst\"");
+    response1.headers().add("Content-Length", "0");
+    response1.headers().add(BLOB_TRANSFER_TYPE, BlobTransferType.REUSED_FILE);
+    response1.headers().add("Content-MD5", checksumGenerateHelper("12345"));
+    DefaultHttpResponse response2 = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response2.headers().add("Content-Disposition", "filename=\"test_file2.sst\"");
+    response2.headers().add("Content-Length", "5");
+    response2.headers().add(BLOB_TRANSFER_TYPE, BlobTransferType.FILE);
+    response2.headers().add("Content-MD5", checksumGenerateHelper("67890"));
+    DefaultHttpResponse endOfTransfer = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    endOfTransfer.headers().add(BLOB_TRANSFER_STATUS, BLOB_TRANSFER_COMPLETED);
+
+    ch.writeInbound(response1);
+    ch.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+    ch.writeInbound(response2);
+    ch.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("67890", CharsetUtil.UTF_8)));
+    ch.writeInbound(endOfTransfer);
+    inputStreamFuture.toCompletableFuture().get(1, TimeUnit.MINUTES);
+
+    Path dest = Paths.get(payload.getPartitionDir());
+    Assert.assertEquals(Files.readAllBytes(dest.resolve("test_file1.sst")), "12345".getBytes());
+    Assert.assertEquals(Files.readAllBytes(dest.resolve("test_file2.sst")), "67890".getBytes());
+    // The reused file is a link to the local copy, which is left to be cleaned up by the caller
+    Assert.assertTrue(Files.isSameFile(dest.resolve("test_file1.sst"), reusableFilesDir.resolve("test_file1.sst")));
+  }
+
+  @Test
+  public void testReusedFileChecksumMismatch() throws IOException {
+    BlobTransferPayload payload = new BlobTransferPayload(
+        baseDir.toString(),
+        TEST_STORE,
+        TEST_VERSION,
+        TEST_PARTITION,
+        BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    Path reusableFilesDir = Paths.get(payload.getReusableFilesDir());
+    Files.createDirectories(reusableFilesDir);
+    Files.write(reusableFilesDir.resolve("test_file1.sst"), "12345".getBytes());
+
+    // The server matched the file by name and size only, but its copy has a different content
+    DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers().add("Content-Disposition", "filename=\"test_file1.sst\"");
+    response.headers().add("Content-Length", "0");
+    response.headers().add(BLOB_TRANSFER_TYPE, BlobTransferType.REUSED_FILE);
+    response.headers().add("Content-MD5", checksumGenerateHelper("67890"));
+    ch.writeInbound(response);
+    try {
+      inputStreamFuture.toCompletableFuture().get(1, TimeUnit.MINUTES);
+      Assert.fail("Expected exception not thrown");
+    } catch (Exception e) {
+      Assert.assertTrue(e.getCause() instanceof VeniceException);
+      Assert.assertTrue(e.getCause().getMessage().contains("on the server"));
+    }
+    Assert.assertFalse(Files.exists(Paths.get(payload.getTempPartitionDir()).resolve("test_file1.sst")));
+  }
+
+  @Test
+  public void testReusedFileNotFound() {
+    DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers().add("Content-Disposition", "filename=\"test_file1.sst\"");
+    response.headers().add("Content-Length", "0");
+    response.headers().add(BLOB_TRANSFER_TYPE, BlobTransferType.REUSED_FILE);
+    ch.writeInbound(response);
+    try {
+      inputStreamFuture.toCompletableFuture().get(1, TimeUnit.MINUTES);
+      Assert.fail("Expected exception not thrown");
+    } catch (Exception e) {
+      Assert.assertTrue(e.getCause() instanceof VeniceException);
+      Assert.assertTrue(e.getCause().getMessage().contains("is not found locally"));
+    }
+  }
+
   @Test
   public void testSingleMetadataTransfer()
       throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException {
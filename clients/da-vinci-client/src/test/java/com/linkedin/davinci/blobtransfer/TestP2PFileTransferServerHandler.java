@@ -1,13 +1,16 @@
 package com.linkedin.davinci.blobtransfer;
 
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_COMPLETED;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_REQUEST_TYPE;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_STATUS;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_TYPE;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferType;
 import static com.linkedin.venice.response.VeniceReadResponseStatus.TOO_MANY_REQUESTS;
 import static com.linkedin.venice.utils.TestUtils.DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING;
 import static org.mockito.ArgumentMatchers.any;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.davinci.blobtransfer.server.P2PFileTransferServerHandler;
 import com.linkedin.davinci.stats.AggBlobTransferStats;
@@ -21,25 +24,29 @@ import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
-import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.timeout.IdleStateEvent;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.mockito.Mockito;
 import org.testng.Assert;
@@ -281,7 +288,10 @@ public class TestP2PFileTransferServerHandler {
     Assert.assertEquals(httpResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.FILE.toString());
     // send the content in one chunk
     response = ch.readOutbound();
-    Assert.assertTrue(response instanceof HttpChunkedInput);
+    Assert.assertTrue(response instanceof DefaultFileRegion);
+    Assert.assertEquals(((DefaultFileRegion) response).count(), 5);
+    response = ch.readOutbound();
+    Assert.assertSame(response, LastHttpContent.EMPTY_LAST_CONTENT);
     // end of file1
 
     // start of metadata
@@ -350,7 +360,9 @@ public class TestP2PFileTransferServerHandler {
     fileNames.remove(httpResponse.headers().get(HttpHeaderNames.CONTENT_DISPOSITION));
     fileChecksums.remove(httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5));
     response = ch.readOutbound();
-    Assert.assertTrue(response instanceof HttpChunkedInput);
+    Assert.assertTrue(response instanceof DefaultFileRegion);
+    response = ch.readOutbound();
+    Assert.assertSame(response, LastHttpContent.EMPTY_LAST_CONTENT);
     // end of file1
 
     // start of file2
@@ -360,7 +372,9 @@ public class TestP2PFileTransferServerHandler {
     Assert.assertTrue(fileNames.contains(httpResponse.headers().get(HttpHeaderNames.CONTENT_DISPOSITION)));
     Assert.assertTrue(fileChecksums.contains(httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5)));
     response = ch.readOutbound();
-    Assert.assertTrue(response instanceof HttpChunkedInput);
+    Assert.assertTrue(response instanceof DefaultFileRegion);
+    response = ch.readOutbound();
+    Assert.assertSame(response, LastHttpContent.EMPTY_LAST_CONTENT);
     // end of a file2
 
     // start of metadata
@@ -398,6 +412,242 @@ public class TestP2PFileTransferServerHandler {
     Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
   }
 
+  @Test
+  public void testFileChecksumIsComputedOncePerSnapshot() throws IOException {
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    Mockito.doReturn(new StoreVersionState()).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    OffsetRecord offsetRecord = new OffsetRecord(
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer(),
+        DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt(), any());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    String file1ChecksumHeader = BlobTransferUtils.generateFileChecksum(file1);
+
+    ch.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE"));
+    DefaultHttpResponse httpResponse = ch.readOutbound();
+    Assert.assertEquals(httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5), file1ChecksumHeader);
+
+    // Snapshot files never change, so the second transfer of the same snapshot must reuse the checksum instead of
+    // reading the file again, which is detected here by changing the file behind its back.
+    Files.write(file1.toAbsolutePath(), "world".getBytes());
+    EmbeddedChannel ch2 = new EmbeddedChannel(serverHandler);
+    ch2.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE"));
+    httpResponse = ch2.readOutbound();
+    Assert.assertEquals(httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5), file1ChecksumHeader);
+    Assert.assertEquals(
+        blobSnapshotManager.getTransferredSnapshotMetadata("myStore_v1", 10).getFileChecksum(file1.toFile()),
+        file1ChecksumHeader);
+    ch2.close();
+  }
+
+  @Test
+  public void testSkipFilesAdvertisedByClient() throws IOException {
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    Mockito.doReturn(new StoreVersionState()).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    OffsetRecord offsetRecord = new OffsetRecord(
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer(),
+        DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt(), any());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    String file1Checksum = BlobTransferUtils.generateFileChecksum(file1);
+    Path file2 = snapshotDir.resolve("file2");
+    Files.write(file2.toAbsolutePath(), "world".getBytes());
+
+    // The client has the same file1, and a different file2 of the same size
+    byte[] body = new ObjectMapper().writeValueAsBytes(
+        Arrays.asList(
+            new BlobTransferFileInfo("file1", 5, file1Checksum),
+            new BlobTransferFileInfo("file2", 5, BlobTransferUtils.generateFileChecksum(file1))));
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE",
+        Unpooled.wrappedBuffer(body));
+    ch.writeInbound(request);
+
+    Set<String> fileNames = new HashSet<>();
+    for (int i = 0; i < 2; i++) {
+      DefaultHttpResponse httpResponse = ch.readOutbound();
+      String fileName = httpResponse.headers().get(HttpHeaderNames.CONTENT_DISPOSITION);
+      fileNames.add(fileName);
+      if (fileName.equals("attachment; filename=\"file1\"")) {
+        Assert.assertTrue(httpResponse instanceof FullHttpResponse);
+        Assert.assertEquals(httpResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.REUSED_FILE.toString());
+        Assert.assertEquals(httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5), file1Checksum);
+        Assert.assertEquals(((FullHttpResponse) httpResponse).content().readableBytes(), 0);
+      } else {
+        Assert.assertEquals(httpResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.FILE.toString());
+        Assert.assertTrue(ch.readOutbound() instanceof DefaultFileRegion);
+        Assert.assertSame(ch.readOutbound(), LastHttpContent.EMPTY_LAST_CONTENT);
+      }
+    }
+    Assert.assertEquals(fileNames.size(), 2);
+
+    FullHttpResponse metadataResponse = ch.readOutbound();
+    Assert.assertEquals(metadataResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.METADATA.toString());
+    DefaultHttpResponse endOfTransfer = ch.readOutbound();
+    Assert.assertEquals(endOfTransfer.headers().get(BLOB_TRANSFER_STATUS), BLOB_TRANSFER_COMPLETED);
+  }
+
+  @Test
+  public void testSkipFilesAdvertisedByNameAndSize() throws IOException {
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    Mockito.doReturn(new StoreVersionState()).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    OffsetRecord offsetRecord = new OffsetRecord(
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer(),
+        DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt(), any());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+
+    // Without a checksum, a file of the same name and size is reused, and the client checks the response checksum
+    byte[] body =
+        new ObjectMapper().writeValueAsBytes(Collections.singletonList(new BlobTransferFileInfo("file1", 5, null)));
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE",
+        Unpooled.wrappedBuffer(body));
+    ch.writeInbound(request);
+
+    FullHttpResponse httpResponse = ch.readOutbound();
+    Assert.assertEquals(httpResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.REUSED_FILE.toString());
+    Assert.assertEquals(
+        httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5),
+        BlobTransferUtils.generateFileChecksum(file1));
+    Assert.assertEquals(httpResponse.content().readableBytes(), 0);
+  }
+
+  @Test
+  public void testRejectInvalidReusableFiles() {
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE",
+        Unpooled.wrappedBuffer("not json".getBytes()));
+    ch.writeInbound(request);
+    FullHttpResponse response = ch.readOutbound();
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+  }
+
+  @Test
+  public void testManifestRequest() throws IOException {
+    prepareMetadata();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    Path file2 = snapshotDir.resolve("file2");
+    Files.write(file2.toAbsolutePath(), "hello world".getBytes());
+
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE");
+    request.headers().set(BLOB_TRANSFER_REQUEST_TYPE, BlobTransferRequestType.MANIFEST.name());
+    ch.writeInbound(request);
+
+    // Only the manifest, the metadata and the end of transfer are sent
+    FullHttpResponse manifestResponse = ch.readOutbound();
+    Assert.assertEquals(manifestResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.MANIFEST.toString());
+    byte[] manifestBytes = new byte[manifestResponse.content().readableBytes()];
+    manifestResponse.content().readBytes(manifestBytes);
+    List<BlobTransferFileInfo> fileInfos =
+        new ObjectMapper().readValue(manifestBytes, new TypeReference<List<BlobTransferFileInfo>>() {
+        });
+    Assert.assertEquals(fileInfos.size(), 2);
+    for (BlobTransferFileInfo fileInfo: fileInfos) {
+      Path file = snapshotDir.resolve(fileInfo.getFileName());
+      Assert.assertEquals(fileInfo.getFileSize(), Files.size(file));
+      Assert.assertEquals(fileInfo.getFileChecksum(), BlobTransferUtils.generateFileChecksum(file));
+    }
+    FullHttpResponse metadataResponse = ch.readOutbound();
+    Assert.assertEquals(metadataResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.METADATA.toString());
+    DefaultHttpResponse endOfTransfer = ch.readOutbound();
+    Assert.assertEquals(endOfTransfer.headers().get(BLOB_TRANSFER_STATUS), BLOB_TRANSFER_COMPLETED);
+    Assert.assertNull(ch.readOutbound());
+  }
+
+  @Test
+  public void testFilesRequest() throws IOException {
+    prepareMetadata();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    Path file2 = snapshotDir.resolve("file2");
+    Files.write(file2.toAbsolutePath(), "world".getBytes());
+    Path file3 = snapshotDir.resolve("file3");
+    Files.write(file3.toAbsolutePath(), "hello world".getBytes());
+
+    // file1 is requested as is, file2 with a different checksum, and file3 is not requested
+    byte[] body = new ObjectMapper().writeValueAsBytes(
+        Arrays.asList(
+            new BlobTransferFileInfo("file1", 5, BlobTransferUtils.generateFileChecksum(file1)),
+            new BlobTransferFileInfo("file2", 5, BlobTransferUtils.generateFileChecksum(file1))));
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE",
+        Unpooled.wrappedBuffer(body));
+    request.headers().set(BLOB_TRANSFER_REQUEST_TYPE, BlobTransferRequestType.FILES.name());
+    ch.writeInbound(request);
+
+    // Only file1 is sent, without the metadata
+    DefaultHttpResponse fileResponse = ch.readOutbound();
+    Assert.assertEquals(
+        fileResponse.headers().get(HttpHeaderNames.CONTENT_DISPOSITION),
+        "attachment; filename=\"file1\"");
+    Assert.assertEquals(fileResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.FILE.toString());
+    Assert.assertTrue(ch.readOutbound() instanceof DefaultFileRegion);
+    Assert.assertSame(ch.readOutbound(), LastHttpContent.EMPTY_LAST_CONTENT);
+    DefaultHttpResponse endOfTransfer = ch.readOutbound();
+    Assert.assertEquals(endOfTransfer.headers().get(BLOB_TRANSFER_STATUS), BLOB_TRANSFER_COMPLETED);
+    Assert.assertNull(ch.readOutbound());
+  }
+
+  @Test
+  public void testRejectInvalidRequestType() {
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE");
+    request.headers().set(BLOB_TRANSFER_REQUEST_TYPE, "UNKNOWN");
+    ch.writeInbound(request);
+    FullHttpResponse response = ch.readOutbound();
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+  }
+
+  private void prepareMetadata() {
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    Mockito.doReturn(new StoreVersionState()).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    OffsetRecord offsetRecord = new OffsetRecord(
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer(),
+        DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt(), any());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+  }
+
   /**
    * Test when fail to get the metadata from storageMetadataService, it should return error to client.
    * @throws IOException
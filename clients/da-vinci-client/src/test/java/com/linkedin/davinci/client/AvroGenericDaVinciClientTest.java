@@ -8,6 +8,8 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
@@ -30,6 +32,7 @@ import com.linkedin.davinci.DaVinciBackend;
 import com.linkedin.davinci.StoreBackend;
 import com.linkedin.davinci.VersionBackend;
 import com.linkedin.davinci.consumer.VeniceChangeCoordinate;
+import com.linkedin.davinci.storage.chunking.BatchValueCallback;
 import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
 import com.linkedin.davinci.transformer.TestStringRecordTransformer;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
@@ -62,6 +65,8 @@ import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.avro.Schema;
 import org.apache.logging.log4j.LogManager;
@@ -336,8 +341,20 @@ public class AvroGenericDaVinciClientTest {
     StoreBackend storeBackend = mock(StoreBackend.class);
     VersionBackend versionBackend = mock(VersionBackend.class);
     when(versionBackend.getSupersetOrLatestValueSchemaId()).thenReturn(1);
-    when(versionBackend.getPartition(any())).thenReturn(1);
-    when(versionBackend.read(anyInt(), any(), any(), any(), anyInt(), any(), any(), any())).thenReturn(testValue);
+    int partitionCount = 3;
+    when(versionBackend.getPartition(any()))
+        .thenAnswer(invocation -> Math.abs(Arrays.hashCode((byte[]) invocation.getArgument(0))) % partitionCount);
+    // Each batched read must only contain the keys of the requested partition
+    doAnswer(invocation -> {
+      int partition = invocation.getArgument(0);
+      List<byte[]> keyBytesList = invocation.getArgument(1);
+      BatchValueCallback<String> callback = invocation.getArgument(6);
+      for (int i = 0; i < keyBytesList.size(); i++) {
+        assertEquals(Math.abs(Arrays.hashCode(keyBytesList.get(i))) % partitionCount, partition);
+        callback.onValue(i, testValue);
+      }
+      return null;
+    }).when(versionBackend).readInBatch(anyInt(), any(), any(), any(), anyInt(), any(), any());
     ReferenceCounted<VersionBackend> versionBackendReferenceCounted =
         new ReferenceCounted<>(versionBackend, ignored -> {});
     when(storeBackend.getDaVinciCurrentVersion()).thenReturn(versionBackendReferenceCounted);
@@ -375,6 +392,120 @@ public class AvroGenericDaVinciClientTest {
     for (int i = 0; i < keyCnt; ++i) {
       assertEquals(resultMap.get(keyPrefix + i), testValue);
     }
+    // The keys are looked up with one batched read per partition and split, instead of one read per key
+    verify(versionBackend, never()).read(anyInt(), any(), any(), any(), anyInt(), any(), any(), any());
+    verify(versionBackend, atMost(2 * partitionCount + 2))
+        .readInBatch(anyInt(), any(), any(), any(), anyInt(), any(), any());
+  }
+
+  @Test
+  public void testLargeBatchGetWithPartitionNotReadyToServe() {
+    int largeRequestSplitThreshold = 10;
+    VersionBackend versionBackend = mock(VersionBackend.class);
+    AvroGenericDaVinciClient<String, String> dvcClient =
+        mockBatchGetClient(versionBackend, largeRequestSplitThreshold, READ_CHUNK_EXECUTOR);
+    when(dvcClient.isPartitionReadyToServe(any(), anyInt())).thenReturn(false);
+
+    // A small request fails right away
+    Set<String> keySet = new HashSet<>(Arrays.asList("key_1", "key_2"));
+    VeniceClientException exception =
+        expectThrows(VeniceClientException.class, () -> dvcClient.batchGetFromLocalStorage(keySet));
+    assertTrue(exception.getMessage().contains("is not ready to serve"));
+
+    // A large request reports the failure through the returned future
+    Set<String> largeKeySet = new HashSet<>();
+    for (int i = 0; i < largeRequestSplitThreshold * 2; ++i) {
+      largeKeySet.add("key_" + i);
+    }
+    CompletableFuture<Map<String, String>> future = dvcClient.batchGetFromLocalStorage(largeKeySet);
+    ExecutionException executionException = expectThrows(ExecutionException.class, future::get);
+    assertTrue(executionException.getCause() instanceof VeniceClientException);
+    assertTrue(executionException.getCause().getMessage().contains("is not ready to serve"));
+    verify(versionBackend, never()).readInBatch(anyInt(), any(), any(), any(), anyInt(), any(), any());
+  }
+
+  @Test
+  public void testLargeBatchGetWithClosedReadChunkExecutor() {
+    int largeRequestSplitThreshold = 10;
+    ExecutorService readChunkExecutor = Executors.newFixedThreadPool(2, new DaemonThreadFactory("davinci_read_chunk"));
+    readChunkExecutor.shutdown();
+    VersionBackend versionBackend = mock(VersionBackend.class);
+    AvroGenericDaVinciClient<String, String> dvcClient =
+        mockBatchGetClient(versionBackend, largeRequestSplitThreshold, readChunkExecutor);
+
+    Set<String> largeKeySet = new HashSet<>();
+    for (int i = 0; i < largeRequestSplitThreshold * 2; ++i) {
+      largeKeySet.add("key_" + i);
+    }
+    // A large request racing with the close of the client fails its future instead of throwing
+    CompletableFuture<Map<String, String>> future = dvcClient.batchGetFromLocalStorage(largeKeySet);
+    ExecutionException executionException = expectThrows(ExecutionException.class, future::get);
+    assertTrue(executionException.getCause() instanceof VeniceClientException);
+    assertTrue(executionException.getCause().getCause() instanceof RejectedExecutionException);
+  }
+
+  @Test
+  public void testLargeBatchRequestThreadPoolSize() throws ExecutionException, InterruptedException {
+    DaVinciConfig daVinciConfig = new DaVinciConfig().setLargeBatchRequestThreadPoolSize(2);
+    ClientConfig clientConfig = mock(ClientConfig.class);
+    when(clientConfig.getStoreName()).thenReturn(storeName);
+    AvroGenericDaVinciClient daVinciClient = new AvroGenericDaVinciClient(
+        daVinciConfig,
+        clientConfig,
+        mock(VeniceProperties.class),
+        Optional.empty(),
+        mock(ICProvider.class),
+        null);
+    assertEquals(daVinciClient.getReadChunkExecutorForLargeRequest(), READ_CHUNK_EXECUTOR);
+
+    daVinciClient.initDedicatedReadChunkExecutor();
+    Executor readChunkExecutor = daVinciClient.getReadChunkExecutorForLargeRequest();
+    assertTrue(readChunkExecutor instanceof ExecutorService);
+    try {
+      String threadName =
+          CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), readChunkExecutor).get();
+      assertTrue(threadName.startsWith("DaVinci_Read_Chunk_Executor_" + storeName), threadName);
+    } finally {
+      ((ExecutorService) readChunkExecutor).shutdownNow();
+    }
+  }
+
+  /**
+   * Mocks a client whose partitions are all subscribed and ready to serve, and whose batched reads return a value for
+   * every key.
+   */
+  private AvroGenericDaVinciClient<String, String> mockBatchGetClient(
+      VersionBackend versionBackend,
+      int largeRequestSplitThreshold,
+      Executor readChunkExecutor) {
+    AvroGenericDaVinciClient<String, String> dvcClient = mock(AvroGenericDaVinciClient.class);
+    when(dvcClient.getStoreName()).thenReturn(storeName);
+    when(dvcClient.getDaVinciConfig())
+        .thenReturn(new DaVinciConfig().setLargeBatchRequestSplitThreshold(largeRequestSplitThreshold));
+    when(versionBackend.getPartition(any())).thenAnswer(invocation -> ((byte[]) invocation.getArgument(0)).length % 3);
+    doAnswer(invocation -> {
+      List<byte[]> keyBytesList = invocation.getArgument(1);
+      BatchValueCallback<String> callback = invocation.getArgument(6);
+      for (int i = 0; i < keyBytesList.size(); i++) {
+        callback.onValue(i, "test_value");
+      }
+      return null;
+    }).when(versionBackend).readInBatch(anyInt(), any(), any(), any(), anyInt(), any(), any());
+    StoreBackend storeBackend = mock(StoreBackend.class);
+    // Never released below zero, as the mocked store backend keeps handing out the same reference counted object
+    ReferenceCounted<VersionBackend> versionBackendReferenceCounted =
+        new ReferenceCounted<>(versionBackend, ignored -> {});
+    when(storeBackend.getDaVinciCurrentVersion()).thenAnswer(invocation -> {
+      versionBackendReferenceCounted.retain();
+      return versionBackendReferenceCounted;
+    });
+    when(dvcClient.getStoreBackend()).thenReturn(storeBackend);
+    when(dvcClient.getReadChunkExecutorForLargeRequest()).thenReturn(readChunkExecutor);
+    when(dvcClient.getKeySerializer()).thenReturn(new AvroSerializer<>(Schema.create(Schema.Type.STRING)));
+    when(dvcClient.isPartitionReadyToServe(any(), anyInt())).thenReturn(true);
+    when(dvcClient.isPartitionSubscribed(any(), anyInt())).thenReturn(true);
+    when(dvcClient.batchGetFromLocalStorage(any())).thenCallRealMethod();
+    return dvcClient;
   }
 
   @Test
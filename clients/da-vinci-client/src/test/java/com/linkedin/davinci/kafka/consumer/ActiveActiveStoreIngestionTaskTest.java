@@ -10,6 +10,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,6 +23,8 @@ import static org.testng.Assert.expectThrows;
 
 import com.github.luben.zstd.Zstd;
 import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.replication.RmdWithValueSchemaId;
+import com.linkedin.davinci.replication.merge.RmdSerDe;
 import com.linkedin.davinci.stats.AggVersionedDIVStats;
 import com.linkedin.davinci.stats.AggVersionedIngestionStats;
 import com.linkedin.davinci.stats.HostLevelIngestionStats;
@@ -46,6 +49,7 @@ import com.linkedin.venice.kafka.protocol.enums.ControlMessageType;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
 import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
@@ -79,6 +83,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -838,4 +843,102 @@ public class ActiveActiveStoreIngestionTaskTest {
         ActiveActiveStoreIngestionTask.StorageOperationType.VALUE_AND_RMD);
   }
 
+
+  private static ActiveActiveStoreIngestionTask getIngestionTaskWithLeaderRecordLookupCache(
+      LeaderRecordLookupCache leaderRecordLookupCache) throws Exception {
+    ActiveActiveStoreIngestionTask ingestionTask = mock(ActiveActiveStoreIngestionTask.class);
+    Field field = ActiveActiveStoreIngestionTask.class.getDeclaredField("leaderRecordLookupCache");
+    field.setAccessible(true);
+    field.set(ingestionTask, leaderRecordLookupCache);
+    return ingestionTask;
+  }
+
+  private static void putInLeaderRecordLookupCache(LeaderRecordLookupCache cache, int partition, byte[] key) {
+    cache.put(partition, key, "value".getBytes(), 0, 5, 1, new byte[] { 0, 0, 0, 1, 2, 3 });
+  }
+
+  @Test
+  public void testLeaderRecordLookupCacheIsInvalidatedByVersionTopicRecords() throws Exception {
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(1024 * 1024, new MemoryBudget(1024 * 1024));
+    ActiveActiveStoreIngestionTask ingestionTask = getIngestionTaskWithLeaderRecordLookupCache(cache);
+    doCallRealMethod().when(ingestionTask)
+        .delegateConsumerRecord(any(), anyInt(), anyString(), anyInt(), anyLong(), anyLong());
+    byte[] key = "key".getBytes();
+    byte[] otherKey = "otherKey".getBytes();
+    putInLeaderRecordLookupCache(cache, 0, key);
+    putInLeaderRecordLookupCache(cache, 0, otherKey);
+
+    KafkaMessageEnvelope kme = new KafkaMessageEnvelope();
+    kme.messageType = MessageType.PUT.getValue();
+    kme.payloadUnion = new Put();
+    DefaultPubSubMessage vtRecord = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, key),
+        kme,
+        new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("test_store_v1"), 0),
+        ApacheKafkaOffsetPosition.of(1L),
+        0,
+        0);
+    // No partition consumption state, so the record is skipped after the invalidation
+    ingestionTask.delegateConsumerRecord(new PubSubMessageProcessedResultWrapper(vtRecord), 0, "url", 0, 0, 0);
+    assertNull(cache.get(key));
+    assertNotNull(cache.get(otherKey));
+  }
+
+  @Test
+  public void testLeaderRecordLookupCacheIsInvalidatedOnStateTransitions() throws Exception {
+    MemoryBudget hostBudget = new MemoryBudget(1024 * 1024);
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(1024 * 1024, hostBudget);
+    ActiveActiveStoreIngestionTask ingestionTask = getIngestionTaskWithLeaderRecordLookupCache(cache);
+    doCallRealMethod().when(ingestionTask).startConsumingAsLeader(any());
+    doCallRealMethod().when(ingestionTask).onDemotedToFollower(any());
+    doCallRealMethod().when(ingestionTask).releasePartitionResources(anyInt());
+    PartitionConsumptionState pcs = mock(PartitionConsumptionState.class);
+    when(pcs.getPartition()).thenReturn(0);
+    when(pcs.getOffsetRecord()).thenReturn(mock(OffsetRecord.class));
+    byte[] key = "key".getBytes();
+    byte[] otherPartitionKey = "otherPartitionKey".getBytes();
+    putInLeaderRecordLookupCache(cache, 1, otherPartitionKey);
+
+    putInLeaderRecordLookupCache(cache, 0, key);
+    ingestionTask.startConsumingAsLeader(pcs);
+    assertNull(cache.get(key));
+
+    putInLeaderRecordLookupCache(cache, 0, key);
+    ingestionTask.onDemotedToFollower(pcs);
+    assertNull(cache.get(key));
+
+    putInLeaderRecordLookupCache(cache, 0, key);
+    ingestionTask.releasePartitionResources(0);
+    assertNull(cache.get(key));
+
+    // The other partitions are left untouched, and the budget of the invalidated entries is released
+    assertNotNull(cache.get(otherPartitionKey));
+    assertEquals(hostBudget.getReservedBytes(), cache.getUsedBytes());
+    ingestionTask.releasePartitionResources(1);
+    assertEquals(hostBudget.getReservedBytes(), 0);
+  }
+
+  @Test
+  public void testLeaderRecordLookupCacheHitFeedsConflictResolution() throws Exception {
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(1024 * 1024, new MemoryBudget(1024 * 1024));
+    ActiveActiveStoreIngestionTask ingestionTask = getIngestionTaskWithLeaderRecordLookupCache(cache);
+    doCallRealMethod().when(ingestionTask)
+        .getReplicationMetadataAndSchemaId(any(), any(), anyInt(), any(), anyLong());
+    when(ingestionTask.getHostLevelIngestionStats()).thenReturn(mock(HostLevelIngestionStats.class));
+    RmdSerDe rmdSerDe = mock(RmdSerDe.class);
+    when(ingestionTask.getRmdSerDe()).thenReturn(rmdSerDe);
+    PartitionConsumptionState pcs = mock(PartitionConsumptionState.class);
+    byte[] key = "key".getBytes();
+    putInLeaderRecordLookupCache(cache, 0, key);
+    LeaderRecordLookupCache.CachedRecord cachedRecord = cache.get(key);
+
+    RmdWithValueSchemaId rmdWithValueSchemaId =
+        ingestionTask.getReplicationMetadataAndSchemaId(pcs, key, 0, Lazy.of(() -> cachedRecord), 0);
+    assertNotNull(rmdWithValueSchemaId);
+    // The RMD is deserialized from the cached bytes, without reading storage
+    verify(rmdSerDe).deserializeValueSchemaIdPrependedRmdBytesLazily(
+        eq(cachedRecord.getValueSchemaIdPrependedRmdBytes()),
+        eq(rmdWithValueSchemaId));
+    verify(ingestionTask, never()).getRmdWithValueSchemaByteBufferFromStorage(anyInt(), any(), any(), anyLong());
+  }
 }
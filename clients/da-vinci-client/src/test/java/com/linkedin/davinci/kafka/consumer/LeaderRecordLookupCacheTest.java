@@ -0,0 +1,126 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+
+public class LeaderRecordLookupCacheTest {
+  private static final MemoryBudget HOST_BUDGET = new MemoryBudget(Long.MAX_VALUE);
+
+  private static byte[] getKey(int i) {
+    return ("key_" + i).getBytes();
+  }
+
+  private static byte[] getBytes(int i, int length) {
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) i);
+    return bytes;
+  }
+
+  @Test
+  public void testPutGetAndInvalidate() {
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(1024 * 1024, HOST_BUDGET);
+    byte[] value = getBytes(1, 10);
+    byte[] valueWithPadding = new byte[20];
+    System.arraycopy(value, 0, valueWithPadding, 5, value.length);
+    byte[] rmd = getBytes(2, 8);
+
+    assertNull(cache.get(getKey(1)));
+    cache.put(0, getKey(1), valueWithPadding, 5, value.length, 3, rmd);
+    LeaderRecordLookupCache.CachedRecord record = cache.get(getKey(1));
+    assertNotNull(record);
+    assertEquals(record.getPartition(), 0);
+    // Only the value range is kept
+    assertEquals(record.getValue(), value);
+    assertEquals(record.getValueSchemaId(), 3);
+    assertEquals(record.getValueSchemaIdPrependedRmdBytes(), rmd);
+
+    // Deleted keys are cached with a null value
+    cache.put(0, getKey(1), null, 0, 0, 4, rmd);
+    record = cache.get(getKey(1));
+    assertNull(record.getValue());
+    assertEquals(record.getValueSchemaId(), 4);
+    assertEquals(cache.size(), 1);
+
+    cache.invalidate(getKey(1));
+    assertNull(cache.get(getKey(1)));
+    assertEquals(cache.size(), 0);
+    assertEquals(cache.getUsedBytes(), 0);
+  }
+
+  @Test
+  public void testInvalidatePartition() {
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(1024 * 1024, HOST_BUDGET);
+    for (int i = 0; i < 100; i++) {
+      cache.put(i % 2, getKey(i), getBytes(i, 10), 0, 10, 1, getBytes(i, 8));
+    }
+    cache.invalidatePartition(1);
+    for (int i = 0; i < 100; i++) {
+      if (i % 2 == 0) {
+        assertNotNull(cache.get(getKey(i)));
+      } else {
+        assertNull(cache.get(getKey(i)));
+      }
+    }
+    assertEquals(cache.size(), 50);
+  }
+
+  @Test
+  public void testEvictionWithinCapacity() {
+    long capacity = 64 * 1024;
+    LeaderRecordLookupCache cache = new LeaderRecordLookupCache(capacity, HOST_BUDGET);
+    for (int i = 0; i < 10_000; i++) {
+      cache.put(0, getKey(i), getBytes(i, 100), 0, 100, 1, getBytes(i, 20));
+      assertTrue(cache.getUsedBytes() <= capacity);
+    }
+    assertTrue(cache.size() > 0);
+    assertTrue(cache.size() < 10_000);
+    // The most recently written key is never evicted
+    assertNotNull(cache.get(getKey(9_999)));
+
+    // A record larger than the share of a segment is not cached, and drops the previous record of the key
+    byte[] hugeValue = getBytes(1, (int) capacity);
+    cache.put(0, getKey(9_999), hugeValue, 0, hugeValue.length, 1, getBytes(1, 20));
+    assertNull(cache.get(getKey(9_999)));
+    assertTrue(cache.getUsedBytes() <= capacity);
+  }
+
+  @Test
+  public void testHostBudgetIsSharedAndReleased() {
+    MemoryBudget hostBudget = new MemoryBudget(64 * 1024);
+    LeaderRecordLookupCache cache1 = new LeaderRecordLookupCache(1024 * 1024, hostBudget);
+    LeaderRecordLookupCache cache2 = new LeaderRecordLookupCache(1024 * 1024, hostBudget);
+    for (int i = 0; i < 10_000; i++) {
+      cache1.put(0, getKey(i), getBytes(i, 100), 0, 100, 1, getBytes(i, 20));
+      assertTrue(hostBudget.getReservedBytes() <= hostBudget.getCapacityInBytes());
+    }
+    // The first cache evicted its own entries to stay within the host budget
+    assertTrue(cache1.size() < 10_000);
+    assertEquals(hostBudget.getReservedBytes(), cache1.getUsedBytes());
+
+    // The second cache only evicts from its own segments, so it can barely cache anything while the first one is full
+    for (int i = 0; i < 100; i++) {
+      cache2.put(0, getKey(i), getBytes(i, 100), 0, 100, 1, getBytes(i, 20));
+    }
+    assertEquals(hostBudget.getReservedBytes(), cache1.getUsedBytes() + cache2.getUsedBytes());
+
+    cache1.invalidatePartition(0);
+    assertEquals(cache1.size(), 0);
+    assertEquals(hostBudget.getReservedBytes(), cache2.getUsedBytes());
+    cache2.put(0, getKey(0), getBytes(0, 100), 0, 100, 1, getBytes(0, 20));
+    assertNotNull(cache2.get(getKey(0)));
+    cache2.invalidatePartition(0);
+    assertEquals(hostBudget.getReservedBytes(), 0);
+  }
+
+  @Test
+  public void testInvalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new LeaderRecordLookupCache(0, HOST_BUDGET));
+  }
+}
@@ -0,0 +1,266 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+import com.linkedin.davinci.kafka.consumer.PartitionConsumptionState.TransientRecord;
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import com.linkedin.venice.pubsub.api.PubSubPosition;
+import com.linkedin.venice.schema.rmd.RmdConstants;
+import com.linkedin.venice.schema.rmd.RmdSchemaGenerator;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.annotations.Test;
+
+
+public class OffHeapTransientRecordStoreTest {
+  private static final Schema RMD_SCHEMA = RmdSchemaGenerator.generateMetadataSchema("\"string\"", 1);
+  // Large enough for all the stores of this test, which do not all free their buffer
+  private static final MemoryBudget BUDGET = new MemoryBudget(Integer.MAX_VALUE);
+
+  private static byte[] getKey(int i) {
+    return ("key_" + i).getBytes();
+  }
+
+  private static byte[] getValue(int i, int length) {
+    byte[] value = new byte[length];
+    Arrays.fill(value, (byte) i);
+    return value;
+  }
+
+  private static GenericRecord getRmd(long timestamp) {
+    GenericRecord rmd = new GenericData.Record(RMD_SCHEMA);
+    rmd.put(RmdConstants.TIMESTAMP_FIELD_NAME, timestamp);
+    rmd.put(RmdConstants.REPLICATION_CHECKPOINT_VECTOR_FIELD_NAME, Arrays.asList(1L, 2L));
+    return rmd;
+  }
+
+  @Test
+  public void testPutGetAndMayRemove() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    OffHeapTransientRecordStore store = new OffHeapTransientRecordStore("test_replica", 1024, BUDGET, stats);
+    PubSubPosition position1 = mock(PubSubPosition.class);
+    PubSubPosition position2 = mock(PubSubPosition.class);
+    byte[] value = getValue(1, 10);
+    byte[] valueWithPadding = new byte[20];
+    System.arraycopy(value, 0, valueWithPadding, 5, value.length);
+
+    store.put(0, position1, getKey(1), valueWithPadding, 5, value.length, 3, getRmd(100L), null);
+    assertNull(store.get(getKey(2)));
+    TransientRecord record = store.get(getKey(1));
+    assertNotNull(record);
+    assertEquals(
+        Arrays.copyOfRange(record.getValue(), record.getValueOffset(), record.getValueOffset() + record.getValueLen()),
+        value);
+    assertEquals(record.getValueSchemaId(), 3);
+    assertEquals(record.getReplicationMetadataRecord().get(RmdConstants.TIMESTAMP_FIELD_NAME), 100L);
+    verify(stats).recordTransientRecordOffHeapHitCount();
+    verify(stats).recordTransientRecordOffHeapMissCount();
+    int usedBytes = (int) store.getUsedBytes();
+    assertEquals(usedBytes > value.length, true);
+
+    // A delete overwrites the record, and removal only succeeds for the position of the latest record.
+    store.put(0, position2, getKey(1), null, -1, -1, 4, null, null);
+    assertEquals(store.size(), 1);
+    assertEquals(store.getUsedBytes(), 0);
+    record = store.mayRemove(0, position1, getKey(1));
+    assertNotNull(record);
+    assertNull(record.getValue());
+    assertEquals(record.getValueOffset(), -1);
+    assertEquals(record.getValueLen(), -1);
+    assertNull(record.getReplicationMetadataRecord());
+    assertNotNull(store.mayRemove(1, position2, getKey(1)));
+    assertNull(store.mayRemove(0, position2, getKey(1)));
+    assertEquals(store.size(), 0);
+    assertNull(store.get(getKey(1)));
+  }
+
+  @Test
+  public void testManifestsAreWrittenThrough() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    OffHeapTransientRecordStore store = new OffHeapTransientRecordStore("test_replica", 1024, BUDGET, stats);
+    PubSubPosition position = mock(PubSubPosition.class);
+    store.put(0, position, getKey(1), getValue(1, 10), 0, 10, 1, null, null);
+    ChunkedValueManifest valueManifest = new ChunkedValueManifest();
+    ChunkedValueManifest rmdManifest = new ChunkedValueManifest();
+    TransientRecord record = store.get(getKey(1));
+    record.setValueManifest(valueManifest);
+    record.setRmdManifest(rmdManifest);
+
+    record = store.get(getKey(1));
+    assertSame(record.getValueManifest(), valueManifest);
+    assertSame(record.getRmdManifest(), rmdManifest);
+  }
+
+  @Test
+  public void testRingReclaimsSpaceAndOverflowsToHeap() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    int valueSize = 100;
+    OffHeapTransientRecordStore store = new OffHeapTransientRecordStore("test_replica", 10 * valueSize, BUDGET, stats);
+    PubSubPosition[] positions = new PubSubPosition[101];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = mock(PubSubPosition.class);
+    }
+
+    // Fill the ring, then write one more record, which stays on the heap.
+    for (int i = 0; i < 10; i++) {
+      store.put(0, positions[i], getKey(i), getValue(i, valueSize), 0, valueSize, 1, null, null);
+    }
+    assertEquals(store.getUsedBytes(), 10 * valueSize);
+    store.put(0, positions[100], getKey(100), getValue(100, valueSize), 0, valueSize, 1, null, null);
+    assertEquals(store.size(), 11);
+    verify(stats).recordTransientRecordOffHeapOverflowCount();
+    assertEquals(store.get(getKey(100)).getValue(), getValue(100, valueSize));
+    assertNull(store.mayRemove(0, positions[100], getKey(100)));
+
+    // Persist records in order while writing new ones, so the ring wraps around several times.
+    for (int i = 10; i < 100; i++) {
+      assertNull(store.mayRemove(0, positions[i - 10], getKey(i - 10)));
+      store.put(0, positions[i], getKey(i), getValue(i, valueSize), 0, valueSize, 1, null, null);
+      assertEquals(store.size(), 10);
+    }
+    verify(stats).recordTransientRecordOffHeapOverflowCount();
+    for (int i = 90; i < 100; i++) {
+      TransientRecord record = store.get(getKey(i));
+      assertEquals(record.getValue(), getValue(i, valueSize));
+      assertNull(store.mayRemove(0, positions[i], getKey(i)));
+    }
+    assertEquals(store.size(), 0);
+    assertEquals(store.getUsedBytes(), 0);
+
+    // A record larger than the capacity is kept on the heap.
+    store.put(0, positions[0], getKey(0), getValue(0, 20 * valueSize), 0, 20 * valueSize, 1, null, null);
+    verify(stats, times(2)).recordTransientRecordOffHeapOverflowCount();
+    assertEquals(store.get(getKey(0)).getValueLen(), 20 * valueSize);
+    assertNull(store.mayRemove(0, positions[0], getKey(0)));
+    assertEquals(store.size(), 0);
+  }
+
+  @Test
+  public void testHashTableGrowthAndDeletion() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    OffHeapTransientRecordStore store = new OffHeapTransientRecordStore("test_replica", 1024 * 1024, BUDGET, stats);
+    PubSubPosition position = mock(PubSubPosition.class);
+    int keyCount = 1000;
+    for (int i = 0; i < keyCount; i++) {
+      store.put(0, position, getKey(i), getValue(i, 8), 0, 8, 1, null, null);
+    }
+    assertEquals(store.size(), keyCount);
+    // Remove every other key, so that the remaining ones must still be reachable after the probe sequences shift.
+    for (int i = 0; i < keyCount; i += 2) {
+      assertNull(store.mayRemove(0, position, getKey(i)));
+    }
+    assertEquals(store.size(), keyCount / 2);
+    for (int i = 0; i < keyCount; i++) {
+      TransientRecord record = store.get(getKey(i));
+      if (i % 2 == 0) {
+        assertNull(record);
+      } else {
+        assertEquals(record.getValue(), getValue(i, 8));
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidCapacity() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OffHeapTransientRecordStore("test_replica", 0, BUDGET, mock(HostLevelIngestionStats.class)));
+  }
+
+  @Test
+  public void testGivenRmdBytesAreStored() {
+    OffHeapTransientRecordStore store =
+        new OffHeapTransientRecordStore("test_replica", 1024, BUDGET, mock(HostLevelIngestionStats.class));
+    PubSubPosition position = mock(PubSubPosition.class);
+    // The given bytes are stored as they are, rather than the record being serialized again
+    ByteBuffer rmdBytes = ByteBuffer.wrap(
+        SerializerDeserializerFactory.getAvroGenericSerializer(RMD_SCHEMA).serialize(getRmd(200L)));
+    store.put(0, position, getKey(1), getValue(1, 10), 0, 10, 1, getRmd(100L), rmdBytes);
+    assertEquals(store.getUsedBytes(), 10 + rmdBytes.remaining());
+    assertEquals(store.get(getKey(1)).getReplicationMetadataRecord().get(RmdConstants.TIMESTAMP_FIELD_NAME), 200L);
+  }
+
+  @Test
+  public void testViewsAreReusedAndOutliveTheirEntry() {
+    int valueSize = 100;
+    OffHeapTransientRecordStore store =
+        new OffHeapTransientRecordStore("test_replica", 2 * valueSize, BUDGET, mock(HostLevelIngestionStats.class));
+    PubSubPosition position1 = mock(PubSubPosition.class);
+    PubSubPosition position2 = mock(PubSubPosition.class);
+    store.put(0, position1, getKey(1), getValue(1, valueSize), 0, valueSize, 1, null, null);
+    TransientRecord record = store.get(getKey(1));
+    assertSame(store.get(getKey(1)), record);
+
+    // The view keeps its bytes once the entry is persisted, and its space is reused by the following records.
+    assertNull(store.mayRemove(0, position1, getKey(1)));
+    store.put(0, position2, getKey(2), getValue(2, valueSize), 0, valueSize, 1, null, null);
+    store.put(0, position2, getKey(3), getValue(3, valueSize), 0, valueSize, 1, null, null);
+    assertEquals(store.getUsedBytes(), 2 * valueSize);
+    assertEquals(record.getValue(), getValue(1, valueSize));
+  }
+
+  @Test
+  public void testBudgetIsSharedAndReleased() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    MemoryBudget budget = new MemoryBudget(1024);
+    OffHeapTransientRecordStore store1 = new OffHeapTransientRecordStore("test_replica_1", 1024, budget, stats);
+    OffHeapTransientRecordStore store2 = new OffHeapTransientRecordStore("test_replica_2", 1024, budget, stats);
+    PubSubPosition position = mock(PubSubPosition.class);
+    store1.put(0, position, getKey(1), getValue(1, 10), 0, 10, 1, null, null);
+    assertEquals(budget.getReservedBytes(), 1024);
+
+    // The second store cannot get a buffer within the budget, so its records are kept on the heap.
+    store2.put(0, position, getKey(2), getValue(2, 10), 0, 10, 1, null, null);
+    verify(stats).recordTransientRecordOffHeapOverflowCount();
+    assertEquals(store2.getUsedBytes(), 0);
+    assertEquals(store2.get(getKey(2)).getValue(), getValue(2, 10));
+
+    // Once demoted, the first store frees its buffer as soon as its last record is persisted.
+    store1.releaseBufferWhenEmpty();
+    assertEquals(budget.getReservedBytes(), 1024);
+    assertNull(store1.mayRemove(0, position, getKey(1)));
+    assertEquals(budget.getReservedBytes(), 0);
+
+    store2.put(0, position, getKey(3), getValue(3, 10), 0, 10, 1, null, null);
+    assertEquals(store2.getUsedBytes(), 10);
+    assertEquals(budget.getReservedBytes(), 1024);
+    store2.close();
+    assertEquals(budget.getReservedBytes(), 0);
+  }
+
+  @Test
+  public void testClose() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    OffHeapTransientRecordStore store = new OffHeapTransientRecordStore("test_replica", 1024, BUDGET, stats);
+    PubSubPosition position = mock(PubSubPosition.class);
+    store.put(0, position, getKey(1), getValue(1, 10), 0, 10, 1, getRmd(100L), null);
+    TransientRecord record = store.get(getKey(1));
+
+    store.close();
+    assertEquals(store.size(), 0);
+    assertEquals(store.getUsedBytes(), 0);
+    assertEquals(record.getValue(), getValue(1, 10));
+    assertEquals(record.getReplicationMetadataRecord().get(RmdConstants.TIMESTAMP_FIELD_NAME), 100L);
+
+    // The records set after closing are kept on the heap, without being counted as overflows.
+    store.put(0, position, getKey(2), getValue(2, 10), 0, 10, 1, null, null);
+    assertEquals(store.size(), 1);
+    assertEquals(store.getUsedBytes(), 0);
+    assertEquals(store.get(getKey(2)).getValue(), getValue(2, 10));
+    verify(stats, never()).recordTransientRecordOffHeapOverflowCount();
+    store.close();
+  }
+}
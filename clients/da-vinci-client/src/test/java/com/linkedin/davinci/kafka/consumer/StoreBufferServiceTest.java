@@ -3,12 +3,16 @@ package com.linkedin.davinci.kafka.consumer;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
@@ -41,7 +45,13 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -377,6 +387,73 @@ public class StoreBufferServiceTest {
     verify(unsortedSBS).putConsumerRecord(cr4, mockTask, null, partition1, kafkaUrl, 0);
   }
 
+  @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
+  public void testPutConsumerRecords(boolean workStealingEnabled) throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(2, 10000, 1000, false, mockedStats, null, workStealingEnabled);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition1 = 1;
+    int partition2 = 2;
+    PubSubTopic pubSubTopic = pubSubTopicRepository.getTopic(topic);
+    PubSubTopicPartition pubSubTopicPartition1 = new PubSubTopicPartitionImpl(pubSubTopic, partition1);
+    PubSubTopicPartition pubSubTopicPartition2 = new PubSubTopicPartitionImpl(pubSubTopic, partition2);
+    String kafkaUrl = "blah";
+    PartitionConsumptionState pcs1 = mock(PartitionConsumptionState.class);
+    PartitionConsumptionState pcs2 = mock(PartitionConsumptionState.class);
+    doReturn(pcs1).when(mockTask).getPartitionConsumptionState(partition1);
+    doReturn(pcs2).when(mockTask).getPartitionConsumptionState(partition2);
+
+    List<DefaultPubSubMessage> batch1 = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      batch1.add(new ImmutablePubSubMessage(key, value, pubSubTopicPartition1, mockPosition, i, 0));
+    }
+    List<DefaultPubSubMessage> batch2 = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      batch2.add(new ImmutablePubSubMessage(key, value, pubSubTopicPartition2, mockPosition, i, 0));
+    }
+    Exception e = new VeniceException("test_exception");
+    doThrow(e).when(mockTask).processConsumerRecord(batch1.get(1), null, partition1, kafkaUrl, 11L);
+
+    int batch1HeapSize = new StoreBufferService.BatchQueueNode(
+        batch1,
+        new long[] { 10L, 11L, 12L },
+        mockTask,
+        kafkaUrl,
+        new CompletableFuture<>()).getHeapSize();
+    int recordsHeapSize = 0;
+    for (DefaultPubSubMessage record: batch1) {
+      recordsHeapSize += record.getHeapSize();
+    }
+    Assert.assertTrue(batch1HeapSize > recordsHeapSize);
+
+    bufferService.putConsumerRecords(batch1, new long[] { 10L, 11L, 12L }, mockTask, partition1, kafkaUrl);
+    bufferService.putConsumerRecords(batch2, new long[] { 20L, 21L }, mockTask, partition2, kafkaUrl);
+    bufferService.putConsumerRecords(new ArrayList<>(), new long[0], mockTask, partition2, kafkaUrl);
+    // One node per batch is buffered, and the empty batch is ignored
+    Assert.assertTrue(bufferService.getTotalMemoryUsage() >= batch1HeapSize);
+    ArgumentCaptor<CompletableFuture> futureCaptor1 = ArgumentCaptor.forClass(CompletableFuture.class);
+    ArgumentCaptor<CompletableFuture> futureCaptor2 = ArgumentCaptor.forClass(CompletableFuture.class);
+    verify(pcs1).setLastQueuedRecordPersistedFuture(futureCaptor1.capture());
+    verify(pcs2).setLastQueuedRecordPersistedFuture(futureCaptor2.capture());
+
+    bufferService.start();
+    futureCaptor2.getValue().get(TIMEOUT_IN_MS, MILLISECONDS);
+    Assert.assertThrows(() -> futureCaptor1.getValue().get(TIMEOUT_IN_MS, MILLISECONDS));
+    bufferService.stop();
+
+    // The records of a batch are processed in order, and a failure does not prevent the following ones from running
+    InOrder inOrder = inOrder(mockTask);
+    inOrder.verify(mockTask).processConsumerRecord(batch1.get(0), null, partition1, kafkaUrl, 10L);
+    inOrder.verify(mockTask).processConsumerRecord(batch1.get(1), null, partition1, kafkaUrl, 11L);
+    inOrder.verify(mockTask).processConsumerRecord(batch1.get(2), null, partition1, kafkaUrl, 12L);
+    verify(mockTask).processConsumerRecord(batch2.get(0), null, partition2, kafkaUrl, 20L);
+    verify(mockTask).processConsumerRecord(batch2.get(1), null, partition2, kafkaUrl, 21L);
+    verify(mockTask).setIngestionException(partition1, e);
+    verify(mockedStats).recordInternalProcessingError(any());
+    verify(mockedStats, times(4)).recordInternalProcessingLatency(anyLong(), any());
+  }
+
   /**
    * If the previous drainer message's future is completed exceptionally, updateAndSyncOffsetFromSnapshot() isn't called
    */
@@ -459,4 +536,83 @@ public class StoreBufferServiceTest {
 
     bufferService.stop();
   }
+
+  @Test
+  public void testWorkStealingPreservesPartitionOrder() throws Exception {
+    int drainerNum = 4;
+    int recordCountPerPartition = 20;
+    StoreBufferService bufferService = new StoreBufferService(drainerNum, 10000, 1000, false, mockedStats, null, true);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    PubSubTopic pubSubTopic = pubSubTopicRepository.getTopic(topic);
+    String kafkaUrl = "blah";
+
+    // All the partitions below share the same home drainer, so the other drainers can only help by stealing
+    List<Integer> partitions = new ArrayList<>();
+    int homeDrainerIndex = -1;
+    for (int partition = 0; partitions.size() < drainerNum; ++partition) {
+      DefaultPubSubMessage cr = new ImmutablePubSubMessage(
+          key,
+          value,
+          new PubSubTopicPartitionImpl(pubSubTopic, partition),
+          mockPosition,
+          0,
+          0);
+      int drainerIndex = bufferService.getDrainerIndexForConsumerRecord(cr, partition);
+      if (homeDrainerIndex == -1) {
+        homeDrainerIndex = drainerIndex;
+      }
+      if (drainerIndex == homeDrainerIndex) {
+        partitions.add(partition);
+      }
+    }
+
+    Map<Integer, List<Long>> processedTimestamps = new ConcurrentHashMap<>();
+    Set<String> drainerThreads = ConcurrentHashMap.newKeySet();
+    doAnswer(invocation -> {
+      DefaultPubSubMessage cr = invocation.getArgument(0);
+      processedTimestamps.computeIfAbsent(cr.getTopicPartition().getPartitionNumber(), p -> new ArrayList<>())
+          .add(cr.getPubSubMessageTime());
+      drainerThreads.add(Thread.currentThread().getName());
+      Thread.sleep(5);
+      return null;
+    }).when(mockTask).processConsumerRecord(any(), any(), anyInt(), anyString(), anyLong());
+
+    for (int i = 0; i < recordCountPerPartition; ++i) {
+      for (int partition: partitions) {
+        DefaultPubSubMessage cr = new ImmutablePubSubMessage(
+            key,
+            value,
+            new PubSubTopicPartitionImpl(pubSubTopic, partition),
+            mockPosition,
+            i,
+            0);
+        bufferService.putConsumerRecord(cr, mockTask, null, partition, kafkaUrl, 0L);
+      }
+    }
+
+    bufferService.start();
+    for (int partition: partitions) {
+      bufferService.drainBufferedRecordsFromTopicPartition(new PubSubTopicPartitionImpl(pubSubTopic, partition), 10000);
+    }
+
+    List<Long> expectedTimestamps = new ArrayList<>();
+    for (long i = 0; i < recordCountPerPartition; ++i) {
+      expectedTimestamps.add(i);
+    }
+    for (int partition: partitions) {
+      Assert.assertEquals(processedTimestamps.get(partition), expectedTimestamps);
+    }
+    Assert.assertTrue(drainerThreads.size() > 1, "Idle drainers should steal from the busy one");
+    verify(mockedStats, atLeastOnce()).recordPartitionSteal();
+    Assert.assertEquals(bufferService.getPartitionQueueCount(), 0, "Drained partition queues should be removed");
+    // Each reader measures the imbalance since its own previous read, so they do not reset each other
+    DoubleSupplier firstReader = bufferService.newDrainerProcessingImbalanceReader();
+    DoubleSupplier secondReader = bufferService.newDrainerProcessingImbalanceReader();
+    double imbalance = firstReader.getAsDouble();
+    Assert.assertTrue(imbalance >= 1 && imbalance < drainerNum, "Unexpected imbalance: " + imbalance);
+    Assert.assertEquals(secondReader.getAsDouble(), imbalance);
+    Assert.assertEquals(firstReader.getAsDouble(), 0.0, "No record was processed since the previous read");
+    bufferService.stop();
+  }
 }
@@ -521,6 +521,7 @@ public abstract class StoreIngestionTaskTest {
         null,
         mockMetricRepo,
         true,
+        false,
         "test-cluster");
     storeBufferService.start();
   }
@@ -0,0 +1,121 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.davinci.utils.ByteArrayKey;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
+import com.linkedin.venice.pubsub.PubSubTopicRepository;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubPosition;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class StripedKeyLevelLocksManagerTest {
+  private static final PubSubTopicPartition RT_TOPIC_PARTITION =
+      new PubSubTopicPartitionImpl(new PubSubTopicRepository().getTopic("store_rt"), 0);
+
+  private static DefaultPubSubMessage getMessage(byte[] key) {
+    return new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, key),
+        mock(KafkaMessageEnvelope.class),
+        RT_TOPIC_PARTITION,
+        mock(PubSubPosition.class),
+        0,
+        0);
+  }
+
+  private static byte[] getKey(int i) {
+    return ("key_" + i).getBytes();
+  }
+
+  @Test
+  public void testSameLockReturnedForSameKeyBytes() {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager("testStoreVersion", 100);
+    Assert.assertEquals(locksManager.getStripeCount(), 128);
+    for (int i = 0; i < 1000; i++) {
+      ReentrantLock lock = locksManager.acquireLockByKey(ByteArrayKey.wrap(getKey(i)));
+      Assert.assertSame(locksManager.acquireLockByKey(ByteArrayKey.wrap(getKey(i))), lock);
+      locksManager.releaseLock(ByteArrayKey.wrap(getKey(i)));
+      locksManager.releaseLock(ByteArrayKey.wrap(getKey(i)));
+    }
+    Assert.assertThrows(IllegalArgumentException.class, () -> new StripedKeyLevelLocksManager("testStoreVersion", 0));
+  }
+
+  @Test
+  public void testLockAndUnlockStripes() {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager("testStoreVersion", 256);
+    List<DefaultPubSubMessage> records = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      records.add(getMessage(getKey(i)));
+    }
+    // Duplicate keys and control messages are allowed in a batch.
+    records.add(getMessage(getKey(0)));
+    records.add(
+        new ImmutablePubSubMessage(
+            new KafkaKey(MessageType.CONTROL_MESSAGE, new byte[0]),
+            mock(KafkaMessageEnvelope.class),
+            RT_TOPIC_PARTITION,
+            mock(PubSubPosition.class),
+            0,
+            0));
+
+    long[] lockedStripes = locksManager.lockStripes(records);
+    for (int i = 0; i < 20; i++) {
+      ReentrantLock lock = locksManager.acquireLockByKey(ByteArrayKey.wrap(getKey(i)));
+      Assert.assertTrue(lock.isHeldByCurrentThread());
+      Assert.assertEquals(lock.getHoldCount(), 1);
+    }
+    locksManager.unlockStripes(lockedStripes);
+    for (int i = 0; i < 20; i++) {
+      Assert.assertFalse(locksManager.acquireLockByKey(ByteArrayKey.wrap(getKey(i))).isLocked());
+    }
+  }
+
+  @Test(timeOut = 60 * 1000)
+  public void testConcurrentBatchesDoNotDeadlock() throws Exception {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager("testStoreVersion", 64);
+    int threadCount = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    AtomicInteger lockedBatches = new AtomicInteger();
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int t = 0; t < threadCount; t++) {
+        // Every thread locks the same keys, in a different order.
+        List<DefaultPubSubMessage> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          records.add(getMessage(getKey(i)));
+        }
+        Collections.shuffle(records);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            long[] lockedStripes = locksManager.lockStripes(records);
+            lockedBatches.incrementAndGet();
+            locksManager.unlockStripes(lockedStripes);
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    Assert.assertEquals(lockedBatches.get(), threadCount * 1000);
+  }
+}
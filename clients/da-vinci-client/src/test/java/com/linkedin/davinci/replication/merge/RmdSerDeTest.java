@@ -52,6 +52,36 @@ public class RmdSerDeTest {
     Assert.assertEquals(rmdAndValueID.getRmdRecord(), rmd);
   }
 
+  @Test
+  public void testLazilyDeserializeRmd() {
+    setupTestEnv();
+
+    // Field-level timestamps are only available once the RMD record is deserialized.
+    RmdWithValueSchemaId rmdAndValueID = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdAndValueSchemaIDBytes.array(), rmdAndValueID);
+    Assert.assertEquals(rmdAndValueID.getValueSchemaId(), valueSchemaID);
+    Assert.assertEquals(rmdAndValueID.getRmdProtocolVersionId(), rmdVersionID);
+    Assert.assertFalse(rmdAndValueID.hasValueLevelTimestamp());
+    Assert.assertTrue(rmdAndValueID.isRmdRecordDeserializationPending());
+    Assert.assertEquals(rmdAndValueID.getRmdRecord(), rmd);
+    Assert.assertFalse(rmdAndValueID.isRmdRecordDeserializationPending());
+
+    // The value-level timestamp is decoded without deserializing the RMD record.
+    GenericRecord valueLevelRmd = new GenericData.Record(rmd.getSchema());
+    valueLevelRmd.put("timestamp", 123456789L);
+    valueLevelRmd.put("replication_checkpoint_vector", Arrays.asList(1L, 2L));
+    ByteBuffer rmdBytes = rmdSerDe.serializeRmdRecord(valueSchemaID, valueLevelRmd);
+    ByteBuffer valueLevelRmdAndValueSchemaIDBytes = ByteBuffer.allocate(Integer.BYTES + rmdBytes.remaining());
+    valueLevelRmdAndValueSchemaIDBytes.putInt(valueSchemaID);
+    valueLevelRmdAndValueSchemaIDBytes.put(rmdBytes);
+    rmdAndValueID = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(valueLevelRmdAndValueSchemaIDBytes.array(), rmdAndValueID);
+    Assert.assertTrue(rmdAndValueID.hasValueLevelTimestamp());
+    Assert.assertEquals(rmdAndValueID.getValueLevelTimestamp(), 123456789L);
+    Assert.assertTrue(rmdAndValueID.isRmdRecordDeserializationPending());
+    Assert.assertEquals(rmdAndValueID.getRmdRecord(), valueLevelRmd);
+  }
+
   private void setupTestEnv() {
     // Generate RMD schema and record from value schema.
     Schema valueSchema = AvroCompatibilityHelper.parse(VALUE_SCHEMA_STR);
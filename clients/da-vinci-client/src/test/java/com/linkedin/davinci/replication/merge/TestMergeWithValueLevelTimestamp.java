@@ -9,7 +9,9 @@ import com.linkedin.venice.utils.lazy.Lazy;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.testng.Assert;
@@ -181,6 +183,93 @@ public class TestMergeWithValueLevelTimestamp extends TestMergeConflictResolver
             .delete(Lazy.of(() -> null), new RmdWithValueSchemaId(-1, RMD_VERSION_ID, timestampRecord), 30L, 0));
   }
 
+  @Test
+  public void testPutAndDeleteWithLazilyDeserializedRmd() {
+    GenericRecord oldValueRecord = new GenericData.Record(userSchemaV1);
+    oldValueRecord.put("id", "id1");
+    oldValueRecord.put("name", "name1");
+    oldValueRecord.put("age", 10);
+    GenericRecord newValueRecord = new GenericData.Record(userSchemaV1);
+    newValueRecord.put("id", "id10");
+    newValueRecord.put("name", "name10");
+    newValueRecord.put("age", 20);
+    ByteBuffer oldBB = serialize(oldValueRecord);
+    ByteBuffer newBB = serialize(newValueRecord);
+
+    StringAnnotatedStoreSchemaCache stringAnnotatedStoreSchemaCache =
+        new StringAnnotatedStoreSchemaCache(storeName, schemaRepository);
+    RmdSerDe rmdSerDe = new RmdSerDe(stringAnnotatedStoreSchemaCache, RMD_VERSION_ID);
+    MergeConflictResolver mergeConflictResolver = MergeConflictResolverFactory.getInstance()
+        .createMergeConflictResolver(stringAnnotatedStoreSchemaCache, rmdSerDe, storeName);
+    byte[] rmdBytes = serializeWithValueSchemaId(rmdSerDe, createRmdWithValueLevelTimestamp(userRmdSchemaV1, 20L));
+
+    // The incoming put wins outright, without deserializing the old RMD record.
+    RmdWithValueSchemaId oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdBytes, oldRmd);
+    Assert.assertEquals(oldRmd.getValueLevelTimestamp(), 20L);
+    MergeConflictResult mergeConflictResult = mergeConflictResolver.put(Lazy.of(() -> oldBB), oldRmd, newBB, 30L, 1, 0);
+    Assert.assertTrue(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertEquals(mergeConflictResult.getNewValue(), newBB);
+    Assert.assertTrue(mergeConflictResult.doesResultReuseInput());
+    Assert.assertEquals(mergeConflictResult.getRmdRecord().get(TIMESTAMP_FIELD_NAME), 30L);
+    Assert.assertEquals(
+        mergeConflictResult.getRmdRecord().get(REPLICATION_CHECKPOINT_VECTOR_FIELD_NAME),
+        Collections.emptyList());
+
+    // The incoming put loses outright.
+    oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdBytes, oldRmd);
+    mergeConflictResult = mergeConflictResolver.put(Lazy.of(() -> oldBB), oldRmd, newBB, 10L, 1, 0);
+    Assert.assertTrue(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertTrue(mergeConflictResult.isUpdateIgnored());
+
+    // A timestamp tie needs the old value to be resolved, so it goes through the regular merge path.
+    oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdBytes, oldRmd);
+    mergeConflictResult = mergeConflictResolver.put(Lazy.of(() -> null), oldRmd, newBB, 20L, 1, 0);
+    Assert.assertFalse(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertTrue(mergeConflictResult.isUpdateIgnored());
+
+    // The incoming delete wins on a timestamp tie.
+    oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdBytes, oldRmd);
+    mergeConflictResult = mergeConflictResolver.delete(Lazy.of(() -> oldBB), oldRmd, 20L, 0);
+    Assert.assertTrue(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertFalse(mergeConflictResult.isUpdateIgnored());
+    Assert.assertNull(mergeConflictResult.getNewValue());
+    Assert.assertEquals(mergeConflictResult.getValueSchemaId(), 1);
+    Assert.assertEquals(mergeConflictResult.getRmdRecord().get(TIMESTAMP_FIELD_NAME), 20L);
+
+    // The incoming delete loses outright.
+    oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe.deserializeValueSchemaIdPrependedRmdBytesLazily(rmdBytes, oldRmd);
+    mergeConflictResult = mergeConflictResolver.delete(Lazy.of(() -> oldBB), oldRmd, 10L, 0);
+    Assert.assertTrue(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertTrue(mergeConflictResult.isUpdateIgnored());
+
+    // Field-level timestamps cannot be decoded upfront, so the RMD record is deserialized for the regular merge path.
+    Map<String, Long> fieldTimestamps = new HashMap<>();
+    fieldTimestamps.put("id", 10L);
+    fieldTimestamps.put("name", 10L);
+    fieldTimestamps.put("age", 10L);
+    GenericRecord fieldLevelRmd = createRmdWithFieldLevelTimestamp(userRmdSchemaV1, fieldTimestamps);
+    oldRmd = new RmdWithValueSchemaId();
+    rmdSerDe
+        .deserializeValueSchemaIdPrependedRmdBytesLazily(serializeWithValueSchemaId(rmdSerDe, fieldLevelRmd), oldRmd);
+    Assert.assertFalse(oldRmd.hasValueLevelTimestamp());
+    mergeConflictResult = mergeConflictResolver.put(Lazy.of(() -> oldBB), oldRmd, newBB, 30L, 1, 0);
+    Assert.assertFalse(oldRmd.isRmdRecordDeserializationPending());
+    Assert.assertFalse(mergeConflictResult.isUpdateIgnored());
+  }
+
+  private static byte[] serializeWithValueSchemaId(RmdSerDe rmdSerDe, GenericRecord rmdRecord) {
+    ByteBuffer rmdBytes = rmdSerDe.serializeRmdRecord(1, rmdRecord);
+    ByteBuffer rmdBytesWithValueSchemaId = ByteBuffer.allocate(Integer.BYTES + rmdBytes.remaining());
+    rmdBytesWithValueSchemaId.putInt(1);
+    rmdBytesWithValueSchemaId.put(rmdBytes);
+    return rmdBytesWithValueSchemaId.array();
+  }
+
   @Test
   public void testPermutation() {
     List<Long> writeTs = new ArrayList<>();
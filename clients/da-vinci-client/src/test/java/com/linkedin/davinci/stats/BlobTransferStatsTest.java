@@ -67,6 +67,13 @@ public class BlobTransferStatsTest {
     Assert.assertEquals(timeInSec, stats.getBlobTransferTime());
   }
 
+  @Test
+  public void testRecordBlobTransferChannelReceiveThroughput() {
+    BlobTransferStats stats = new BlobTransferStats();
+    stats.recordBlobTransferChannelReceiveThroughput(25.0);
+    Assert.assertEquals(stats.getBlobTransferChannelReceiveThroughput(), 25.0);
+  }
+
   @Test
   public void blobTransferStatsReporterCanReportForGauge() {
     MetricsRepository metricsRepository = newMetricsRepository();
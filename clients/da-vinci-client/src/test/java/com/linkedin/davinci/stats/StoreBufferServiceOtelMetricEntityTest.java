@@ -70,6 +70,22 @@ public class StoreBufferServiceOtelMetricEntityTest {
             MetricUnit.NUMBER,
             "Count of errors encountered while processing records in the drainer",
             setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE, VENICE_STORE_NAME)));
+    map.put(
+        StoreBufferServiceOtelMetricEntity.PROCESSING_IMBALANCE_RATIO,
+        new MetricEntityExpectation(
+            "drainer.writer.processing.imbalance_ratio",
+            MetricType.ASYNC_DOUBLE_GAUGE,
+            MetricUnit.RATIO,
+            "Records processed by the busiest drainer writer relative to the average across writers",
+            setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE)));
+    map.put(
+        StoreBufferServiceOtelMetricEntity.PARTITION_STEAL_COUNT,
+        new MetricEntityExpectation(
+            "drainer.partition.steal_count",
+            MetricType.COUNTER,
+            MetricUnit.NUMBER,
+            "Count of partition queues taken over by an idle drainer writer from another writer",
+            setOf(VENICE_CLUSTER_NAME, VENICE_DRAINER_TYPE)));
     return map;
   }
 }
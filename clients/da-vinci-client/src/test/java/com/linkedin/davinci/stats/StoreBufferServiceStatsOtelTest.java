@@ -72,7 +72,8 @@ public class StoreBufferServiceStatsOtelTest {
         totalUsage::get,
         totalRemaining::get,
         maxPerWriter::get,
-        minPerWriter::get);
+        minPerWriter::get,
+        () -> () -> 1.0);
 
     Attributes expectedAttrs = Attributes.builder()
         .put(VENICE_CLUSTER_NAME.getDimensionNameInDefaultFormat(), TEST_CLUSTER_NAME)
@@ -91,6 +92,32 @@ public class StoreBufferServiceStatsOtelTest {
     validateGauge("drainer.memory.remaining", 8000, expectedAttrs);
   }
 
+  @Test
+  public void testDrainerImbalanceMetrics() {
+    StoreBufferServiceStats stats = createSortedStats();
+    stats.recordPartitionSteal();
+    stats.recordPartitionSteal();
+
+    Attributes expectedAttrs = Attributes.builder()
+        .put(VENICE_CLUSTER_NAME.getDimensionNameInDefaultFormat(), TEST_CLUSTER_NAME)
+        .put(VENICE_DRAINER_TYPE.getDimensionNameInDefaultFormat(), "sorted")
+        .build();
+
+    OpenTelemetryDataTestUtils.validateDoublePointDataFromGauge(
+        inMemoryMetricReader,
+        1.5,
+        0.001,
+        expectedAttrs,
+        "drainer.writer.processing.imbalance_ratio",
+        TEST_METRIC_PREFIX);
+    OpenTelemetryDataTestUtils.validateObservableCounterValue(
+        inMemoryMetricReader,
+        2,
+        expectedAttrs,
+        "drainer.partition.steal_count",
+        TEST_METRIC_PREFIX);
+  }
+
   @Test
   public void testUnsortedDimensionValue() {
     new StoreBufferServiceStats(
@@ -101,7 +128,8 @@ public class StoreBufferServiceStatsOtelTest {
         () -> 500L,
         () -> 9500L,
         () -> 250L,
-        () -> 50L);
+        () -> 50L,
+        () -> () -> 1.0);
 
     Attributes expectedAttrs = Attributes.builder()
         .put(VENICE_CLUSTER_NAME.getDimensionNameInDefaultFormat(), TEST_CLUSTER_NAME)
@@ -364,11 +392,13 @@ public class StoreBufferServiceStatsOtelTest {
         () -> 100L,
         () -> 900L,
         () -> 50L,
-        () -> 10L);
+        () -> 10L,
+        () -> () -> 1.5);
     stats.recordInternalProcessingLatency(10, "test-store");
     stats.recordInternalProcessingError("test-store");
     stats.recordInternalProcessingLatency(20, OpenTelemetryMetricsSetup.UNKNOWN_STORE_NAME);
     stats.recordInternalProcessingError(OpenTelemetryMetricsSetup.UNKNOWN_STORE_NAME);
+    stats.recordPartitionSteal();
   }
 
   private StoreBufferServiceStats createSortedStats() {
@@ -380,7 +410,8 @@ public class StoreBufferServiceStatsOtelTest {
         () -> 100L,
         () -> 900L,
         () -> 50L,
-        () -> 10L);
+        () -> 10L,
+        () -> () -> 1.5);
   }
 
   private Attributes buildStoreAttrs(String storeName) {
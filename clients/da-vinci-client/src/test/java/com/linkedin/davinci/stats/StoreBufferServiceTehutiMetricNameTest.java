@@ -21,6 +21,8 @@ public class StoreBufferServiceTehutiMetricNameTest {
     map.put(StoreBufferServiceStats.TehutiMetricName.MIN_MEMORY_USAGE_PER_WRITER, "min_memory_usage_per_writer");
     map.put(StoreBufferServiceStats.TehutiMetricName.INTERNAL_PROCESSING_LATENCY, "internal_processing_latency");
     map.put(StoreBufferServiceStats.TehutiMetricName.INTERNAL_PROCESSING_ERROR, "internal_processing_error");
+    map.put(StoreBufferServiceStats.TehutiMetricName.DRAINER_PROCESSING_IMBALANCE, "drainer_processing_imbalance");
+    map.put(StoreBufferServiceStats.TehutiMetricName.PARTITION_STEAL, "partition_steal");
     return map;
   }
 }
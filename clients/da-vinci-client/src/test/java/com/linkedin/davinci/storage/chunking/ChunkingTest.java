@@ -1,5 +1,7 @@
 package com.linkedin.davinci.storage.chunking;
 
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -14,6 +16,7 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.helix.HelixReadOnlySchemaRepository;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.schema.SchemaEntry;
 import com.linkedin.venice.serialization.AvroStoreDeserializerCache;
 import com.linkedin.venice.serialization.RawBytesStoreDeserializerCache;
@@ -24,9 +27,12 @@ import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.utils.ByteUtils;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -295,4 +301,67 @@ public class ChunkingTest {
       return null;
     }, true);
   }
+
+  @Test
+  public void testBatchGetChunkingAdapterGetInBatch() {
+    int partition = 3;
+    StorageEngine storageEngine = mock(StorageEngine.class);
+    Map<ByteBuffer, byte[]> storedValues = new HashMap<>();
+
+    byte[] smallKey = "small".getBytes();
+    byte[] smallValue = "small_value".getBytes();
+    storedValues.put(
+        ByteBuffer.wrap(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(smallKey)),
+        ValueRecord.create(SCHEMA_ID, smallValue).serialize());
+
+    byte[] largeKey = "large".getBytes();
+    byte[] largeValue = "large_value_split_in_two_chunks".getBytes();
+    int cutOff = largeValue.length / 2;
+    ChunkedValueManifest chunkedValueManifest = new ChunkedValueManifest();
+    chunkedValueManifest.keysWithChunkIdSuffix = new ArrayList<>(2);
+    chunkedValueManifest.schemaId = SCHEMA_ID;
+    chunkedValueManifest.size = largeValue.length;
+    for (int chunkIndex = 0; chunkIndex < 2; chunkIndex++) {
+      int start = chunkIndex == 0 ? 0 : cutOff;
+      int end = chunkIndex == 0 ? cutOff : largeValue.length;
+      byte[] chunk = new byte[end - start + ValueRecord.SCHEMA_HEADER_LENGTH];
+      ByteUtils.writeInt(chunk, AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), 0);
+      System.arraycopy(largeValue, start, chunk, ValueRecord.SCHEMA_HEADER_LENGTH, end - start);
+      ByteBuffer chunkKey = ByteBuffer.wrap(("chunk_" + chunkIndex).getBytes());
+      chunkedValueManifest.keysWithChunkIdSuffix.add(chunkKey);
+      storedValues.put(chunkKey, chunk);
+    }
+    byte[] serializedCVM = SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$)
+        .serialize(chunkedValueManifest);
+    storedValues.put(
+        ByteBuffer.wrap(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(largeKey)),
+        ValueRecord.create(AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion(), serializedCVM)
+            .serialize());
+
+    AtomicInteger multiGetCount = new AtomicInteger();
+    doAnswer(invocation -> {
+      multiGetCount.incrementAndGet();
+      List<byte[]> keys = invocation.getArgument(1);
+      List<byte[]> values = new ArrayList<>(keys.size());
+      keys.forEach(k -> values.add(storedValues.get(ByteBuffer.wrap(k))));
+      return values;
+    }).when(storageEngine).multiGet(eq(partition), any());
+
+    List<byte[]> keys = new ArrayList<>();
+    keys.add(largeKey);
+    keys.add("missing".getBytes());
+    keys.add(smallKey);
+    Map<Integer, MultiGetResponseRecordV1> results = new HashMap<>();
+    BatchGetChunkingAdapter
+        .getInBatch(storageEngine, partition, keys, true, NoOpReadResponseStats.SINGLETON, results::put);
+
+    // One lookup for the top-level keys, and a single one for all the chunks
+    Assert.assertEquals(multiGetCount.get(), 2);
+    Assert.assertEquals(results.size(), 3);
+    Assert.assertEquals(ByteUtils.extractByteArray(results.get(0).value), largeValue);
+    Assert.assertEquals(results.get(0).schemaId, SCHEMA_ID);
+    Assert.assertNull(results.get(1));
+    Assert.assertEquals(ByteUtils.extractByteArray(results.get(2).value), smallValue);
+    Assert.assertEquals(results.get(2).schemaId, SCHEMA_ID);
+  }
 }
@@ -533,13 +533,19 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     RecordDeserializer<GenericRecord> computeResultRecordDeserializer =
         getComputeResultRecordDeserializer(resultSchema);
     // TODO: client side compute is not supported for fast-client yet, hence hard coding isRemoteComputationOnly to true
+    Map<String, String> headers =
+        RequestHeadersProvider.getStreamingComputeHeaderMap(keys.size(), computeRequest.getValueSchemaID(), true);
+    if (computeRequest.getTopK() != null) {
+      // Each server returns its top K results, and the compute request builder keeps the top K of all of them
+      headers.put(HttpConstants.VENICE_COMPUTE_TOP_K, computeRequest.getTopK().toHeader());
+    }
     multiKeyStreamingRequest(
         requestContext,
         RequestType.COMPUTE_STREAMING,
         keys,
         callback,
         requestContext,
-        RequestHeadersProvider.getStreamingComputeHeaderMap(keys.size(), computeRequest.getValueSchemaID(), true),
+        headers,
         (keysForRoutes) -> serializeComputeRequest(computeRequest, keysForRoutes),
         (MultiKeyStreamingRouteResponseHandler<K>) (keysForRoutes, response, throwable) -> {
           ComputeRecordStreamDecoder decoder = getComputeDecoderForRoute(
@@ -708,7 +714,8 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
                 getStoreName(),
                 version));
       }
-      return compressor.decompress(data);
+      // Every caller deserializes the value right away, so it can be decompressed into a reusable buffer.
+      return compressor.decompressIntoReusableBuffer(data);
     } catch (Exception e) {
       throw new VeniceClientException(
           String.format(
@@ -820,7 +827,7 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     VeniceCompressor compressor = metadata.getCompressor(strategy, version);
     ByteBuffer decompressed;
     try {
-      decompressed = compressor.decompress(view);
+      decompressed = compressor.decompressIntoReusableBuffer(view);
     } catch (IOException e) {
       throw new VeniceClientException("Failed to decompress value bytes for store: " + getStoreName(), e);
     }
@@ -116,8 +116,13 @@ public abstract class InternalAvroStoreClient<K, V> implements AvroGenericReadCo
       Schema resultSchema,
       StreamingCallback<K, ComputeGenericRecord> callback,
       long preRequestTimeInNS) throws VeniceClientException {
-    ComputeRequestContext<K, V> requestContext =
-        new ComputeRequestContext<>(keys.size(), computeRequestWrapper.isRequestOriginallyStreaming());
+    /**
+     * The keys which do not make it into the top K are not reported, so a partial top-K response cannot be told apart
+     * from a full one by its keys. Failed routes are reported as an exception instead.
+     */
+    boolean isPartialSuccessAllowed =
+        computeRequestWrapper.isRequestOriginallyStreaming() && computeRequestWrapper.getTopK() == null;
+    ComputeRequestContext<K, V> requestContext = new ComputeRequestContext<>(keys.size(), isPartialSuccessAllowed);
     compute(requestContext, computeRequestWrapper, keys, resultSchema, callback, preRequestTimeInNS);
   }
 
@@ -265,6 +265,7 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
         requestContext,
         keys,
         callback,
+        true,
         longTailRetryThresholdForBatchGetInMicroSeconds,
         requestContext::createRetryRequestContext,
         super::streamingBatchGet);
@@ -280,10 +281,15 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
       long preRequestTimeInNS) throws VeniceClientException {
     int longTailRetryThresholdForComputeInMicroSeconds = getLongTailRetryThresholdForComputeInMicroSeconds(keys.size());
 
+    /**
+     * The servers leave out the keys which do not make it into their top K, so the long-tail retry would always find
+     * most of the keys pending, and send them again. Top-K requests are only retried on errors.
+     */
     retryStreamingMultiKeyRequest(
         requestContext,
         keys,
         callback,
+        computeRequestWrapper.getTopK() == null,
         longTailRetryThresholdForComputeInMicroSeconds,
         requestContext::createRetryRequestContext,
         (requestContextInternal, internalKeys, internalCallback) -> {
@@ -303,10 +309,15 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
     super.close();
   }
 
+  /**
+   * @param longTailRetryEnabled whether the incomplete keys are retried after the long-tail retry threshold. If not,
+   *                             they are only retried as soon as the original request fails.
+   */
   private <R extends MultiKeyRequestContext<K, V>, RESPONSE> void retryStreamingMultiKeyRequest(
       R requestContext,
       Set<K> keys,
       StreamingCallback<K, RESPONSE> callback,
+      boolean longTailRetryEnabled,
       int longTailRetryThresholdInMicroSeconds,
       RequestContextConstructor<K, V, R> requestContextConstructor,
       StreamingRequestExecutor<K, V, R, RESPONSE> streamingRequestExecutor) throws VeniceClientException {
@@ -357,6 +368,7 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
                   finalRequestCompletionFuture,
                   savedException,
                   pendingKeysFuture,
+                  null,
                   null));
         }
       } else {
@@ -366,8 +378,9 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
       }
     };
 
-    TimeoutProcessor.TimeoutFuture scheduledRetryTask =
-        timeoutProcessor.schedule(retryTask, longTailRetryThresholdInMicroSeconds, TimeUnit.MICROSECONDS);
+    TimeoutProcessor.TimeoutFuture scheduledRetryTask = longTailRetryEnabled
+        ? timeoutProcessor.schedule(retryTask, longTailRetryThresholdInMicroSeconds, TimeUnit.MICROSECONDS)
+        : null;
 
     /**
      * Retry for streaming multi-key request is done at the request level. This mean we will perform one retry for the
@@ -386,13 +399,14 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
             finalRequestCompletionFuture,
             savedException,
             pendingKeysFuture,
-            scheduledRetryTask));
+            scheduledRetryTask,
+            longTailRetryEnabled ? null : retryTask));
     if (multiKeyLongTailRetryManager != null) {
       multiKeyLongTailRetryManager.recordRequests(requestContext.numKeysInRequest);
     }
 
     finalRequestCompletionFuture.whenComplete((ignore, finalException) -> {
-      if (!scheduledRetryTask.isDone()) {
+      if (scheduledRetryTask != null && !scheduledRetryTask.isDone()) {
         scheduledRetryTask.cancel();
       }
       requestContext.complete();
@@ -422,7 +436,8 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
       CompletableFuture<Void> finalRequestCompletionFuture,
       AtomicReference<Throwable> savedException,
       VeniceConcurrentHashMap<K, CompletableFuture<RESPONSE>> pendingKeysFuture,
-      TimeoutProcessor.TimeoutFuture scheduledRetryTask) {
+      TimeoutProcessor.TimeoutFuture scheduledRetryTask,
+      Runnable errorRetryTask) {
     return new StreamingCallback<K, RESPONSE>() {
       @Override
       public void onRecordReceived(K key, RESPONSE value) {
@@ -467,6 +482,9 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
 
             if (shouldCompleteRequestFuture) {
               finalRequestCompletionFuture.completeExceptionally(exceptionToSave.get());
+            } else if (errorRetryTask != null) {
+              // Without a scheduled long-tail retry, the incomplete keys are retried right away
+              errorRetryTask.run();
             }
           }
         }
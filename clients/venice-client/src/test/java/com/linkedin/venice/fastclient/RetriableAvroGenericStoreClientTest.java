@@ -40,15 +40,18 @@ import io.tehuti.metrics.MetricsRepository;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -629,6 +632,112 @@ public class RetriableAvroGenericStoreClientTest {
     });
   }
 
+  /**
+   * The servers leave out the keys which do not make it into the top K of a compute request, so a request slower than
+   * the retry threshold must not be retried for those keys.
+   */
+  @Test(timeOut = TEST_TIMEOUT)
+  public void testComputeWithTopKWithoutTriggeringLongTailRetry() throws ExecutionException, InterruptedException {
+    clientConfigBuilder.setMetricsRepository(getVeniceMetricsRepository(FAST_CLIENT, CLIENT_METRIC_ENTITIES, true));
+    clientConfig = clientConfigBuilder.build();
+
+    StoreMetadata mockMetadata = mock(StoreMetadata.class);
+    doReturn(STORE_NAME).when(mockMetadata).getStoreName();
+    doReturn(1).when(mockMetadata).getLatestValueSchemaId();
+    doReturn(STORE_VALUE_SCHEMA).when(mockMetadata).getValueSchema(1);
+    AtomicInteger computeRequestCount = new AtomicInteger();
+    InternalAvroStoreClient dispatchingClient =
+        new DispatchingAvroGenericStoreClient<Object, Object>(mockMetadata, clientConfig) {
+          @Override
+          protected void compute(
+              ComputeRequestContext requestContext,
+              ComputeRequestWrapper computeRequest,
+              Set keys,
+              Schema resultSchema,
+              StreamingCallback callback,
+              long preRequestTimeInNS) throws VeniceClientException {
+            InstanceHealthMonitor instanceHealthMonitor = mock(InstanceHealthMonitor.class);
+            doReturn(timeoutProcessor).when(instanceHealthMonitor).getTimeoutProcessor();
+            requestContext.instanceHealthMonitor = instanceHealthMonitor;
+            assertNotNull(computeRequest.getTopK());
+            computeRequestCount.incrementAndGet();
+
+            // Much slower than the retry threshold, and only the top result is returned
+            scheduledExecutor.schedule(() -> {
+              requestContext.complete();
+              GenericRecord result = new GenericData.Record(resultSchema);
+              result.put("age", 2);
+              result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, Collections.emptyMap());
+              callback.onRecordReceived("test_key_2", new ComputeGenericRecord(result, STORE_VALUE_SCHEMA));
+              callback.onCompletion(Optional.empty());
+            }, MIN_SLOW_REQUEST_DELAY_MS, TimeUnit.MILLISECONDS);
+          }
+        };
+    retriableClient = new RetriableAvroGenericStoreClient<>(dispatchingClient, clientConfig, timeoutProcessor);
+    statsAvroGenericStoreClient = new StatsAvroGenericStoreClient(retriableClient, clientConfig);
+
+    Map<String, ComputeGenericRecord> value =
+        statsAvroGenericStoreClient.compute().project("age").topK("age", 1).execute(COMPUTE_REQUEST_KEYS).get();
+    assertEquals(value.keySet(), Collections.singleton("test_key_2"));
+    assertEquals(computeRequestCount.get(), 1);
+    metrics = getStats(clientConfig, RequestType.COMPUTE_STREAMING);
+    String metricsPrefix = ClientTestUtils.getMetricPrefix(STORE_NAME, RequestType.COMPUTE_STREAMING);
+    assertFalse(metrics.get(metricsPrefix + "long_tail_retry_request.OccurrenceRate").value() > 0);
+  }
+
+  /**
+   * A failed top-K compute request is still retried, right away, for the keys of the failed routes.
+   */
+  @Test(timeOut = TEST_TIMEOUT)
+  public void testComputeWithTopKTriggeringErrorRetry() throws ExecutionException, InterruptedException {
+    clientConfigBuilder.setMetricsRepository(getVeniceMetricsRepository(FAST_CLIENT, CLIENT_METRIC_ENTITIES, true));
+    clientConfig = clientConfigBuilder.build();
+
+    StoreMetadata mockMetadata = mock(StoreMetadata.class);
+    doReturn(STORE_NAME).when(mockMetadata).getStoreName();
+    doReturn(1).when(mockMetadata).getLatestValueSchemaId();
+    doReturn(STORE_VALUE_SCHEMA).when(mockMetadata).getValueSchema(1);
+    List<Set> requestedKeys = new CopyOnWriteArrayList<>();
+    InternalAvroStoreClient dispatchingClient =
+        new DispatchingAvroGenericStoreClient<Object, Object>(mockMetadata, clientConfig) {
+          @Override
+          protected void compute(
+              ComputeRequestContext requestContext,
+              ComputeRequestWrapper computeRequest,
+              Set keys,
+              Schema resultSchema,
+              StreamingCallback callback,
+              long preRequestTimeInNS) throws VeniceClientException {
+            InstanceHealthMonitor instanceHealthMonitor = mock(InstanceHealthMonitor.class);
+            doReturn(timeoutProcessor).when(instanceHealthMonitor).getTimeoutProcessor();
+            requestContext.instanceHealthMonitor = instanceHealthMonitor;
+            requestedKeys.add(new HashSet<>(keys));
+
+            // The original request only gets the top result of the route holding "test_key_2", and the retry the top
+            // result of the other keys
+            boolean isRetry = requestedKeys.size() > 1;
+            String key = isRetry ? "test_key_1" : "test_key_2";
+            GenericRecord result = new GenericData.Record(resultSchema);
+            result.put("age", isRetry ? 3 : 2);
+            result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, Collections.emptyMap());
+            requestContext.complete();
+            callback.onRecordReceived(key, new ComputeGenericRecord(result, STORE_VALUE_SCHEMA));
+            callback.onCompletion(
+                isRetry ? Optional.empty() : Optional.of(new VeniceClientException("Route failed")));
+          }
+        };
+    retriableClient = new RetriableAvroGenericStoreClient<>(dispatchingClient, clientConfig, timeoutProcessor);
+    statsAvroGenericStoreClient = new StatsAvroGenericStoreClient(retriableClient, clientConfig);
+
+    Map<String, ComputeGenericRecord> value =
+        statsAvroGenericStoreClient.compute().project("age").topK("age", 1).execute(COMPUTE_REQUEST_KEYS).get();
+    assertEquals(value.keySet(), Collections.singleton("test_key_1"));
+    assertEquals(requestedKeys.size(), 2);
+    Set<String> expectedRetryKeys = new HashSet<>(COMPUTE_REQUEST_KEYS);
+    expectedRetryKeys.remove("test_key_2");
+    assertEquals(requestedKeys.get(1), expectedRetryKeys);
+  }
+
   /**
    * Original request is faster than retry threshold.
    * For single get: threshold is 100ms
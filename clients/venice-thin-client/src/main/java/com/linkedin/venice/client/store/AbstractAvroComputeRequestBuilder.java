@@ -15,19 +15,23 @@ import com.linkedin.venice.client.store.streaming.VeniceResponseCompletableFutur
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMapImpl;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.ComputeTopK;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.exceptions.InvalidVeniceSchemaException;
+import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.schema.SchemaData;
 import com.linkedin.venice.schema.SchemaReader;
 import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.utils.SystemTime;
 import io.tehuti.utils.Time;
+import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -80,6 +84,8 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   private List<CosineSimilarity> cosineSimilarities = new LinkedList<>();
   private List<HadamardProduct> hadamardProducts = new LinkedList<>();
   private SchemaReader schemaReader;
+  private CountByValueAggregation countByValueAggregation = null;
+  private ComputeTopK topK = null;
 
   public AbstractAvroComputeRequestBuilder(AvroGenericReadComputeStoreClient storeClient, SchemaReader schemaReader) {
     this.schemaReader = schemaReader;
@@ -119,6 +125,23 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
     return this;
   }
 
+  /**
+   * Asks the servers to count the values of the fields of the given aggregation, which must be projected, and to return
+   * their counts instead of the records of the keys they counted. The counts, and the records of the keys which were
+   * not counted by the servers, are merged into the aggregation, and the keys it counts are neither returned nor
+   * reported as non-existing.
+   */
+  AbstractAvroComputeRequestBuilder<K> setCountByValueAggregation(CountByValueAggregation countByValueAggregation) {
+    this.countByValueAggregation = countByValueAggregation;
+    return this;
+  }
+
+  @Override
+  public ComputeRequestBuilder<K> topK(String scoreFieldName, int k) {
+    this.topK = new ComputeTopK(scoreFieldName, k);
+    return this;
+  }
+
   @Override
   public ComputeRequestBuilder<K> project(String... fieldNames) throws VeniceClientException {
     return project(Arrays.asList(fieldNames));
@@ -354,10 +377,22 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
 
       @Override
       public void onCompletion(Optional<Exception> exception) {
-        if (exception.isPresent()) {
+        if (topK != null) {
+          /**
+           * The keys which do not make it into the top K are not reported, so the response cannot be checked against
+           * the requested keys. It is full once all the routes completed, which the store clients report by completing
+           * without an exception. Otherwise, the streaming response holds the top K of the routes which completed.
+           */
+          if (exception.isPresent() && !originallyStreaming) {
+            resultFuture.completeExceptionally(exception.get());
+          } else {
+            resultFuture.complete(new VeniceResponseMapImpl(resultMap, nonExistingKeyList, !exception.isPresent()));
+          }
+        } else if (exception.isPresent()) {
           resultFuture.completeExceptionally(exception.get());
         } else {
-          boolean isFullResponse = resultMap.size() + nonExistingKeyList.size() == keys.size();
+          int countedKeyCount = countByValueAggregation == null ? 0 : countByValueAggregation.getKeyCount();
+          boolean isFullResponse = resultMap.size() + nonExistingKeyList.size() + countedKeyCount == keys.size();
           resultFuture.complete(new VeniceResponseMapImpl(resultMap, nonExistingKeyList, isFullResponse));
         }
       }
@@ -400,6 +435,17 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       this.latestValueSchema = schemaReader.getValueSchema(latestValueSchemaId);
       resultSchema = getResultSchema();
     }
+    if (topK != null) {
+      if (countByValueAggregation != null) {
+        throw new VeniceClientException("Top-K cannot be combined with a count-by-value aggregation");
+      }
+      try {
+        topK.validate(resultSchema.getSchema());
+      } catch (VeniceException e) {
+        throw new VeniceClientException(e.getMessage(), e);
+      }
+      callback = new TopKStreamingCallback<>(topK, callback);
+    }
     // Generate ComputeRequest object
     ComputeRequestWrapper computeRequestWrapper = generateComputeRequest(resultSchema, originallyStreaming);
     storeClient.compute(computeRequestWrapper, keys, resultSchema.getSchema(), callback, preRequestTimeInNS);
@@ -522,6 +568,47 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
         resultSchema.getSchema(),
         resultSchema.getToString(),
         getComputeRequestOperations(),
-        originallyStreaming);
+        originallyStreaming,
+        countByValueAggregation,
+        topK);
+  }
+
+  /**
+   * Keeps the top K results of all the servers, which can only be passed to the wrapped callback once all of them are
+   * received, since any result may still push another one out of the top K. When some of the routes failed, the top K
+   * of the other ones is passed before the exception.
+   */
+  private static class TopKStreamingCallback<K> implements StreamingCallback<K, ComputeGenericRecord> {
+    private final ComputeTopK topK;
+    private final ComputeTopK.Collector<Map.Entry<K, ComputeGenericRecord>> topKResults;
+    private final StreamingCallback<K, ComputeGenericRecord> callback;
+
+    TopKStreamingCallback(ComputeTopK topK, StreamingCallback<K, ComputeGenericRecord> callback) {
+      this.topK = topK;
+      this.topKResults = topK.newCollector();
+      this.callback = callback;
+    }
+
+    @Override
+    public void onRecordReceived(K key, ComputeGenericRecord value) {
+      if (value == null) {
+        // Non-existing key, or a key which did not make it into the top K of a server
+        return;
+      }
+      double score = topK.getScore(value);
+      synchronized (topKResults) {
+        topKResults.add(score, new AbstractMap.SimpleImmutableEntry<>(key, value));
+      }
+    }
+
+    @Override
+    public void onCompletion(Optional<Exception> exception) {
+      List<Map.Entry<K, ComputeGenericRecord>> results;
+      synchronized (topKResults) {
+        results = topKResults.getItems();
+      }
+      results.forEach(result -> callback.onRecordReceived(result.getKey(), result.getValue()));
+      callback.onCompletion(exception);
+    }
   }
 }
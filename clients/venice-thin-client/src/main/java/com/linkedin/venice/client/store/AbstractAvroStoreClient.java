@@ -1,5 +1,6 @@
 package com.linkedin.venice.client.store;
 
+import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.client.exceptions.ServiceDiscoveryException;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.schema.RouterBackedSchemaReader;
@@ -19,6 +20,7 @@ import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.controllerapi.D2ServiceDiscoveryResponse;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.exceptions.VeniceNoStoreException;
@@ -545,7 +547,9 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
         streamingFooterRecordDeserializer,
         () -> getComputeResultRecordDeserializer(resultSchema),
         schemaId -> (RecordDeserializer) getDataRecordDeserializerFromCache(schemaId),
-        this::decompressRecord);
+        this::decompressRecord,
+        computeRequest.getCountByValueAggregation(),
+        () -> getCountByValueRecordDeserializer(resultSchema, computeRequest.getCountByValueAggregation()));
 
     if (clientConfig.isRemoteComputationOnly() || remoteComputationAllowed.get()) {
       compute(computeRequest, keyList, decoder, decoderCallback.getStats());
@@ -561,12 +565,20 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
       TransportClientStreamingCallback callback,
       Optional<ClientStats> stats) throws VeniceClientException {
     byte[] serializedRequest = serializeComputeRequest(computeRequest, keyList, stats);
+    Map<String, String> headers = RequestHeadersProvider.getStreamingComputeHeaderMap(
+        keyList.size(),
+        computeRequest.getValueSchemaID(),
+        clientConfig.isRemoteComputationOnly());
+    CountByValueAggregation countByValueAggregation = computeRequest.getCountByValueAggregation();
+    if (countByValueAggregation != null) {
+      headers.put(HttpConstants.VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS, countByValueAggregation.getFieldNamesHeader());
+    }
+    if (computeRequest.getTopK() != null) {
+      headers.put(HttpConstants.VENICE_COMPUTE_TOP_K, computeRequest.getTopK().toHeader());
+    }
     transportClient.streamPost(
         getComputeRequestPath(),
-        RequestHeadersProvider.getStreamingComputeHeaderMap(
-            keyList.size(),
-            computeRequest.getValueSchemaID(),
-            clientConfig.isRemoteComputationOnly()),
+        headers,
         serializedRequest,
         callback,
         keyList.size());
@@ -713,6 +725,13 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     return SerializerDeserializerFactory.getAvroGenericDeserializer(resultSchema);
   }
 
+  private RecordDeserializer<GenericRecord> getCountByValueRecordDeserializer(
+      Schema resultSchema,
+      CountByValueAggregation countByValueAggregation) {
+    return getComputeResultRecordDeserializer(
+        CountByValueAggregation.getSchema(resultSchema, countByValueAggregation.getFieldNames()));
+  }
+
   public String toString() {
     return this.getClass().getSimpleName() + "(storeName: " + getStoreName() + ", transportClient: "
         + transportClient.toString() + ")";
@@ -2,7 +2,9 @@ package com.linkedin.venice.client.store;
 
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.schema.SchemaReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -154,8 +156,24 @@ public class AvroComputeAggregationRequestBuilder<K> implements ComputeAggregati
       throw new VeniceClientException("keys cannot be null or empty");
     }
 
+    /**
+     * When only the counts of the values are needed, the servers count them instead of returning the values of every
+     * key. Bucket predicates cannot be sent to the servers, so they are still evaluated on the values of every key.
+     */
+    CountByValueAggregation countByValueAggregation = !fieldTopKMap.isEmpty() && fieldBucketMap.isEmpty()
+        ? new CountByValueAggregation(new ArrayList<>(fieldTopKMap.keySet()))
+        : null;
+    if (countByValueAggregation != null) {
+      delegate.setCountByValueAggregation(countByValueAggregation);
+    }
+
     // Execute the compute request
     return delegate.execute(keys)
-        .thenApply(result -> new AvroComputeAggregationResponse<>(result, fieldTopKMap, fieldBucketMap));
+        .thenApply(
+            result -> new AvroComputeAggregationResponse<>(
+                result,
+                fieldTopKMap,
+                fieldBucketMap,
+                countByValueAggregation));
   }
 }
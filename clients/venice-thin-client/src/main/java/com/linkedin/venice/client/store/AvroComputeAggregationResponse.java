@@ -1,6 +1,7 @@
 package com.linkedin.venice.client.store;
 
 import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -13,6 +14,7 @@ public class AvroComputeAggregationResponse<K> implements ComputeAggregationResp
   private final Map<K, ComputeGenericRecord> computeResults;
   private final Map<String, Integer> fieldTopKMap;
   private final Map<String, Map<String, Predicate>> fieldBucketMap;
+  private final CountByValueAggregation countByValueAggregation;
 
   public AvroComputeAggregationResponse(
       Map<K, ComputeGenericRecord> computeResults,
@@ -24,9 +26,22 @@ public class AvroComputeAggregationResponse<K> implements ComputeAggregationResp
       Map<K, ComputeGenericRecord> computeResults,
       Map<String, Integer> fieldTopKMap,
       Map<String, Map<String, Predicate>> fieldBucketMap) {
+    this(computeResults, fieldTopKMap, fieldBucketMap, null);
+  }
+
+  /**
+   * @param countByValueAggregation the counts of the keys missing from the compute results, which the servers or the
+   *                                stream decoder computed, or null if the servers were not asked to count
+   */
+  public AvroComputeAggregationResponse(
+      Map<K, ComputeGenericRecord> computeResults,
+      Map<String, Integer> fieldTopKMap,
+      Map<String, Map<String, Predicate>> fieldBucketMap,
+      CountByValueAggregation countByValueAggregation) {
     this.computeResults = computeResults;
     this.fieldTopKMap = fieldTopKMap;
     this.fieldBucketMap = fieldBucketMap;
+    this.countByValueAggregation = countByValueAggregation;
   }
 
   @Override
@@ -38,6 +53,11 @@ public class AvroComputeAggregationResponse<K> implements ComputeAggregationResp
 
     // Use utility method - original logic moved to FacetCountingUtils
     int topK = fieldTopKMap.get(field);
+    if (countByValueAggregation != null) {
+      // The keys which were computed on the client, after a fallback to multi-get, are counted here
+      Map<T, Integer> valueToCount = countByValueAggregation.getValueToCount(field);
+      return FacetCountingUtils.getValueToCount(computeResults.values(), field, valueToCount, topK);
+    }
     return FacetCountingUtils.getValueToCount(computeResults.values(), field, topK);
   }
 
@@ -69,6 +69,20 @@ public interface ComputeRequestBuilder<K> extends ExecutableRequestBuilder<K, Ma
       List<Float> hadamardProductParam,
       String resultFieldName);
 
+  /**
+   * Only return the K results with the highest value of a numeric result field, such as the result field of a
+   * dot-product or cosine-similarity operation; results whose score is null rank last. The servers which support it
+   * only return their top K results, so that the size of the response depends on K rather than on the number of keys.
+   *
+   * The non-existing keys and the keys which do not make it into the top K are not reported, and the results are only
+   * passed to the {@link StreamingCallback} once all of them are received.
+   *
+   * @param scoreFieldName : result field to rank the results by
+   * @param k : maximum number of results to return
+   * @return
+   */
+  ComputeRequestBuilder<K> topK(String scoreFieldName, int k);
+
   /**
    * Send compute request to Venice, and this should be the last step of the compute specification.
    * The difference between this function and the previous {@link #execute(Set)} is that this function will return
@@ -28,9 +28,20 @@ public class FacetCountingUtils {
    * @return Map of values to their counts, limited to topK entries
    */
   public static <T> Map<T, Integer> getValueToCount(Iterable<? extends GenericRecord> records, String field, int topK) {
+    return getValueToCount(records, field, new HashMap<>(), topK);
+  }
 
-    Map<T, Integer> valueToCount = new HashMap<>();
-
+  /**
+   * Same as {@link #getValueToCount(Iterable, String, int)}, except that the counts of the records are added to the
+   * given counts, e.g. the ones which the servers computed for the other keys of the request.
+   *
+   * @param valueToCount The counts to start from, which are modified in place
+   */
+  public static <T> Map<T, Integer> getValueToCount(
+      Iterable<? extends GenericRecord> records,
+      String field,
+      Map<T, Integer> valueToCount,
+      int topK) {
     for (GenericRecord record: records) {
       Object value = record.get(field);
       // Convert Utf8 to String for consistent behavior
@@ -1,5 +1,6 @@
 package com.linkedin.venice.client.store.streaming;
 
+import static com.linkedin.venice.streaming.StreamingConstants.KEY_ID_FOR_COUNT_BY_VALUE;
 import static com.linkedin.venice.streaming.StreamingConstants.KEY_ID_FOR_STREAMING_FOOTER;
 
 import com.linkedin.venice.HttpConstants;
@@ -86,8 +87,8 @@ public abstract class AbstractRecordStreamDecoder<ENVELOPE, K, V> implements Rec
   }
 
   private void validateKeyIdx(int keyIdx) {
-    if (KEY_ID_FOR_STREAMING_FOOTER == keyIdx) {
-      // footer record
+    if (KEY_ID_FOR_STREAMING_FOOTER == keyIdx || KEY_ID_FOR_COUNT_BY_VALUE == keyIdx) {
+      // footer record, or partial counts
       return;
     }
     final int absKeyIdx = Math.abs(keyIdx);
@@ -121,6 +122,10 @@ public abstract class AbstractRecordStreamDecoder<ENVELOPE, K, V> implements Rec
           streamingFooterRecord = Optional.of(getStreamingFooterRecord(record));
           break;
         }
+        if (KEY_ID_FOR_COUNT_BY_VALUE == keyIdx) {
+          onCountByValueRecord(record);
+          continue;
+        }
         final int absKeyIdx = Math.abs(keyIdx);
         // Track duplicate entries per request
         if (absKeyIdx < keyList.size()) {
@@ -157,10 +162,13 @@ public abstract class AbstractRecordStreamDecoder<ENVELOPE, K, V> implements Rec
           }
         }
         callback.onRecordDeserialized();
-        resultMap.put(key, value);
         if (value != null) {
           successfulKeyCnt.incrementAndGet();
         }
+        if (aggregateRecord(absKeyIdx, value)) {
+          continue;
+        }
+        resultMap.put(key, value);
       }
       if (resultMap.isEmpty()) {
         return;
@@ -229,6 +237,44 @@ public abstract class AbstractRecordStreamDecoder<ENVELOPE, K, V> implements Rec
         });
   }
 
+  /**
+   * Marks the keys covered by a record which aggregates several keys as received. The ones which were received already
+   * are counted as duplicates, and it is up to the aggregation to leave them out.
+   */
+  protected void markKeysReceived(List<Integer> keyIndexes) {
+    synchronized (receivedKeySet) {
+      for (int keyIdx: keyIndexes) {
+        if (keyIdx < 0 || keyIdx >= keyList.size()) {
+          throw new VeniceClientException(
+              "Invalid key index: " + keyIdx + " in aggregated record, it should be [0, " + keyList.size() + ")");
+        }
+        if (receivedKeySet.get(keyIdx)) {
+          ++duplicateEntryCount;
+        } else {
+          receivedKeySet.set(keyIdx);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the value of a key to the aggregation which the request asks for, if any, instead of passing it to the
+   * callback.
+   *
+   * @return true if the value was aggregated, false if it should be passed to the callback
+   */
+  protected boolean aggregateRecord(int keyIndex, V value) {
+    return false;
+  }
+
+  /**
+   * Handles a record with the {@link com.linkedin.venice.streaming.StreamingConstants#KEY_ID_FOR_COUNT_BY_VALUE} key
+   * index, which only the responses of compute requests asking for a count-by-value aggregation contain.
+   */
+  protected void onCountByValueRecord(ENVELOPE envelope) {
+    throw new VeniceClientException("Unexpected count-by-value record");
+  }
+
   protected abstract ReadEnvelopeChunkedDeserializer<ENVELOPE> getEnvelopeDeserializer(int schemaId);
 
   protected abstract StreamingFooterRecordV1 getStreamingFooterRecord(ENVELOPE envelope);
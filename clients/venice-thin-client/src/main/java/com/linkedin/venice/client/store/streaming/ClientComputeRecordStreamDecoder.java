@@ -3,6 +3,7 @@ package com.linkedin.venice.client.store.streaming;
 import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.read.protocol.response.streaming.StreamingFooterRecordV1;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import java.nio.ByteBuffer;
@@ -14,6 +15,7 @@ import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.avro.generic.GenericRecord;
 
 
 public class ClientComputeRecordStreamDecoder<K, V> implements RecordStreamDecoder {
@@ -38,7 +40,9 @@ public class ClientComputeRecordStreamDecoder<K, V> implements RecordStreamDecod
       RecordDeserializer<StreamingFooterRecordV1> streamingFooterRecordDeserializer,
       Supplier<RecordDeserializer<V>> computeDeserializerProvider,
       Function<Integer, RecordDeserializer<V>> valueDeserializerProvider,
-      BiFunction<CompressionStrategy, ByteBuffer, ByteBuffer> decompressor) {
+      BiFunction<CompressionStrategy, ByteBuffer, ByteBuffer> decompressor,
+      CountByValueAggregation countByValueAggregation,
+      Supplier<RecordDeserializer<GenericRecord>> countByValueDeserializerProvider) {
     this.decoderProvider = responseHeaders -> {
       if (responseHeaders.containsKey(HttpConstants.VENICE_CLIENT_COMPUTE)) {
         /*
@@ -66,7 +70,9 @@ public class ClientComputeRecordStreamDecoder<K, V> implements RecordStreamDecod
             callback,
             deserializationExecutor,
             streamingFooterRecordDeserializer,
-            computeDeserializerProvider.get());
+            computeDeserializerProvider.get(),
+            countByValueAggregation,
+            countByValueAggregation == null ? null : countByValueDeserializerProvider.get());
       }
     };
   }
@@ -2,17 +2,21 @@ package com.linkedin.venice.client.store.streaming;
 
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.read.protocol.response.streaming.StreamingFooterRecordV1;
 import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import java.util.List;
 import java.util.concurrent.Executor;
+import org.apache.avro.generic.GenericRecord;
 
 
 public class ComputeRecordStreamDecoder<K, V> extends AbstractRecordStreamDecoder<ComputeResponseRecordV1, K, V> {
   private final RecordDeserializer<StreamingFooterRecordV1> streamingFooterDeserializer;
   private final RecordDeserializer<V> valueDeserializer;
+  private final CountByValueAggregation countByValueAggregation;
+  private final RecordDeserializer<GenericRecord> countByValueDeserializer;
 
   public ComputeRecordStreamDecoder(
       List<K> keyList,
@@ -20,9 +24,27 @@ public class ComputeRecordStreamDecoder<K, V> extends AbstractRecordStreamDecode
       Executor deserializationExecutor,
       RecordDeserializer<StreamingFooterRecordV1> streamingFooterDeserializer,
       RecordDeserializer<V> valueDeserializer) {
+    this(keyList, callback, deserializationExecutor, streamingFooterDeserializer, valueDeserializer, null, null);
+  }
+
+  /**
+   * @param countByValueAggregation the aggregation to merge the partial counts of the servers into, or null if the
+   *                                request does not ask for a count-by-value aggregation
+   * @param countByValueDeserializer the deserializer of the partial counts
+   */
+  public ComputeRecordStreamDecoder(
+      List<K> keyList,
+      TrackingStreamingCallback<K, V> callback,
+      Executor deserializationExecutor,
+      RecordDeserializer<StreamingFooterRecordV1> streamingFooterDeserializer,
+      RecordDeserializer<V> valueDeserializer,
+      CountByValueAggregation countByValueAggregation,
+      RecordDeserializer<GenericRecord> countByValueDeserializer) {
     super(keyList, callback, deserializationExecutor);
     this.streamingFooterDeserializer = streamingFooterDeserializer;
     this.valueDeserializer = valueDeserializer;
+    this.countByValueAggregation = countByValueAggregation;
+    this.countByValueDeserializer = countByValueDeserializer;
   }
 
   @Override
@@ -51,6 +73,28 @@ public class ComputeRecordStreamDecoder<K, V> extends AbstractRecordStreamDecode
     return valueDeserializer.deserialize(envelope.value);
   }
 
+  @Override
+  protected void onCountByValueRecord(ComputeResponseRecordV1 envelope) {
+    if (countByValueAggregation == null) {
+      super.onCountByValueRecord(envelope);
+      return;
+    }
+    CountByValueAggregation partial =
+        CountByValueAggregation.fromRecord(countByValueDeserializer.deserialize(envelope.value));
+    markKeysReceived(partial.getKeyIndexes());
+    countByValueAggregation.merge(partial);
+  }
+
+  @Override
+  protected boolean aggregateRecord(int keyIndex, V value) {
+    if (countByValueAggregation == null) {
+      return false;
+    }
+    // Servers which do not count, and the retried requests, return the records of their keys, which are counted here
+    countByValueAggregation.addKeyRecord(keyIndex, (GenericRecord) value);
+    return true;
+  }
+
   @Override
   protected int getKeyIndex(ComputeResponseRecordV1 envelope) {
     return envelope.getKeyIndex();
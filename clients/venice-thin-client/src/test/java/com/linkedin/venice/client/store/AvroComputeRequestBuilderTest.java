@@ -13,6 +13,7 @@ import static org.mockito.Mockito.verify;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
@@ -27,10 +28,14 @@ import com.linkedin.venice.utils.Utils;
 import io.tehuti.utils.Time;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -233,6 +238,103 @@ public class AvroComputeRequestBuilderTest {
     Assert.assertEquals(hadamardProduct.hadamardProductParam, expectedHadamardProductParam);
   }
 
+  @Test
+  public void testTopK() {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    doReturn("testStore").when(mockClient).getStoreName();
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    List<String> receivedKeys = new ArrayList<>();
+    List<Optional<Exception>> completions = new ArrayList<>();
+    new AvroComputeRequestBuilderV3<String>(mockClient, mockClient.getSchemaReader())
+        .dotProduct("float_array_field1", dotProductParam, "score")
+        .topK("score", 2)
+        .streamingExecute(keys, new StreamingCallback<String, ComputeGenericRecord>() {
+          @Override
+          public void onRecordReceived(String key, ComputeGenericRecord value) {
+            receivedKeys.add(key);
+          }
+
+          @Override
+          public void onCompletion(Optional<Exception> exception) {
+            completions.add(exception);
+          }
+        });
+    verify(mockClient).compute(
+        computeRequestCaptor.capture(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+    Assert.assertEquals(computeRequestCaptor.getValue().getTopK().toHeader(), "2,score");
+
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    Float[] scores = { 1.0f, null, 3.0f, 0.5f, 2.0f };
+    for (int i = 0; i < scores.length; i++) {
+      GenericRecord result = new GenericData.Record(resultSchemaCaptor.getValue());
+      result.put("score", scores[i]);
+      callback.onRecordReceived("key" + i, new ComputeGenericRecord(result, VALID_RECORD_SCHEMA));
+    }
+    callback.onRecordReceived("non_existing_key", null);
+    // The results are only passed on completion, since a later result could push them out of the top K
+    Assert.assertTrue(receivedKeys.isEmpty());
+    callback.onCompletion(Optional.empty());
+    Assert.assertEquals(receivedKeys, Arrays.asList("key2", "key4"));
+    Assert.assertEquals(completions, Arrays.asList(Optional.empty()));
+
+    // The score field must be a numeric result field
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.project("record_field").topK("record_field", 2);
+    VeniceClientException e =
+        Assert.expectThrows(VeniceClientException.class, () -> computeRequestBuilder.execute(keys));
+    Assert.assertTrue(e.getMessage().contains("isn't a numeric field"));
+  }
+
+  @Test
+  public void testTopKWithFailedRoutes() throws Exception {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    doReturn("testStore").when(mockClient).getStoreName();
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    CompletableFuture<VeniceResponseMap<String, ComputeGenericRecord>> streamingFuture =
+        new AvroComputeRequestBuilderV3<String>(mockClient, mockClient.getSchemaReader())
+            .dotProduct("float_array_field1", dotProductParam, "score")
+            .topK("score", 1)
+            .streamingExecute(keys);
+    CompletableFuture<Map<String, ComputeGenericRecord>> future =
+        new AvroComputeRequestBuilderV3<String>(mockClient, mockClient.getSchemaReader())
+            .dotProduct("float_array_field1", dotProductParam, "score")
+            .topK("score", 1)
+            .execute(keys);
+    verify(mockClient, Mockito.times(2)).compute(
+        Mockito.any(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    // Only the routes which completed are reported, and one of them failed
+    for (StreamingCallback<String, ComputeGenericRecord> callback: callbackCaptor.getAllValues()) {
+      for (int i = 0; i < 2; i++) {
+        GenericRecord result = new GenericData.Record(resultSchemaCaptor.getValue());
+        result.put("score", (float) i);
+        callback.onRecordReceived("key" + i, new ComputeGenericRecord(result, VALID_RECORD_SCHEMA));
+      }
+      callback.onCompletion(Optional.of(new VeniceClientException("Route failed")));
+    }
+
+    // The streaming response holds the top K of the completed routes, but is not a full response
+    VeniceResponseMap<String, ComputeGenericRecord> response = streamingFuture.get();
+    Assert.assertEquals(response.keySet(), Collections.singleton("key1"));
+    Assert.assertFalse(response.isFullResponse());
+    ExecutionException e = Assert.expectThrows(ExecutionException.class, future::get);
+    Assert.assertTrue(e.getCause() instanceof VeniceClientException);
+  }
+
   @Test(expectedExceptions = VeniceClientException.class, expectedExceptionsMessageRegExp = "Only value schema with 'RECORD' type is supported")
   public void testComputeAgainstNonRecordSchema() {
     AbstractAvroStoreClient mockClient = getMockClient(ARRAY_SCHEMA);
@@ -0,0 +1,116 @@
+package com.linkedin.venice.client.store.streaming;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compute.CountByValueAggregation;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.streaming.StreamingFooterRecordV1;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.AvroSerializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.streaming.StreamingConstants;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.annotations.Test;
+
+
+public class ComputeRecordStreamDecoderTest {
+  private static final Schema RESULT_SCHEMA =
+      SchemaBuilder.record("TestResult").fields().requiredString("name").endRecord();
+  private static final List<String> FIELD_NAMES = Collections.singletonList("name");
+  private static final Schema COUNT_BY_VALUE_SCHEMA = CountByValueAggregation.getSchema(RESULT_SCHEMA, FIELD_NAMES);
+
+  private static ComputeResponseRecordV1 toCountByValueRecord(CountByValueAggregation partial) {
+    RecordSerializer<GenericRecord> serializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(COUNT_BY_VALUE_SCHEMA);
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    record.keyIndex = StreamingConstants.KEY_ID_FOR_COUNT_BY_VALUE;
+    record.value = ByteBuffer.wrap(serializer.serialize(partial.toRecord(COUNT_BY_VALUE_SCHEMA)));
+    return record;
+  }
+
+  private static ComputeResponseRecordV1 toKeyRecord(int keyIndex, String name) {
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    if (name == null) {
+      record.keyIndex = -keyIndex;
+      record.value = ByteBuffer.wrap(new byte[0]);
+      return record;
+    }
+    GenericRecord result = new GenericData.Record(RESULT_SCHEMA);
+    result.put("name", name);
+    record.keyIndex = keyIndex;
+    RecordSerializer<GenericRecord> serializer = SerializerDeserializerFactory.getAvroGenericSerializer(RESULT_SCHEMA);
+    record.value = ByteBuffer.wrap(serializer.serialize(result));
+    return record;
+  }
+
+  @Test
+  public void testCountByValueWithRetriedRequest() {
+    List<String> keyList = Arrays.asList("key0", "key1", "key2", "key3");
+    String[] names = { "foo", "foo", "bar", null };
+    GenericRecord result = new GenericData.Record(RESULT_SCHEMA);
+
+    // The original requests cover the first 3 keys, and the missing one
+    CountByValueAggregation original1 = new CountByValueAggregation(FIELD_NAMES);
+    for (int keyIndex = 0; keyIndex < 3; keyIndex++) {
+      result.put("name", names[keyIndex]);
+      original1.add(keyIndex, result);
+    }
+    CountByValueAggregation original2 = new CountByValueAggregation(FIELD_NAMES);
+    original2.addMissingKey(3);
+
+    CountByValueAggregation countByValueAggregation = new CountByValueAggregation(FIELD_NAMES);
+    TrackingStreamingCallback<String, GenericRecord> callback = mock(TrackingStreamingCallback.class);
+    ComputeRecordStreamDecoder<String, GenericRecord> decoder = new ComputeRecordStreamDecoder<>(
+        keyList,
+        callback,
+        Runnable::run,
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(StreamingFooterRecordV1.class),
+        SerializerDeserializerFactory.getAvroGenericDeserializer(RESULT_SCHEMA),
+        countByValueAggregation,
+        SerializerDeserializerFactory.getAvroGenericDeserializer(COUNT_BY_VALUE_SCHEMA));
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HttpConstants.VENICE_STREAMING_RESPONSE, "1");
+    headers.put(
+        HttpConstants.VENICE_SCHEMA_ID,
+        Integer.toString(ReadAvroProtocolDefinition.COMPUTE_RESPONSE_V1.getProtocolVersion()));
+    decoder.onHeaderReceived(headers);
+    AvroSerializer<ComputeResponseRecordV1> serializer = new AvroSerializer<>(ComputeResponseRecordV1.SCHEMA$);
+    List<ComputeResponseRecordV1> records = new ArrayList<>();
+    // The retried requests return the records of 2 of the keys, before the original requests return their counts
+    records.add(toKeyRecord(1, names[1]));
+    records.add(toKeyRecord(3, names[3]));
+    records.add(toCountByValueRecord(original1));
+    records.add(toCountByValueRecord(original2));
+    decoder.onDataReceived(ByteBuffer.wrap(serializer.serializeObjects(records)));
+    decoder.onCompletion(Optional.empty());
+
+    // The keys which were counted one by one are left out of the counts of the original requests
+    assertEquals(countByValueAggregation.getKeyCount(), 4);
+    Map<Object, Integer> expectedCounts = new HashMap<>();
+    expectedCounts.put("foo", 2);
+    expectedCounts.put("bar", 1);
+    assertEquals(countByValueAggregation.getValueToCount("name"), expectedCounts);
+    // The records which were counted are not passed to the callback
+    verify(callback, never()).onRecordReceived(any(), any());
+    verify(callback).onCompletion(Optional.empty());
+    verify(callback).onDeserializationCompletion(Optional.empty(), 1, 2);
+  }
+}
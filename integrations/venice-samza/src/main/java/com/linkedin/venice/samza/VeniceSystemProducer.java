@@ -308,6 +308,8 @@ public class VeniceSystemProducer implements SystemProducer, Closeable {
         .setMaxBatchSizeInBytes(
             Integer.parseInt(
                 veniceWriterProperties.getProperty(ConfigKeys.WRITER_BATCHING_MAX_BUFFER_SIZE_IN_BYTES, "5242880")))
+        .setBatchBufferShardCount(
+            Integer.parseInt(veniceWriterProperties.getProperty(ConfigKeys.WRITER_BATCHING_BUFFER_SHARD_COUNT, "1")))
         .setStoreSchemaFetcher(schemaFetcher)
         .setChunkingEnabled(isChunkingEnabled)
         .setWriterHook(writerHook);
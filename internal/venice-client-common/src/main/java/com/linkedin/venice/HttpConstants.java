@@ -37,6 +37,18 @@ public class HttpConstants {
 
   public static final String VENICE_COMPUTE_VALUE_SCHEMA_ID = "X-VENICE-COMPUTE-VALUE-SCHEMA-ID";
 
+  /**
+   * Comma-separated names of the fields whose values the servers should count for a compute request, instead of
+   * returning them for each key. See {@link com.linkedin.venice.compute.CountByValueAggregation}.
+   */
+  public static final String VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS = "X-VENICE-COMPUTE-COUNT-BY-VALUE-FIELDS";
+
+  /**
+   * The K and the score field of a compute request which only needs the K results with the highest scores, formatted as
+   * {@code <k>,<score field name>}. See {@link com.linkedin.venice.compute.ComputeTopK}.
+   */
+  public static final String VENICE_COMPUTE_TOP_K = "X-VENICE-COMPUTE-TOP-K";
+
   public static final String VENICE_ALLOW_REDIRECT = "X-VENICE-ALLOW-REDIRECT";
 
   public static final String VENICE_CLIENT_COMPUTE = "X-VENICE-CLIENT-COMPUTE";
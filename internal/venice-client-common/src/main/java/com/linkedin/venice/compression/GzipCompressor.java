@@ -77,7 +77,7 @@ public class GzipCompressor extends VeniceCompressor {
   protected ByteBuffer decompressInternal(ByteBuffer data) throws IOException {
     if (data.hasRemaining()) {
       if (data.hasArray()) {
-        return decompress(data.array(), data.position(), data.remaining());
+        return decompress(data.array(), data.arrayOffset() + data.position(), data.remaining());
       } else if (data.isDirect()) {
         return decompress(ByteUtils.extractByteArray(data), 0, data.remaining());
       } else {
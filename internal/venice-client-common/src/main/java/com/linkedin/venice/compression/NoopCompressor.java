@@ -4,6 +4,7 @@ import com.linkedin.venice.exceptions.VeniceException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 
 /**
@@ -62,6 +63,44 @@ public class NoopCompressor extends VeniceCompressor {
     throw new UnsupportedOperationException("decompressInternal");
   }
 
+  @Override
+  public ByteBuffer decompressIntoReusableBuffer(byte[] data, int offset, int length) throws IOException {
+    return ByteBuffer.wrap(data, offset, length);
+  }
+
+  @Override
+  protected ByteBuffer decompressIntoReusableBufferInternal(byte[] data, int offset, int length) throws IOException {
+    throw new UnsupportedOperationException("decompressIntoReusableBufferInternal");
+  }
+
+  @Override
+  public ByteBuffer decompressIntoReusableBuffer(ByteBuffer data) throws IOException {
+    return data;
+  }
+
+  @Override
+  protected ByteBuffer decompressIntoReusableBufferInternal(ByteBuffer data) throws IOException {
+    throw new UnsupportedOperationException("decompressIntoReusableBufferInternal");
+  }
+
+  @Override
+  public ByteBuffer decompressInBatch(List<ByteBuffer> values, int[] decompressedLengths) throws IOException {
+    ByteBuffer[] buffers = new ByteBuffer[values.size()];
+    int totalLength = 0;
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = values.get(i);
+      decompressedLengths[i] = buffers[i].remaining();
+      totalLength = Math.addExact(totalLength, decompressedLengths[i]);
+    }
+    return concat(buffers, totalLength);
+  }
+
+  @Override
+  protected ByteBuffer decompressInBatchInternal(List<ByteBuffer> values, int[] decompressedLengths)
+      throws IOException {
+    throw new UnsupportedOperationException("decompressInBatchInternal");
+  }
+
   @Override
   public ByteBuffer decompressAndPrependSchemaHeader(byte[] data, int offset, int length, int schemaHeader)
       throws IOException {
@@ -6,6 +6,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
@@ -62,6 +63,72 @@ public abstract class VeniceCompressor implements Closeable {
 
   protected abstract ByteBuffer decompressInternal(byte[] data, int offset, int length) throws IOException;
 
+  /**
+   * Same as {@link #decompress(byte[], int, int)}, except that the data may be decompressed into a buffer which is
+   * reused by the next calls of this method from the same thread, so that no buffer is allocated per value. The
+   * returned buffer is thus only valid until the next call, which suits callers deserializing the value right away,
+   * but not those keeping a reference to it.
+   */
+  public ByteBuffer decompressIntoReusableBuffer(byte[] data, int offset, int length) throws IOException {
+    return executeWithSafeGuard(() -> decompressIntoReusableBufferInternal(data, offset, length));
+  }
+
+  /**
+   * Compressors which do not reuse buffers decompress into a new one.
+   */
+  protected ByteBuffer decompressIntoReusableBufferInternal(byte[] data, int offset, int length) throws IOException {
+    return decompressInternal(data, offset, length);
+  }
+
+  /**
+   * Same as {@link #decompress(ByteBuffer)}, with the same reuse of the output buffer as
+   * {@link #decompressIntoReusableBuffer(byte[], int, int)}.
+   */
+  public ByteBuffer decompressIntoReusableBuffer(ByteBuffer data) throws IOException {
+    return executeWithSafeGuard(() -> decompressIntoReusableBufferInternal(data));
+  }
+
+  protected ByteBuffer decompressIntoReusableBufferInternal(ByteBuffer data) throws IOException {
+    return decompressInternal(data);
+  }
+
+  /**
+   * Decompresses all the {@param values} back to back into a single buffer, so that a batch of values only costs one
+   * allocation and one check against a concurrent {@link #close}. The positions of {@param values} are not modified.
+   *
+   * @param decompressedLengths receives the decompressed length of each value, so it must be at least as long as
+   *                            {@param values}.
+   * @return a heap buffer holding the decompressed values in order, from position 0 to its limit.
+   */
+  public ByteBuffer decompressInBatch(List<ByteBuffer> values, int[] decompressedLengths) throws IOException {
+    return executeWithSafeGuard(() -> decompressInBatchInternal(values, decompressedLengths));
+  }
+
+  /**
+   * Compressors which cannot decompress into a given buffer decompress each value on its own, and then copy them into
+   * the returned buffer.
+   */
+  protected ByteBuffer decompressInBatchInternal(List<ByteBuffer> values, int[] decompressedLengths)
+      throws IOException {
+    ByteBuffer[] decompressedValues = new ByteBuffer[values.size()];
+    int totalLength = 0;
+    for (int i = 0; i < decompressedValues.length; i++) {
+      decompressedValues[i] = decompressInternal(values.get(i).duplicate());
+      decompressedLengths[i] = decompressedValues[i].remaining();
+      totalLength = Math.addExact(totalLength, decompressedLengths[i]);
+    }
+    return concat(decompressedValues, totalLength);
+  }
+
+  static ByteBuffer concat(ByteBuffer[] buffers, int totalLength) {
+    ByteBuffer result = ByteBuffer.allocate(totalLength);
+    for (ByteBuffer buffer: buffers) {
+      result.put(buffer.duplicate());
+    }
+    result.flip();
+    return result;
+  }
+
   /**
    * This method tries to decompress data and maybe prepend the schema header.
    * The returned ByteBuffer will be backed by byte array that starts with schema header, followed by the
@@ -29,8 +29,15 @@ import org.apache.logging.log4j.Logger;
 
 public class ZstdWithDictCompressor extends VeniceCompressor {
   private static final Logger LOGGER = LogManager.getLogger(ZstdWithDictCompressor.class);
+  /**
+   * Values decompressing to more than this size are decompressed into a new buffer, even when a reusable one is
+   * requested, so that each thread does not hold on to large buffers. Above this size, the cost of the allocation is
+   * small compared to the decompression anyway.
+   */
+  static final int MAX_REUSABLE_BUFFER_SIZE = 64 * 1024;
   private final CloseableThreadLocal<ZstdCompressCtx> compressor;
   private final CloseableThreadLocal<ZstdDecompressCtx> decompressor;
+  private final CloseableThreadLocal<ReusableBuffers> reusableBuffers;
   private final ZstdDictCompress dictCompress;
   private final ZstdDictDecompress dictDecompress;
   private final byte[] dictionary;
@@ -44,6 +51,7 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
     this.dictDecompress = new ZstdDictDecompress(dictionary);
     this.compressor = new CloseableThreadLocal<>(() -> new ZstdCompressCtx().loadDict(dictCompress).setLevel(level));
     this.decompressor = new CloseableThreadLocal<>(() -> new ZstdDecompressCtx().loadDict(dictDecompress));
+    this.reusableBuffers = new CloseableThreadLocal<>(ReusableBuffers::new);
   }
 
   @Override
@@ -90,7 +98,7 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
   protected ByteBuffer decompressInternal(ByteBuffer data) throws IOException {
     if (data.hasRemaining()) {
       if (data.hasArray()) {
-        return decompress(data.array(), data.position(), data.remaining());
+        return decompress(data.array(), data.arrayOffset() + data.position(), data.remaining());
       } else if (data.isDirect()) {
         int expectedSize = validateExpectedDecompressedSize(Zstd.decompressedSize(data));
         ByteBuffer output = ByteBuffer.allocateDirect(expectedSize);
@@ -123,6 +131,100 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
     return returnedData;
   }
 
+  @Override
+  protected ByteBuffer decompressIntoReusableBufferInternal(byte[] data, int offset, int length) throws IOException {
+    int expectedSize = validateExpectedDecompressedSize(Zstd.decompressedSize(data, offset, length));
+    if (expectedSize > MAX_REUSABLE_BUFFER_SIZE) {
+      return decompressInternal(data, offset, length);
+    }
+    ByteBuffer output = reusableBuffers.get().getHeapBuffer(expectedSize);
+    int actualSize = decompressor.get().decompressByteArray(output.array(), 0, expectedSize, data, offset, length);
+    validateActualDecompressedSize(actualSize, expectedSize);
+    output.limit(expectedSize);
+    return output;
+  }
+
+  @Override
+  protected ByteBuffer decompressIntoReusableBufferInternal(ByteBuffer data) throws IOException {
+    if (!data.hasRemaining()) {
+      return data;
+    }
+    if (data.hasArray()) {
+      return decompressIntoReusableBufferInternal(data.array(), data.arrayOffset() + data.position(), data.remaining());
+    }
+    if (!data.isDirect()) {
+      throw new IllegalArgumentException("The passed in ByteBuffer must be either direct or be backed by an array!");
+    }
+    /**
+     * The callers deserialize the value with decoders reading the array backing the buffer, so the value is returned in
+     * a heap buffer, either decompressed from a heap copy of the input if it is too large to be reused, or copied from
+     * the reusable direct buffer otherwise.
+     */
+    int expectedSize = validateExpectedDecompressedSize(Zstd.decompressedSize(data));
+    if (expectedSize > MAX_REUSABLE_BUFFER_SIZE) {
+      byte[] compressed = new byte[data.remaining()];
+      data.duplicate().get(compressed);
+      return decompressInternal(compressed, 0, compressed.length);
+    }
+    ReusableBuffers buffers = reusableBuffers.get();
+    ByteBuffer directOutput = buffers.getDirectBuffer(expectedSize);
+    directOutput.limit(expectedSize);
+    int actualSize = decompressor.get().decompress(directOutput, data);
+    validateActualDecompressedSize(actualSize, expectedSize);
+    directOutput.position(0);
+    ByteBuffer output = buffers.getHeapBuffer(expectedSize);
+    output.put(directOutput);
+    output.flip();
+    return output;
+  }
+
+  /**
+   * Reads the decompressed sizes from the frame headers first, so that all the values are decompressed straight into
+   * a buffer of the exact total size, with a single lookup of the thread-local decompression context.
+   */
+  @Override
+  protected ByteBuffer decompressInBatchInternal(List<ByteBuffer> values, int[] decompressedLengths)
+      throws IOException {
+    int totalLength = 0;
+    for (int i = 0; i < values.size(); i++) {
+      ByteBuffer value = values.get(i);
+      if (!value.hasRemaining()) {
+        decompressedLengths[i] = 0;
+      } else if (value.hasArray()) {
+        decompressedLengths[i] = validateExpectedDecompressedSize(
+            Zstd.decompressedSize(value.array(), value.arrayOffset() + value.position(), value.remaining()));
+      } else {
+        decompressedLengths[i] = validateExpectedDecompressedSize(Zstd.decompressedSize(value));
+      }
+      totalLength = Math.addExact(totalLength, decompressedLengths[i]);
+    }
+    ByteBuffer output = ByteBuffer.allocate(totalLength);
+    ZstdDecompressCtx decompressCtx = decompressor.get();
+    int outputOffset = 0;
+    for (int i = 0; i < values.size(); i++) {
+      ByteBuffer value = values.get(i);
+      if (!value.hasRemaining()) {
+        continue;
+      }
+      if (value.hasArray()) {
+        int actualSize = decompressCtx.decompressByteArray(
+            output.array(),
+            outputOffset,
+            decompressedLengths[i],
+            value.array(),
+            value.arrayOffset() + value.position(),
+            value.remaining());
+        validateActualDecompressedSize(actualSize, decompressedLengths[i]);
+      } else {
+        output.position(outputOffset);
+        output.put(decompressInternal(value.duplicate()));
+      }
+      outputOffset += decompressedLengths[i];
+    }
+    output.position(0);
+    return output;
+  }
+
   @Override
   protected ByteBuffer decompressAndPrependSchemaHeaderInternal(byte[] data, int offset, int length, int schemaHeader)
       throws IOException {
@@ -146,6 +248,7 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
   protected void closeInternal() throws IOException {
     this.compressor.close();
     this.decompressor.close();
+    this.reusableBuffers.close();
     IOUtils.closeQuietly(this.dictCompress);
     IOUtils.closeQuietly(this.dictDecompress);
   }
@@ -166,6 +269,36 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
     }
   }
 
+  /**
+   * The buffers a thread decompresses into, which only grow, up to {@link #MAX_REUSABLE_BUFFER_SIZE}.
+   */
+  private static class ReusableBuffers implements AutoCloseable {
+    private ByteBuffer heapBuffer = ByteBuffer.allocate(0);
+    private ByteBuffer directBuffer = ByteBuffer.allocateDirect(0);
+
+    ByteBuffer getHeapBuffer(int size) {
+      if (heapBuffer.capacity() < size) {
+        heapBuffer = ByteBuffer.allocate(size);
+      }
+      heapBuffer.clear();
+      return heapBuffer;
+    }
+
+    ByteBuffer getDirectBuffer(int size) {
+      if (directBuffer.capacity() < size) {
+        directBuffer = ByteBuffer.allocateDirect(size);
+      }
+      directBuffer.clear();
+      return directBuffer;
+    }
+
+    @Override
+    public void close() {
+      heapBuffer = null;
+      directBuffer = null;
+    }
+  }
+
   /**
    * Build a dictionary based on synthetic data.  Used for empty push where there is no
    * available dictionary to retrieve from a push job.
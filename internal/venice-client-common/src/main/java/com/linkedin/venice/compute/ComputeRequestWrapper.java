@@ -28,6 +28,8 @@ public class ComputeRequestWrapper {
   private final Schema valueSchema;
   private final List<Schema.Field> operationResultFields;
   private final boolean originallyStreaming;
+  private final CountByValueAggregation countByValueAggregation;
+  private final ComputeTopK topK;
 
   public ComputeRequestWrapper(
       int valueSchemaId,
@@ -36,6 +38,23 @@ public class ComputeRequestWrapper {
       String resultSchemaString,
       List<ComputeOperation> operations,
       boolean originallyStreaming) {
+    this(valueSchemaId, valueSchema, resultSchema, resultSchemaString, operations, originallyStreaming, null, null);
+  }
+
+  /**
+   * @param countByValueAggregation if not null, the servers are asked to count the values of its fields instead of
+   *                                returning them for each key, and the partial counts they return are merged into it
+   * @param topK if not null, the servers are asked to only return the results with the highest scores
+   */
+  public ComputeRequestWrapper(
+      int valueSchemaId,
+      Schema valueSchema,
+      Schema resultSchema,
+      String resultSchemaString,
+      List<ComputeOperation> operations,
+      boolean originallyStreaming,
+      CountByValueAggregation countByValueAggregation,
+      ComputeTopK topK) {
     this.computeRequest = new ComputeRequestV3();
     this.computeRequest.setResultSchemaStr(resultSchemaString);
     this.computeRequest.setOperations((List) operations);
@@ -43,6 +62,8 @@ public class ComputeRequestWrapper {
     this.valueSchema = valueSchema;
     this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
     this.originallyStreaming = originallyStreaming;
+    this.countByValueAggregation = countByValueAggregation;
+    this.topK = topK;
   }
 
   public byte[] serialize() {
@@ -72,4 +93,12 @@ public class ComputeRequestWrapper {
   public boolean isRequestOriginallyStreaming() {
     return this.originallyStreaming;
   }
+
+  public CountByValueAggregation getCountByValueAggregation() {
+    return this.countByValueAggregation;
+  }
+
+  public ComputeTopK getTopK() {
+    return this.topK;
+  }
 }
@@ -0,0 +1,184 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * A compute request option which only keeps the K results with the highest value of a numeric score field, such as the
+ * result field of a {@code dotProduct} or {@code cosineSimilarity} operation, see
+ * {@link HttpConstants#VENICE_COMPUTE_TOP_K}.
+ *
+ * Each server keeps the top K results of the keys it looks up in a bounded heap, and only serializes and returns those,
+ * so the size of the response depends on K and on the number of request chunks, rather than on the number of keys. The
+ * client keeps the top K of the results it receives in the same way, which is what makes the ranking exact even when
+ * the servers do not support the option and return all the results.
+ *
+ * Results whose score is null rank below all the others.
+ */
+public class ComputeTopK {
+  private final String scoreFieldName;
+  private final int k;
+
+  public ComputeTopK(String scoreFieldName, int k) {
+    if (scoreFieldName == null || scoreFieldName.isEmpty()) {
+      throw new VeniceException("The score field of a top-K compute request must be specified");
+    }
+    if (k <= 0) {
+      throw new VeniceException("The K of a top-K compute request must be positive, got: " + k);
+    }
+    this.scoreFieldName = scoreFieldName;
+    this.k = k;
+  }
+
+  /**
+   * Parses the value of the {@link HttpConstants#VENICE_COMPUTE_TOP_K} header, which is formatted as
+   * {@code <k>,<score field name>}.
+   *
+   * @return the option, or null if the header is absent
+   */
+  public static ComputeTopK parseHeader(String header) {
+    if (header == null || header.isEmpty()) {
+      return null;
+    }
+    int separatorIndex = header.indexOf(',');
+    if (separatorIndex < 0) {
+      throw new VeniceException("Invalid top-K compute header: " + header);
+    }
+    int k;
+    try {
+      k = Integer.parseInt(header.substring(0, separatorIndex));
+    } catch (NumberFormatException e) {
+      throw new VeniceException("Invalid top-K compute header: " + header, e);
+    }
+    return new ComputeTopK(header.substring(separatorIndex + 1), k);
+  }
+
+  public String toHeader() {
+    return k + "," + scoreFieldName;
+  }
+
+  public String getScoreFieldName() {
+    return scoreFieldName;
+  }
+
+  public int getK() {
+    return k;
+  }
+
+  /**
+   * Checks that the score field is a numeric, or nullable numeric, field of the result schema.
+   */
+  public void validate(Schema resultSchema) {
+    Schema.Field scoreField = resultSchema.getField(scoreFieldName);
+    if (scoreField == null) {
+      throw new VeniceException("Top-K score field: " + scoreFieldName + " is not in the result schema");
+    }
+    Schema scoreSchema = scoreField.schema();
+    if (scoreSchema.getType() == Schema.Type.UNION) {
+      for (Schema branch: scoreSchema.getTypes()) {
+        if (branch.getType() != Schema.Type.NULL && !isNumeric(branch)) {
+          throw new VeniceException("Top-K score field: " + scoreFieldName + " isn't a numeric field");
+        }
+      }
+    } else if (!isNumeric(scoreSchema)) {
+      throw new VeniceException("Top-K score field: " + scoreFieldName + " isn't a numeric field");
+    }
+  }
+
+  private static boolean isNumeric(Schema schema) {
+    switch (schema.getType()) {
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return the score of the result record, or {@link Double#NEGATIVE_INFINITY} if it is null, which it is when the
+   *         computation of the score failed
+   */
+  public double getScore(GenericRecord resultRecord) {
+    // Looked up by position, since records which check the computation errors throw on a failed field
+    Object score = resultRecord.get(resultRecord.getSchema().getField(scoreFieldName).pos());
+    return score == null ? Double.NEGATIVE_INFINITY : ((Number) score).doubleValue();
+  }
+
+  public <T> Collector<T> newCollector() {
+    return new Collector<>(k);
+  }
+
+  /**
+   * Keeps the K items with the highest scores in a min-heap, so that an item which does not make it into the top K is
+   * rejected after a single comparison. On ties, the item added first is kept. It is not thread-safe.
+   */
+  public static class Collector<T> {
+    private final Comparator<ScoredItem<T>> comparator = Comparator.comparingDouble(item -> item.score);
+    private final int k;
+    private final PriorityQueue<ScoredItem<T>> heap;
+
+    Collector(int k) {
+      this.k = k;
+      this.heap = new PriorityQueue<>(Math.min(k, 1024), comparator);
+    }
+
+    /**
+     * @return true if an item with the given score would be kept, so that the caller can skip preparing the items
+     *         which would not
+     */
+    public boolean accepts(double score) {
+      return heap.size() < k || score > heap.peek().score;
+    }
+
+    /**
+     * @return true if the item is kept, for now
+     */
+    public boolean add(double score, T item) {
+      if (!accepts(score)) {
+        return false;
+      }
+      if (heap.size() == k) {
+        heap.poll();
+      }
+      heap.add(new ScoredItem<>(score, item));
+      return true;
+    }
+
+    public int size() {
+      return heap.size();
+    }
+
+    /**
+     * @return the kept items, from the highest score to the lowest
+     */
+    public List<T> getItems() {
+      List<ScoredItem<T>> sortedItems = new ArrayList<>(heap);
+      sortedItems.sort(comparator.reversed());
+      List<T> items = new ArrayList<>(sortedItems.size());
+      for (ScoredItem<T> scoredItem: sortedItems) {
+        items.add(scoredItem.item);
+      }
+      return items;
+    }
+  }
+
+  private static class ScoredItem<T> {
+    private final double score;
+    private final T item;
+
+    private ScoredItem(double score, T item) {
+      this.score = score;
+      this.item = item;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.venice.compute;
 import static com.linkedin.venice.serializer.FastSerializerDeserializerFactory.getFastAvroSpecificDeserializer;
 
 import com.linkedin.avro.api.PrimitiveFloatList;
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
@@ -203,6 +204,68 @@ public class ComputeUtils {
     return operationResultFields;
   }
 
+  /**
+   * Generates the reader schema needed to run the compute operations and projections of a request, i.e. a copy of the
+   * value schema containing only the fields which are read by an operation or copied as-is into the result. Values
+   * deserialized with it are enough for {@link #computeResult}, while the deserializer skips over the bytes of all the
+   * other fields instead of materializing them.
+   *
+   * @return the projected schema, or the value schema itself if the request reads all of its fields
+   */
+  public static Schema getComputeValueProjectionSchema(
+      Schema valueSchema,
+      Schema resultSchema,
+      List<ComputeOperation> operations) {
+    return getComputeValueProjectionSchema(
+        valueSchema,
+        getComputeValueProjectionFieldNames(valueSchema, resultSchema, operations));
+  }
+
+  /**
+   * @return the names of the value fields which are read by an operation or copied as-is into the result, in the order
+   *         of the value schema. Requests which only differ in the layout of their result schema get the same names.
+   */
+  public static List<String> getComputeValueProjectionFieldNames(
+      Schema valueSchema,
+      Schema resultSchema,
+      List<ComputeOperation> operations) {
+    Set<String> fieldNames = new HashSet<>();
+    ReadComputeOperator operator;
+    for (ComputeOperation computeOperation: operations) {
+      operator = ComputeOperationType.valueOf(computeOperation).getOperator();
+      fieldNames.add(operator.getOperatorFieldName(computeOperation));
+    }
+    for (Schema.Field resultField: resultSchema.getFields()) {
+      fieldNames.add(resultField.name());
+    }
+    List<String> projectedFieldNames = new ArrayList<>(fieldNames.size());
+    for (Schema.Field valueField: valueSchema.getFields()) {
+      if (fieldNames.contains(valueField.name())) {
+        projectedFieldNames.add(valueField.name());
+      }
+    }
+    return projectedFieldNames;
+  }
+
+  /**
+   * @param fieldNames the value fields to keep, as given by {@link #getComputeValueProjectionFieldNames}
+   * @return the projected schema, or the value schema itself if all of its fields are kept
+   */
+  public static Schema getComputeValueProjectionSchema(Schema valueSchema, List<String> fieldNames) {
+    if (fieldNames.size() == valueSchema.getFields().size()) {
+      return valueSchema;
+    }
+    List<Schema.Field> projectedFields = new ArrayList<>(fieldNames.size());
+    for (String fieldName: fieldNames) {
+      projectedFields.add(AvroCompatibilityHelper.newField(valueSchema.getField(fieldName)).build());
+    }
+    // The name must be kept, since Avro only resolves the writer schema against a reader record of the same name
+    Schema projectionSchema = Schema
+        .createRecord(valueSchema.getName(), valueSchema.getDoc(), valueSchema.getNamespace(), valueSchema.isError());
+    projectionSchema.setFields(projectedFields);
+    return projectionSchema;
+  }
+
   private interface FloatSupplierByIndex {
     float get(int index);
   }
@@ -0,0 +1,305 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.streaming.StreamingConstants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * The counts of the distinct values of some fields across the values of a set of keys, which lets a compute request
+ * which only needs those counts be aggregated by the servers, see
+ * {@link HttpConstants#VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS}.
+ *
+ * Each server counts the values of the keys it looks up, and returns a single record holding its counts along with the
+ * indexes of the keys it covered, under the {@link StreamingConstants#KEY_ID_FOR_COUNT_BY_VALUE} key index, instead of
+ * one record per key. The client merges the partial counts of all the records it receives, so the size of the response
+ * depends on the number of distinct values, plus a small integer per key, rather than on the size of the results.
+ *
+ * The router can retry a part of the request with its keys chunked differently, so the partial counts of a retried
+ * request could overlap with the counts the client already merged, and could not be told apart. The servers therefore
+ * only count the keys of the original requests, which never overlap, and return the records of the keys of the retried
+ * requests, which the client counts one by one with {@link #addKeyRecord}. The client keeps the values of those keys,
+ * so that it can leave them out if the partial counts of the original request covering them arrive afterward.
+ *
+ * The schema of the record is derived from the result schema of the compute request, so that the values keep their
+ * types on the wire:
+ * <pre>
+ * record CountByValue {
+ *   array&lt;int&gt; keyIndexes;
+ *   record CountByValueFields {
+ *     array&lt;record ValueCount_${field} { ${type of field} value; int count; }&gt; ${field};
+ *     ...
+ *   } valueCounts;
+ * }
+ * </pre>
+ *
+ * Strings are counted as {@link String}, like {@link GenericRecord} values are counted on the client.
+ */
+public class CountByValueAggregation {
+  private static final String NAMESPACE = "com.linkedin.venice.compute.aggregation";
+  private static final String KEY_INDEXES = "keyIndexes";
+  private static final String VALUE_COUNTS = "valueCounts";
+  private static final String VALUE = "value";
+  private static final String COUNT = "count";
+
+  private final List<String> fieldNames;
+  private final Map<String, Map<Object, Integer>> fieldToValueToCount;
+  /**
+   * The indexes of the keys a partial aggregation covers.
+   */
+  private final List<Integer> keyIndexes = new ArrayList<>();
+  /**
+   * The indexes of the keys which the merged aggregation counted, and the subset of them which partial aggregations
+   * covered. The values of the other ones, which were counted one by one, are kept until a partial aggregation covers
+   * them.
+   */
+  private final BitSet countedKeyIndexes = new BitSet();
+  private final BitSet mergedKeyIndexes = new BitSet();
+  private final Map<Integer, Object[]> keyIndexToValues = new HashMap<>();
+
+  public CountByValueAggregation(List<String> fieldNames) {
+    if (fieldNames.isEmpty()) {
+      throw new VeniceException("At least one field is needed to count by value");
+    }
+    this.fieldNames = fieldNames;
+    this.fieldToValueToCount = new HashMap<>(fieldNames.size());
+    for (String fieldName: fieldNames) {
+      fieldToValueToCount.put(fieldName, new HashMap<>());
+    }
+  }
+
+  /**
+   * @return the schema of the record holding the counts of the given fields, whose types are taken from the result
+   *         schema of the compute request
+   */
+  public static Schema getSchema(Schema resultSchema, List<String> fieldNames) {
+    List<Schema.Field> countFields = new ArrayList<>(fieldNames.size());
+    for (String fieldName: fieldNames) {
+      Schema.Field resultField = resultSchema.getField(fieldName);
+      if (resultField == null) {
+        throw new VeniceException("Field to count by value: " + fieldName + " is not in the result schema");
+      }
+      Schema valueCountSchema = Schema.createRecord("ValueCount_" + fieldName, null, NAMESPACE, false);
+      valueCountSchema.setFields(
+          Arrays.asList(
+              AvroCompatibilityHelper.createSchemaField(VALUE, resultField.schema(), null, null),
+              AvroCompatibilityHelper.createSchemaField(COUNT, Schema.create(Schema.Type.INT), null, null)));
+      countFields
+          .add(AvroCompatibilityHelper.createSchemaField(fieldName, Schema.createArray(valueCountSchema), null, null));
+    }
+    Schema valueCountsSchema = Schema.createRecord("CountByValueFields", null, NAMESPACE, false);
+    valueCountsSchema.setFields(countFields);
+
+    Schema schema = Schema.createRecord("CountByValue", null, NAMESPACE, false);
+    schema.setFields(
+        Arrays.asList(
+            AvroCompatibilityHelper
+                .createSchemaField(KEY_INDEXES, Schema.createArray(Schema.create(Schema.Type.INT)), null, null),
+            AvroCompatibilityHelper.createSchemaField(VALUE_COUNTS, valueCountsSchema, null, null)));
+    return schema;
+  }
+
+  /**
+   * Parses the value of the {@link HttpConstants#VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS} header.
+   *
+   * @return the field names, or an empty list if the header is absent
+   */
+  public static List<String> parseFieldNames(String header) {
+    if (header == null || header.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return Arrays.asList(header.split(","));
+  }
+
+  public String getFieldNamesHeader() {
+    return String.join(",", fieldNames);
+  }
+
+  public List<String> getFieldNames() {
+    return fieldNames;
+  }
+
+  /**
+   * Counts the values of the fields in the result record of the key with the given index. The result record can be
+   * reused afterward, since the values are copied.
+   */
+  public void add(int keyIndex, GenericRecord resultRecord) {
+    keyIndexes.add(keyIndex);
+    for (String fieldName: fieldNames) {
+      addCount(fieldName, getValue(resultRecord, fieldName), 1);
+    }
+  }
+
+  /**
+   * Records that the key with the given index was looked up but does not exist, so that it is covered without being
+   * counted.
+   */
+  public void addMissingKey(int keyIndex) {
+    keyIndexes.add(keyIndex);
+  }
+
+  private static Object getValue(GenericRecord resultRecord, String fieldName) {
+    Object value = resultRecord.get(fieldName);
+    if (value instanceof CharSequence) {
+      return value.toString();
+    }
+    // Copying also turns collections into the same type as the deserialized ones, so that they hash alike
+    return copy(resultRecord.getSchema().getField(fieldName).schema(), value);
+  }
+
+  private static Object copy(Schema schema, Object value) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+      return value;
+    }
+    return GenericData.get().deepCopy(schema, value);
+  }
+
+  private void addCount(String fieldName, Object value, int count) {
+    fieldToValueToCount.get(fieldName).merge(value, count, (c1, c2) -> c1 + c2 == 0 ? null : c1 + c2);
+  }
+
+  public GenericRecord toRecord(Schema schema) {
+    Schema valueCountsSchema = schema.getField(VALUE_COUNTS).schema();
+    GenericRecord valueCounts = new GenericData.Record(valueCountsSchema);
+    for (String fieldName: fieldNames) {
+      Map<Object, Integer> valueToCount = fieldToValueToCount.get(fieldName);
+      Schema valueCountSchema = valueCountsSchema.getField(fieldName).schema().getElementType();
+      List<GenericRecord> valueCountList = new ArrayList<>(valueToCount.size());
+      for (Map.Entry<Object, Integer> entry: valueToCount.entrySet()) {
+        GenericRecord valueCount = new GenericData.Record(valueCountSchema);
+        valueCount.put(VALUE, entry.getKey());
+        valueCount.put(COUNT, entry.getValue());
+        valueCountList.add(valueCount);
+      }
+      valueCounts.put(fieldName, valueCountList);
+    }
+    GenericRecord record = new GenericData.Record(schema);
+    record.put(KEY_INDEXES, keyIndexes);
+    record.put(VALUE_COUNTS, valueCounts);
+    return record;
+  }
+
+  public static CountByValueAggregation fromRecord(GenericRecord record) {
+    GenericRecord valueCounts = (GenericRecord) record.get(VALUE_COUNTS);
+    List<Schema.Field> countFields = valueCounts.getSchema().getFields();
+    List<String> fieldNames = new ArrayList<>(countFields.size());
+    for (Schema.Field countField: countFields) {
+      fieldNames.add(countField.name());
+    }
+    CountByValueAggregation aggregation = new CountByValueAggregation(fieldNames);
+    for (Object keyIndex: (List<?>) record.get(KEY_INDEXES)) {
+      aggregation.keyIndexes.add((Integer) keyIndex);
+    }
+    for (String fieldName: fieldNames) {
+      for (Object element: (List<?>) valueCounts.get(fieldName)) {
+        GenericRecord valueCount = (GenericRecord) element;
+        Object value = valueCount.get(VALUE);
+        if (value instanceof CharSequence) {
+          value = value.toString();
+        }
+        aggregation.addCount(fieldName, value, (Integer) valueCount.get(COUNT));
+      }
+    }
+    return aggregation;
+  }
+
+  /**
+   * @return the indexes of the keys which a partial aggregation counted, or found missing
+   */
+  public List<Integer> getKeyIndexes() {
+    return keyIndexes;
+  }
+
+  /**
+   * Adds the counts of a partial aggregation. The keys it covers which were already counted one by one are left out,
+   * and a partial aggregation whose keys were all merged already is a duplicate, which is ignored. Unlike the other
+   * methods, this one is thread-safe, so that the partial aggregations can be merged as they are received.
+   */
+  public synchronized void merge(CountByValueAggregation partial) {
+    for (String fieldName: fieldNames) {
+      if (!partial.fieldToValueToCount.containsKey(fieldName)) {
+        throw new VeniceException("Field: " + fieldName + " is missing from the partial count by value");
+      }
+    }
+    int mergedKeyCount = 0;
+    for (int keyIndex: partial.keyIndexes) {
+      if (mergedKeyIndexes.get(keyIndex)) {
+        ++mergedKeyCount;
+      }
+    }
+    if (mergedKeyCount > 0) {
+      if (mergedKeyCount == partial.keyIndexes.size()) {
+        return;
+      }
+      throw new VeniceException(
+          "Partial count by value covers " + mergedKeyCount + " merged keys out of " + partial.keyIndexes.size());
+    }
+    for (int keyIndex: partial.keyIndexes) {
+      countedKeyIndexes.set(keyIndex);
+      mergedKeyIndexes.set(keyIndex);
+      Object[] values = keyIndexToValues.remove(keyIndex);
+      if (values != null) {
+        for (int i = 0; i < fieldNames.size(); i++) {
+          addCount(fieldNames.get(i), values[i], -1);
+        }
+      }
+    }
+    for (String fieldName: fieldNames) {
+      partial.fieldToValueToCount.get(fieldName).forEach((value, count) -> addCount(fieldName, value, count));
+    }
+  }
+
+  /**
+   * Counts the values of the result record of a single key, which a server returned instead of counting it, unless a
+   * partial aggregation covered the key already. Like {@link #merge}, this method is thread-safe.
+   *
+   * @param resultRecord the result record of the key, or null if the key does not exist
+   */
+  public synchronized void addKeyRecord(int keyIndex, GenericRecord resultRecord) {
+    if (countedKeyIndexes.get(keyIndex)) {
+      return;
+    }
+    countedKeyIndexes.set(keyIndex);
+    if (resultRecord == null) {
+      return;
+    }
+    Object[] values = new Object[fieldNames.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = getValue(resultRecord, fieldNames.get(i));
+      addCount(fieldNames.get(i), values[i], 1);
+    }
+    keyIndexToValues.put(keyIndex, values);
+  }
+
+  /**
+   * @return the number of keys which were counted, or found missing, by the merged aggregation
+   */
+  public synchronized int getKeyCount() {
+    return countedKeyIndexes.cardinality();
+  }
+
+  /**
+   * @return a copy of the counts of the values of the given field, or an empty map if the field is not counted
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> Map<T, Integer> getValueToCount(String fieldName) {
+    Map<Object, Integer> valueToCount = fieldToValueToCount.get(fieldName);
+    Map<T, Integer> copy = new LinkedHashMap<>();
+    if (valueToCount != null) {
+      valueToCount.forEach((value, count) -> copy.put((T) value, count));
+    }
+    return copy;
+  }
+}
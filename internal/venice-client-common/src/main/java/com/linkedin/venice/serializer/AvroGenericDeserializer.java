@@ -54,8 +54,17 @@ public class AvroGenericDeserializer<V> implements RecordDeserializer<V> {
   @Override
   public V deserialize(V reuse, ByteBuffer byteBuffer, BinaryDecoder reusedDecoder)
       throws VeniceSerializationException {
-    BinaryDecoder decoder = AvroCompatibilityHelper
-        .newBinaryDecoder(byteBuffer.array(), byteBuffer.position(), byteBuffer.remaining(), reusedDecoder);
+    if (!byteBuffer.hasArray()) {
+      // A direct buffer, e.g. passed through as is by a compressor, has no array for the decoder to read
+      byte[] bytes = new byte[byteBuffer.remaining()];
+      byteBuffer.duplicate().get(bytes);
+      byteBuffer = ByteBuffer.wrap(bytes);
+    }
+    BinaryDecoder decoder = AvroCompatibilityHelper.newBinaryDecoder(
+        byteBuffer.array(),
+        byteBuffer.arrayOffset() + byteBuffer.position(),
+        byteBuffer.remaining(),
+        reusedDecoder);
     return deserialize(reuse, decoder);
   }
 
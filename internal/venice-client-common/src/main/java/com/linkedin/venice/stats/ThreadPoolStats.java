@@ -3,6 +3,7 @@ package com.linkedin.venice.stats;
 import com.linkedin.venice.stats.metrics.AsyncMetricEntityStateBase;
 import com.linkedin.venice.stats.metrics.MetricEntityStateBase;
 import com.linkedin.venice.stats.metrics.TehutiMetricNameEnum;
+import com.linkedin.venice.utils.concurrent.WeightedFairBlockingQueue;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.stats.Avg;
 import io.tehuti.metrics.stats.Max;
@@ -30,6 +31,14 @@ public class ThreadPoolStats extends AbstractVeniceStats {
         new LambdaStat((ignored, ignored2) -> this.threadPoolExecutor.getMaximumPoolSize(), "max_thread_number"));
     registerSensor(
         new LambdaStat((ignored, ignored2) -> this.threadPoolExecutor.getQueue().size(), "queued_task_count_gauge"));
+    if (threadPoolExecutor.getQueue() instanceof WeightedFairBlockingQueue) {
+      // The number of keys (e.g. stores) with queued tasks, which share the thread pool in turns
+      WeightedFairBlockingQueue fairQueue = (WeightedFairBlockingQueue) threadPoolExecutor.getQueue();
+      registerSensor(new LambdaStat((ignored, ignored2) -> fairQueue.getActiveKeyCount(), "active_queue_count_gauge"));
+      // The number of queued tasks which expired before a worker took them, and were failed without running
+      registerSensor(
+          new LambdaStat((ignored, ignored2) -> fairQueue.getDroppedExpiredTaskCount(), "dropped_expired_task_count"));
+    }
 
     // OTel setup
     OpenTelemetryMetricsSetup.OpenTelemetryMetricsSetupInfo otelData =
@@ -12,6 +12,12 @@ public class StreamingConstants {
    */
   public static final int KEY_ID_FOR_STREAMING_FOOTER = -1000000;
 
+  /**
+   * The key id of the record holding the partial counts of a count-by-value aggregation, which a server returns in
+   * place of the records of the keys it counted. See {@link com.linkedin.venice.compute.CountByValueAggregation}.
+   */
+  public static final int KEY_ID_FOR_COUNT_BY_VALUE = -1000001;
+
   private StreamingConstants() {
   }
 }
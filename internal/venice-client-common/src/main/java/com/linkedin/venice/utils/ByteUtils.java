@@ -176,6 +176,24 @@ public class ByteUtils {
     return left.length - right.length;
   }
 
+  /**
+   * Same as {@link #compare(byte[], byte[])}, but for the remaining bytes of two {@link ByteBuffer}s. The positions of
+   * the buffers are not modified.
+   */
+  public static int compare(ByteBuffer left, ByteBuffer right) {
+    int leftPosition = left.position();
+    int rightPosition = right.position();
+    int length = Math.min(left.remaining(), right.remaining());
+    for (int i = 0; i < length; i++) {
+      int a = (left.get(leftPosition + i) & 0xff);
+      int b = (right.get(rightPosition + i) & 0xff);
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return left.remaining() - right.remaining();
+  }
+
   public static boolean canUseBackedArray(ByteBuffer byteBuffer) {
     return byteBuffer.hasArray() && byteBuffer.array().length == byteBuffer.remaining();
   }
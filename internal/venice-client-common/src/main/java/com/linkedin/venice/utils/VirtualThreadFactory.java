@@ -0,0 +1,75 @@
+package com.linkedin.venice.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * A thread factory creating virtual threads, named like the threads of {@link DaemonThreadFactory}.
+ *
+ * Virtual threads are only available from JDK 21 on, while Venice is built for Java 8, so the factory is resolved via
+ * reflection, and {@link #isSupported()} tells whether the running JDK provides them. Virtual threads are always
+ * daemon threads and ignore priorities.
+ */
+public class VirtualThreadFactory implements ThreadFactory {
+  private static final Logger LOGGER = LogManager.getLogger(VirtualThreadFactory.class);
+  private static final Method OF_VIRTUAL_METHOD;
+  private static final Method NAME_METHOD;
+  private static final Method FACTORY_METHOD;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method factory = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builderClass.getMethod("name", String.class, long.class);
+      factory = builderClass.getMethod("factory");
+      // Fails on the JDKs which only provide virtual threads as a preview feature, without --enable-preview
+      ofVirtual.invoke(null);
+    } catch (Throwable e) {
+      LOGGER.info("Virtual threads are not supported by the running JDK: {}", e.toString());
+      ofVirtual = null;
+    }
+    OF_VIRTUAL_METHOD = ofVirtual;
+    NAME_METHOD = name;
+    FACTORY_METHOD = factory;
+  }
+
+  private final ThreadFactory virtualThreadFactory;
+  private final LogContext logContext;
+
+  public VirtualThreadFactory(String threadNamePrefix, @Nullable LogContext logContext) {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by the running JDK");
+    }
+    try {
+      Object builder = OF_VIRTUAL_METHOD.invoke(null);
+      builder = NAME_METHOD.invoke(builder, threadNamePrefix + "-vt", 0L);
+      this.virtualThreadFactory = (ThreadFactory) FACTORY_METHOD.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Failed to create a virtual thread factory", e);
+    }
+    this.logContext = logContext;
+  }
+
+  public static boolean isSupported() {
+    return OF_VIRTUAL_METHOD != null;
+  }
+
+  @Override
+  public Thread newThread(Runnable r) {
+    return virtualThreadFactory.newThread(() -> {
+      LogContext.setLogContext(logContext);
+      try {
+        r.run();
+      } finally {
+        LogContext.clearLogContext();
+      }
+    });
+  }
+}
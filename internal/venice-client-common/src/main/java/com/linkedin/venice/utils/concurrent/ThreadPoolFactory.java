@@ -5,15 +5,21 @@ import static com.linkedin.venice.utils.concurrent.BlockingQueueType.ARRAY_BLOCK
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.LogContext;
+import com.linkedin.venice.utils.VirtualThreadFactory;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 
 public final class ThreadPoolFactory {
+  private static final Logger LOGGER = LogManager.getLogger(ThreadPoolFactory.class);
+
   private ThreadPoolFactory() {
   }
 
@@ -47,13 +53,60 @@ public final class ThreadPoolFactory {
       int capacity,
       BlockingQueueType blockingQueueType,
       int priority) {
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(
-        threadCount,
+    return createThreadPool(
         threadCount,
-        0,
-        TimeUnit.MILLISECONDS,
+        threadNamePrefix,
+        logContext,
         getExecutionQueue(capacity, blockingQueueType),
+        priority);
+  }
+
+  /**
+   * Creates a thread pool working off the given queue, e.g. a {@link WeightedFairBlockingQueue}.
+   */
+  public static ThreadPoolExecutor createThreadPool(
+      int threadCount,
+      String threadNamePrefix,
+      @Nullable LogContext logContext,
+      BlockingQueue<Runnable> executionQueue,
+      int priority) {
+    return createThreadPool(
+        threadCount,
+        executionQueue,
         new DaemonThreadFactory(threadNamePrefix, priority, logContext));
+  }
+
+  /**
+   * Creates a thread pool running each task on a new virtual thread, so that the tasks blocking on IO do not hold a
+   * platform thread each, with at most {@code maxConcurrency} tasks running at once, see
+   * {@link VirtualThreadPerTaskExecutor}. Falls back to a pool of {@code maxConcurrency} platform threads when the
+   * running JDK does not support virtual threads.
+   */
+  public static ThreadPoolExecutor createVirtualThreadPool(
+      int maxConcurrency,
+      String threadNamePrefix,
+      @Nullable LogContext logContext,
+      BlockingQueue<Runnable> executionQueue) {
+    if (!VirtualThreadFactory.isSupported()) {
+      LOGGER.warn(
+          "Virtual threads are not supported by the running JDK, creating thread pool: {} with platform threads",
+          threadNamePrefix);
+      return createThreadPool(
+          maxConcurrency,
+          threadNamePrefix,
+          logContext,
+          executionQueue,
+          DaemonThreadFactory.UNSPECIFIED_PRIORITY);
+    }
+    return new VirtualThreadPerTaskExecutor(maxConcurrency, threadNamePrefix, logContext, executionQueue);
+  }
+
+  private static ThreadPoolExecutor createThreadPool(
+      int threadCount,
+      BlockingQueue<Runnable> executionQueue,
+      ThreadFactory threadFactory) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS, executionQueue, threadFactory);
     /**
      * When the capacity is fully saturated, the scheduled task will be executed in the caller thread.
      * We will leverage this policy to propagate the back pressure to the caller, so that no more tasks will be
@@ -64,7 +117,7 @@ public final class ThreadPoolFactory {
     return executor;
   }
 
-  private static BlockingQueue<Runnable> getExecutionQueue(int capacity, BlockingQueueType blockingQueueType) {
+  public static BlockingQueue<Runnable> getExecutionQueue(int capacity, BlockingQueueType blockingQueueType) {
     switch (blockingQueueType) {
       case LINKED_BLOCKING_QUEUE:
         return new LinkedBlockingQueue<>(capacity);
@@ -0,0 +1,162 @@
+package com.linkedin.venice.utils.concurrent;
+
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.utils.LogContext;
+import com.linkedin.venice.utils.VirtualThreadFactory;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+
+/**
+ * An executor running each task on a new virtual thread, with at most {@code maxConcurrency} tasks running at once.
+ *
+ * The tasks are queued in the given queue like in any {@link ThreadPoolExecutor}, so that a
+ * {@link WeightedFairBlockingQueue} still decides their order, and the queue stats work as for the other pools. The
+ * only worker of the pool is a platform thread, which takes the tasks from the queue, waits for a permit of the
+ * concurrency semaphore, and hands each task over to a new virtual thread. So the tasks wait in the queue while the
+ * concurrency limit is reached.
+ *
+ * When the queue is full, the caller never waits for a permit, since it can be a Netty event loop: the task is handed
+ * over to a new virtual thread if a permit is available, and is otherwise run by the caller, which propagates the back
+ * pressure like the {@link ThreadPoolExecutor.CallerRunsPolicy} of the other pools.
+ *
+ * {@link #getActiveCount()} and {@link #getMaximumPoolSize()} report the running tasks and the concurrency limit,
+ * rather than the worker. {@link #shutdownNow()} does not interrupt the tasks which are already running.
+ */
+public class VirtualThreadPerTaskExecutor extends ThreadPoolExecutor {
+  private final int maxConcurrency;
+  private final Semaphore concurrencySemaphore;
+  private final ThreadFactory virtualThreadFactory;
+
+  public VirtualThreadPerTaskExecutor(
+      int maxConcurrency,
+      String threadNamePrefix,
+      @Nullable LogContext logContext,
+      BlockingQueue<Runnable> executionQueue) {
+    super(
+        1,
+        1,
+        0,
+        TimeUnit.MILLISECONDS,
+        executionQueue,
+        new DaemonThreadFactory(threadNamePrefix + "-dispatcher", logContext),
+        (task, executor) -> {
+          if (!executor.isShutdown()) {
+            ((Dispatch) task).runOnCaller();
+          }
+        });
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("Max concurrency must be positive, got: " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.concurrencySemaphore = new Semaphore(maxConcurrency);
+    this.virtualThreadFactory = new VirtualThreadFactory(threadNamePrefix, logContext);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    super.execute(task instanceof WeightedFairBlockingQueue.KeyedTask ? new KeyedDispatch(task) : new Dispatch(task));
+  }
+
+  @Override
+  public int getActiveCount() {
+    return maxConcurrency - concurrencySemaphore.availablePermits();
+  }
+
+  @Override
+  public int getMaximumPoolSize() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Waits for the queued tasks to be handed over, and then for the running tasks to complete.
+   */
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+    if (!super.awaitTermination(timeout, unit)) {
+      return false;
+    }
+    if (!concurrencySemaphore.tryAcquire(maxConcurrency, deadlineNs - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+      return false;
+    }
+    concurrencySemaphore.release(maxConcurrency);
+    return true;
+  }
+
+  /**
+   * Hands a task over to a new virtual thread once a permit is available, so that running it only blocks the queue
+   * while the concurrency limit is reached.
+   */
+  private class Dispatch implements Runnable {
+    final Runnable task;
+
+    Dispatch(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      concurrencySemaphore.acquireUninterruptibly();
+      start();
+    }
+
+    /**
+     * Hands the task over to a new virtual thread if a permit is available without waiting, and runs it on the calling
+     * thread otherwise.
+     */
+    void runOnCaller() {
+      if (concurrencySemaphore.tryAcquire()) {
+        start();
+      } else {
+        task.run();
+      }
+    }
+
+    private void start() {
+      try {
+        virtualThreadFactory.newThread(() -> {
+          try {
+            task.run();
+          } finally {
+            concurrencySemaphore.release();
+          }
+        }).start();
+      } catch (Throwable e) {
+        concurrencySemaphore.release();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Keeps the key of a task, so that a {@link WeightedFairBlockingQueue} queues it like the task itself.
+   */
+  private class KeyedDispatch extends Dispatch implements WeightedFairBlockingQueue.KeyedTask {
+    KeyedDispatch(Runnable task) {
+      super(task);
+    }
+
+    @Override
+    public String getQueueKey() {
+      return ((WeightedFairBlockingQueue.KeyedTask) task).getQueueKey();
+    }
+
+    @Override
+    public boolean isExpired() {
+      return ((WeightedFairBlockingQueue.KeyedTask) task).isExpired();
+    }
+
+    /**
+     * Fails the task on the dequeuing thread, without waiting for a permit nor starting a virtual thread.
+     */
+    @Override
+    public void onExpired() {
+      ((WeightedFairBlockingQueue.KeyedTask) task).onExpired();
+    }
+  }
+}
@@ -0,0 +1,425 @@
+package com.linkedin.venice.utils.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * A bounded {@link BlockingQueue} of tasks which keeps a separate FIFO queue per key, and dequeues across the keys
+ * in a weighted round-robin fashion: a key with weight N gets up to N tasks dequeued in its turn before the next key
+ * with pending tasks is served. Used as the work queue of a {@link java.util.concurrent.ThreadPoolExecutor}, this
+ * prevents a single key (e.g. a store sending huge batch gets) from adding its whole backlog to the queueing latency
+ * of all the other keys.
+ *
+ * Tasks implementing {@link KeyedTask} are queued by their key, and all the other tasks share {@link #DEFAULT_KEY}.
+ * Expired tasks are dropped when they reach the head of the queue: instead of being handed to a worker, they are failed
+ * by the dequeuing thread through {@link KeyedTask#onExpired()}, outside of the queue lock, and they do not use the
+ * turn credits of their key. So a key whose backlog timed out goes through it in a single turn, without delaying its
+ * fresh tasks. Only the tasks at the head of the served key are checked, so that dequeuing stays independent of the
+ * number of keys. {@link #peek()} returns the head of the queue, which the next {@link #poll()} drops if it expired in
+ * the meantime, and {@link #drainTo} returns the expired tasks like the others.
+ */
+public class WeightedFairBlockingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+  private static final Logger LOGGER = LogManager.getLogger(WeightedFairBlockingQueue.class);
+
+  public static final String DEFAULT_KEY = "";
+
+  /**
+   * A task which tells the queue which key it belongs to.
+   */
+  public interface KeyedTask extends Runnable {
+    String getQueueKey();
+
+    /**
+     * @return whether the task is past its deadline, in which case it is dropped from the queue.
+     */
+    default boolean isExpired() {
+      return false;
+    }
+
+    /**
+     * Fails the task once it was dropped from the queue as expired. By default, the task is run on the dequeuing
+     * thread, which fits the tasks checking their deadline before doing any work.
+     */
+    default void onExpired() {
+      run();
+    }
+  }
+
+  private final int capacity;
+  private final ToIntFunction<String> weightProvider;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final Map<String, ArrayDeque<Runnable>> queues = new HashMap<>();
+  // The keys with pending tasks, in the order of their turns. The head is the key being served.
+  private final ArrayDeque<String> activeKeys = new ArrayDeque<>();
+  private int remainingTurnCredits;
+  private int count;
+  private long droppedExpiredTaskCount;
+
+  public WeightedFairBlockingQueue(int capacity, ToIntFunction<String> weightProvider) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got: " + capacity);
+    }
+    this.capacity = capacity;
+    this.weightProvider = Objects.requireNonNull(weightProvider, "weightProvider");
+  }
+
+  /**
+   * @return the number of pending tasks of the given key.
+   */
+  public int size(String key) {
+    lock.lock();
+    try {
+      ArrayDeque<Runnable> queue = queues.get(key);
+      return queue == null ? 0 : queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of keys with pending tasks.
+   */
+  public int getActiveKeyCount() {
+    lock.lock();
+    try {
+      return activeKeys.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of expired tasks which were dropped since the creation of the queue.
+   */
+  public long getDroppedExpiredTaskCount() {
+    lock.lock();
+    try {
+      return droppedExpiredTaskCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    lock.lock();
+    try {
+      return capacity - count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable task) {
+    Objects.requireNonNull(task, "task");
+    lock.lock();
+    try {
+      if (count == capacity) {
+        return false;
+      }
+      enqueue(task);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+    Objects.requireNonNull(task, "task");
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (count == capacity) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = notFull.awaitNanos(nanos);
+      }
+      enqueue(task);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(Runnable task) throws InterruptedException {
+    Objects.requireNonNull(task, "task");
+    lock.lockInterruptibly();
+    try {
+      while (count == capacity) {
+        notFull.await();
+      }
+      enqueue(task);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll() {
+    List<KeyedTask> expiredTasks = new ArrayList<>(0);
+    try {
+      lock.lock();
+      try {
+        return count == 0 ? null : dequeue(expiredTasks);
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      failExpiredTasks(expiredTasks);
+    }
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return dequeueOrWait(true, unit.toNanos(timeout));
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    return dequeueOrWait(false, 0);
+  }
+
+  @Override
+  public Runnable peek() {
+    lock.lock();
+    try {
+      return count == 0 ? null : queues.get(activeKeys.peekFirst()).peekFirst();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object task) {
+    if (!(task instanceof Runnable)) {
+      return false;
+    }
+    lock.lock();
+    try {
+      String key = getKey((Runnable) task);
+      ArrayDeque<Runnable> queue = queues.get(key);
+      if (queue == null || !queue.removeFirstOccurrence(task)) {
+        return false;
+      }
+      if (queue.isEmpty()) {
+        deactivate(key);
+      }
+      count--;
+      notFull.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+    Objects.requireNonNull(collection, "collection");
+    if (collection == this) {
+      throw new IllegalArgumentException("Cannot drain a queue into itself");
+    }
+    lock.lock();
+    try {
+      int drained = 0;
+      while (drained < maxElements && count > 0) {
+        collection.add(dequeue(null));
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The iterator works on a snapshot of the pending tasks, and removing through it removes the task from the queue.
+   */
+  @Override
+  public Iterator<Runnable> iterator() {
+    List<Runnable> snapshot;
+    lock.lock();
+    try {
+      snapshot = new ArrayList<>(count);
+      for (String key: activeKeys) {
+        snapshot.addAll(queues.get(key));
+      }
+    } finally {
+      lock.unlock();
+    }
+    Iterator<Runnable> snapshotIterator = snapshot.iterator();
+    return new Iterator<Runnable>() {
+      private Runnable last;
+
+      @Override
+      public boolean hasNext() {
+        return snapshotIterator.hasNext();
+      }
+
+      @Override
+      public Runnable next() {
+        last = snapshotIterator.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        if (last == null) {
+          throw new IllegalStateException();
+        }
+        WeightedFairBlockingQueue.this.remove(last);
+        last = null;
+      }
+    };
+  }
+
+  private static String getKey(Runnable task) {
+    if (task instanceof KeyedTask) {
+      String key = ((KeyedTask) task).getQueueKey();
+      return key == null ? DEFAULT_KEY : key;
+    }
+    return DEFAULT_KEY;
+  }
+
+  private void enqueue(Runnable task) {
+    String key = getKey(task);
+    ArrayDeque<Runnable> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+    if (queue.isEmpty()) {
+      if (activeKeys.isEmpty()) {
+        remainingTurnCredits = getWeight(key);
+      }
+      activeKeys.addLast(key);
+    }
+    queue.addLast(task);
+    count++;
+    notEmpty.signal();
+  }
+
+  /**
+   * Waits for a task which did not expire, and fails the expired tasks dropped meanwhile before waiting any further.
+   */
+  private Runnable dequeueOrWait(boolean timed, long nanos) throws InterruptedException {
+    List<KeyedTask> expiredTasks = new ArrayList<>(0);
+    try {
+      lock.lockInterruptibly();
+      try {
+        while (true) {
+          Runnable task = count == 0 ? null : dequeue(expiredTasks);
+          if (task != null) {
+            return task;
+          }
+          if (!expiredTasks.isEmpty()) {
+            lock.unlock();
+            try {
+              failExpiredTasks(expiredTasks);
+            } finally {
+              lock.lock();
+            }
+          } else if (!timed) {
+            notEmpty.await();
+          } else if (nanos > 0) {
+            nanos = notEmpty.awaitNanos(nanos);
+          } else {
+            return null;
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      failExpiredTasks(expiredTasks);
+    }
+  }
+
+  /**
+   * @param expiredTasks collects the expired tasks which are dropped on the way, or null to return them like the others
+   * @return the dequeued task, or null if all the tasks were dropped
+   */
+  private Runnable dequeue(List<KeyedTask> expiredTasks) {
+    while (count > 0) {
+      String key = activeKeys.peekFirst();
+      ArrayDeque<Runnable> queue = queues.get(key);
+      Runnable task = queue.pollFirst();
+      boolean expired = isExpired(task);
+      if (queue.isEmpty()) {
+        deactivate(key);
+      } else if (!expired && --remainingTurnCredits <= 0) {
+        // The turn of this key is over, it goes back to the end of the line
+        activeKeys.addLast(activeKeys.pollFirst());
+        remainingTurnCredits = getWeight(activeKeys.peekFirst());
+      }
+      count--;
+      notFull.signal();
+      if (!expired || expiredTasks == null) {
+        return task;
+      }
+      expiredTasks.add((KeyedTask) task);
+      droppedExpiredTaskCount++;
+    }
+    return null;
+  }
+
+  private static boolean isExpired(Runnable task) {
+    return task instanceof KeyedTask && ((KeyedTask) task).isExpired();
+  }
+
+  private static void failExpiredTasks(List<KeyedTask> expiredTasks) {
+    for (KeyedTask task: expiredTasks) {
+      try {
+        task.onExpired();
+      } catch (Throwable e) {
+        LOGGER.error("Failed to fail the expired task of key: {}", task.getQueueKey(), e);
+      }
+    }
+    expiredTasks.clear();
+  }
+
+  private void deactivate(String key) {
+    boolean wasServed = key.equals(activeKeys.peekFirst());
+    activeKeys.remove(key);
+    // Remove the empty queue, so that the keys which stopped sending tasks do not accumulate
+    queues.remove(key);
+    if (wasServed && !activeKeys.isEmpty()) {
+      remainingTurnCredits = getWeight(activeKeys.peekFirst());
+    }
+  }
+
+  private int getWeight(String key) {
+    return Math.max(1, weightProvider.applyAsInt(key));
+  }
+}
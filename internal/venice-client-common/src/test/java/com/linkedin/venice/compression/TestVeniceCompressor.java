@@ -173,6 +173,68 @@ public class TestVeniceCompressor {
     }
   }
 
+  @Test(dataProvider = "CompressionStrategy", timeOut = TEST_TIMEOUT)
+  public void testDecompressIntoReusableBuffer(CompressionStrategy strategy) throws IOException {
+    try (VeniceCompressor compressor = getCompressor(strategy)) {
+      // The last value is larger than the reusable buffers of ZSTD_WITH_DICT.
+      int[] sizes = { 10, 1000, 100, ZstdWithDictCompressor.MAX_REUSABLE_BUFFER_SIZE + 1 };
+      for (int size: sizes) {
+        byte[] data = RandomStringUtils.randomAlphabetic(size).getBytes();
+        byte[] compressed = compressor.compress(data);
+        byte[] paddedCompressed = new byte[compressed.length + 8];
+        System.arraycopy(compressed, 0, paddedCompressed, 4, compressed.length);
+        Assert.assertEquals(
+            compressor.decompressIntoReusableBuffer(paddedCompressed, 4, compressed.length),
+            ByteBuffer.wrap(data));
+        Assert.assertEquals(
+            compressor.decompressIntoReusableBuffer(ByteBuffer.wrap(paddedCompressed, 4, compressed.length).slice()),
+            ByteBuffer.wrap(data));
+        ByteBuffer directCompressed = ByteBuffer.allocateDirect(compressed.length);
+        directCompressed.put(compressed);
+        directCompressed.flip();
+        ByteBuffer decompressed = compressor.decompressIntoReusableBuffer(directCompressed);
+        Assert.assertEquals(decompressed, ByteBuffer.wrap(data));
+        if (strategy == CompressionStrategy.ZSTD_WITH_DICT) {
+          // The value is read by decoders working on the backing array
+          Assert.assertTrue(decompressed.hasArray());
+        }
+      }
+    }
+  }
+
+  @Test(dataProvider = "CompressionStrategy", timeOut = TEST_TIMEOUT)
+  public void testDecompressInBatch(CompressionStrategy strategy) throws IOException {
+    try (VeniceCompressor compressor = getCompressor(strategy)) {
+      List<byte[]> values = new ArrayList<>();
+      List<ByteBuffer> compressedValues = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        byte[] value = RandomStringUtils.randomAlphabetic(i * 100 + 1).getBytes();
+        values.add(value);
+        byte[] compressed = compressor.compress(value);
+        if (i % 2 == 0) {
+          compressedValues.add(ByteBuffer.wrap(compressed));
+        } else {
+          ByteBuffer directCompressed = ByteBuffer.allocateDirect(compressed.length);
+          directCompressed.put(compressed);
+          directCompressed.flip();
+          compressedValues.add(directCompressed);
+        }
+      }
+      int[] decompressedLengths = new int[values.size()];
+      ByteBuffer decompressed = compressor.decompressInBatch(compressedValues, decompressedLengths);
+      Assert.assertEquals(decompressed.position(), 0);
+      for (int i = 0; i < values.size(); i++) {
+        Assert.assertEquals(decompressedLengths[i], values.get(i).length);
+        byte[] decompressedValue = new byte[decompressedLengths[i]];
+        decompressed.get(decompressedValue);
+        Assert.assertEquals(decompressedValue, values.get(i));
+        // The compressed values are left untouched.
+        Assert.assertEquals(compressedValues.get(i).position(), 0);
+      }
+      Assert.assertFalse(decompressed.hasRemaining());
+    }
+  }
+
   private enum SourceDataType {
     DIRECT_BYTE_BUFFER, NON_DIRECT_BYTE_BUFFER, BYTE_ARRAY
   }
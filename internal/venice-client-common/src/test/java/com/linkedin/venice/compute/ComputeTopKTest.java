@@ -0,0 +1,73 @@
+package com.linkedin.venice.compute;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.Arrays;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.annotations.Test;
+
+
+public class ComputeTopKTest {
+  private static final Schema RESULT_SCHEMA = SchemaBuilder.record("TestResult")
+      .fields()
+      .optionalFloat("score")
+      .requiredLong("count")
+      .requiredString("name")
+      .endRecord();
+
+  @Test
+  public void testCollector() {
+    ComputeTopK.Collector<String> collector = new ComputeTopK("score", 3).newCollector();
+    assertTrue(collector.add(1.0, "a"));
+    assertTrue(collector.add(5.0, "b"));
+    assertTrue(collector.add(3.0, "c"));
+    // The heap is full, so only higher scores than the lowest kept one are accepted
+    assertFalse(collector.accepts(1.0));
+    assertFalse(collector.add(0.5, "d"));
+    assertTrue(collector.add(4.0, "e"));
+    // On ties, the item added first is kept
+    assertFalse(collector.add(3.0, "f"));
+    assertTrue(collector.add(Double.POSITIVE_INFINITY, "g"));
+    assertEquals(collector.size(), 3);
+    assertEquals(collector.getItems(), Arrays.asList("g", "b", "e"));
+  }
+
+  @Test
+  public void testGetScore() {
+    ComputeTopK topK = new ComputeTopK("score", 1);
+    GenericRecord record = new GenericData.Record(RESULT_SCHEMA);
+    record.put("score", 2.5f);
+    assertEquals(topK.getScore(record), 2.5);
+    record.put("score", null);
+    assertEquals(topK.getScore(record), Double.NEGATIVE_INFINITY);
+  }
+
+  @Test
+  public void testValidate() {
+    new ComputeTopK("score", 1).validate(RESULT_SCHEMA);
+    new ComputeTopK("count", 1).validate(RESULT_SCHEMA);
+    assertThrows(VeniceException.class, () -> new ComputeTopK("name", 1).validate(RESULT_SCHEMA));
+    assertThrows(VeniceException.class, () -> new ComputeTopK("unknown", 1).validate(RESULT_SCHEMA));
+    assertThrows(VeniceException.class, () -> new ComputeTopK("score", 0));
+    assertThrows(VeniceException.class, () -> new ComputeTopK("", 1));
+  }
+
+  @Test
+  public void testHeader() {
+    assertEquals(new ComputeTopK("score", 10).toHeader(), "10,score");
+    ComputeTopK topK = ComputeTopK.parseHeader("10,score");
+    assertEquals(topK.getK(), 10);
+    assertEquals(topK.getScoreFieldName(), "score");
+    assertNull(ComputeTopK.parseHeader(null));
+    assertThrows(VeniceException.class, () -> ComputeTopK.parseHeader("score"));
+    assertThrows(VeniceException.class, () -> ComputeTopK.parseHeader("ten,score"));
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.venice.compute;
 import static com.linkedin.venice.utils.TestWriteUtils.loadFileAsString;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
@@ -12,8 +13,11 @@ import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.DotProduct;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -75,6 +79,92 @@ public class ComputeUtilsTest {
         ((Map<String, String>) outputRecord.get(VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)).isEmpty());
   }
 
+  @Test
+  public void testComputeValueProjectionSchema() {
+    Schema valueSchema = SchemaBuilder.record("Value")
+        .namespace("com.acme")
+        .fields()
+        .requiredInt("id")
+        .requiredString("name")
+        .name("embedding")
+        .type()
+        .array()
+        .items()
+        .floatType()
+        .noDefault()
+        .requiredBytes("blob")
+        .endRecord();
+    Schema resultSchema = SchemaBuilder.record("Result")
+        .fields()
+        .requiredString("name")
+        .requiredFloat("score")
+        .name(VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)
+        .type()
+        .map()
+        .values()
+        .stringType()
+        .noDefault()
+        .endRecord();
+    ComputeOperation operation = new ComputeOperation();
+    operation.setOperationType(ComputeOperationType.DOT_PRODUCT.getValue());
+    DotProduct dotProduct = new DotProduct();
+    dotProduct.setField("embedding");
+    dotProduct.setDotProductParam(Arrays.asList(1.0f, 2.0f));
+    dotProduct.setResultFieldName("score");
+    operation.setOperation(dotProduct);
+    List<ComputeOperation> operations = Collections.singletonList(operation);
+
+    Schema projectionSchema = ComputeUtils.getComputeValueProjectionSchema(valueSchema, resultSchema, operations);
+    assertEquals(projectionSchema.getFullName(), valueSchema.getFullName());
+    assertEquals(projectionSchema.getFields().size(), 2);
+    assertEquals(projectionSchema.getFields().get(0).name(), "name");
+    assertEquals(projectionSchema.getFields().get(1).name(), "embedding");
+
+    // Values deserialized with the projection schema give the same result as the full values
+    GenericRecord valueRecord = new GenericData.Record(valueSchema);
+    valueRecord.put("id", 1);
+    valueRecord.put("name", "foo");
+    valueRecord.put("embedding", Arrays.asList(3.0f, 4.0f));
+    valueRecord.put("blob", ByteBuffer.wrap(new byte[1024]));
+    byte[] valueBytes = SerializerDeserializerFactory.getAvroGenericSerializer(valueSchema).serialize(valueRecord);
+    GenericRecord projectedRecord = SerializerDeserializerFactory
+        .<GenericRecord>getAvroGenericDeserializer(valueSchema, projectionSchema)
+        .deserialize(valueBytes);
+    List<Schema.Field> operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
+    GenericRecord expectedResult =
+        ComputeUtils.computeResult(operations, operationResultFields, new HashMap<>(), valueRecord, resultSchema);
+    GenericRecord projectedResult =
+        ComputeUtils.computeResult(operations, operationResultFields, new HashMap<>(), projectedRecord, resultSchema);
+    assertEquals(projectedResult, expectedResult);
+    assertEquals(projectedResult.get("score"), 11.0f);
+    assertEquals(projectedResult.get("name").toString(), "foo");
+
+    // Requests reading all the fields use the value schema as is
+    Schema fullResultSchema = SchemaBuilder.record("Result")
+        .fields()
+        .requiredInt("id")
+        .requiredString("name")
+        .requiredBytes("blob")
+        .endRecord();
+    assertSame(ComputeUtils.getComputeValueProjectionSchema(valueSchema, fullResultSchema, operations), valueSchema);
+
+    // The projected field names follow the value schema, whatever the order of the result schema
+    Schema reorderedResultSchema = SchemaBuilder.record("Result")
+        .fields()
+        .name(VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)
+        .type()
+        .map()
+        .values()
+        .stringType()
+        .noDefault()
+        .requiredFloat("score")
+        .requiredString("name")
+        .endRecord();
+    assertEquals(
+        ComputeUtils.getComputeValueProjectionFieldNames(valueSchema, reorderedResultSchema, operations),
+        Arrays.asList("name", "embedding"));
+  }
+
   @Test
   public void testGetNullableFieldValueAsList_NonNullValue() {
     GenericRecord record = createGetNullableFieldValueAsListRecord();
@@ -0,0 +1,174 @@
+package com.linkedin.venice.compute;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.testng.annotations.Test;
+
+
+public class CountByValueAggregationTest {
+  private static final Schema RESULT_SCHEMA = SchemaBuilder.record("TestResult")
+      .fields()
+      .optionalString("name")
+      .requiredInt("age")
+      .name("tags")
+      .type()
+      .array()
+      .items()
+      .stringType()
+      .noDefault()
+      .endRecord();
+  private static final List<String> FIELD_NAMES = Arrays.asList("name", "age", "tags");
+
+  private static GenericRecord serializeAndDeserialize(CountByValueAggregation aggregation) {
+    Schema schema = CountByValueAggregation.getSchema(RESULT_SCHEMA, aggregation.getFieldNames());
+    RecordSerializer<GenericRecord> serializer = SerializerDeserializerFactory.getAvroGenericSerializer(schema);
+    RecordDeserializer<GenericRecord> deserializer = SerializerDeserializerFactory.getAvroGenericDeserializer(schema);
+    return deserializer.deserialize(serializer.serialize(aggregation.toRecord(schema)));
+  }
+
+  @Test
+  public void testCountAndSerialize() {
+    CountByValueAggregation aggregation = new CountByValueAggregation(FIELD_NAMES);
+    // The same record instance is reused for all the keys, like on the server
+    GenericRecord record = new GenericData.Record(RESULT_SCHEMA);
+    Utf8 reusedName = new Utf8("foo");
+    record.put("name", reusedName);
+    record.put("age", 10);
+    record.put("tags", new ArrayList<>(Collections.singletonList("a")));
+    aggregation.add(3, record);
+    reusedName.set("bar");
+    aggregation.add(5, record);
+    record.put("name", null);
+    record.put("age", 20);
+    ((List<Object>) record.get("tags")).set(0, "b");
+    aggregation.add(7, record);
+    aggregation.addMissingKey(9);
+
+    CountByValueAggregation deserialized = CountByValueAggregation.fromRecord(serializeAndDeserialize(aggregation));
+    assertEquals(deserialized.getKeyIndexes(), Arrays.asList(3, 5, 7, 9));
+
+    Map<Object, Integer> expectedNameCounts = new HashMap<>();
+    expectedNameCounts.put("foo", 1);
+    expectedNameCounts.put("bar", 1);
+    expectedNameCounts.put(null, 1);
+    assertEquals(deserialized.getValueToCount("name"), expectedNameCounts);
+
+    Map<Object, Integer> expectedAgeCounts = new HashMap<>();
+    expectedAgeCounts.put(10, 2);
+    expectedAgeCounts.put(20, 1);
+    assertEquals(deserialized.getValueToCount("age"), expectedAgeCounts);
+
+    Map<String, Integer> tagCounts = new HashMap<>();
+    deserialized.<List<Utf8>>getValueToCount("tags")
+        .forEach((tags, count) -> tagCounts.put(tags.get(0).toString(), count));
+    Map<String, Integer> expectedTagCounts = new HashMap<>();
+    expectedTagCounts.put("a", 2);
+    expectedTagCounts.put("b", 1);
+    assertEquals(tagCounts, expectedTagCounts);
+
+    assertTrue(deserialized.getValueToCount("unknown").isEmpty());
+  }
+
+  @Test
+  public void testMerge() {
+    GenericRecord record = new GenericData.Record(RESULT_SCHEMA);
+    record.put("name", "foo");
+    record.put("age", 10);
+    record.put("tags", Collections.emptyList());
+
+    CountByValueAggregation partial1 = new CountByValueAggregation(FIELD_NAMES);
+    partial1.add(0, record);
+    partial1.add(1, record);
+    CountByValueAggregation partial2 = new CountByValueAggregation(FIELD_NAMES);
+    record.put("name", "bar");
+    partial2.add(2, record);
+    partial2.addMissingKey(3);
+
+    CountByValueAggregation merged = new CountByValueAggregation(Arrays.asList("name", "age"));
+    merged.merge(CountByValueAggregation.fromRecord(serializeAndDeserialize(partial1)));
+    merged.merge(CountByValueAggregation.fromRecord(serializeAndDeserialize(partial2)));
+    assertEquals(merged.getKeyCount(), 4);
+    Map<Object, Integer> expectedNameCounts = new HashMap<>();
+    expectedNameCounts.put("foo", 2);
+    expectedNameCounts.put("bar", 1);
+    assertEquals(merged.getValueToCount("name"), expectedNameCounts);
+    assertEquals(merged.getValueToCount("age"), Collections.singletonMap(10, 3));
+
+    // A duplicate of a merged partial aggregation is ignored
+    merged.merge(partial1);
+    assertEquals(merged.getKeyCount(), 4);
+    assertEquals(merged.getValueToCount("name"), expectedNameCounts);
+
+    // A partial aggregation which covers only some of the merged keys cannot be merged
+    CountByValueAggregation overlapping = new CountByValueAggregation(FIELD_NAMES);
+    overlapping.add(2, record);
+    overlapping.add(4, record);
+    assertThrows(VeniceException.class, () -> merged.merge(overlapping));
+
+    // A partial aggregation which does not count all the fields cannot be merged
+    CountByValueAggregation nameOnly = new CountByValueAggregation(Collections.singletonList("name"));
+    assertThrows(VeniceException.class, () -> merged.merge(nameOnly));
+  }
+
+  @Test
+  public void testAddKeyRecord() {
+    List<String> fieldNames = Arrays.asList("name", "age");
+    GenericRecord record = new GenericData.Record(RESULT_SCHEMA);
+    record.put("name", new Utf8("foo"));
+    record.put("age", 10);
+    record.put("tags", Collections.emptyList());
+
+    CountByValueAggregation merged = new CountByValueAggregation(fieldNames);
+    // The records of keys 0 and 2 are received one by one, e.g. from a retried request, before the partial aggregation
+    // of the original request covering keys 0 and 1
+    merged.addKeyRecord(0, record);
+    merged.addKeyRecord(2, null);
+    assertEquals(merged.getKeyCount(), 2);
+    assertEquals(merged.getValueToCount("name"), Collections.singletonMap("foo", 1));
+
+    CountByValueAggregation partial = new CountByValueAggregation(fieldNames);
+    partial.add(0, record);
+    record.put("name", "bar");
+    partial.add(1, record);
+    merged.merge(CountByValueAggregation.fromRecord(serializeAndDeserialize(partial)));
+    assertEquals(merged.getKeyCount(), 3);
+    Map<Object, Integer> expectedNameCounts = new HashMap<>();
+    expectedNameCounts.put("foo", 1);
+    expectedNameCounts.put("bar", 1);
+    assertEquals(merged.getValueToCount("name"), expectedNameCounts);
+    assertEquals(merged.getValueToCount("age"), Collections.singletonMap(10, 2));
+
+    // The record of a key which a partial aggregation covered is ignored
+    merged.addKeyRecord(1, record);
+    assertEquals(merged.getKeyCount(), 3);
+    assertEquals(merged.getValueToCount("name"), expectedNameCounts);
+  }
+
+  @Test
+  public void testFieldNames() {
+    assertEquals(CountByValueAggregation.parseFieldNames(null), Collections.emptyList());
+    assertEquals(CountByValueAggregation.parseFieldNames("name,age"), Arrays.asList("name", "age"));
+    assertEquals(new CountByValueAggregation(FIELD_NAMES).getFieldNamesHeader(), "name,age,tags");
+    assertThrows(VeniceException.class, () -> new CountByValueAggregation(Collections.emptyList()));
+    assertThrows(
+        VeniceException.class,
+        () -> CountByValueAggregation.getSchema(RESULT_SCHEMA, Collections.singletonList("unknown")));
+  }
+}
@@ -308,4 +308,21 @@ public class AvroSerializerTest {
 
     return record;
   }
+
+  @Test
+  public void testDeserializeDirectAndSlicedByteBuffers() {
+    byte[] serialized = RECORD_SERIALIZER.serialize(value);
+    RecordDeserializer<Object> deserializer = SerializerDeserializerFactory.getAvroGenericDeserializer(schema);
+
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(serialized.length);
+    directBuffer.put(serialized);
+    directBuffer.flip();
+    assertEquals(deserializer.deserialize(directBuffer).toString(), value);
+    assertEquals(directBuffer.remaining(), serialized.length);
+
+    byte[] padded = new byte[serialized.length + 8];
+    System.arraycopy(serialized, 0, padded, 4, serialized.length);
+    ByteBuffer slicedBuffer = ByteBuffer.wrap(padded, 4, serialized.length).slice();
+    assertEquals(deserializer.deserialize(slicedBuffer).toString(), value);
+  }
 }
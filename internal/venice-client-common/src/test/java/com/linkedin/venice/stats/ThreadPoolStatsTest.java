@@ -1,6 +1,7 @@
 package com.linkedin.venice.stats;
 
 import com.linkedin.venice.tehuti.MockTehutiReporter;
+import com.linkedin.venice.utils.concurrent.WeightedFairBlockingQueue;
 import com.linkedin.venice.utils.metrics.MetricsRepositoryUtils;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.concurrent.BlockingQueue;
@@ -44,4 +45,32 @@ public class ThreadPoolStatsTest {
       metricsRepository.close();
     }
   }
+
+  @Test
+  public void testWeightedFairQueueStats() {
+    MetricsRepository metricsRepository = MetricsRepositoryUtils.createSingleThreadedMetricsRepository();
+    try {
+      MockTehutiReporter reporter = new MockTehutiReporter();
+      metricsRepository.addReporter(reporter);
+
+      ThreadPoolExecutor threadPool = Mockito.mock(ThreadPoolExecutor.class);
+      WeightedFairBlockingQueue queue = new WeightedFairBlockingQueue(10, key -> 1);
+      Mockito.doReturn(queue).when(threadPool).getQueue();
+      String name = "test_fair_pool";
+      new ThreadPoolStats(metricsRepository, threadPool, name);
+
+      WeightedFairBlockingQueue.KeyedTask expiredTask = Mockito.mock(WeightedFairBlockingQueue.KeyedTask.class);
+      Mockito.doReturn("store").when(expiredTask).getQueueKey();
+      Mockito.doReturn(true).when(expiredTask).isExpired();
+      queue.offer(expiredTask);
+      Assert.assertEquals((int) reporter.query("." + name + "--active_queue_count_gauge.LambdaStat").value(), 1);
+
+      Assert.assertNull(queue.poll());
+      Mockito.verify(expiredTask).onExpired();
+      Assert.assertEquals((int) reporter.query("." + name + "--active_queue_count_gauge.LambdaStat").value(), 0);
+      Assert.assertEquals((int) reporter.query("." + name + "--dropped_expired_task_count.LambdaStat").value(), 1);
+    } finally {
+      metricsRepository.close();
+    }
+  }
 }
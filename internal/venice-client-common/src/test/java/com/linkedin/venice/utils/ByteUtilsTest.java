@@ -88,4 +88,25 @@ public class ByteUtilsTest {
     // Empty array produces a consistent hash (the FNV-1a offset basis)
     Assert.assertEquals(ByteUtils.hash64(new byte[0]), ByteUtils.hash64(new byte[0]));
   }
+
+  @Test
+  public void testCompare() {
+    ByteBuffer a = ByteBuffer.wrap("abc".getBytes());
+    ByteBuffer b = ByteBuffer.wrap("abd".getBytes());
+    Assert.assertTrue(ByteUtils.compare(a, b) < 0);
+    Assert.assertTrue(ByteUtils.compare(b, a) > 0);
+    Assert.assertEquals(ByteUtils.compare(a, ByteBuffer.wrap("abc".getBytes())), 0);
+
+    // A prefix sorts first
+    Assert.assertTrue(ByteUtils.compare(ByteBuffer.wrap("ab".getBytes()), a) < 0);
+
+    // Bytes are compared as unsigned values
+    Assert.assertTrue(ByteUtils.compare(ByteBuffer.wrap(new byte[] { 0x7f }), ByteBuffer.wrap(new byte[] { -1 })) < 0);
+
+    // Only the remaining bytes are compared, and positions are left untouched
+    ByteBuffer slice = ByteBuffer.wrap("xxabc".getBytes(), 2, 3);
+    Assert.assertEquals(ByteUtils.compare(slice, a), 0);
+    Assert.assertEquals(slice.position(), 2);
+    Assert.assertEquals(a.position(), 0);
+  }
 }
@@ -3,9 +3,11 @@ package com.linkedin.venice.utils.concurrent;
 import static com.linkedin.venice.utils.concurrent.BlockingQueueType.ARRAY_BLOCKING_QUEUE;
 import static com.linkedin.venice.utils.concurrent.BlockingQueueType.LINKED_BLOCKING_QUEUE;
 
+import com.linkedin.venice.utils.VirtualThreadFactory;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -24,4 +26,23 @@ public class ThreadPoolFactoryTest {
     Assert.assertTrue(executor.getQueue() instanceof ArrayBlockingQueue);
     executor.shutdownNow();
   }
+
+  @Test(timeOut = 10_000)
+  public void testCreateVirtualThreadPool() throws Exception {
+    ThreadPoolExecutor executor =
+        ThreadPoolFactory.createVirtualThreadPool(4, "VirtualThreadPool", null, new LinkedBlockingQueue<>());
+    try {
+      Assert.assertEquals(executor.getMaximumPoolSize(), 4);
+      Thread workerThread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+      Assert.assertTrue(workerThread.getName().startsWith("VirtualThreadPool"));
+      if (VirtualThreadFactory.isSupported()) {
+        Assert.assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(workerThread));
+      } else {
+        // Falls back to platform threads on the JDKs without virtual threads
+        Assert.assertTrue(workerThread.isDaemon());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,93 @@
+package com.linkedin.venice.utils.concurrent;
+
+import com.linkedin.venice.utils.TestUtils;
+import com.linkedin.venice.utils.VirtualThreadFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+
+public class VirtualThreadPerTaskExecutorTest {
+  @Test(timeOut = 10_000)
+  public void testMaxConcurrency() throws Exception {
+    if (!VirtualThreadFactory.isSupported()) {
+      throw new SkipException("Virtual threads are not supported by the running JDK");
+    }
+    VirtualThreadPerTaskExecutor executor =
+        new VirtualThreadPerTaskExecutor(2, "VirtualThreadPerTask", null, new LinkedBlockingQueue<>());
+    try {
+      CountDownLatch releaseLatch = new CountDownLatch(1);
+      AtomicInteger runningTaskCount = new AtomicInteger();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        futures.add(executor.submit(() -> {
+          runningTaskCount.incrementAndGet();
+          releaseLatch.await();
+          return null;
+        }));
+      }
+      // Only 2 tasks run at once, and the others wait in the queue
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertEquals(runningTaskCount.get(), 2);
+        Assert.assertEquals(executor.getActiveCount(), 2);
+        // The dispatcher holds one more task while waiting for a permit
+        Assert.assertEquals(executor.getQueue().size(), 2);
+      });
+      Assert.assertEquals(executor.getMaximumPoolSize(), 2);
+
+      releaseLatch.countDown();
+      for (Future<?> future: futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+      Assert.assertEquals(runningTaskCount.get(), 5);
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+      Assert.assertEquals(executor.getActiveCount(), 0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void testFullQueueDoesNotBlockCaller() throws Exception {
+    if (!VirtualThreadFactory.isSupported()) {
+      throw new SkipException("Virtual threads are not supported by the running JDK");
+    }
+    VirtualThreadPerTaskExecutor executor =
+        new VirtualThreadPerTaskExecutor(1, "VirtualThreadPerTask", null, new ArrayBlockingQueue<>(1));
+    try {
+      CountDownLatch releaseLatch = new CountDownLatch(1);
+      Callable<Void> blockingTask = () -> {
+        releaseLatch.await();
+        return null;
+      };
+      // The first task takes the only permit, and the dispatcher waits for it with the second one
+      executor.submit(blockingTask);
+      executor.submit(blockingTask);
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertEquals(executor.getActiveCount(), 1);
+        Assert.assertEquals(executor.getQueue().size(), 0);
+      });
+      executor.submit(blockingTask);
+      Assert.assertEquals(executor.getQueue().size(), 1);
+
+      // The queue is full and no permit is available, so the caller runs the task instead of waiting
+      AtomicReference<Thread> runningThread = new AtomicReference<>();
+      executor.submit(() -> runningThread.set(Thread.currentThread()));
+      Assert.assertEquals(runningThread.get(), Thread.currentThread());
+      releaseLatch.countDown();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.linkedin.venice.utils.concurrent;
+
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class WeightedFairBlockingQueueTest {
+  private static class TestTask implements WeightedFairBlockingQueue.KeyedTask {
+    private final String key;
+    private final String name;
+    private boolean expired;
+    private boolean failed;
+
+    TestTask(String key, String name) {
+      this.key = key;
+      this.name = name;
+    }
+
+    @Override
+    public String getQueueKey() {
+      return key;
+    }
+
+    @Override
+    public boolean isExpired() {
+      return expired;
+    }
+
+    @Override
+    public void onExpired() {
+      failed = true;
+    }
+
+    @Override
+    public void run() {
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  private static List<String> drainNames(WeightedFairBlockingQueue queue) {
+    List<Runnable> tasks = new ArrayList<>();
+    queue.drainTo(tasks);
+    List<String> names = new ArrayList<>(tasks.size());
+    for (Runnable task: tasks) {
+      names.add(task.toString());
+    }
+    return names;
+  }
+
+  @Test
+  public void testRoundRobinAcrossKeys() {
+    WeightedFairBlockingQueue queue = new WeightedFairBlockingQueue(100, key -> 1);
+    for (int i = 0; i < 4; i++) {
+      queue.offer(new TestTask("batch", "b" + i));
+    }
+    queue.offer(new TestTask("single", "s0"));
+    queue.offer(new TestTask("single", "s1"));
+
+    Assert.assertEquals(queue.size(), 6);
+    Assert.assertEquals(queue.size("batch"), 4);
+    Assert.assertEquals(queue.size("single"), 2);
+    Assert.assertEquals(queue.getActiveKeyCount(), 2);
+    // The tasks of the single get store do not wait behind the whole backlog of the batch get store
+    Assert.assertEquals(drainNames(queue), Arrays.asList("b0", "s0", "b1", "s1", "b2", "b3"));
+    Assert.assertEquals(queue.getActiveKeyCount(), 0);
+  }
+
+  @Test
+  public void testWeights() {
+    Map<String, Integer> weights = Collections.singletonMap("heavy", 3);
+    WeightedFairBlockingQueue queue = new WeightedFairBlockingQueue(100, key -> weights.getOrDefault(key, 1));
+    for (int i = 0; i < 4; i++) {
+      queue.offer(new TestTask("heavy", "h" + i));
+      queue.offer(new TestTask("light", "l" + i));
+    }
+
+    Assert.assertEquals(drainNames(queue), Arrays.asList("h0", "h1", "h2", "l0", "h3", "l1", "l2", "l3"));
+  }
+
+  @Test
+  public void testExpiredTasksAreDropped() throws InterruptedException {
+    WeightedFairBlockingQueue queue = new WeightedFairBlockingQueue(100, key -> 1);
+    List<TestTask> expiredTasks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      TestTask task = new TestTask("store1", "a" + i);
+      // The first two tasks timed out while queued
+      task.expired = i < 2;
+      if (task.expired) {
+        expiredTasks.add(task);
+      }
+      queue.offer(task);
+    }
+    queue.offer(new TestTask("store2", "b0"));
+    queue.offer(new TestTask("store2", "b1"));
+
+    // The expired tasks are failed instead of being returned, and do not use the turn credits of their key
+    List<String> names = new ArrayList<>();
+    Runnable task;
+    while ((task = queue.poll()) != null) {
+      names.add(task.toString());
+    }
+    Assert.assertEquals(names, Arrays.asList("a2", "b0", "b1"));
+    for (TestTask expiredTask: expiredTasks) {
+      Assert.assertTrue(expiredTask.failed);
+    }
+    Assert.assertEquals(queue.getDroppedExpiredTaskCount(), 2);
+    Assert.assertTrue(queue.isEmpty());
+
+    // A waiting worker fails the expired tasks right away, and keeps waiting for a fresh one
+    TestTask expiredTask = new TestTask("store1", "a3");
+    expiredTask.expired = true;
+    queue.offer(expiredTask);
+    Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    Assert.assertTrue(expiredTask.failed);
+    Assert.assertEquals(queue.getDroppedExpiredTaskCount(), 3);
+
+    // The expired tasks are still drained, e.g. by a shutdown of the thread pool
+    TestTask drainedTask = new TestTask("store1", "a4");
+    drainedTask.expired = true;
+    queue.offer(drainedTask);
+    Assert.assertEquals(drainNames(queue), Collections.singletonList("a4"));
+    Assert.assertFalse(drainedTask.failed);
+  }
+
+  @Test
+  public void testCapacityAndRemoval() throws InterruptedException {
+    WeightedFairBlockingQueue queue = new WeightedFairBlockingQueue(2, key -> 1);
+    TestTask task0 = new TestTask("store", "t0");
+    TestTask task1 = new TestTask("store", "t1");
+    Assert.assertTrue(queue.offer(task0));
+    Assert.assertTrue(queue.offer(task1));
+    Assert.assertFalse(queue.offer(new TestTask("store", "t2")));
+    Assert.assertFalse(queue.offer(new TestTask("store", "t2"), 10, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(queue.remainingCapacity(), 0);
+
+    Assert.assertTrue(queue.remove(task0));
+    Assert.assertFalse(queue.remove(task0));
+    Iterator<Runnable> iterator = queue.iterator();
+    Assert.assertSame(iterator.next(), task1);
+    iterator.remove();
+    Assert.assertFalse(iterator.hasNext());
+    Assert.assertTrue(queue.isEmpty());
+    Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+  }
+
+  @Test(timeOut = 10_000)
+  public void testThreadPoolExecutesAllTasks() throws InterruptedException {
+    ThreadPoolExecutor executor = ThreadPoolFactory.createThreadPool(
+        2,
+        "FairThreadPool",
+        null,
+        new WeightedFairBlockingQueue(1000, key -> 1),
+        DaemonThreadFactory.UNSPECIFIED_PRIORITY);
+    CountDownLatch latch = new CountDownLatch(100);
+    try {
+      for (int i = 0; i < 100; i++) {
+        String key = "store" + (i % 3);
+        executor.execute(new TestTask(key, key) {
+          @Override
+          public void run() {
+            latch.countDown();
+          }
+        });
+      }
+      Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -815,6 +815,48 @@ public class ConfigKeys {
   public static final String SERVER_INGESTION_TASK_MAX_IDLE_COUNT = "server.ingestion.task.max.idle.count";
   public static final String STORE_WRITER_BUFFER_MEMORY_CAPACITY = "store.writer.buffer.memory.capacity";
   public static final String STORE_WRITER_BUFFER_NOTIFY_DELTA = "store.writer.buffer.notify.delta";
+  /**
+   * Whether the store writers (drainers) buffer records in per topic-partition queues, which idle drainers can steal
+   * from busy ones, instead of a single queue per drainer. Records of the same topic-partition are still processed in
+   * order.
+   */
+  public static final String STORE_WRITER_WORK_STEALING_ENABLED = "store.writer.work.stealing.enabled";
+  /**
+   * Whether the records consumed by a follower in one poll for a partition are queued to the store writers (drainers)
+   * as a single node, with a single persisted future, instead of one node and one future per record. Batches are capped
+   * by {@link #STORE_WRITER_BUFFER_NOTIFY_DELTA}.
+   */
+  public static final String STORE_WRITER_BUFFER_BATCHING_ENABLED = "store.writer.buffer.batching.enabled";
+  /**
+   * The capacity of the direct buffer in which the leader of a partition keeps the values and replication metadata of
+   * records which are produced but not persisted yet (the transient records), instead of on the heap. The buffer is
+   * allocated when the partition sets its first transient record, and records which do not fit stay on the heap. 0, the
+   * default, keeps all transient records on the heap.
+   */
+  public static final String SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION =
+      "server.transient.record.off.heap.capacity.per.partition";
+  /**
+   * The host-level cap on the direct buffers allocated per partition for
+   * {@link #SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION}. The leader partitions which cannot get a buffer
+   * within it keep their transient records on the heap. Defaults to 1GB.
+   */
+  public static final String SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_TOTAL =
+      "server.transient.record.off.heap.capacity.total";
+  /**
+   * The heap budget of the cache in which the leader of an Active/Active store version keeps the values and replication
+   * metadata it persisted for recently updated keys, so that updates to hot keys can skip the storage lookup once their
+   * transient record is gone. The budget is shared by all the partitions of the version. 0, the default, disables the
+   * cache.
+   */
+  public static final String SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_PER_VERSION =
+      "server.leader.record.lookup.cache.capacity.per.version";
+  /**
+   * The host-level cap on the heap used by all the caches enabled by
+   * {@link #SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_PER_VERSION}. A cache which reaches it evicts its least recently
+   * used entries, and skips caching if it has none left. Defaults to 1GB.
+   */
+  public static final String SERVER_LEADER_RECORD_LOOKUP_CACHE_CAPACITY_TOTAL =
+      "server.leader.record.lookup.cache.capacity.total";
   public static final String SERVER_REST_SERVICE_STORAGE_THREAD_NUM = "server.rest.service.storage.thread.num";
   public static final String SERVER_NETTY_IDLE_TIME_SECONDS = "server.netty.idle.time.seconds";
   public static final String SERVER_MAX_REQUEST_SIZE = "server.max.request.size";
@@ -1099,6 +1141,26 @@ public class ConfigKeys {
    */
   public static final String SERVER_COMPUTE_FAST_AVRO_ENABLED = "server.compute.fast.avro.enabled";
 
+  /**
+   * Whether compute requests deserialize only the value fields which their operations read or project, so that the
+   * deserializer skips over the bytes of all the other fields instead of materializing them.
+   */
+  public static final String SERVER_COMPUTE_VALUE_PROJECTION_ENABLED = "server.compute.value.projection.enabled";
+
+  /**
+   * Whether compute requests which ask for a count-by-value aggregation get a single record with the counts of the
+   * values the server looked up, instead of a record per key. When disabled, the request is served like any other
+   * compute request, and the client counts the values itself.
+   */
+  public static final String SERVER_COMPUTE_COUNT_BY_VALUE_ENABLED = "server.compute.count.by.value.enabled";
+
+  /**
+   * Whether compute requests which only need the K results with the highest scores get at most K records per request
+   * chunk, instead of a record per key. When disabled, the request is served like any other compute request, and the
+   * client ranks all the results itself.
+   */
+  public static final String SERVER_COMPUTE_TOP_K_ENABLED = "server.compute.top.k.enabled";
+
   /**
    * Whether to replace an existing collection-merge (SET_UNION) array element with the incoming element on a conflict,
    * instead of only advancing its replication-metadata timestamp. When two elements are considered equal by Avro's
@@ -1120,6 +1182,27 @@ public class ConfigKeys {
    */
   public static final String SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE = "server.parallel.batch.get.chunk.size";
 
+  /**
+   * Whether parallel batch-get and compute should first group the keys by partition and sort them by key bytes
+   * before splitting them into chunks, so that each chunk touches as few partitions and SST blocks as possible. In
+   * this mode, the chunk size is also adapted to the key count and to the depth of the storage execution queue.
+   */
+  public static final String SERVER_PARALLEL_BATCH_GET_LOCALITY_AWARE_ENABLED =
+      "server.parallel.batch.get.locality.aware.enabled";
+
+  /**
+   * The maximum chunk size used by parallel batch-get when {@link #SERVER_PARALLEL_BATCH_GET_LOCALITY_AWARE_ENABLED}
+   * is enabled. The chunk size grows from {@link #SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE} up to this value as the
+   * storage execution queue gets deeper.
+   */
+  public static final String SERVER_PARALLEL_BATCH_GET_MAX_CHUNK_SIZE = "server.parallel.batch.get.max.chunk.size";
+
+  /**
+   * Whether to look up the keys of batch-get and compute requests with the batched storage engine API (i.e. RocksDB
+   * multiGet), grouped by partition, instead of one key at a time.
+   */
+  public static final String SERVER_BATCH_LOOKUP_ENABLED = "server.batch.lookup.enabled";
+
   /**
    * The request early termination threshold map:
    * The key will be store name, and the value will be the actual threshold.
@@ -1145,6 +1228,40 @@ public class ConfigKeys {
    */
   public static final String SERVER_BLOCKING_QUEUE_TYPE = "server.blocking.queue.type";
 
+  /**
+   * Whether the storage execution and compute thread pools of the read path should queue the requests per store, and
+   * serve the stores in a weighted round-robin fashion instead of in a single FIFO order. Requests which are past
+   * their deadline do not count toward the turn of their store, since they are terminated early.
+   * The capacity of the queues is still controlled by {@link #SERVER_DATABASE_LOOKUP_QUEUE_CAPACITY} and
+   * {@link #SERVER_COMPUTE_QUEUE_CAPACITY}, and {@link #SERVER_BLOCKING_QUEUE_TYPE} is ignored when this is enabled.
+   */
+  public static final String SERVER_STORAGE_EXECUTION_FAIR_SCHEDULING_ENABLED =
+      "server.storage.execution.fair.scheduling.enabled";
+
+  /**
+   * The weights of the stores when {@link #SERVER_STORAGE_EXECUTION_FAIR_SCHEDULING_ENABLED} is on, in the format of
+   * "store1:4,store2:2". A store with weight N gets up to N tasks executed in its turn, and the stores not in the map
+   * have a weight of 1.
+   */
+  public static final String SERVER_STORE_TO_STORAGE_EXECUTION_WEIGHT_MAP =
+      "server.store.to.storage.execution.weight.map";
+
+  /**
+   * Whether the storage execution and compute thread pools of the read path should run their tasks on virtual
+   * threads, so that the lookups blocking on disk do not hold a platform thread each. Only takes effect on JDKs
+   * supporting virtual threads, and platform threads are used otherwise.
+   */
+  public static final String SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_ENABLED =
+      "server.storage.execution.virtual.threads.enabled";
+
+  /**
+   * The maximum number of tasks each read path thread pool executes concurrently when
+   * {@link #SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_ENABLED} is on. When not positive, the thread numbers of the
+   * pools are used, i.e. {@link #SERVER_REST_SERVICE_STORAGE_THREAD_NUM} and {@link #SERVER_COMPUTE_THREAD_NUM}.
+   */
+  public static final String SERVER_STORAGE_EXECUTION_VIRTUAL_THREADS_MAX_CONCURRENCY =
+      "server.storage.execution.virtual.threads.max.concurrency";
+
   /**
    * This config is used to control how much time Server will wait for connection warming from Routers.
    * This is trying to avoid availability issue when router connection warming happens when Server restarts.
@@ -2285,6 +2402,18 @@ public class ConfigKeys {
    */
   public static final String BLOB_TRANSFER_DISABLED_TIME_LAG_THRESHOLD_IN_MINUTES =
       "blob.transfer.disabled.time.lag.threshold.in.minutes";
+  /**
+   * Whether a replica bootstrapping from blob transfer keeps the SST files it already has on disk and advertises them
+   * to the peer, so that the peer only sends the files which are missing or different.
+   */
+  public static final String BLOB_TRANSFER_DELTA_TRANSFER_ENABLED = "blob.transfer.delta.transfer.enabled";
+  /**
+   * The max number of peers a replica bootstrapping from blob transfer fetches its files from at the same time. Files
+   * are only fetched from the peers whose snapshots have the identical file. The default of 1 fetches all the files
+   * from a single peer.
+   */
+  public static final String BLOB_TRANSFER_MAX_PARALLEL_PEERS_PER_REPLICA =
+      "blob.transfer.max.parallel.peers.per.replica";
   // This is a freshness in sec to measure the connectivity between the peers,
   // if the connectivity is not fresh, then retry the connection.
   public static final String BLOB_TRANSFER_PEERS_CONNECTIVITY_FRESHNESS_IN_SECONDS =
@@ -2749,6 +2878,13 @@ public class ConfigKeys {
    */
   public static final String WRITER_BATCHING_MAX_BUFFER_SIZE_IN_BYTES = "writer.batching.max.buffer.size.in.bytes";
 
+  /**
+   * The number of buffers for Venice writer batching feature. Records are assigned to the buffers by the hash of their
+   * key, so that concurrent producers of different keys do not contend on the same buffer, and each buffer holds up
+   * to its share of {@link #WRITER_BATCHING_MAX_BUFFER_SIZE_IN_BYTES}.
+   */
+  public static final String WRITER_BATCHING_BUFFER_SHARD_COUNT = "writer.batching.buffer.shard.count";
+
   /**
    * The maximum age (in milliseconds) of producer state retained by Data Ingestion Validation. Tuning this
    * can prevent OOMing in cases where there is a lot of historical churn in RT producers. The age of a given
@@ -3111,6 +3247,14 @@ public class ConfigKeys {
 
   public static final String SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE =
       "server.aa.wc.workload.parallel.processing.thread.pool.size";
+
+  /**
+   * The number of lock stripes, indexed by key hash, which serialize the processing of the same key in the
+   * Active/Active write path. Unlike the default pool of per-key locks, stripes need no map update nor allocation to be
+   * acquired, and a batch locks them in ascending order. It should be well above the number of keys processed at the
+   * same time per store version. 0, the default, keeps the pool of per-key locks.
+   */
+  public static final String SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT = "server.aa.wc.key.level.lock.stripe.count";
   public static final String SERVER_GLOBAL_RT_DIV_ENABLED = "server.global.rt.div.enabled";
 
   /**
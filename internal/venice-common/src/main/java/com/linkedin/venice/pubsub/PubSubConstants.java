@@ -60,6 +60,14 @@ public class PubSubConstants {
       PUBSUB_CLIENT_CONFIG_PREFIX + "consumer.check.topic.existence";
   public static final boolean PUBSUB_CONSUMER_CHECK_TOPIC_EXISTENCE_DEFAULT_VALUE = false;
 
+  /**
+   * Whether the records returned by a large poll spanning several topic-partitions are deserialized in parallel, one
+   * task per topic-partition on the common fork-join pool, rather than sequentially by the polling thread.
+   */
+  public static final String PUBSUB_CONSUMER_POLL_PARALLEL_DESERIALIZATION_ENABLED =
+      PUBSUB_CLIENT_CONFIG_PREFIX + "consumer.poll.parallel.deserialization.enabled";
+  public static final boolean PUBSUB_CONSUMER_POLL_PARALLEL_DESERIALIZATION_ENABLED_DEFAULT_VALUE = false;
+
   /**
    * Default setting is that no log compaction should happen for hybrid store version topics
    * if the messages are produced within 24 hours; otherwise servers could encounter MISSING
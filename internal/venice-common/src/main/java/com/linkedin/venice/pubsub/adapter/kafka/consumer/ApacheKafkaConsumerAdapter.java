@@ -64,6 +64,8 @@ import org.apache.logging.log4j.Logger;
 @Threadsafe
 public class ApacheKafkaConsumerAdapter implements PubSubConsumerAdapter {
   private static final Logger LOGGER = LogManager.getLogger(ApacheKafkaConsumerAdapter.class);
+  /** Smaller polls are deserialized faster by the polling thread than by forking tasks. */
+  static final int MIN_RECORD_COUNT_FOR_PARALLEL_DESERIALIZATION = 100;
   private final Consumer<byte[], byte[]> kafkaConsumer;
   private final TopicPartitionsOffsetsTracker topicPartitionsOffsetsTracker;
   private final Map<TopicPartition, PubSubTopicPartition> assignments = new HashMap<>();
@@ -387,32 +389,59 @@ public class ApacheKafkaConsumerAdapter implements PubSubConsumerAdapter {
   /**
    * Internal poll method that handles the actual Kafka consumer operations under lock.
    * This method is called by the public poll method which handles retry logic and sleep.
+   *
+   * Only the calls into the Kafka consumer and the lookups of the assignments are made under the lock. The
+   * {@link ConsumerRecords} returned by the consumer are immutable, so the records are deserialized after the lock is
+   * released, and the lock hold time no longer grows with the size of the poll.
+   *
+   * When {@link ApacheKafkaConsumerConfig#isParallelDeserializationEnabled()}, a poll of at least
+   * {@link #MIN_RECORD_COUNT_FOR_PARALLEL_DESERIALIZATION} records spanning several topic-partitions is deserialized
+   * with one task per topic-partition, so that the polling thread is no longer the bottleneck of big polls on shared
+   * consumers. The order of the records within a topic-partition is preserved.
    */
   private Map<PubSubTopicPartition, List<DefaultPubSubMessage>> pollInternal(long timeoutMs) {
+    ConsumerRecords<byte[], byte[]> records;
+    Map<TopicPartition, PubSubTopicPartition> polledPartitions;
     acquireLockWithTimeout();
     try {
-      ConsumerRecords<byte[], byte[]> records = kafkaConsumer.poll(Duration.ofMillis(timeoutMs));
-      Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledPubSubMessages =
-          new HashMap<>(records.partitions().size());
-
+      records = kafkaConsumer.poll(Duration.ofMillis(timeoutMs));
+      polledPartitions = new HashMap<>(records.partitions().size());
       for (TopicPartition topicPartition: records.partitions()) {
-        PubSubTopicPartition pubSubTopicPartition = assignments.get(topicPartition);
-        List<ConsumerRecord<byte[], byte[]>> topicPartitionConsumerRecords = records.records(topicPartition);
-        List<DefaultPubSubMessage> topicPartitionPubSubMessages = new ArrayList<>(topicPartitionConsumerRecords.size());
-        for (ConsumerRecord<byte[], byte[]> consumerRecord: topicPartitionConsumerRecords) {
-          topicPartitionPubSubMessages.add(deserialize(consumerRecord, pubSubTopicPartition));
-        }
-        polledPubSubMessages.put(pubSubTopicPartition, topicPartitionPubSubMessages);
+        polledPartitions.put(topicPartition, assignments.get(topicPartition));
       }
 
       if (topicPartitionsOffsetsTracker != null) {
         topicPartitionsOffsetsTracker.updateEndAndCurrentOffsets(records, kafkaConsumer);
       }
-
-      return polledPubSubMessages;
     } finally {
       releaseLock();
     }
+
+    if (config.isParallelDeserializationEnabled() && polledPartitions.size() > 1
+        && records.count() >= MIN_RECORD_COUNT_FOR_PARALLEL_DESERIALIZATION) {
+      return polledPartitions.entrySet()
+          .parallelStream()
+          .collect(
+              Collectors.toMap(
+                  Map.Entry::getValue,
+                  entry -> deserialize(records.records(entry.getKey()), entry.getValue())));
+    }
+    Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledPubSubMessages =
+        new HashMap<>(polledPartitions.size());
+    for (Map.Entry<TopicPartition, PubSubTopicPartition> entry: polledPartitions.entrySet()) {
+      polledPubSubMessages.put(entry.getValue(), deserialize(records.records(entry.getKey()), entry.getValue()));
+    }
+    return polledPubSubMessages;
+  }
+
+  private List<DefaultPubSubMessage> deserialize(
+      List<ConsumerRecord<byte[], byte[]>> topicPartitionConsumerRecords,
+      PubSubTopicPartition pubSubTopicPartition) {
+    List<DefaultPubSubMessage> topicPartitionPubSubMessages = new ArrayList<>(topicPartitionConsumerRecords.size());
+    for (ConsumerRecord<byte[], byte[]> consumerRecord: topicPartitionConsumerRecords) {
+      topicPartitionPubSubMessages.add(deserialize(consumerRecord, pubSubTopicPartition));
+    }
+    return topicPartitionPubSubMessages;
   }
 
   @Override
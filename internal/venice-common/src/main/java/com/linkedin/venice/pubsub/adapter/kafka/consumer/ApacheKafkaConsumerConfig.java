@@ -58,6 +58,7 @@ public class ApacheKafkaConsumerConfig {
   private final int topicQueryRetryIntervalMs;
   private final Duration defaultApiTimeout;
   private final boolean shouldCheckTopicExistenceBeforeConsuming;
+  private final boolean parallelDeserializationEnabled;
   private final PubSubPositionTypeRegistry pubSubPositionTypeRegistry;
   private final PubSubMessageDeserializer pubSubMessageDeserializer;
   private final TopicPartitionsOffsetsTracker topicPartitionsOffsetsTracker;
@@ -110,6 +111,10 @@ public class ApacheKafkaConsumerConfig {
         PubSubConstants.PUBSUB_CONSUMER_CHECK_TOPIC_EXISTENCE,
         PubSubConstants.PUBSUB_CONSUMER_CHECK_TOPIC_EXISTENCE_DEFAULT_VALUE);
 
+    parallelDeserializationEnabled = veniceProperties.getBoolean(
+        PubSubConstants.PUBSUB_CONSUMER_POLL_PARALLEL_DESERIALIZATION_ENABLED,
+        PubSubConstants.PUBSUB_CONSUMER_POLL_PARALLEL_DESERIALIZATION_ENABLED_DEFAULT_VALUE);
+
     pubSubPositionTypeRegistry = context.getPubSubPositionTypeRegistry();
     pubSubMessageDeserializer = context.getPubSubMessageDeserializer();
 
@@ -158,6 +163,10 @@ public class ApacheKafkaConsumerConfig {
     return shouldCheckTopicExistenceBeforeConsuming;
   }
 
+  boolean isParallelDeserializationEnabled() {
+    return parallelDeserializationEnabled;
+  }
+
   PubSubPositionTypeRegistry getPubSubPositionTypeRegistry() {
     return pubSubPositionTypeRegistry;
   }
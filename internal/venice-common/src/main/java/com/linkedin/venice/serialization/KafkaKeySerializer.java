@@ -4,7 +4,7 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.message.KafkaKey;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Map;
 
 
@@ -40,10 +40,8 @@ public class KafkaKeySerializer implements VeniceKafkaSerializer<KafkaKey> {
    * @return Converted {@link KafkaKey}
    * */
   public KafkaKey deserialize(String topic, byte[] bytes) {
-    // If single-threaded, ByteBuffer can be re-used. TODO: explore GC tuning later.
-    ByteBuffer byteBuffer = ByteBuffer.allocate(bytes.length - KEY_HEADER_SIZE);
-    byteBuffer.put(bytes, KEY_PAYLOAD_OFFSET, bytes.length - KEY_HEADER_SIZE);
-    return new KafkaKey(bytes[KEY_HEADER_OFFSET], byteBuffer.array());
+    // KafkaKey needs a standalone array, so the key is copied once without zero-filling an intermediate buffer first
+    return new KafkaKey(bytes[KEY_HEADER_OFFSET], Arrays.copyOfRange(bytes, KEY_PAYLOAD_OFFSET, bytes.length));
   }
 
   @Override
@@ -0,0 +1,42 @@
+package com.linkedin.venice.stats;
+
+import com.linkedin.venice.writer.BatchingVeniceWriter;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.Avg;
+import io.tehuti.metrics.stats.Max;
+
+
+/**
+ * A host level metric to track the batches produced by {@link BatchingVeniceWriter}.
+ */
+public class BatchingVeniceWriterStats extends AbstractVeniceStats {
+  /**
+   * Number of records buffered in a batch, including the ones merged into a later record of the same key.
+   */
+  private final Sensor batchRecordCountSensor;
+
+  /**
+   * Heap size of the records buffered in a batch.
+   */
+  private final Sensor batchSizeInBytesSensor;
+
+  /**
+   * Ratio of the buffered records of a batch which were not produced since a later record of the same key superseded
+   * them.
+   */
+  private final Sensor batchDedupRatioSensor;
+
+  public BatchingVeniceWriterStats(MetricsRepository metricsRepository) {
+    super(metricsRepository, "BatchingVeniceWriterStats");
+    batchRecordCountSensor = registerSensorIfAbsent("batch_record_count", new Avg(), new Max());
+    batchSizeInBytesSensor = registerSensorIfAbsent("batch_size_in_bytes", new Avg(), new Max());
+    batchDedupRatioSensor = registerSensorIfAbsent("batch_dedup_ratio", new Avg());
+  }
+
+  public void recordBatch(int bufferedRecordCount, int producedRecordCount, int batchSizeInBytes) {
+    batchRecordCountSensor.record(bufferedRecordCount);
+    batchSizeInBytesSensor.record(batchSizeInBytes);
+    batchDedupRatioSensor.record((double) (bufferedRecordCount - producedRecordCount) / bufferedRecordCount);
+  }
+}
@@ -34,6 +34,9 @@ public class RocksDBUtils {
   private static final String TEMP_RMD_SST_FILE_PREFIX = "sst_rmd_file_";
   private static final String TEMP_SNAPSHOT_DIR = ".snapshot_files";
   private static final String TEMP_TRANSFERRED_PARTITION_DIR_PREFIX = "temp_transferred_";
+  // Starts with the temp transferred prefix, so that it is never mistaken for a partition directory.
+  private static final String TEMP_REUSABLE_FILES_DIR_PREFIX = TEMP_TRANSFERRED_PARTITION_DIR_PREFIX + "reusable_";
+  private static final String SST_FILE_EXTENSION = ".sst";
 
   public static String getPartitionDbName(String storeName, int partitionId) {
     return String.format(PARTITION_DB_NAME, storeName, partitionId);
@@ -70,6 +73,12 @@ public class RocksDBUtils {
         + getPartitionDbName(topicName, partitionId);
   }
 
+  // ex. /db/directory/myStore_v3/temp_transferred_reusable_myStore_v3_3/
+  public static String composeReusableFilesDir(String dbDir, String topicName, int partitionId) {
+    return dbDir + File.separator + topicName + File.separator + TEMP_REUSABLE_FILES_DIR_PREFIX
+        + getPartitionDbName(topicName, partitionId);
+  }
+
   public static boolean isTempPartitionDir(String partitionDir) {
     return partitionDir.contains(TEMP_TRANSFERRED_PARTITION_DIR_PREFIX);
   }
@@ -183,6 +192,40 @@ public class RocksDBUtils {
     }
   }
 
+  /**
+   * Hard-link the SST files of the partition directory into the reusable files directory, so that they survive the
+   * removal of the partition directory before a blob transfer, and can be linked back into the transferred partition
+   * instead of being received again. SST files are immutable, so a link of a live file is as good as a copy of it.
+   * example of reusable files dir: /db/directory/myStore_v3/temp_transferred_reusable_myStore_v3_3/
+   *
+   * @param dbDir the base directory where the partition directories are located
+   * @param topicName the topic name
+   * @param partitionId the partition id
+   * @return the number of linked files
+   */
+  public static int linkSSTFilesToReusableFilesDir(String dbDir, String topicName, int partitionId) {
+    String reusableFilesPathStr = composeReusableFilesDir(dbDir, topicName, partitionId);
+    // Files left by a previous attempt may be gone from the partition since then, so always start over.
+    deleteDirectory(reusableFilesPathStr);
+
+    File[] sstFiles = new File(composePartitionDbDir(dbDir, topicName, partitionId))
+        .listFiles((dir, name) -> name.endsWith(SST_FILE_EXTENSION));
+    if (sstFiles == null || sstFiles.length == 0) {
+      return 0;
+    }
+    Path reusableFilesDir = Paths.get(reusableFilesPathStr);
+    try {
+      Files.createDirectories(reusableFilesDir);
+      for (File sstFile: sstFiles) {
+        Files.createLink(reusableFilesDir.resolve(sstFile.getName()), sstFile.toPath());
+      }
+    } catch (Exception e) {
+      deleteDirectory(reusableFilesPathStr);
+      throw new VeniceException("Failed to link SST files to reusable files directory: " + reusableFilesDir, e);
+    }
+    return sstFiles.length;
+  }
+
   /**
    * Cleans up both the partition directory and the temporary transferred directory for a given store, version, and partition.
    * temp directory example: /db/directory/myStore_v3/temp_transferred_myStore_v3_3/
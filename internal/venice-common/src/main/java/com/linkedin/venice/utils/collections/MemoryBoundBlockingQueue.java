@@ -43,6 +43,9 @@ import org.apache.logging.log4j.Logger;
  * are some memory available (less than the delta);
  * 3. If the delta is too small, the big message may not be able to get chance to be buffered when the queue is full;
  *
+ * The same memory accounting is available for records which are buffered elsewhere, through {@link #acquireMemory}
+ * and {@link #releaseMemory}.
+ *
  * @param <T>
  */
 public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQueue<T> {
@@ -100,17 +103,67 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     }
     memoryLock.lock();
     try {
-      while (remainingMemoryCapacityInByte() < recordSize) {
-        hasEnoughMemory.await();
-      }
+      awaitMemory(recordSize);
       queue.add(record);
-      remainingMemoryCapacityInByte.getAndAdd(-recordSize);
       notEmpty.signal();
     } finally {
       memoryLock.unlock();
     }
   }
 
+  /**
+   * Reserves the memory of a record which is buffered outside of this queue, and blocks while it is not available,
+   * like {@link #put}. The memory must be given back with {@link #releaseMemory} once the record is processed.
+   */
+  public void acquireMemory(T record) throws InterruptedException {
+    long recordSize = getRecordSize(record);
+    memoryLock.lock();
+    try {
+      awaitMemory(recordSize);
+    } finally {
+      memoryLock.unlock();
+    }
+  }
+
+  /**
+   * Gives back the memory reserved by {@link #acquireMemory}, like {@link #take} does for a queued record.
+   */
+  public void releaseMemory(T record) {
+    long recordSize = getRecordSize(record);
+    memoryLock.lock();
+    try {
+      freeMemory(recordSize);
+    } finally {
+      memoryLock.unlock();
+    }
+  }
+
+  /**
+   * Must be called with {@link #memoryLock} held.
+   */
+  private void awaitMemory(long recordSize) throws InterruptedException {
+    while (remainingMemoryCapacityInByte() < recordSize) {
+      hasEnoughMemory.await();
+    }
+    remainingMemoryCapacityInByte.getAndAdd(-recordSize);
+  }
+
+  /**
+   * Must be called with {@link #memoryLock} held.
+   */
+  private void freeMemory(long recordSize) {
+    currentFreedMemoryInBytes += recordSize;
+    /**
+     * It won't notify the blocked {@link #put(Measurable)}  thread until the freed memory exceeds
+     * pre-defined {@link #notifyDeltaInByte}.
+     */
+    if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
+      remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
+      currentFreedMemoryInBytes = 0;
+      hasEnoughMemory.signalAll();
+    }
+  }
+
   @Override
   public T take() throws InterruptedException {
     T record = null;
@@ -120,17 +173,7 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
       while ((record = this.queue.poll()) == null) {
         notEmpty.await();
       }
-      long recordSize = getRecordSize(record);
-      currentFreedMemoryInBytes += recordSize;
-      /**
-       * It won't notify the blocked {@link #put(Measurable)}  thread until the freed memory exceeds
-       * pre-defined {@link #notifyDeltaInByte}.
-       */
-      if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
-        remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
-        currentFreedMemoryInBytes = 0;
-        hasEnoughMemory.signalAll();
-      }
+      freeMemory(getRecordSize(record));
     } finally {
       memoryLock.unlock();
     }
@@ -0,0 +1,33 @@
+package com.linkedin.venice.utils.pools;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+
+/**
+ * An implementation which keeps up to {@code capacity} objects for reuse. It allocates a new object on {@link #get()}
+ * when none is available, and lets the garbage collector dispose of the objects given back while the pool is full.
+ *
+ * Unlike a {@link ThreadLocal}, the objects are not tied to a thread, which suits threads that are not reused, e.g. the
+ * virtual threads started for each task.
+ */
+public class BoundedObjectPool<O> extends AbstractObjectPool<O> {
+  private final BlockingQueue<O> objects;
+
+  public BoundedObjectPool(int capacity, Supplier<O> objectSupplier) {
+    super(objectSupplier);
+    this.objects = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public O get() {
+    O object = objects.poll();
+    return object != null ? object : super.get();
+  }
+
+  @Override
+  public void dispose(O object) {
+    objects.offer(object);
+  }
+}
@@ -0,0 +1,27 @@
+package com.linkedin.venice.utils.pools;
+
+import java.util.function.Supplier;
+
+
+/**
+ * An implementation which hands out one object per thread, and returns the same object to all the {@link #get()} calls
+ * of a thread, so that {@link #dispose(Object)} is a no-op. The object of a thread must therefore not be used past the
+ * end of the task which got it.
+ */
+public class ThreadLocalObjectPool<O> implements ObjectPool<O> {
+  private final ThreadLocal<O> threadLocalObject;
+
+  public ThreadLocalObjectPool(Supplier<O> objectSupplier) {
+    this.threadLocalObject = ThreadLocal.withInitial(objectSupplier);
+  }
+
+  @Override
+  public O get() {
+    return threadLocalObject.get();
+  }
+
+  @Override
+  public void dispose(O object) {
+    // No-op
+  }
+}
@@ -13,6 +13,8 @@ import com.linkedin.venice.serialization.VeniceKafkaSerializer;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.stats.BatchingVeniceWriterStats;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import com.linkedin.venice.utils.collections.BiIntKeyCache;
@@ -22,11 +24,13 @@ import com.linkedin.venice.writer.update.UpdateBuilderImpl;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,16 +58,25 @@ import org.apache.logging.log4j.Logger;
  *
  * When the last message is produced, its callback will be completed (either successfully or exceptionally), all the
  * related messages' callbacks will also be completed with the same result.
+ *
+ * The buffer can be split into several {@link BufferShard}s by the hash of the serialized key, each with its own lock,
+ * dedup index and share of the max batch buffer size, so that concurrent producers of different keys do not contend on
+ * a single lock. All the records of a key land in the same shard, which keeps the per-key ordering and last writer wins
+ * semantics above. The periodic check and {@link #flush()} flush the shards in parallel, or on the calling thread once
+ * the writer is closed, while a shard reaching its share of the buffer size is flushed by the producing thread alone.
  */
 public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   public static final Logger LOGGER = LogManager.getLogger(BatchingVeniceWriter.class);
 
   private final long batchIntervalInMs;
   private final int maxBatchSizeInBytes;
-  private final ReentrantLock lock = new ReentrantLock();
   private final ExecutorService checkServiceExecutor = Executors.newSingleThreadExecutor();
-  private final List<ProducerBufferRecord> bufferRecordList = new ArrayList<>();
-  private final Map<ByteBuffer, ProducerBufferRecord> bufferRecordIndex = new VeniceConcurrentHashMap<>();
+  private final BufferShard[] bufferShards;
+  /**
+   * Only used to flush the shards in parallel when there are several of them.
+   */
+  private final ExecutorService flushExecutor;
+  private final BatchingVeniceWriterStats stats;
   private final VeniceWriter<byte[], byte[], byte[]> veniceWriter;
   private final VeniceKafkaSerializer keySerializer;
   private final VeniceKafkaSerializer valueSerializer;
@@ -76,15 +89,67 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
   private final SchemaFetcherBackedStoreSchemaCache storeSchemaCache;
   private volatile long lastBatchProduceMs;
-  private int bufferSizeInBytes;
+
+  /**
+   * A shard of the batch buffer: the buffered records of the keys hashed to it, along with their dedup index and size.
+   */
+  static class BufferShard {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<ProducerBufferRecord> bufferRecordList;
+    private final Map<ByteBuffer, ProducerBufferRecord> bufferRecordIndex;
+    private int bufferSizeInBytes;
+    private volatile long lastProduceMs;
+
+    BufferShard() {
+      this(new ArrayList<>(), new VeniceConcurrentHashMap<>());
+    }
+
+    BufferShard(List<ProducerBufferRecord> bufferRecordList, Map<ByteBuffer, ProducerBufferRecord> bufferRecordIndex) {
+      this.bufferRecordList = bufferRecordList;
+      this.bufferRecordIndex = bufferRecordIndex;
+    }
+
+    ReentrantLock getLock() {
+      return lock;
+    }
+
+    List<ProducerBufferRecord> getBufferRecordList() {
+      return bufferRecordList;
+    }
+
+    Map<ByteBuffer, ProducerBufferRecord> getBufferRecordIndex() {
+      return bufferRecordIndex;
+    }
+
+    int getBufferSizeInBytes() {
+      return bufferSizeInBytes;
+    }
+  }
 
   public BatchingVeniceWriter(
       VeniceWriterOptions params,
       VeniceProperties props,
       PubSubProducerAdapter producerAdapter) {
+    this(params, props, producerAdapter, null);
+  }
+
+  public BatchingVeniceWriter(
+      VeniceWriterOptions params,
+      VeniceProperties props,
+      PubSubProducerAdapter producerAdapter,
+      BatchingVeniceWriterStats stats) {
     super(params.getTopicName());
     this.batchIntervalInMs = params.getBatchIntervalInMs();
     this.maxBatchSizeInBytes = params.getMaxBatchSizeInBytes();
+    int bufferShardCount = Math.max(1, params.getBatchBufferShardCount());
+    this.bufferShards = new BufferShard[bufferShardCount];
+    for (int i = 0; i < bufferShardCount; i++) {
+      bufferShards[i] = new BufferShard();
+    }
+    this.flushExecutor = bufferShardCount > 1
+        ? Executors.newFixedThreadPool(bufferShardCount, new DaemonThreadFactory("BatchingVeniceWriter-flush"))
+        : null;
+    this.stats = stats;
     this.keySerializer = params.getKeyPayloadSerializer();
     this.valueSerializer = params.getValuePayloadSerializer();
     this.updateSerializer = params.getWriteComputePayloadSerializer();
@@ -222,6 +287,10 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
     } else {
       checkServiceExecutor.shutdownNow();
     }
+    if (flushExecutor != null) {
+      // Not shutdownNow(), since a concurrent flush waits for the shard flushes it already submitted
+      flushExecutor.shutdown();
+    }
   }
 
   @Override
@@ -254,19 +323,68 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
     }
   }
 
+  /**
+   * Produces the buffered records of all the shards, in parallel when there are several of them, or on the calling
+   * thread once the writer is closed.
+   */
   void checkAndMaybeProduceBatchRecord() {
-    getLock().lock();
+    BufferShard[] shards = getBufferShards();
     try {
-      if (getBufferRecordList().isEmpty()) {
+      // A simple trick to make sure each time batch produce timestamp is different from previous one, done once for
+      // all the shards rather than once per shard.
+      long lastShardProduceMs = 0;
+      for (BufferShard shard: shards) {
+        lastShardProduceMs = Math.max(lastShardProduceMs, shard.lastProduceMs);
+      }
+      if (System.currentTimeMillis() <= lastShardProduceMs) {
+        Utils.sleep(1);
+      }
+      if (flushExecutor == null || flushExecutor.isShutdown()) {
+        for (BufferShard shard: shards) {
+          produceBatchRecord(shard);
+        }
         return;
       }
+      List<CompletableFuture<Void>> flushFutures = new ArrayList<>(shards.length);
+      for (BufferShard shard: shards) {
+        try {
+          flushFutures.add(CompletableFuture.runAsync(() -> produceBatchRecord(shard), flushExecutor));
+        } catch (RejectedExecutionException e) {
+          // The writer was closed concurrently
+          produceBatchRecord(shard);
+        }
+      }
+      CompletableFuture.allOf(flushFutures.toArray(new CompletableFuture[0])).join();
+    } finally {
+      lastBatchProduceMs = System.currentTimeMillis();
+    }
+  }
+
+  void checkAndMaybeProduceBatchRecord(BufferShard shard) {
+    shard.getLock().lock();
+    try {
       // A simple trick to make sure each time batch produce timestamp is different from previous one.
-      if (System.currentTimeMillis() == lastBatchProduceMs) {
+      if (!shard.getBufferRecordList().isEmpty() && System.currentTimeMillis() == shard.lastProduceMs) {
         Utils.sleep(1);
       }
-      for (ProducerBufferRecord record: getBufferRecordList()) {
+      produceBatchRecord(shard);
+    } finally {
+      shard.getLock().unlock();
+    }
+  }
+
+  private void produceBatchRecord(BufferShard shard) {
+    shard.getLock().lock();
+    try {
+      List<ProducerBufferRecord> bufferRecordList = shard.getBufferRecordList();
+      if (bufferRecordList.isEmpty()) {
+        return;
+      }
+      int producedRecordCount = 0;
+      for (ProducerBufferRecord record: bufferRecordList) {
         if (record.shouldSkipProduce()) {
-          ProducerBufferRecord latestRecord = getBufferRecordIndex().get(ByteBuffer.wrap(record.getSerializedKey()));
+          ProducerBufferRecord latestRecord =
+              shard.getBufferRecordIndex().get(ByteBuffer.wrap(record.getSerializedKey()));
           if (latestRecord != null) {
             latestRecord.addDependentCallback(record.getCallback());
             latestRecord.addRecordToDependentRecordList(record);
@@ -276,19 +394,23 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
         if (record.getMessageType().equals(MessageType.UPDATE) && !record.getDependentRecordList().isEmpty()) {
           maybeUpdateRecordUpdatePayload(record);
         }
+        producedRecordCount++;
         try {
           sendRecord(record);
         } catch (Exception e) {
           record.getCallback().onCompletion(null, e);
         }
       }
+      if (stats != null) {
+        stats.recordBatch(bufferRecordList.size(), producedRecordCount, shard.bufferSizeInBytes);
+      }
     } finally {
-      lastBatchProduceMs = System.currentTimeMillis();
+      shard.lastProduceMs = System.currentTimeMillis();
       // In any case, state should be reset after produce.
-      getBufferRecordIndex().clear();
-      getBufferRecordList().clear();
-      bufferSizeInBytes = 0;
-      getLock().unlock();
+      shard.getBufferRecordIndex().clear();
+      shard.getBufferRecordList().clear();
+      shard.bufferSizeInBytes = 0;
+      shard.getLock().unlock();
     }
   }
 
@@ -309,7 +431,8 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
     byte[] serializedValue = value == null ? null : getValueSerializer().serialize(getTopicName(), value);
     byte[] serializedUpdate = update == null ? null : getUpdateSerializer().serialize(getTopicName(), update);
     CompletableFuture<PubSubProduceResult> produceResultFuture;
-    getLock().lock();
+    BufferShard shard = getBufferShard(serializedKey);
+    shard.getLock().lock();
     try {
       // For logical timestamp record, timestamp compaction is not supported
       ProducerBufferRecord record;
@@ -334,7 +457,7 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
             protocolId,
             callback,
             logicalTimestamp);
-        ProducerBufferRecord prevRecord = getBufferRecordIndex().put(ByteBuffer.wrap(serializedKey), record);
+        ProducerBufferRecord prevRecord = shard.getBufferRecordIndex().put(ByteBuffer.wrap(serializedKey), record);
         if (prevRecord != null) {
           prevRecord.setSkipProduce(true);
           // Try to reuse the same produce future.
@@ -343,15 +466,15 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
           produceResultFuture = new CompletableFuture<>();
         }
       }
-      bufferSizeInBytes += record.getHeapSize();
+      shard.bufferSizeInBytes += record.getHeapSize();
       record.setProduceResultFuture(produceResultFuture);
-      getBufferRecordList().add(record);
-      // Make sure memory usage is under control
-      if (getBufferSizeInBytes() >= getMaxBatchSizeInBytes()) {
-        checkAndMaybeProduceBatchRecord();
+      shard.getBufferRecordList().add(record);
+      // Make sure memory usage is under control, each shard holds up to its share of the max batch size
+      if (shard.getBufferSizeInBytes() >= Math.max(1, getMaxBatchSizeInBytes() / getBufferShards().length)) {
+        checkAndMaybeProduceBatchRecord(shard);
       }
     } finally {
-      getLock().unlock();
+      shard.getLock().unlock();
     }
     return produceResultFuture;
   }
@@ -507,16 +630,13 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
     return builder.build();
   }
 
-  List<ProducerBufferRecord> getBufferRecordList() {
-    return bufferRecordList;
+  BufferShard[] getBufferShards() {
+    return bufferShards;
   }
 
-  Map<ByteBuffer, ProducerBufferRecord> getBufferRecordIndex() {
-    return bufferRecordIndex;
-  }
-
-  ReentrantLock getLock() {
-    return lock;
+  BufferShard getBufferShard(byte[] serializedKey) {
+    BufferShard[] shards = getBufferShards();
+    return shards.length == 1 ? shards[0] : shards[Math.floorMod(Arrays.hashCode(serializedKey), shards.length)];
   }
 
   int getMaxBatchSizeInBytes() {
@@ -524,6 +644,10 @@ public class BatchingVeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U>
   }
 
   int getBufferSizeInBytes() {
+    int bufferSizeInBytes = 0;
+    for (BufferShard shard: getBufferShards()) {
+      bufferSizeInBytes += shard.getBufferSizeInBytes();
+    }
     return bufferSizeInBytes;
   }
 
@@ -15,6 +15,7 @@ import com.linkedin.venice.pubsub.PubSubProducerAdapterFactory;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapter;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapterConcurrentDelegator;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapterDelegator;
+import com.linkedin.venice.stats.BatchingVeniceWriterStats;
 import com.linkedin.venice.stats.VeniceWriterStats;
 import com.linkedin.venice.utils.VeniceProperties;
 import io.tehuti.metrics.MetricsRepository;
@@ -35,6 +36,7 @@ public class VeniceWriterFactory {
   private final VeniceProperties veniceProperties;
   private final PubSubProducerAdapterFactory producerAdapterFactory;
   private final MetricsRepository metricsRepository;
+  private final BatchingVeniceWriterStats batchingVeniceWriterStats;
   private final String defaultBrokerAddress;
   private final PubSubPositionTypeRegistry pubSubPositionTypeRegistry;
 
@@ -57,6 +59,9 @@ public class VeniceWriterFactory {
     this.defaultBrokerAddress = lookupBrokerAddress(veniceProperties);
     if (metricsRepository != null) {
       new VeniceWriterStats(metricsRepository);
+      this.batchingVeniceWriterStats = new BatchingVeniceWriterStats(metricsRepository);
+    } else {
+      this.batchingVeniceWriterStats = null;
     }
     // For now, if VeniceWriterFactory caller does not pass PubSubProducerAdapterFactory, use Kafka factory as default.
     // Eventually we'll force VeniceWriterFactory creators to inject PubSubProducerAdapterFactory.
@@ -87,7 +92,7 @@ public class VeniceWriterFactory {
     PubSubProducerAdapter producerAdapter = buildPubSubProducerAdapter(options);
     if (options.getBatchIntervalInMs() > 0) {
       BatchingVeniceWriter<K, V, U> batchingWriter =
-          new BatchingVeniceWriter<>(options, veniceProperties, producerAdapter);
+          new BatchingVeniceWriter<>(options, veniceProperties, producerAdapter, batchingVeniceWriterStats);
       return batchingWriter;
     }
     return new VeniceWriter<>(options, veniceProperties, producerAdapter);
@@ -39,6 +39,7 @@ public class VeniceWriterOptions {
   // Batching Venice Writer config
   private final long batchIntervalInMs;
   private final int maxBatchSizeInBytes;
+  private final int batchBufferShardCount;
   private final StoreSchemaFetcher storeSchemaFetcher;
   private final VeniceWriterHook writerHook;
   private final LogContext logContext;
@@ -111,6 +112,10 @@ public class VeniceWriterOptions {
     return maxBatchSizeInBytes;
   }
 
+  public int getBatchBufferShardCount() {
+    return batchBufferShardCount;
+  }
+
   public StoreSchemaFetcher getStoreSchemaFetcher() {
     return storeSchemaFetcher;
   }
@@ -146,6 +151,7 @@ public class VeniceWriterOptions {
     pubSubMessageSerializer = builder.pubSubMessageSerializer;
     batchIntervalInMs = builder.batchIntervalInMs;
     maxBatchSizeInBytes = builder.maxBatchSizeInBytes;
+    batchBufferShardCount = builder.batchBufferShardCount;
     storeSchemaFetcher = builder.storeSchemaFetcher;
     writerHook = builder.writerHook;
     logContext = builder.logContext;
@@ -208,6 +214,7 @@ public class VeniceWriterOptions {
     private int producerQueueSize = 5 * 1024 * 1024; // 5MB by default
     private long batchIntervalInMs = 0; // Not enabled by default
     private int maxBatchSizeInBytes = 5 * 1024 * 1024; // 5MB batch size by default
+    private int batchBufferShardCount = 1;
     private StoreSchemaFetcher storeSchemaFetcher;
     private VeniceWriterHook writerHook;
     private LogContext logContext;
@@ -287,6 +294,7 @@ public class VeniceWriterOptions {
       this.pubSubMessageSerializer = options.pubSubMessageSerializer;
       this.batchIntervalInMs = options.batchIntervalInMs;
       this.maxBatchSizeInBytes = options.maxBatchSizeInBytes;
+      this.batchBufferShardCount = options.batchBufferShardCount;
       this.storeSchemaFetcher = options.storeSchemaFetcher;
       this.writerHook = options.writerHook;
       this.logContext = options.logContext;
@@ -362,6 +370,11 @@ public class VeniceWriterOptions {
       return this;
     }
 
+    public Builder setBatchBufferShardCount(int batchBufferShardCount) {
+      this.batchBufferShardCount = batchBufferShardCount;
+      return this;
+    }
+
     public Builder setStoreSchemaFetcher(StoreSchemaFetcher storeSchemaFetcher) {
       this.storeSchemaFetcher = storeSchemaFetcher;
       return this;
@@ -27,6 +27,7 @@ import com.linkedin.venice.kafka.protocol.ProducerMetadata;
 import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
 import com.linkedin.venice.pubsub.PubSubPositionTypeRegistry;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionInfo;
@@ -984,6 +985,90 @@ public class ApacheKafkaConsumerAdapterTest {
             + "), proving mutual exclusion");
   }
 
+  @Test(timeOut = 15_000)
+  public void testPollDeserializesRecordsOutsideOfLock() throws Exception {
+    CountDownLatch deserializeEntered = new CountDownLatch(1);
+    CountDownLatch deserializeRelease = new CountDownLatch(1);
+    DefaultPubSubMessage message = mock(DefaultPubSubMessage.class);
+    PubSubMessageDeserializer blockingDeserializer = mock(PubSubMessageDeserializer.class);
+    doAnswer(invocation -> {
+      deserializeEntered.countDown();
+      deserializeRelease.await();
+      return message;
+    }).when(blockingDeserializer).deserialize(any(), any(), any(), any(), any(), anyLong());
+    when(apacheKafkaConsumerConfig.getPubSubMessageDeserializer()).thenReturn(blockingDeserializer);
+    when(apacheKafkaConsumerConfig.getConsumerPollRetryTimes()).thenReturn(1);
+    kafkaConsumerAdapter = new ApacheKafkaConsumerAdapter(internalKafkaConsumer, apacheKafkaConsumerConfig);
+
+    when(internalKafkaConsumer.assignment()).thenReturn(Collections.emptySet());
+    kafkaConsumerAdapter.subscribe(pubSubTopicPartition, PubSubSymbolicPosition.EARLIEST, false);
+    when(internalKafkaConsumer.assignment()).thenReturn(Collections.singleton(topicPartition));
+    ConsumerRecord<byte[], byte[]> record = new ConsumerRecord<>("test", 0, 75, new byte[0], new byte[0]);
+    doReturn(new ConsumerRecords<>(Collections.singletonMap(topicPartition, Collections.singletonList(record))))
+        .when(internalKafkaConsumer)
+        .poll(any(Duration.class));
+
+    ExecutorService pool = Executors.newFixedThreadPool(1);
+    try {
+      Future<Map<PubSubTopicPartition, List<DefaultPubSubMessage>>> pollFuture =
+          pool.submit(() -> kafkaConsumerAdapter.poll(1000));
+      assertTrue(deserializeEntered.await(5, TimeUnit.SECONDS), "deserialize did not start in time");
+
+      // The lock is free while the polled records are deserialized, so other operations are not blocked
+      kafkaConsumerAdapter.pause(pubSubTopicPartition);
+      verify(internalKafkaConsumer).pause(Collections.singletonList(topicPartition));
+
+      deserializeRelease.countDown();
+      Map<PubSubTopicPartition, List<DefaultPubSubMessage>> messages = pollFuture.get(5, TimeUnit.SECONDS);
+      assertEquals(messages.get(pubSubTopicPartition), Collections.singletonList(message));
+    } finally {
+      deserializeRelease.countDown();
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPollDeserializesPartitionsInParallel() {
+    int recordCountPerPartition = ApacheKafkaConsumerAdapter.MIN_RECORD_COUNT_FOR_PARALLEL_DESERIALIZATION;
+    PubSubMessageDeserializer positionDeserializer = mock(PubSubMessageDeserializer.class);
+    doAnswer(invocation -> {
+      PubSubTopicPartition tp = invocation.getArgument(0);
+      PubSubPosition position = invocation.getArgument(4);
+      return new ImmutablePubSubMessage(null, null, tp, position, 0, 0);
+    }).when(positionDeserializer).deserialize(any(), any(), any(), any(), any(), anyLong());
+    when(apacheKafkaConsumerConfig.getPubSubMessageDeserializer()).thenReturn(positionDeserializer);
+    when(apacheKafkaConsumerConfig.isParallelDeserializationEnabled()).thenReturn(true);
+    when(apacheKafkaConsumerConfig.getConsumerPollRetryTimes()).thenReturn(1);
+    kafkaConsumerAdapter = new ApacheKafkaConsumerAdapter(internalKafkaConsumer, apacheKafkaConsumerConfig);
+
+    PubSubTopicPartition otherPubSubTopicPartition =
+        new PubSubTopicPartitionImpl(pubSubTopicRepository.getTopic("test"), 1);
+    TopicPartition otherTopicPartition = new TopicPartition("test", 1);
+    when(internalKafkaConsumer.assignment()).thenReturn(Collections.emptySet());
+    kafkaConsumerAdapter.subscribe(pubSubTopicPartition, PubSubSymbolicPosition.EARLIEST, false);
+    kafkaConsumerAdapter.subscribe(otherPubSubTopicPartition, PubSubSymbolicPosition.EARLIEST, false);
+    Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> polledRecords = new HashMap<>();
+    for (TopicPartition tp: Arrays.asList(topicPartition, otherTopicPartition)) {
+      List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+      for (long offset = 0; offset < recordCountPerPartition; offset++) {
+        records.add(new ConsumerRecord<>("test", tp.partition(), offset, new byte[0], new byte[0]));
+      }
+      polledRecords.put(tp, records);
+    }
+    doReturn(new ConsumerRecords<>(polledRecords)).when(internalKafkaConsumer).poll(any(Duration.class));
+
+    Map<PubSubTopicPartition, List<DefaultPubSubMessage>> messages = kafkaConsumerAdapter.poll(1000);
+    assertEquals(messages.size(), 2);
+    for (PubSubTopicPartition tp: Arrays.asList(pubSubTopicPartition, otherPubSubTopicPartition)) {
+      List<DefaultPubSubMessage> partitionMessages = messages.get(tp);
+      assertEquals(partitionMessages.size(), recordCountPerPartition);
+      // The records of a partition keep their order
+      for (int i = 0; i < recordCountPerPartition; i++) {
+        assertEquals(partitionMessages.get(i).getPosition(), ApacheKafkaOffsetPosition.of(i));
+      }
+    }
+  }
+
   @Test
   public void testAdvancePositionBasic() {
     ApacheKafkaOffsetPosition start = new ApacheKafkaOffsetPosition(10L);
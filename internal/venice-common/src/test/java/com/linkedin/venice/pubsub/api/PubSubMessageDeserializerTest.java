@@ -5,6 +5,7 @@ import static com.linkedin.venice.pubsub.api.PubSubMessageHeaders.VENICE_TRANSPO
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 import com.linkedin.venice.exceptions.VeniceMessageException;
 import com.linkedin.venice.kafka.protocol.GUID;
@@ -348,6 +349,30 @@ public class PubSubMessageDeserializerTest {
     assertEquals(message.getPubSubMessageTime(), producerTimestamp);
   }
 
+  @Test
+  public void testDeserializerWrapsPayloadsOfRecordValue() {
+    KafkaKey key = new KafkaKey(MessageType.PUT, "key".getBytes());
+    KafkaMessageEnvelope value = getDummyValue();
+    Put put = (Put) value.payloadUnion;
+    put.replicationMetadataPayload = ByteBuffer.wrap("rmd".getBytes());
+    byte[] valueBytes = valueSerializer.serialize("test", value);
+
+    DefaultPubSubMessage message = messageDeserializer.deserialize(
+        topicPartition,
+        keySerializer.serialize("test", key),
+        valueBytes,
+        new PubSubMessageHeaders(),
+        position,
+        12L);
+
+    // The payloads are views over the value of the record rather than copies of it
+    Put actualPut = (Put) message.getValue().payloadUnion;
+    assertSame(actualPut.putValue.array(), valueBytes);
+    assertEquals(actualPut.putValue.remaining(), put.putValue.remaining());
+    assertSame(actualPut.replicationMetadataPayload.array(), valueBytes);
+    assertEquals(actualPut.replicationMetadataPayload, ByteBuffer.wrap("rmd".getBytes()));
+  }
+
   private KafkaMessageEnvelope getDummyValue() {
     KafkaMessageEnvelope value = new KafkaMessageEnvelope();
     value.producerMetadata = new ProducerMetadata();
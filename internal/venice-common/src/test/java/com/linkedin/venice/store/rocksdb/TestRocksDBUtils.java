@@ -160,4 +160,34 @@ public class TestRocksDBUtils {
     assertFalse(Files.exists(partitionDir));
     assertFalse(Files.exists(tempPartitionDir));
   }
+
+  @Test
+  public void testLinkSSTFilesToReusableFilesDir() throws IOException {
+    Path partitionDir = baseDir.resolve("storeName_v1/storeName_v1_1");
+    Files.createDirectories(partitionDir.resolve(".snapshot_files"));
+    Files.write(partitionDir.resolve("000001.sst"), "sst1".getBytes());
+    Files.write(partitionDir.resolve("000002.sst"), "sst2".getBytes());
+    Files.createFile(partitionDir.resolve("MANIFEST-000001"));
+    Files.createFile(partitionDir.resolve(".snapshot_files/000003.sst"));
+    // A leftover of a previous attempt, which is not in the partition anymore
+    Path reusableFilesDir = baseDir.resolve("storeName_v1/temp_transferred_reusable_storeName_v1_1");
+    Files.createDirectories(reusableFilesDir);
+    Files.createFile(reusableFilesDir.resolve("000000.sst"));
+
+    Assert.assertEquals(RocksDBUtils.linkSSTFilesToReusableFilesDir(baseDir.toString(), "storeName_v1", 1), 2);
+    Assert.assertEquals(
+        RocksDBUtils.composeReusableFilesDir(baseDir.toString(), "storeName_v1", 1),
+        reusableFilesDir.toString());
+    assertTrue(RocksDBUtils.isTempPartitionDir(reusableFilesDir.getFileName().toString()));
+    Assert.assertEquals(reusableFilesDir.toFile().list().length, 2);
+
+    // The links survive the removal of the partition directory
+    RocksDBUtils.deleteDirectory(partitionDir.toString());
+    Assert.assertEquals(Files.readAllBytes(reusableFilesDir.resolve("000001.sst")), "sst1".getBytes());
+    Assert.assertEquals(Files.readAllBytes(reusableFilesDir.resolve("000002.sst")), "sst2".getBytes());
+
+    // Without any SST file, nothing is kept
+    Assert.assertEquals(RocksDBUtils.linkSSTFilesToReusableFilesDir(baseDir.toString(), "storeName_v1", 1), 0);
+    assertFalse(Files.exists(reusableFilesDir));
+  }
 }
@@ -119,4 +119,36 @@ public class MemoryBoundBlockingQueueTest {
       TestUtils.shutdownThread(t);
     }
   }
+
+  @Test
+  public void testAcquireAndReleaseMemory() throws InterruptedException {
+    int recordSize = MemoryBoundBlockingQueue.LINKED_LIST_NODE_SHALLOW_OVERHEAD + MeasurableObject.SIZE;
+    MemoryBoundBlockingQueue<MeasurableObject> queue = new MemoryBoundBlockingQueue<>(2 * recordSize, recordSize);
+    queue.acquireMemory(new MeasurableObject());
+    queue.put(new MeasurableObject());
+    Assert.assertEquals(queue.getMemoryUsage(), 2 * recordSize);
+    Assert.assertEquals(queue.remainingMemoryCapacityInByte(), 0);
+    // Only the queued record is in the queue, while the memory of both is accounted
+    Assert.assertEquals(queue.size(), 1);
+
+    Thread t = new Thread(() -> {
+      try {
+        queue.acquireMemory(new MeasurableObject());
+      } catch (InterruptedException e) {
+        // Interrupted by the test clean up
+      }
+    });
+    t.start();
+    try {
+      Thread.sleep(50);
+      Assert.assertTrue(t.isAlive());
+      // Releasing the memory of the record buffered elsewhere unblocks the waiting thread
+      queue.releaseMemory(new MeasurableObject());
+      t.join(TimeUnit.SECONDS.toMillis(5));
+      Assert.assertFalse(t.isAlive());
+      Assert.assertEquals(queue.getMemoryUsage(), 2 * recordSize);
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
 }
@@ -4,6 +4,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -23,6 +25,7 @@ import com.linkedin.venice.serialization.avro.VeniceAvroKafkaSerializer;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.stats.BatchingVeniceWriterStats;
 import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.VeniceProperties;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
@@ -33,8 +36,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -466,10 +474,12 @@ public class BatchingVeniceWriterTest {
 
     bufferRecordList.clear();
     bufferRecordIndex.clear();
-    doReturn(bufferRecordIndex).when(writer).getBufferRecordIndex();
-    doReturn(bufferRecordList).when(writer).getBufferRecordList();
+    BatchingVeniceWriter.BufferShard shard = new BatchingVeniceWriter.BufferShard(bufferRecordList, bufferRecordIndex);
+    doReturn(new BatchingVeniceWriter.BufferShard[] { shard }).when(writer).getBufferShards();
+    doCallRealMethod().when(writer).getBufferShard(any());
     doCallRealMethod().when(writer).addRecordToBuffer(any(), any(), any(), any(), anyInt(), anyInt(), any(), anyLong());
     doCallRealMethod().when(writer).checkAndMaybeProduceBatchRecord();
+    doCallRealMethod().when(writer).checkAndMaybeProduceBatchRecord(any());
     doCallRealMethod().when(writer).sendRecord(any());
     doCallRealMethod().when(writer).put(any(), any(), anyInt(), any());
     doCallRealMethod().when(writer).put(any(), any(), anyInt(), anyLong(), any());
@@ -482,8 +492,6 @@ public class BatchingVeniceWriterTest {
     doReturn(valueDeserializer).when(writer).getValueDeserializer(anyInt(), anyInt());
     doReturn(updateHandler).when(writer).getUpdateHandler();
 
-    ReentrantLock lock = new ReentrantLock();
-    doReturn(lock).when(writer).getLock();
     // Set to a big number to avoid direct produce.
     doReturn(100000).when(writer).getMaxBatchSizeInBytes();
 
@@ -551,4 +559,106 @@ public class BatchingVeniceWriterTest {
     verify(mockHook).onBeforeProduce(eq(VeniceWriterHook.OperationType.DELETE), anyInt(), eq(0));
     verify(mockHook).onBeforeProduce(eq(VeniceWriterHook.OperationType.UPDATE), anyInt(), anyInt());
   }
+
+  @Test(timeOut = 60_000)
+  public void testShardedBufferDeduplicatesConcurrentWrites() throws Exception {
+    PubSubProducerAdapter mockProducer = mock(PubSubProducerAdapter.class);
+    doReturn(mock(CompletableFuture.class)).when(mockProducer).sendMessage(any(), any(), any(), any(), any(), any());
+    BatchingVeniceWriterStats stats = mock(BatchingVeniceWriterStats.class);
+    PubSubProducerCallback callback = (result, exception) -> {};
+    int threadCount = 8;
+    int keyCount = 50;
+    BatchingVeniceWriter<byte[], byte[], byte[]> writer = new BatchingVeniceWriter<>(
+        new VeniceWriterOptions.Builder("abc").setPartitionCount(1)
+            .setBatchIntervalInMs(TimeUnit.HOURS.toMillis(1))
+            .setBatchBufferShardCount(4)
+            .build(),
+        VeniceProperties.empty(),
+        mockProducer,
+        stats);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        futures.add(executor.submit(() -> {
+          for (int k = 0; k < keyCount; k++) {
+            writer.delete(("key" + k).getBytes(), callback);
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+      Assert.assertTrue(writer.getBufferSizeInBytes() > 0);
+      writer.flush();
+      Assert.assertEquals(writer.getBufferSizeInBytes(), 0);
+
+      // Each shard records its own batch, and only the last record of each key is produced
+      ArgumentCaptor<Integer> bufferedCaptor = ArgumentCaptor.forClass(Integer.class);
+      ArgumentCaptor<Integer> producedCaptor = ArgumentCaptor.forClass(Integer.class);
+      verify(stats, atLeast(2)).recordBatch(bufferedCaptor.capture(), producedCaptor.capture(), anyInt());
+      Assert.assertEquals(
+          bufferedCaptor.getAllValues().stream().mapToInt(Integer::intValue).sum(),
+          threadCount * keyCount);
+      Assert.assertEquals(producedCaptor.getAllValues().stream().mapToInt(Integer::intValue).sum(), keyCount);
+    } finally {
+      executor.shutdownNow();
+      writer.close(false);
+    }
+  }
+
+  @Test
+  public void testFlushAfterClose() {
+    PubSubProducerAdapter mockProducer = mock(PubSubProducerAdapter.class);
+    doReturn(mock(CompletableFuture.class)).when(mockProducer).sendMessage(any(), any(), any(), any(), any(), any());
+    BatchingVeniceWriterStats stats = mock(BatchingVeniceWriterStats.class);
+    BatchingVeniceWriter<byte[], byte[], byte[]> writer = new BatchingVeniceWriter<>(
+        new VeniceWriterOptions.Builder("abc").setPartitionCount(1)
+            .setBatchIntervalInMs(TimeUnit.HOURS.toMillis(1))
+            .setBatchBufferShardCount(4)
+            .build(),
+        VeniceProperties.empty(),
+        mockProducer,
+        stats);
+    for (int k = 0; k < 10; k++) {
+      writer.delete(("key" + k).getBytes(), (result, exception) -> {});
+    }
+    writer.close(false);
+    // The records buffered before closing are still produced on the calling thread
+    writer.flush();
+    Assert.assertEquals(writer.getBufferSizeInBytes(), 0);
+    ArgumentCaptor<Integer> producedCaptor = ArgumentCaptor.forClass(Integer.class);
+    verify(stats, atLeast(1)).recordBatch(anyInt(), producedCaptor.capture(), anyInt());
+    Assert.assertEquals(producedCaptor.getAllValues().stream().mapToInt(Integer::intValue).sum(), 10);
+  }
+
+  @Test
+  public void testShardsAreFlushedInParallel() {
+    PubSubProducerAdapter mockProducer = mock(PubSubProducerAdapter.class);
+    Set<String> producingThreadNames = ConcurrentHashMap.newKeySet();
+    doAnswer(invocation -> {
+      producingThreadNames.add(Thread.currentThread().getName());
+      return mock(CompletableFuture.class);
+    }).when(mockProducer).sendMessage(any(), any(), any(), any(), any(), any());
+    BatchingVeniceWriter<byte[], byte[], byte[]> writer = new BatchingVeniceWriter<>(
+        new VeniceWriterOptions.Builder("abc").setPartitionCount(1)
+            .setBatchIntervalInMs(TimeUnit.HOURS.toMillis(1))
+            .setBatchBufferShardCount(4)
+            .build(),
+        VeniceProperties.empty(),
+        mockProducer);
+    try {
+      for (int k = 0; k < 100; k++) {
+        writer.delete(("key" + k).getBytes(), (result, exception) -> {});
+      }
+      writer.flush();
+      Assert.assertEquals(writer.getBufferSizeInBytes(), 0);
+      Assert.assertFalse(producingThreadNames.isEmpty());
+      for (String threadName: producingThreadNames) {
+        Assert.assertTrue(threadName.startsWith("BatchingVeniceWriter-flush"), threadName);
+      }
+    } finally {
+      writer.close(false);
+    }
+  }
 }
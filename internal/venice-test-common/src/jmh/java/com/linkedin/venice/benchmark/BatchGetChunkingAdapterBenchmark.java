@@ -0,0 +1,184 @@
+package com.linkedin.venice.benchmark;
+
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
+
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.listener.response.NoOpReadResponseStats;
+import com.linkedin.davinci.storage.chunking.BatchGetChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.ChunkingUtils;
+import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.davinci.store.record.ValueRecord;
+import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.rocksdb.RocksDB;
+
+
+/**
+ * Compares the per-key batch get path of the server ({@link BatchGetChunkingAdapter#get}) with the batched one
+ * ({@link BatchGetChunkingAdapter#getInBatch}), which is backed by RocksDB multiGet. See also
+ * {@link RocksDBLookupApiBenchmark} for a comparison of the raw RocksDB APIs.
+ */
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchGetChunkingAdapterBenchmark {
+  private static final int PARTITION = 0;
+  private static final int SCHEMA_ID = 1;
+  private static final int ROW_CNT = 1_000_000;
+  private static final int CHUNK_COUNT_PER_LARGE_VALUE = 2;
+
+  @Param({ "500", "2000" })
+  private int batchSize;
+
+  @Param({ "100", "1000" })
+  private int valueSize;
+
+  /**
+   * When chunking is enabled, keys carry the non-chunked key suffix, and every 10th value is written as a manifest
+   * pointing to {@link #CHUNK_COUNT_PER_LARGE_VALUE} chunks.
+   */
+  @Param({ "false", "true" })
+  private boolean isChunked;
+
+  private RocksDBStorageEngineFactory storageEngineFactory;
+  private StorageEngine storageEngine;
+  private List<byte[]> keys;
+
+  @Setup
+  public void setUp() {
+    RocksDB.loadLibrary();
+    Properties properties = new Properties();
+    properties.put(PERSISTENCE_TYPE, PersistenceType.ROCKS_DB.toString());
+    VeniceProperties serverProperties =
+        RocksDBLookupApiBenchmark.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    String storeVersionName = Utils.getUniqueString("test_store") + "_v1";
+    storageEngineFactory = new RocksDBStorageEngineFactory(new VeniceServerConfig(serverProperties));
+    storageEngine =
+        storageEngineFactory.getStorageEngine(new VeniceStoreVersionConfig(storeVersionName, serverProperties));
+    storageEngine.addStoragePartition(new StoragePartitionConfig(storeVersionName, PARTITION));
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < ROW_CNT; ++i) {
+      byte[] key = getKey(i);
+      byte[] value = new byte[valueSize];
+      random.nextBytes(value);
+      if (!isChunked) {
+        storageEngine.put(PARTITION, key, ValueRecord.create(SCHEMA_ID, value).serialize());
+        continue;
+      }
+      byte[] topLevelKey = ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key);
+      if (i % 10 != 0) {
+        storageEngine.put(PARTITION, topLevelKey, ValueRecord.create(SCHEMA_ID, value).serialize());
+        continue;
+      }
+      ChunkedValueManifest manifest = new ChunkedValueManifest();
+      manifest.schemaId = SCHEMA_ID;
+      manifest.size = valueSize;
+      manifest.keysWithChunkIdSuffix = new ArrayList<>(CHUNK_COUNT_PER_LARGE_VALUE);
+      int chunkSize = valueSize / CHUNK_COUNT_PER_LARGE_VALUE;
+      for (int c = 0; c < CHUNK_COUNT_PER_LARGE_VALUE; c++) {
+        byte[] chunkKey = ("chunk_" + c + "_" + i).getBytes();
+        int chunkStart = c * chunkSize;
+        int chunkEnd = c == CHUNK_COUNT_PER_LARGE_VALUE - 1 ? valueSize : chunkStart + chunkSize;
+        byte[] chunk = new byte[ValueRecord.SCHEMA_HEADER_LENGTH + chunkEnd - chunkStart];
+        ByteUtils.writeInt(chunk, AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), 0);
+        System.arraycopy(value, chunkStart, chunk, ValueRecord.SCHEMA_HEADER_LENGTH, chunkEnd - chunkStart);
+        storageEngine.put(PARTITION, chunkKey, chunk);
+        manifest.keysWithChunkIdSuffix.add(ByteBuffer.wrap(chunkKey));
+      }
+      byte[] serializedManifest =
+          SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$).serialize(manifest);
+      int manifestSchemaId = AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+      storageEngine.put(PARTITION, topLevelKey, ValueRecord.create(manifestSchemaId, serializedManifest).serialize());
+    }
+
+    keys = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; ++i) {
+      keys.add(null);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    storageEngine.drop();
+    storageEngineFactory.close();
+  }
+
+  private static byte[] getKey(int index) {
+    return ("key_" + index).getBytes();
+  }
+
+  private void populateRandomKeys() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < batchSize; ++i) {
+      keys.set(i, getKey(random.nextInt(ROW_CNT)));
+    }
+  }
+
+  @Benchmark
+  public void measurePerKeyLookup(Blackhole bh) {
+    populateRandomKeys();
+    for (int i = 0; i < batchSize; ++i) {
+      bh.consume(
+          BatchGetChunkingAdapter.get(
+              storageEngine,
+              PARTITION,
+              ByteBuffer.wrap(keys.get(i)),
+              isChunked,
+              NoOpReadResponseStats.SINGLETON));
+    }
+  }
+
+  @Benchmark
+  public void measureBatchLookup(Blackhole bh) {
+    populateRandomKeys();
+    BatchGetChunkingAdapter.getInBatch(
+        storageEngine,
+        PARTITION,
+        keys,
+        isChunked,
+        NoOpReadResponseStats.SINGLETON,
+        (index, record) -> bh.consume(record));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(BatchGetChunkingAdapterBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
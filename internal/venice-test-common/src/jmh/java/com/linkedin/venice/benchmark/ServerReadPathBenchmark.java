@@ -0,0 +1,583 @@
+package com.linkedin.venice.benchmark;
+
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.storage.DiskHealthCheckService;
+import com.linkedin.davinci.storage.IngestionMetadataRetriever;
+import com.linkedin.davinci.storage.ReadMetadataRetriever;
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.storage.chunking.ChunkingUtils;
+import com.linkedin.davinci.store.DelegatingStorageEngine;
+import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.davinci.store.record.ValueRecord;
+import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.RequestConstants;
+import com.linkedin.venice.client.store.AvroComputeRequestBuilderV3;
+import com.linkedin.venice.client.store.AvroGenericReadComputeStoreClient;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
+import com.linkedin.venice.exceptions.VeniceNoStoreException;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.listener.ErrorCatchingHandler;
+import com.linkedin.venice.listener.OutboundHttpWrapperHandler;
+import com.linkedin.venice.listener.RouterRequestHttpHandler;
+import com.linkedin.venice.listener.StatsHandler;
+import com.linkedin.venice.listener.StorageReadRequestHandler;
+import com.linkedin.venice.listener.StoreValueSchemasCacheService;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.meta.QueryAction;
+import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.StoreDataChangedListener;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.schema.SchemaEntry;
+import com.linkedin.venice.schema.SchemaReader;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.stats.AggServerHttpRequestStats;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.EncodingUtils;
+import com.linkedin.venice.utils.TestUtils;
+import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.metrics.MetricsRepositoryUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import io.tehuti.metrics.MetricsRepository;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.mockito.ArgumentCaptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.rocksdb.RocksDB;
+
+
+/**
+ * Measures the server read path end-to-end, from the raw HTTP request bytes to the encoded HTTP response bytes, for
+ * single-get, multi-get, streaming multi-get and compute requests.
+ *
+ * Requests go through the same Netty handlers as in {@link com.linkedin.venice.listener.HttpChannelInitializer}
+ * (minus SSL, ACL, quota and load control), hosted by an {@link EmbeddedChannel}, down to a pre-populated RocksDB
+ * storage engine. The storage executors run tasks inline, so that every invocation is fully processed on the benchmark
+ * thread and the queueing delay of the real thread pools is left out.
+ *
+ * Both throughput and sampled latency (with percentiles) are reported, and {@link #main} adds the {@link GCProfiler}
+ * for the allocation rate.
+ */
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServerReadPathBenchmark {
+  private static final int PARTITION = 0;
+  private static final int SCHEMA_ID = 1;
+  private static final int ROW_CNT = 100_000;
+  private static final int CHUNK_COUNT_PER_LARGE_VALUE = 2;
+  /**
+   * The number of distinct pre-encoded requests per request type, which are sent in a round-robin fashion.
+   */
+  private static final int REQUEST_CNT = 64;
+  private static final String STORAGE_PATH = "/" + QueryAction.STORAGE.toString().toLowerCase() + "/";
+  private static final String COMPUTE_PATH = "/" + QueryAction.COMPUTE.toString().toLowerCase() + "/";
+  private static final String FLOAT_ARRAY_FIELD = "floatArray";
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.record("ServerReadPathBenchmarkValue")
+      .fields()
+      .name(FLOAT_ARRAY_FIELD)
+      .type()
+      .array()
+      .items()
+      .floatType()
+      .noDefault()
+      .endRecord();
+
+  /**
+   * The number of keys read per invocation. Batch requests carry that many keys, while the single-get benchmark sends
+   * that many single-get requests.
+   */
+  @Param({ "1", "10", "100" })
+  private int keyCount;
+
+  @Param({ "100", "1000", "10000" })
+  private int valueSize;
+
+  /**
+   * When chunking is enabled, keys carry the non-chunked key suffix, and every 10th value is written as a manifest
+   * pointing to {@link #CHUNK_COUNT_PER_LARGE_VALUE} chunks.
+   */
+  @Param({ "false", "true" })
+  private boolean isChunked;
+
+  private RocksDBStorageEngineFactory storageEngineFactory;
+  private StorageEngine storageEngine;
+  private ThreadPoolExecutor executor;
+  private EmbeddedChannel channel;
+  private ByteBuf[] singleGetRequests;
+  private ByteBuf[] multiGetRequests;
+  private ByteBuf[] streamingMultiGetRequests;
+  private ByteBuf[] computeRequests;
+  private int requestIndex = 0;
+
+  @Setup
+  public void setUp() {
+    RocksDB.loadLibrary();
+    Properties properties = new Properties();
+    properties.put(PERSISTENCE_TYPE, PersistenceType.ROCKS_DB.toString());
+    VeniceProperties serverProperties =
+        RocksDBLookupApiBenchmark.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(serverProperties);
+    String storeName = Utils.getUniqueString("test_store");
+    String storeVersionName = storeName + "_v1";
+    storageEngineFactory = new RocksDBStorageEngineFactory(serverConfig);
+    storageEngine =
+        storageEngineFactory.getStorageEngine(new VeniceStoreVersionConfig(storeVersionName, serverProperties));
+    storageEngine.addStoragePartition(new StoragePartitionConfig(storeVersionName, PARTITION));
+    StoreVersionState storeVersionState = new StoreVersionState();
+    storeVersionState.setSorted(false);
+    storeVersionState.setChunked(isChunked);
+    storeVersionState.setCompressionStrategy(CompressionStrategy.NO_OP.getValue());
+    storageEngine.putStoreVersionState(storeVersionState);
+    populateStorageEngine();
+
+    /**
+     * The repositories and the compressor factory are the lightweight instances of the server rather than mocks, since
+     * they are called for every request, and the cost of a mock invocation would be measured as part of the read path.
+     */
+    StorageEngine delegatingStorageEngine = new DelegatingStorageEngine<>(storageEngine);
+    StorageEngineRepository storageEngineRepository = new StorageEngineRepository() {
+      @Override
+      public StorageEngine getLocalStorageEngine(String storeVersion) {
+        return storeVersionName.equals(storeVersion) ? delegatingStorageEngine : null;
+      }
+    };
+    Store store = TestUtils.createTestStore(storeName, "owner", System.currentTimeMillis());
+    store.setReadComputationEnabled(true);
+    ReadOnlyStoreRepository storeRepository = new SingleStoreRepository(store);
+    // The schema cache of the server only reads the underlying repository when it is created
+    ReadOnlySchemaRepository underlyingSchemaRepository = mock(ReadOnlySchemaRepository.class);
+    SchemaEntry schemaEntry = new SchemaEntry(SCHEMA_ID, VALUE_SCHEMA);
+    doReturn(schemaEntry).when(underlyingSchemaRepository).getSupersetOrLatestValueSchema(storeName);
+    doReturn(Collections.singletonList(schemaEntry)).when(underlyingSchemaRepository).getValueSchemas(storeName);
+    StoreValueSchemasCacheService schemaRepository =
+        new StoreValueSchemasCacheService(storeRepository, underlyingSchemaRepository, null);
+    // The metadata service only provides the dictionaries of the ZSTD_WITH_DICT versions
+    StorageEngineBackedCompressorFactory compressorFactory =
+        new StorageEngineBackedCompressorFactory(mock(StorageMetadataService.class));
+
+    executor = createInlineExecutor();
+    StorageReadRequestHandler requestHandler = new StorageReadRequestHandler(
+        serverConfig,
+        executor,
+        executor,
+        storageEngineRepository,
+        storeRepository,
+        schemaRepository,
+        mock(IngestionMetadataRetriever.class),
+        mock(ReadMetadataRetriever.class),
+        mock(DiskHealthCheckService.class),
+        compressorFactory,
+        Optional.empty());
+    MetricsRepository metricsRepository = MetricsRepositoryUtils.createSingleThreadedMetricsRepository();
+    StatsHandler statsHandler = new StatsHandler(
+        createStats(serverConfig, metricsRepository, RequestType.SINGLE_GET, storeRepository),
+        createStats(serverConfig, metricsRepository, RequestType.MULTI_GET, storeRepository),
+        createStats(serverConfig, metricsRepository, RequestType.COMPUTE, storeRepository),
+        null);
+    channel = new EmbeddedChannel(
+        statsHandler,
+        new HttpServerCodec(),
+        new HttpObjectAggregator(serverConfig.getMaxRequestSize()),
+        new OutboundHttpWrapperHandler(statsHandler),
+        new RouterRequestHttpHandler(statsHandler, Collections.emptyMap()),
+        requestHandler,
+        new ErrorCatchingHandler());
+
+    byte[] computeRequestBytes = getComputeRequestBytes(storeName);
+    singleGetRequests = new ByteBuf[REQUEST_CNT];
+    multiGetRequests = new ByteBuf[REQUEST_CNT];
+    streamingMultiGetRequests = new ByteBuf[REQUEST_CNT];
+    computeRequests = new ByteBuf[REQUEST_CNT];
+    for (int i = 0; i < REQUEST_CNT; ++i) {
+      singleGetRequests[i] = createSingleGetRequest(storeVersionName);
+      multiGetRequests[i] = createMultiGetRequest(storeVersionName, false);
+      streamingMultiGetRequests[i] = createMultiGetRequest(storeVersionName, true);
+      computeRequests[i] = createComputeRequest(storeVersionName, computeRequestBytes);
+    }
+    verifyResponse(singleGetRequests[0]);
+    verifyResponse(multiGetRequests[0]);
+    verifyResponse(streamingMultiGetRequests[0]);
+    verifyResponse(computeRequests[0]);
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+    releaseAll(singleGetRequests);
+    releaseAll(multiGetRequests);
+    releaseAll(streamingMultiGetRequests);
+    releaseAll(computeRequests);
+    executor.shutdownNow();
+    storageEngine.drop();
+    storageEngineFactory.close();
+  }
+
+  private static ThreadPoolExecutor createInlineExecutor() {
+    return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+      @Override
+      public void execute(Runnable command) {
+        command.run();
+      }
+    };
+  }
+
+  /**
+   * Serves the single store of the benchmark.
+   */
+  private static class SingleStoreRepository implements ReadOnlyStoreRepository {
+    private final Store store;
+
+    SingleStoreRepository(Store store) {
+      this.store = store;
+    }
+
+    @Override
+    public Store getStore(String storeName) {
+      return store.getName().equals(storeName) ? store : null;
+    }
+
+    @Override
+    public Store getStoreOrThrow(String storeName) throws VeniceNoStoreException {
+      Store found = getStore(storeName);
+      if (found == null) {
+        throw new VeniceNoStoreException(storeName);
+      }
+      return found;
+    }
+
+    @Override
+    public boolean hasStore(String storeName) {
+      return getStore(storeName) != null;
+    }
+
+    @Override
+    public Store refreshOneStore(String storeName) {
+      return getStore(storeName);
+    }
+
+    @Override
+    public List<Store> getAllStores() {
+      return Collections.singletonList(store);
+    }
+
+    @Override
+    public long getTotalStoreReadQuota() {
+      return store.getReadQuotaInCU();
+    }
+
+    @Override
+    public void registerStoreDataChangedListener(StoreDataChangedListener listener) {
+    }
+
+    @Override
+    public void unregisterStoreDataChangedListener(StoreDataChangedListener listener) {
+    }
+
+    @Override
+    public int getBatchGetLimit(String storeName) {
+      return getStoreOrThrow(storeName).getBatchGetLimit();
+    }
+
+    @Override
+    public boolean isReadComputationEnabled(String storeName) {
+      return getStoreOrThrow(storeName).isReadComputationEnabled();
+    }
+
+    @Override
+    public void refresh() {
+    }
+
+    @Override
+    public void clear() {
+    }
+  }
+
+  private static AggServerHttpRequestStats createStats(
+      VeniceServerConfig serverConfig,
+      MetricsRepository metricsRepository,
+      RequestType requestType,
+      ReadOnlyStoreRepository storeRepository) {
+    return new AggServerHttpRequestStats(
+        serverConfig.getClusterName(),
+        metricsRepository,
+        requestType,
+        false,
+        storeRepository,
+        true,
+        false,
+        serverConfig.isReadOtelStatsEnabled());
+  }
+
+  private static byte[] getKey(int index) {
+    return ("key_" + index).getBytes();
+  }
+
+  private void populateStorageEngine() {
+    RecordSerializer<GenericRecord> valueSerializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(VALUE_SCHEMA);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int floatCount = Math.max(1, valueSize / Float.BYTES);
+    for (int i = 0; i < ROW_CNT; ++i) {
+      List<Float> floats = new ArrayList<>(floatCount);
+      for (int f = 0; f < floatCount; f++) {
+        floats.add(random.nextFloat());
+      }
+      GenericRecord record = new GenericData.Record(VALUE_SCHEMA);
+      record.put(FLOAT_ARRAY_FIELD, floats);
+      byte[] value = valueSerializer.serialize(record);
+      byte[] key = getKey(i);
+      if (!isChunked) {
+        storageEngine.put(PARTITION, key, ValueRecord.create(SCHEMA_ID, value).serialize());
+        continue;
+      }
+      byte[] topLevelKey = ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key);
+      if (i % 10 != 0) {
+        storageEngine.put(PARTITION, topLevelKey, ValueRecord.create(SCHEMA_ID, value).serialize());
+        continue;
+      }
+      ChunkedValueManifest manifest = new ChunkedValueManifest();
+      manifest.schemaId = SCHEMA_ID;
+      manifest.size = value.length;
+      manifest.keysWithChunkIdSuffix = new ArrayList<>(CHUNK_COUNT_PER_LARGE_VALUE);
+      int chunkSize = value.length / CHUNK_COUNT_PER_LARGE_VALUE;
+      for (int c = 0; c < CHUNK_COUNT_PER_LARGE_VALUE; c++) {
+        byte[] chunkKey = ("chunk_" + c + "_" + i).getBytes();
+        int chunkStart = c * chunkSize;
+        int chunkEnd = c == CHUNK_COUNT_PER_LARGE_VALUE - 1 ? value.length : chunkStart + chunkSize;
+        byte[] chunk = new byte[ValueRecord.SCHEMA_HEADER_LENGTH + chunkEnd - chunkStart];
+        ByteUtils.writeInt(chunk, AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), 0);
+        System.arraycopy(value, chunkStart, chunk, ValueRecord.SCHEMA_HEADER_LENGTH, chunkEnd - chunkStart);
+        storageEngine.put(PARTITION, chunkKey, chunk);
+        manifest.keysWithChunkIdSuffix.add(ByteBuffer.wrap(chunkKey));
+      }
+      byte[] serializedManifest =
+          SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$).serialize(manifest);
+      int manifestSchemaId = AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+      storageEngine.put(PARTITION, topLevelKey, ValueRecord.create(manifestSchemaId, serializedManifest).serialize());
+    }
+  }
+
+  /**
+   * Builds the compute request the way the thin client does, with a dot product on the float array of the value.
+   */
+  private byte[] getComputeRequestBytes(String storeName) {
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn(storeName).when(storeClient).getStoreName();
+    SchemaReader schemaReader = mock(SchemaReader.class);
+    doReturn(Schema.create(Schema.Type.STRING)).when(schemaReader).getKeySchema();
+    doReturn(VALUE_SCHEMA).when(schemaReader).getValueSchema(SCHEMA_ID);
+    doReturn(VALUE_SCHEMA).when(schemaReader).getLatestValueSchema();
+    doReturn(SCHEMA_ID).when(schemaReader).getLatestValueSchemaId();
+    doReturn(SCHEMA_ID).when(schemaReader).getValueSchemaId(VALUE_SCHEMA);
+    List<Float> dotProductParam = new ArrayList<>();
+    for (int f = 0; f < Math.max(1, valueSize / Float.BYTES); f++) {
+      dotProductParam.add(1.0f);
+    }
+    new AvroComputeRequestBuilderV3<String>(storeClient, schemaReader)
+        .dotProduct(FLOAT_ARRAY_FIELD, dotProductParam, "dotProductResult")
+        .execute(Collections.singleton("key"));
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    return requestCaptor.getValue().serialize();
+  }
+
+  private ByteBuf createSingleGetRequest(String storeVersionName) {
+    String uri = STORAGE_PATH + storeVersionName + "/" + PARTITION + "/"
+        + EncodingUtils.base64EncodeToString(getRandomKey()) + "?" + RequestConstants.FORMAT_KEY + "="
+        + RequestConstants.B64_FORMAT;
+    return encode(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri));
+  }
+
+  private ByteBuf createMultiGetRequest(String storeVersionName, boolean isStreaming) {
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; ++i) {
+      keys.add(new MultiGetRouterRequestKeyV1(i, ByteBuffer.wrap(getRandomKey()), PARTITION));
+    }
+    byte[] body = SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$)
+        .serializeObjects(keys);
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        STORAGE_PATH + storeVersionName,
+        Unpooled.wrappedBuffer(body));
+    request.headers()
+        .set(
+            HttpConstants.VENICE_API_VERSION,
+            Integer.toString(ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion()));
+    if (isStreaming) {
+      request.headers().set(HttpConstants.VENICE_STREAMING, "1");
+    }
+    return encode(request);
+  }
+
+  private ByteBuf createComputeRequest(String storeVersionName, byte[] computeRequestBytes) {
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; ++i) {
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(getRandomKey()), PARTITION));
+    }
+    byte[] body = SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRouterRequestKeyV1.SCHEMA$)
+        .serializeObjects(keys, ByteBuffer.wrap(computeRequestBytes));
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        COMPUTE_PATH + storeVersionName,
+        Unpooled.wrappedBuffer(body));
+    request.headers()
+        .set(
+            HttpConstants.VENICE_API_VERSION,
+            Integer.toString(ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST));
+    request.headers().set(HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID, Integer.toString(SCHEMA_ID));
+    return encode(request);
+  }
+
+  private static byte[] getRandomKey() {
+    return getKey(ThreadLocalRandom.current().nextInt(ROW_CNT));
+  }
+
+  /**
+   * Encodes {@param request} into the bytes the router would send over the wire.
+   */
+  private static ByteBuf encode(FullHttpRequest request) {
+    HttpUtil.setContentLength(request, request.content().readableBytes());
+    EmbeddedChannel encoder = new EmbeddedChannel(new HttpRequestEncoder());
+    encoder.writeOutbound(request);
+    ByteBuf encoded = Unpooled.buffer();
+    ByteBuf part;
+    while ((part = encoder.readOutbound()) != null) {
+      encoded.writeBytes(part);
+      part.release();
+    }
+    encoder.finishAndReleaseAll();
+    return encoded;
+  }
+
+  private void verifyResponse(ByteBuf request) {
+    channel.writeInbound(request.retainedDuplicate());
+    ByteBuf response = channel.readOutbound();
+    if (response == null) {
+      throw new IllegalStateException("No response for request: " + request.toString(StandardCharsets.UTF_8));
+    }
+    String statusLine = response.toString(StandardCharsets.UTF_8).split("\r\n", 2)[0];
+    ReferenceCountUtil.release(response);
+    drainResponses(null);
+    if (!statusLine.contains(" 200 ")) {
+      throw new IllegalStateException("Unexpected response status: " + statusLine);
+    }
+  }
+
+  private static void releaseAll(ByteBuf[] buffers) {
+    for (ByteBuf buffer: buffers) {
+      buffer.release();
+    }
+  }
+
+  private void drainResponses(Blackhole bh) {
+    Object response;
+    while ((response = channel.readOutbound()) != null) {
+      if (bh != null) {
+        bh.consume(response);
+      }
+      ReferenceCountUtil.release(response);
+    }
+  }
+
+  private void sendRequest(ByteBuf[] requests, Blackhole bh) {
+    channel.writeInbound(requests[requestIndex].retainedDuplicate());
+    requestIndex = (requestIndex + 1) % REQUEST_CNT;
+    drainResponses(bh);
+  }
+
+  @Benchmark
+  public void measureSingleGet(Blackhole bh) {
+    for (int i = 0; i < keyCount; ++i) {
+      sendRequest(singleGetRequests, bh);
+    }
+  }
+
+  @Benchmark
+  public void measureMultiGet(Blackhole bh) {
+    sendRequest(multiGetRequests, bh);
+  }
+
+  @Benchmark
+  public void measureStreamingMultiGet(Blackhole bh) {
+    sendRequest(streamingMultiGetRequests, bh);
+  }
+
+  @Benchmark
+  public void measureCompute(Blackhole bh) {
+    sendRequest(computeRequests, bh);
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(ServerReadPathBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
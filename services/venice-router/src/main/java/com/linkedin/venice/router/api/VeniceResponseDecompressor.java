@@ -13,9 +13,6 @@ import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
 import com.linkedin.venice.router.stats.RouterStats;
-import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
-import com.linkedin.venice.serializer.RecordDeserializer;
-import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Pair;
 import io.netty.buffer.ByteBuf;
@@ -23,7 +20,8 @@ import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import org.apache.avro.io.OptimizedBinaryDecoderFactory;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -31,12 +29,6 @@ import org.apache.avro.io.OptimizedBinaryDecoderFactory;
  * {@link VeniceResponseAggregator} for regular requests and {@link VeniceDispatcher} for streaming requests.
  */
 public class VeniceResponseDecompressor {
-  private static final RecordSerializer<MultiGetResponseRecordV1> recordSerializer =
-      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
-  private static final RecordDeserializer<MultiGetResponseRecordV1> recordDeserializer =
-      FastSerializerDeserializerFactory
-          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
-
   private final CompressionStrategy clientCompression;
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
   private final StoreVersionName storeVersionName;
@@ -96,8 +88,8 @@ public class VeniceResponseDecompressor {
   /**
    * Decompressing multi-get response in router side is a bit of overhead.
    * Since records could be concatenated within one response, we need to
-   * deserialize the records; decompress the records and then serialize
-   * them back.
+   * walk the records, decompress their values and write them back, see
+   * {@link #decompressMultiGetRecords}.
    */
   public ContentDecompressResult decompressMultiGetContent(CompressionStrategy compressionStrategy, ByteBuf content) {
     if (canPassThroughResponse(compressionStrategy)) {
@@ -175,20 +167,38 @@ public class VeniceResponseDecompressor {
     }
   }
 
+  /**
+   * Decompresses the values of the concatenated {@link MultiGetResponseRecordV1} records in {@param data} by walking
+   * their Avro binary framing in place, rather than deserializing and re-serializing the records. Only the length
+   * prefix of each value changes, so the key index and the schema id of each record are copied verbatim.
+   *
+   * The first pass collects the compressed values, which are decompressed together into a single buffer by
+   * {@link VeniceCompressor#decompressInBatch}, and the second pass writes the output in a single buffer of the exact
+   * size, so there is neither a buffer per value, nor an intermediate record object, nor any resizing of the output.
+   */
   private ByteBuf decompressMultiGetRecords(
       CompressionStrategy compressionStrategy,
       ByteBuf data,
       RequestType requestType) {
-    ByteBuf copy = data.isReadOnly() ? data.copy() : data;
-    Iterable<MultiGetResponseRecordV1> records = recordDeserializer.deserializeObjects(
-        OptimizedBinaryDecoderFactory.defaultFactory()
-            .createOptimizedBinaryDecoder(copy.array(), 0, copy.readableBytes()));
-
+    List<ByteBuffer> compressedValues = new ArrayList<>();
+    int framingSize = 0;
+    ByteBuf input = data.duplicate();
+    while (input.isReadable()) {
+      int keyIndexStart = input.readerIndex();
+      skipVarLong(input);
+      int keyIndexSize = input.readerIndex() - keyIndexStart;
+      int valueLength = readValueLength(input, requestType);
+      compressedValues.add(input.nioBuffer(input.readerIndex(), valueLength));
+      input.skipBytes(valueLength);
+      int schemaIdStart = input.readerIndex();
+      skipVarLong(input);
+      framingSize += keyIndexSize + input.readerIndex() - schemaIdStart;
+    }
+    int[] decompressedLengths = new int[compressedValues.size()];
+    ByteBuffer decompressedValues;
     try {
-      VeniceCompressor compressor = getCompressor(compressionStrategy, requestType);
-      for (MultiGetResponseRecordV1 record: records) {
-        record.value = compressor.decompress(record.value);
-      }
+      decompressedValues =
+          getCompressor(compressionStrategy, requestType).decompressInBatch(compressedValues, decompressedLengths);
     } catch (IOException e) {
       String errorMsg = String.format(
           "Failed to decompress data. Store: %s; Version: %d, error: %s",
@@ -199,7 +209,84 @@ public class VeniceResponseDecompressor {
           .newVeniceExceptionAndTracking(this.storeVersionName.getStoreName(), requestType, BAD_GATEWAY, errorMsg);
     }
 
-    return Unpooled.wrappedBuffer(recordSerializer.serializeObjects(records));
+    int outputSize = framingSize + decompressedValues.remaining();
+    for (int decompressedLength: decompressedLengths) {
+      outputSize += getVarLongSize(decompressedLength);
+    }
+    ByteBuf output = Unpooled.buffer(outputSize);
+    input = data.duplicate();
+    int decompressedValueOffset = decompressedValues.position();
+    for (int decompressedLength: decompressedLengths) {
+      int keyIndexStart = input.readerIndex();
+      skipVarLong(input);
+      output.writeBytes(input, keyIndexStart, input.readerIndex() - keyIndexStart);
+      input.skipBytes(readValueLength(input, requestType));
+      writeVarLong(output, decompressedLength);
+      decompressedValues.limit(decompressedValueOffset + decompressedLength);
+      decompressedValues.position(decompressedValueOffset);
+      output.writeBytes(decompressedValues);
+      decompressedValueOffset += decompressedLength;
+      int schemaIdStart = input.readerIndex();
+      skipVarLong(input);
+      output.writeBytes(input, schemaIdStart, input.readerIndex() - schemaIdStart);
+    }
+    return output;
+  }
+
+  /**
+   * Reads the length prefix of an Avro bytes field, and validates it against the remaining content.
+   */
+  private int readValueLength(ByteBuf input, RequestType requestType) {
+    long length = readVarLong(input);
+    if (length < 0 || length > input.readableBytes()) {
+      throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
+          this.storeVersionName.getStoreName(),
+          requestType,
+          BAD_GATEWAY,
+          "Malformed multi-get response for resource " + this.storeVersionName.getName() + ": value length " + length
+              + " with " + input.readableBytes() + " remaining bytes");
+    }
+    return (int) length;
+  }
+
+  /**
+   * The helpers below follow the zig-zag variable-length encoding of Avro ints and longs, which share the same format.
+   */
+  private static void skipVarLong(ByteBuf input) {
+    while ((input.readByte() & 0x80) != 0) {
+      // Keep skipping until the last byte of the varint
+    }
+  }
+
+  private static long readVarLong(ByteBuf input) {
+    long n = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = input.readByte();
+      n |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0 && shift < 64);
+    return (n >>> 1) ^ -(n & 1);
+  }
+
+  private static void writeVarLong(ByteBuf output, long value) {
+    long n = (value << 1) ^ (value >> 63);
+    while ((n & ~0x7FL) != 0) {
+      output.writeByte((int) ((n & 0x7F) | 0x80));
+      n >>>= 7;
+    }
+    output.writeByte((int) n);
+  }
+
+  private static int getVarLongSize(long value) {
+    long n = (value << 1) ^ (value >> 63);
+    int size = 1;
+    while ((n & ~0x7FL) != 0) {
+      n >>>= 7;
+      size++;
+    }
+    return size;
   }
 
   private VeniceCompressor getCompressor(CompressionStrategy compressionStrategy, RequestType requestType) {
@@ -1,6 +1,8 @@
 package com.linkedin.venice.router.api.path;
 
 import static com.linkedin.venice.HttpConstants.VENICE_CLIENT_COMPUTE_TRUE;
+import static com.linkedin.venice.HttpConstants.VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS;
+import static com.linkedin.venice.HttpConstants.VENICE_COMPUTE_TOP_K;
 import static com.linkedin.venice.HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID;
 import static com.linkedin.venice.compute.ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST;
 import static com.linkedin.venice.router.api.VenicePathParser.TYPE_COMPUTE;
@@ -85,6 +87,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
   private final byte[] requestContent;
   private final int computeRequestLengthInBytes;
   private final String valueSchemaIdHeader;
+  private final String countByValueFieldsHeader;
+  private final String topKHeader;
   private final String computeRequestVersionHeader;
 
   public VeniceComputePath(
@@ -99,6 +103,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
     super(storeVersionName, retryConfig, retryManager, responseDecompressor);
 
     this.valueSchemaIdHeader = request.headers().get(VENICE_COMPUTE_VALUE_SCHEMA_ID, "-1");
+    this.countByValueFieldsHeader = request.headers().get(VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS);
+    this.topKHeader = request.headers().get(VENICE_COMPUTE_TOP_K);
 
     // Get API version
     this.computeRequestVersionHeader = request.headers().get(HttpConstants.VENICE_API_VERSION);
@@ -146,6 +152,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
       byte[] requestContent,
       int computeRequestLengthInBytes,
       String valueSchemaIdHeader,
+      String countByValueFieldsHeader,
+      String topKHeader,
       String computeRequestVersionHeader,
       RouterRetryConfig retryConfig,
       RetryManager retryManager,
@@ -153,6 +161,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
     super(storeVersionName, routerKeyMap, retryConfig, retryManager, responseDecompressor);
     this.requestContent = requestContent;
     this.valueSchemaIdHeader = valueSchemaIdHeader;
+    this.countByValueFieldsHeader = countByValueFieldsHeader;
+    this.topKHeader = topKHeader;
     this.computeRequestLengthInBytes = computeRequestLengthInBytes;
     this.computeRequestVersionHeader = computeRequestVersionHeader;
     setPartitionKeys(routerKeyMap.keySet());
@@ -211,6 +221,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
         this.requestContent,
         this.computeRequestLengthInBytes,
         this.valueSchemaIdHeader,
+        this.countByValueFieldsHeader,
+        this.topKHeader,
         this.computeRequestVersionHeader,
         this.retryConfig,
         this.retryManager,
@@ -238,6 +250,14 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
   public void setupVeniceHeaders(BiConsumer<String, String> setupHeaderFunc) {
     super.setupVeniceHeaders(setupHeaderFunc);
     setupHeaderFunc.accept(VENICE_COMPUTE_VALUE_SCHEMA_ID, this.valueSchemaIdHeader);
+    if (this.countByValueFieldsHeader != null) {
+      // The servers return partial counts, which the client merges as they are passed through
+      setupHeaderFunc.accept(VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS, this.countByValueFieldsHeader);
+    }
+    if (this.topKHeader != null) {
+      // Each server returns its top K results, and the client keeps the top K of all of them
+      setupHeaderFunc.accept(VENICE_COMPUTE_TOP_K, this.topKHeader);
+    }
   }
 
   @Override
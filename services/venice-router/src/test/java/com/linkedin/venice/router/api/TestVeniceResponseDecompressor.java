@@ -9,14 +9,28 @@ import static org.mockito.Mockito.mock;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.StoreVersionName;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
 import com.linkedin.venice.router.stats.RouterStats;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.avro.io.OptimizedBinaryDecoderFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -129,4 +143,61 @@ public class TestVeniceResponseDecompressor {
       Assert.assertEquals(result.getCompressionStrategy(), CompressionStrategy.NO_OP);
     }
   }
+
+  /**
+   * The values of the records of a multi-get response are decompressed in place, regardless of the type of buffers
+   * they come in, and the key index and the schema id of each record are preserved.
+   */
+  @Test
+  public void testDecompressMultiGetContent() throws IOException {
+    StoreVersionName storeVersionName = nameRepository.getStoreVersionName("test-store", 1);
+    RouterStats<AggRouterHttpRequestStats> routerStats = mock(RouterStats.class);
+    doReturn(mock(AggRouterHttpRequestStats.class)).when(routerStats).getStatsByType(any());
+    RouterExceptionAndTrackingUtils.setRouterStats(routerStats);
+    RecordSerializer<MultiGetResponseRecordV1> serializer =
+        FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
+    RecordDeserializer<MultiGetResponseRecordV1> deserializer = FastSerializerDeserializerFactory
+        .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
+
+    try (CompressorFactory compressorFactory = new CompressorFactory()) {
+      VeniceCompressor compressor = compressorFactory.getCompressor(CompressionStrategy.GZIP);
+      List<MultiGetResponseRecordV1> firstRecords = new ArrayList<>();
+      List<MultiGetResponseRecordV1> secondRecords = new ArrayList<>();
+      List<byte[]> values = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        // Values compress well, so the length prefix of some of them is longer once decompressed
+        byte[] value = new byte[i * 10];
+        Arrays.fill(value, (byte) i);
+        values.add(value);
+        MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+        record.keyIndex = i * 1000;
+        record.value = ByteBuffer.wrap(compressor.compress(value));
+        record.schemaId = i % 3 + 1;
+        (i < 50 ? firstRecords : secondRecords).add(record);
+      }
+      byte[] secondBytes = serializer.serializeObjects(secondRecords);
+      ByteBuf directBuffer = Unpooled.directBuffer(secondBytes.length);
+      directBuffer.writeBytes(secondBytes);
+      CompositeByteBuf content = Unpooled.compositeBuffer();
+      content.addComponent(true, Unpooled.wrappedBuffer(serializer.serializeObjects(firstRecords)));
+      content.addComponent(true, directBuffer);
+
+      VeniceResponseDecompressor responseDecompressor =
+          new VeniceResponseDecompressor(CompressionStrategy.NO_OP, routerStats, storeVersionName, compressorFactory);
+      ContentDecompressResult result =
+          responseDecompressor.decompressMultiGetContent(CompressionStrategy.GZIP, content);
+      Assert.assertEquals(result.getCompressionStrategy(), CompressionStrategy.NO_OP);
+
+      byte[] output = ByteBufUtil.getBytes(result.getContent());
+      List<MultiGetResponseRecordV1> records = deserializer.deserializeObjects(
+          OptimizedBinaryDecoderFactory.defaultFactory().createOptimizedBinaryDecoder(output, 0, output.length));
+      Assert.assertEquals(records.size(), values.size());
+      for (int i = 0; i < values.size(); i++) {
+        MultiGetResponseRecordV1 record = records.get(i);
+        Assert.assertEquals(record.keyIndex, i * 1000);
+        Assert.assertEquals(ByteUtils.extractByteArray(record.value), values.get(i));
+        Assert.assertEquals(record.schemaId, i % 3 + 1);
+      }
+    }
+  }
 }
@@ -21,7 +21,9 @@ import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.security.SSLFactory;
 import com.linkedin.venice.service.AbstractVeniceService;
 import com.linkedin.venice.stats.ThreadPoolStats;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.concurrent.ThreadPoolFactory;
+import com.linkedin.venice.utils.concurrent.WeightedFairBlockingQueue;
 import io.grpc.ServerInterceptor;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
@@ -36,7 +38,9 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -90,13 +94,13 @@ public class ListenerService extends AbstractVeniceService {
     this.isGrpcEnabled = serverConfig.isGrpcEnabled();
     this.grpcPort = serverConfig.getGrpcPort();
 
-    executor = createThreadPool(
+    executor = createStorageThreadPool(
         serverConfig.getRestServiceStorageThreadNum(),
         "StorageExecutionThread",
         serverConfig.getDatabaseLookupQueueCapacity());
     new ThreadPoolStats(metricsRepository, executor, "storage_execution_thread_pool");
 
-    computeExecutor = createThreadPool(
+    computeExecutor = createStorageThreadPool(
         serverConfig.getServerComputeThreadNum(),
         "StorageComputeThread",
         serverConfig.getComputeQueueCapacity());
@@ -243,6 +247,41 @@ public class ListenerService extends AbstractVeniceService {
         serverConfig.getBlockingQueueType());
   }
 
+  /**
+   * Creates a thread pool of the read path, which queues the requests per store when fair scheduling is enabled, and
+   * runs them on virtual threads when enabled. See {@link StorageReadRequestHandler} for how the requests are tagged
+   * with their store.
+   */
+  protected ThreadPoolExecutor createStorageThreadPool(int threadCount, String threadNamePrefix, int capacity) {
+    boolean fairSchedulingEnabled = serverConfig.isStorageExecutionFairSchedulingEnabled();
+    boolean virtualThreadsEnabled = serverConfig.isStorageExecutionVirtualThreadsEnabled();
+    if (!fairSchedulingEnabled && !virtualThreadsEnabled) {
+      return createThreadPool(threadCount, threadNamePrefix, capacity);
+    }
+    BlockingQueue<Runnable> executionQueue;
+    if (fairSchedulingEnabled) {
+      Map<String, Integer> storeToWeightMap = serverConfig.getStoreToStorageExecutionWeightMap();
+      executionQueue =
+          new WeightedFairBlockingQueue(capacity, storeName -> storeToWeightMap.getOrDefault(storeName, 1));
+    } else {
+      executionQueue = ThreadPoolFactory.getExecutionQueue(capacity, serverConfig.getBlockingQueueType());
+    }
+    if (virtualThreadsEnabled) {
+      int maxConcurrency = serverConfig.getStorageExecutionVirtualThreadsMaxConcurrency();
+      return ThreadPoolFactory.createVirtualThreadPool(
+          maxConcurrency > 0 ? maxConcurrency : threadCount,
+          threadNamePrefix,
+          serverConfig.getLogContext(),
+          executionQueue);
+    }
+    return ThreadPoolFactory.createThreadPool(
+        threadCount,
+        threadNamePrefix,
+        serverConfig.getLogContext(),
+        executionQueue,
+        DaemonThreadFactory.UNSPECIFIED_PRIORITY);
+  }
+
   protected ThreadPoolExecutor createThreadPool(int threadCount, String threadNamePrefix, int capacity, int priority) {
     return ThreadPoolFactory.createThreadPool(
         threadCount,
@@ -24,7 +24,9 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.compute.ComputeTopK;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
@@ -70,6 +72,7 @@ import com.linkedin.venice.schema.SchemaEntry;
 import com.linkedin.venice.serialization.AvroStoreDeserializerCache;
 import com.linkedin.venice.serialization.StoreDeserializerCache;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import com.linkedin.venice.streaming.StreamingConstants;
@@ -81,22 +84,35 @@ import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.RedundantExceptionFilter;
 import com.linkedin.venice.utils.StoreVersionStateUtils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import com.linkedin.venice.utils.concurrent.VirtualThreadPerTaskExecutor;
+import com.linkedin.venice.utils.concurrent.WeightedFairBlockingQueue;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
+import com.linkedin.venice.utils.pools.ObjectPool;
+import com.linkedin.venice.utils.pools.ThreadLocalObjectPool;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -126,8 +142,21 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   private final ReadMetadataRetriever readMetadataRetriever;
   private final Map<Utf8, Schema> computeResultSchemaCache;
   private final boolean fastAvroEnabled;
+  private final boolean computeValueProjectionEnabled;
+  private final Map<ComputeValueProjectionKey, ComputeValueProjection> computeValueProjectionCache =
+      new VeniceConcurrentHashMap<>();
+  private final boolean computeCountByValueEnabled;
+  /**
+   * Keyed by the result fields to count, which come from the value schemas and the operations of the stores, rather
+   * than by the result schema string, which is chosen by the clients.
+   */
+  private final Map<List<Schema.Field>, Schema> computeCountByValueSchemaCache = new VeniceConcurrentHashMap<>();
+  private final boolean computeTopKEnabled;
   private final Function<Schema, RecordSerializer<GenericRecord>> genericSerializerGetter;
   private final int parallelBatchGetChunkSize;
+  private final boolean parallelBatchGetLocalityAwareEnabled;
+  private final int parallelBatchGetMaxChunkSize;
+  private final boolean batchLookupEnabled;
   private final VeniceServerConfig serverConfig;
   private final Map<String, PerStoreVersionState> perStoreVersionStateMap = new VeniceConcurrentHashMap<>();
   private final Map<String, StoreDeserializerCache<GenericRecord>> storeDeserializerCacheMap =
@@ -158,6 +187,55 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
+  /**
+   * Identifies the fields a compute request reads from the values of a given value schema. The key is made of the
+   * projected field names rather than of the result schema string chosen by the client, so the number of entries is
+   * bounded by the field combinations of the value schemas, whatever the clients send.
+   */
+  private static class ComputeValueProjectionKey {
+    final String storeName;
+    final int valueSchemaId;
+    final List<String> projectedFieldNames;
+
+    ComputeValueProjectionKey(String storeName, int valueSchemaId, List<String> projectedFieldNames) {
+      this.storeName = storeName;
+      this.valueSchemaId = valueSchemaId;
+      this.projectedFieldNames = projectedFieldNames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ComputeValueProjectionKey that = (ComputeValueProjectionKey) o;
+      return valueSchemaId == that.valueSchemaId && storeName.equals(that.storeName)
+          && projectedFieldNames.equals(that.projectedFieldNames);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(storeName, valueSchemaId, projectedFieldNames);
+    }
+  }
+
+  /**
+   * The reader schema which only contains the value fields a compute request needs, along with the deserializers
+   * resolving the value schemas of the store against it.
+   */
+  private static class ComputeValueProjection {
+    final Schema schema;
+    final StoreDeserializerCache<GenericRecord> deserializerCache;
+
+    ComputeValueProjection(Schema schema, StoreDeserializerCache<GenericRecord> deserializerCache) {
+      this.schema = schema;
+      this.deserializerCache = deserializerCache;
+    }
+  }
+
   private static class ReusableObjects {
     /**
      * When constructing a {@link BinaryDecoder}, we pass in this 16 bytes array because if we pass anything
@@ -193,7 +271,11 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     final Map<String, Object> computeContext = new HashMap<>();
   }
 
-  private final ThreadLocal<ReusableObjects> threadLocalReusableObjects = ThreadLocal.withInitial(ReusableObjects::new);
+  /**
+   * Hands out the reusable objects of the compute tasks. The platform threads of the pools keep their own objects,
+   * while the virtual threads are started for each task, so they share a bounded pool of objects instead.
+   */
+  private final ObjectPool<ReusableObjects> reusableObjectsPool;
 
   public StorageReadRequestHandler(
       VeniceServerConfig serverConfig,
@@ -288,6 +370,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       KeyPartitionProfilerManager keyPartitionProfilerManager) {
     this.executor = executor;
     this.computeExecutor = computeExecutor;
+    this.reusableObjectsPool = computeExecutor instanceof VirtualThreadPerTaskExecutor
+        ? new BoundedObjectPool<>(computeExecutor.getMaximumPoolSize(), ReusableObjects::new)
+        : new ThreadLocalObjectPool<>(ReusableObjects::new);
     this.storageEngineRepository = storageEngineRepository;
     this.metadataRepository = metadataStoreRepository;
     this.schemaRepository = schemaRepository;
@@ -299,7 +384,13 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         ? FastSerializerDeserializerFactory::getFastAvroGenericSerializer
         : SerializerDeserializerFactory::getAvroGenericSerializer;
     this.computeResultSchemaCache = new VeniceConcurrentHashMap<>();
+    this.computeValueProjectionEnabled = serverConfig.isComputeValueProjectionEnabled();
+    this.computeCountByValueEnabled = serverConfig.isComputeCountByValueEnabled();
+    this.computeTopKEnabled = serverConfig.isComputeTopKEnabled();
     this.parallelBatchGetChunkSize = serverConfig.getParallelBatchGetChunkSize();
+    this.parallelBatchGetLocalityAwareEnabled = serverConfig.isParallelBatchGetLocalityAwareEnabled();
+    this.parallelBatchGetMaxChunkSize = serverConfig.getParallelBatchGetMaxChunkSize();
+    this.batchLookupEnabled = serverConfig.isBatchLookupEnabled();
     if (serverConfig.isEnableParallelBatchGet()) {
       this.multiGetHandler = this::handleMultiGetRequestInParallel;
       this.computeHandler = this::handleComputeRequestInParallel;
@@ -537,7 +628,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   }
 
   public CompletableFuture<ReadResponse> handleSingleGetRequest(GetRouterRequest request) {
-    final int queueLen = this.executor.getQueue().size();
+    final int queueLen = getQueueLength(this.executor, request);
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       if (request.shouldRequestBeTerminatedEarly()) {
@@ -576,7 +667,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       response.getStats().setStorageExecutionQueueLen(queueLen);
 
       return response;
-    }, executor);
+    }, getExecutor(executor, request));
   }
 
   private CompletableFuture<ReadResponse> handleMultiGetRequestInParallel(MultiGetRouterRequestWrapper request) {
@@ -585,6 +676,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
 
     return processBatchInParallel(
         keys,
+        MultiGetRouterRequestKeyV1::getPartitionId,
+        MultiGetRouterRequestKeyV1::getKeyBytes,
         requestContext.compressionStrategy,
         request,
         ParallelMultiKeyResponseWrapper::multiGet,
@@ -604,6 +697,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
 
   private <K, C extends RequestContext, R extends MultiKeyResponseWrapper> CompletableFuture<ReadResponse> processBatchInParallel(
       List<K> keys,
+      ToIntFunction<K> partitionIdGetter,
+      Function<K, ByteBuffer> keyBytesGetter,
       CompressionStrategy compressionStrategy,
       MultiKeyRouterRequestWrapper request,
       ParallelResponseProvider<R> parallelResponseProvider,
@@ -611,16 +706,30 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       ThreadPoolExecutor threadPoolExecutor,
       C requestContext,
       SingleBatchProcessor<K, C, R> batchProcessor) {
+    final Executor requestExecutor = getExecutor(threadPoolExecutor, request);
     int totalKeyNum = keys.size();
-    int chunkCount = (int) Math.ceil((double) totalKeyNum / this.parallelBatchGetChunkSize);
+    final List<K> keysToProcess = this.parallelBatchGetLocalityAwareEnabled
+        ? sortKeysByPartitionAndKeyBytes(keys, partitionIdGetter, keyBytesGetter)
+        : keys;
+    // Captured after the sort, so that the queue stats and the submission wait time only cover the time spent queued
+    final int queueLen = threadPoolExecutor.getQueue().size();
+    final int storeQueueLen = getQueueLength(threadPoolExecutor, request);
+    final long preSubmissionTimeNs = System.nanoTime();
+    final int chunkSize = this.parallelBatchGetLocalityAwareEnabled
+        ? getAdaptiveChunkSize(
+            totalKeyNum,
+            queueLen,
+            threadPoolExecutor.getMaximumPoolSize(),
+            this.parallelBatchGetChunkSize,
+            this.parallelBatchGetMaxChunkSize)
+        : this.parallelBatchGetChunkSize;
+    int chunkCount = (int) Math.ceil((double) totalKeyNum / chunkSize);
     ParallelMultiKeyResponseWrapper<R> responseWrapper =
-        parallelResponseProvider.get(chunkCount, this.parallelBatchGetChunkSize, individualResponseProvider);
+        parallelResponseProvider.get(chunkCount, chunkSize, individualResponseProvider);
     responseWrapper.setCompressionStrategy(compressionStrategy);
 
     CompletableFuture<Void>[] chunkFutures = new CompletableFuture[chunkCount];
 
-    final int queueLen = threadPoolExecutor.getQueue().size();
-    final long preSubmissionTimeNs = System.nanoTime();
     for (int cur = 0; cur < chunkCount; ++cur) {
       final int finalCur = cur;
       chunkFutures[cur] = CompletableFuture.runAsync(() -> {
@@ -630,13 +739,13 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           throw new VeniceRequestEarlyTerminationException(request.getStoreName());
         }
 
-        int startPos = finalCur * this.parallelBatchGetChunkSize;
-        int endPos = Math.min((finalCur + 1) * this.parallelBatchGetChunkSize, totalKeyNum);
+        int startPos = finalCur * chunkSize;
+        int endPos = Math.min((finalCur + 1) * chunkSize, totalKeyNum);
         R chunkOfResponse = responseWrapper.getChunk(finalCur);
-        batchProcessor.process(startPos, endPos, keys, requestContext, chunkOfResponse);
+        batchProcessor.process(startPos, endPos, keysToProcess, requestContext, chunkOfResponse);
 
         chunkOfResponse.getStats().setStorageExecutionSubmissionWaitTime(submissionWaitTime);
-      }, threadPoolExecutor);
+      }, requestExecutor);
     }
 
     return CompletableFuture.allOf(chunkFutures).handle((v, e) -> {
@@ -644,17 +753,57 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         throw new VeniceException(e);
       }
 
-      responseWrapper.getChunk(0).getStats().setStorageExecutionQueueLen(queueLen);
+      responseWrapper.getChunk(0).getStats().setStorageExecutionQueueLen(storeQueueLen);
       return responseWrapper;
     });
   }
 
+  /**
+   * Orders the keys of a request by partition, and by key bytes within each partition, following the byte-wise
+   * ordering of the storage engine. Contiguous chunks of the returned list then hit as few partitions as possible,
+   * and neighbouring keys are likely to share the same data blocks, which improves the block cache hit rate.
+   *
+   * The response records carry their own key index, so the processing order does not affect the response.
+   */
+  static <K> List<K> sortKeysByPartitionAndKeyBytes(
+      List<K> keys,
+      ToIntFunction<K> partitionIdGetter,
+      Function<K, ByteBuffer> keyBytesGetter) {
+    List<K> sortedKeys = new ArrayList<>(keys);
+    sortedKeys.sort((k1, k2) -> {
+      int result = Integer.compare(partitionIdGetter.applyAsInt(k1), partitionIdGetter.applyAsInt(k2));
+      return result != 0 ? result : ByteUtils.compare(keyBytesGetter.apply(k1), keyBytesGetter.apply(k2));
+    });
+    return sortedKeys;
+  }
+
+  /**
+   * Computes the chunk size of a locality-aware parallel batch get:
+   *
+   * 1. The keys are spread across the threads of the pool, so that a request does not produce more chunks than there
+   *    are threads to process them, but no chunk is smaller than {@param minChunkSize}.
+   * 2. The chunk size then grows with the depth of the queue. When the pool is already saturated, extra chunks only
+   *    add queueing and scheduling overhead, so fewer and larger chunks are preferable.
+   *
+   * The result is capped by {@param maxChunkSize}.
+   */
+  static int getAdaptiveChunkSize(int totalKeyNum, int queueLen, int poolSize, int minChunkSize, int maxChunkSize) {
+    int threadCount = Math.max(1, poolSize);
+    long chunkSize = Math.max(minChunkSize, (totalKeyNum + threadCount - 1) / threadCount);
+    chunkSize *= 1 + queueLen / threadCount;
+    return (int) Math.max(1, Math.min(chunkSize, Math.max(minChunkSize, maxChunkSize)));
+  }
+
   private void processMultiGet(
       int startPos,
       int endPos,
       List<MultiGetRouterRequestKeyV1> keys,
       RequestContext requestContext,
       MultiGetResponseWrapper response) {
+    if (this.batchLookupEnabled) {
+      processMultiGetInBatch(startPos, endPos, keys, requestContext, response);
+      return;
+    }
     MultiGetRouterRequestKeyV1 key;
     MultiGetResponseRecordV1 record;
     String storeName = requestContext.storeName;
@@ -674,30 +823,112 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           key.keyBytes,
           requestContext.isChunked,
           response.getStats());
-      if (record == null) {
-        response.getStats().incrementKeyNotFoundCount();
-        if (requestContext.isStreaming) {
-          // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
-          // non-existing keys in the response if the response is partial.
-          record = new MultiGetResponseRecordV1();
-          // Negative key index to indicate the non-existing keys
-          record.keyIndex = Math.negateExact(key.keyIndex);
-          record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
-          record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-          response.addRecord(record);
-        }
-      } else {
-        record.keyIndex = key.keyIndex;
-        response.addRecord(record);
-      }
+      addMultiGetRecord(key, record, requestContext, response);
     }
 
     // Trigger serialization
     response.getResponseBody();
   }
 
+  /**
+   * Same as {@link #processMultiGet}, except that the keys are grouped by partition and each group is looked up with
+   * a single {@link StorageEngine#multiGet} call, which amortizes the per-key overhead of the storage engine.
+   */
+  private void processMultiGetInBatch(
+      int startPos,
+      int endPos,
+      List<MultiGetRouterRequestKeyV1> keys,
+      RequestContext requestContext,
+      MultiGetResponseWrapper response) {
+    KeyPartitionProfiler profilerOrNull = resolveProfilerForRecord(requestContext.storeName);
+    Int2ObjectMap<List<MultiGetRouterRequestKeyV1>> keysByPartition =
+        groupKeysByPartition(startPos, endPos, keys, MultiGetRouterRequestKeyV1::getPartitionId);
+    for (Int2ObjectMap.Entry<List<MultiGetRouterRequestKeyV1>> entry: keysByPartition.int2ObjectEntrySet()) {
+      List<MultiGetRouterRequestKeyV1> partitionKeys = entry.getValue();
+      List<byte[]> keyBytesList = extractKeyBytes(
+          partitionKeys,
+          MultiGetRouterRequestKeyV1::getKeyBytes,
+          entry.getIntKey(),
+          profilerOrNull,
+          response.getStats());
+      BatchGetChunkingAdapter.getInBatch(
+          requestContext.storeVersion.storageEngine,
+          entry.getIntKey(),
+          keyBytesList,
+          requestContext.isChunked,
+          response.getStats(),
+          (index, record) -> addMultiGetRecord(partitionKeys.get(index), record, requestContext, response));
+    }
+
+    // Trigger serialization
+    response.getResponseBody();
+  }
+
+  private static void addMultiGetRecord(
+      MultiGetRouterRequestKeyV1 key,
+      MultiGetResponseRecordV1 record,
+      RequestContext requestContext,
+      MultiGetResponseWrapper response) {
+    if (record == null) {
+      response.getStats().incrementKeyNotFoundCount();
+      if (requestContext.isStreaming) {
+        // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
+        // non-existing keys in the response if the response is partial.
+        record = new MultiGetResponseRecordV1();
+        // Negative key index to indicate the non-existing keys
+        record.keyIndex = Math.negateExact(key.keyIndex);
+        record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
+        record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+        response.addRecord(record);
+      }
+    } else {
+      record.keyIndex = key.keyIndex;
+      response.addRecord(record);
+    }
+  }
+
+  private static <K> Int2ObjectMap<List<K>> groupKeysByPartition(
+      int startPos,
+      int endPos,
+      List<K> keys,
+      ToIntFunction<K> partitionIdGetter) {
+    Int2ObjectMap<List<K>> keysByPartition = new Int2ObjectOpenHashMap<>();
+    K key;
+    List<K> partitionKeys;
+    for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
+      key = keys.get(subChunkCur);
+      int partitionId = partitionIdGetter.applyAsInt(key);
+      partitionKeys = keysByPartition.get(partitionId);
+      if (partitionKeys == null) {
+        partitionKeys = new ArrayList<>();
+        keysByPartition.put(partitionId, partitionKeys);
+      }
+      partitionKeys.add(key);
+    }
+    return keysByPartition;
+  }
+
+  private static <K> List<byte[]> extractKeyBytes(
+      List<K> partitionKeys,
+      Function<K, ByteBuffer> keyBytesGetter,
+      int partitionId,
+      KeyPartitionProfiler profilerOrNull,
+      ReadResponseStats stats) {
+    List<byte[]> keyBytesList = new ArrayList<>(partitionKeys.size());
+    for (K key: partitionKeys) {
+      ByteBuffer keyBuffer = keyBytesGetter.apply(key);
+      stats.addKeySize(keyBuffer.remaining());
+      byte[] keyBytes = ByteUtils.extractByteArray(keyBuffer);
+      if (profilerOrNull != null) {
+        addProfilerRecord(profilerOrNull, keyBytes, partitionId);
+      }
+      keyBytesList.add(keyBytes);
+    }
+    return keyBytesList;
+  }
+
   public CompletableFuture<ReadResponse> handleMultiGetRequest(MultiGetRouterRequestWrapper request) {
-    final int queueLen = this.executor.getQueue().size();
+    final int queueLen = getQueueLength(this.executor, request);
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       double submissionWaitTime = LatencyUtils.getElapsedTimeFromNSToMS(preSubmissionTimeNs);
@@ -716,7 +947,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       responseWrapper.getStats().setStorageExecutionSubmissionWaitTime(submissionWaitTime);
       responseWrapper.getStats().setStorageExecutionQueueLen(queueLen);
       return responseWrapper;
-    }, executor);
+    }, getExecutor(executor, request));
   }
 
   private CompletableFuture<ReadResponse> handleComputeRequest(ComputeRouterRequestWrapper request) {
@@ -728,7 +959,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       return failFast;
     }
 
-    final int queueLen = this.computeExecutor.getQueue().size();
+    final int queueLen = getQueueLength(this.computeExecutor, request);
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       if (request.shouldRequestBeTerminatedEarly()) {
@@ -746,7 +977,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       response.getStats().setStorageExecutionSubmissionWaitTime(submissionWaitTime);
       response.getStats().setStorageExecutionQueueLen(queueLen);
       return response;
-    }, computeExecutor);
+    }, getExecutor(computeExecutor, request));
   }
 
   private CompletableFuture<ReadResponse> handleComputeRequestInParallel(ComputeRouterRequestWrapper request) {
@@ -763,6 +994,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
 
     return processBatchInParallel(
         keys,
+        ComputeRouterRequestKeyV1::getPartitionId,
+        ComputeRouterRequestKeyV1::getKeyBytes,
         CompressionStrategy.NO_OP,
         request,
         ParallelMultiKeyResponseWrapper::compute,
@@ -772,6 +1005,54 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         this::processCompute);
   }
 
+  /**
+   * @return the executor to submit the tasks of the given request to. When the thread pool queues the tasks per store,
+   *         the tasks are tagged with the store and the deadline of the request.
+   */
+  private static Executor getExecutor(ThreadPoolExecutor threadPoolExecutor, RouterRequest request) {
+    if (!(threadPoolExecutor.getQueue() instanceof WeightedFairBlockingQueue)) {
+      return threadPoolExecutor;
+    }
+    return task -> threadPoolExecutor.execute(new StoreTask(request, task));
+  }
+
+  /**
+   * @return the number of queued tasks ahead of the given request, which only counts the tasks of the same store when
+   *         the thread pool queues the tasks per store.
+   */
+  private static int getQueueLength(ThreadPoolExecutor threadPoolExecutor, RouterRequest request) {
+    BlockingQueue<Runnable> queue = threadPoolExecutor.getQueue();
+    if (queue instanceof WeightedFairBlockingQueue) {
+      return ((WeightedFairBlockingQueue) queue).size(request.getStoreName());
+    }
+    return queue.size();
+  }
+
+  private static class StoreTask implements WeightedFairBlockingQueue.KeyedTask {
+    private final RouterRequest request;
+    private final Runnable task;
+
+    StoreTask(RouterRequest request, Runnable task) {
+      this.request = request;
+      this.task = task;
+    }
+
+    @Override
+    public String getQueueKey() {
+      return request.getStoreName();
+    }
+
+    @Override
+    public boolean isExpired() {
+      return request.shouldRequestBeTerminatedEarly();
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+
   /**
    * The request context holds state which the server needs to compute once per query, and which is safe to share across
    * subtasks of the same query, as is the case when executing batch get and compute requests in parallel chunks.
@@ -800,11 +1081,37 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     final RecordSerializer<GenericRecord> resultSerializer;
     final List<ComputeOperation> operations;
     final List<Schema.Field> operationResultFields;
+    /**
+     * The schema and deserializers of the value records, which are projected on the fields the request needs when
+     * {@link VeniceServerConfig#isComputeValueProjectionEnabled()}.
+     */
+    final Schema valueRecordSchema;
+    final StoreDeserializerCache<GenericRecord> valueDeserializerCache;
+    /**
+     * The schema and serializer of the record holding the counts of the values of the fields the request asks to count,
+     * which are null if it does not ask for a count-by-value aggregation.
+     */
+    final Schema countByValueSchema;
+    final RecordSerializer<GenericRecord> countByValueSerializer;
+    final List<String> countByValueFieldNames;
+    /**
+     * The K and the score field of the results the request asks for, which is null if it asks for all the results.
+     */
+    final ComputeTopK topK;
 
     ComputeRequestContext(ComputeRouterRequestWrapper request, StorageReadRequestHandler handler) {
       super(request, handler);
       this.valueSchemaEntry = handler.getComputeValueSchema(request);
       this.resultSchema = handler.getComputeResultSchema(request.getComputeRequest(), valueSchemaEntry.getSchema());
+      ComputeValueProjection valueProjection =
+          handler.getComputeValueProjection(request, valueSchemaEntry, resultSchema);
+      if (valueProjection == null || valueProjection.deserializerCache == null) {
+        this.valueRecordSchema = valueSchemaEntry.getSchema();
+        this.valueDeserializerCache = storeVersion.storeDeserializerCache;
+      } else {
+        this.valueRecordSchema = valueProjection.schema;
+        this.valueDeserializerCache = valueProjection.deserializerCache;
+      }
       this.resultSerializer = handler.genericSerializerGetter.apply(resultSchema);
       this.compressor = handler.compressorFactory.getCompressor(
           this.compressionStrategy,
@@ -812,6 +1119,31 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           handler.serverConfig.getZstdDictCompressionLevel());
       this.operations = request.getComputeRequest().getOperations();
       this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
+      this.countByValueSchema = handler.getCountByValueSchema(request, resultSchema);
+      if (countByValueSchema == null) {
+        this.countByValueSerializer = null;
+        this.countByValueFieldNames = null;
+      } else {
+        this.countByValueSerializer = handler.genericSerializerGetter.apply(countByValueSchema);
+        this.countByValueFieldNames = request.getCountByValueFieldNames();
+      }
+      this.topK = countByValueSchema == null ? handler.getComputeTopK(request, resultSchema) : null;
+    }
+
+    /**
+     * @return a new aggregation for a subtask of the query, or null if the request does not ask for a count-by-value
+     *         aggregation
+     */
+    CountByValueAggregation newCountByValueAggregation() {
+      return countByValueSchema == null ? null : new CountByValueAggregation(countByValueFieldNames);
+    }
+
+    /**
+     * @return a new collector of the top K records of a subtask of the query, or null if the request asks for all the
+     *         results
+     */
+    ComputeTopK.Collector<ComputeResponseRecordV1> newTopKCollector() {
+      return topK == null ? null : topK.newCollector();
     }
   }
 
@@ -825,17 +1157,35 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
      * Reuse the same value record and result record instances for all values. This cannot be part of the
      * {@link ComputeRequestContext}, otherwise it could get contaminated across threads.
      */
-    ReusableObjects reusableObjects = threadLocalReusableObjects.get();
-    GenericRecord reusableValueRecord = reusableObjects.valueRecordMap
-        .computeIfAbsent(requestContext.valueSchemaEntry.getSchema(), GenericData.Record::new);
+    ReusableObjects reusableObjects = reusableObjectsPool.get();
+    try {
+      if (this.batchLookupEnabled) {
+        processComputeInBatch(startPos, endPos, keys, requestContext, response, reusableObjects);
+      } else {
+        processComputeByKey(startPos, endPos, keys, requestContext, response, reusableObjects);
+      }
+    } finally {
+      reusableObjectsPool.dispose(reusableObjects);
+    }
+  }
+
+  private void processComputeByKey(
+      int startPos,
+      int endPos,
+      List<ComputeRouterRequestKeyV1> keys,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response,
+      ReusableObjects reusableObjects) {
+    GenericRecord reusableValueRecord =
+        reusableObjects.valueRecordMap.computeIfAbsent(requestContext.valueRecordSchema, GenericData.Record::new);
     GenericRecord reusableResultRecord =
         reusableObjects.resultRecordMap.computeIfAbsent(requestContext.resultSchema, GenericData.Record::new);
     reusableObjects.computeContext.clear();
+    CountByValueAggregation countByValue = requestContext.newCountByValueAggregation();
+    ComputeTopK.Collector<ComputeResponseRecordV1> topKRecords = requestContext.newTopKCollector();
 
     int hits = 0;
-    long serializeStartTimeInNS, computeStartTimeInNS;
     ComputeRouterRequestKeyV1 key;
-    ComputeResponseRecordV1 record;
     String storeName = requestContext.storeName;
     KeyPartitionProfiler profilerOrNull = resolveProfilerForRecord(storeName);
     for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
@@ -846,7 +1196,6 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       if (profilerOrNull != null) {
         addProfilerRecord(profilerOrNull, keyBytes, key.getPartitionId());
       }
-      AvroRecordUtils.clearRecord(reusableResultRecord);
       reusableValueRecord = GenericRecordChunkingAdapter.INSTANCE.get(
           requestContext.storeVersion.storageEngine,
           key.getPartitionId(),
@@ -857,42 +1206,26 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           requestContext.isChunked,
           response.getStats(),
           requestContext.valueSchemaEntry.getId(),
-          requestContext.storeVersion.storeDeserializerCache,
+          requestContext.valueDeserializerCache,
           requestContext.compressor);
-      if (reusableValueRecord != null) {
-        computeStartTimeInNS = System.nanoTime();
-        reusableResultRecord = ComputeUtils.computeResult(
-            requestContext.operations,
-            requestContext.operationResultFields,
-            reusableObjects.computeContext,
-            reusableValueRecord,
-            reusableResultRecord);
-
-        serializeStartTimeInNS = System.nanoTime(); // N.B. This clock call is also used as the end of the compute time
-        record = new ComputeResponseRecordV1();
-        record.keyIndex = key.getKeyIndex();
-        record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(reusableResultRecord));
-
-        response.getStats()
-            .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
-        response.getStats()
-            .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
-        response.getStats().addReadComputeOutputSize(record.value.remaining());
-
-        response.addRecord(record);
+      if (addComputeRecord(
+          key,
+          reusableValueRecord,
+          reusableResultRecord,
+          reusableObjects,
+          requestContext,
+          countByValue,
+          topKRecords,
+          response)) {
         hits++;
-      } else {
-        response.getStats().incrementKeyNotFoundCount();
-        if (requestContext.isStreaming) {
-          // For streaming, we need to send back non-existing keys
-          record = new ComputeResponseRecordV1();
-          // Negative key index to indicate non-existing key
-          record.keyIndex = Math.negateExact(key.getKeyIndex());
-          record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-          response.addRecord(record);
-        }
       }
     }
+    if (countByValue != null) {
+      addCountByValueRecord(countByValue, requestContext, response);
+    }
+    if (topKRecords != null) {
+      addTopKRecords(topKRecords, response);
+    }
 
     // Trigger serialization
     response.getResponseBody();
@@ -900,6 +1233,181 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     incrementOperatorCounters(response.getStats(), requestContext.operations, hits);
   }
 
+  /**
+   * Same as {@link #processComputeByKey}, except that the keys are grouped by partition and each group is looked up
+   * with a single {@link StorageEngine#multiGet} call, which amortizes the per-key overhead of the storage engine.
+   */
+  private void processComputeInBatch(
+      int startPos,
+      int endPos,
+      List<ComputeRouterRequestKeyV1> keys,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response,
+      ReusableObjects reusableObjects) {
+    GenericRecord reusableValueRecord =
+        reusableObjects.valueRecordMap.computeIfAbsent(requestContext.valueRecordSchema, GenericData.Record::new);
+    GenericRecord reusableResultRecord =
+        reusableObjects.resultRecordMap.computeIfAbsent(requestContext.resultSchema, GenericData.Record::new);
+    reusableObjects.computeContext.clear();
+    CountByValueAggregation countByValue = requestContext.newCountByValueAggregation();
+    ComputeTopK.Collector<ComputeResponseRecordV1> topKRecords = requestContext.newTopKCollector();
+
+    int[] hits = new int[1];
+    KeyPartitionProfiler profilerOrNull = resolveProfilerForRecord(requestContext.storeName);
+    Int2ObjectMap<List<ComputeRouterRequestKeyV1>> keysByPartition =
+        groupKeysByPartition(startPos, endPos, keys, ComputeRouterRequestKeyV1::getPartitionId);
+    for (Int2ObjectMap.Entry<List<ComputeRouterRequestKeyV1>> entry: keysByPartition.int2ObjectEntrySet()) {
+      List<ComputeRouterRequestKeyV1> partitionKeys = entry.getValue();
+      List<byte[]> keyBytesList = extractKeyBytes(
+          partitionKeys,
+          ComputeRouterRequestKeyV1::getKeyBytes,
+          entry.getIntKey(),
+          profilerOrNull,
+          response.getStats());
+      GenericRecordChunkingAdapter.INSTANCE.getInBatch(
+          requestContext.storeVersion.storageEngine,
+          entry.getIntKey(),
+          keyBytesList,
+          reusableValueRecord,
+          reusableObjects.binaryDecoder,
+          requestContext.isChunked,
+          response.getStats(),
+          requestContext.valueSchemaEntry.getId(),
+          requestContext.valueDeserializerCache,
+          requestContext.compressor,
+          (index, valueRecord) -> {
+            if (addComputeRecord(
+                partitionKeys.get(index),
+                valueRecord,
+                reusableResultRecord,
+                reusableObjects,
+                requestContext,
+                countByValue,
+                topKRecords,
+                response)) {
+              hits[0]++;
+            }
+          });
+    }
+    if (countByValue != null) {
+      addCountByValueRecord(countByValue, requestContext, response);
+    }
+    if (topKRecords != null) {
+      addTopKRecords(topKRecords, response);
+    }
+
+    // Trigger serialization
+    response.getResponseBody();
+
+    incrementOperatorCounters(response.getStats(), requestContext.operations, hits[0]);
+  }
+
+  /**
+   * Runs the compute operations on the {@param valueRecord} and adds the result to the {@param response}, or to the
+   * {@param countByValue} aggregation or the {@param topKRecords} if the request asks for one of them.
+   *
+   * @return true if the key exists, false otherwise.
+   */
+  private static boolean addComputeRecord(
+      ComputeRouterRequestKeyV1 key,
+      GenericRecord valueRecord,
+      GenericRecord reusableResultRecord,
+      ReusableObjects reusableObjects,
+      ComputeRequestContext requestContext,
+      CountByValueAggregation countByValue,
+      ComputeTopK.Collector<ComputeResponseRecordV1> topKRecords,
+      ComputeResponseWrapper response) {
+    ComputeResponseRecordV1 record;
+    if (valueRecord != null) {
+      AvroRecordUtils.clearRecord(reusableResultRecord);
+      long computeStartTimeInNS = System.nanoTime();
+      GenericRecord resultRecord = ComputeUtils.computeResult(
+          requestContext.operations,
+          requestContext.operationResultFields,
+          reusableObjects.computeContext,
+          valueRecord,
+          reusableResultRecord);
+      if (countByValue != null) {
+        countByValue.add(key.getKeyIndex(), resultRecord);
+        response.getStats().addReadComputeLatency(LatencyUtils.getElapsedTimeFromNSToMS(computeStartTimeInNS));
+        return true;
+      }
+      double score = 0;
+      if (topKRecords != null) {
+        score = requestContext.topK.getScore(resultRecord);
+        if (!topKRecords.accepts(score)) {
+          // The result would not make it into the top K, so it is not serialized
+          response.getStats().addReadComputeLatency(LatencyUtils.getElapsedTimeFromNSToMS(computeStartTimeInNS));
+          return true;
+        }
+      }
+
+      // N.B. This clock call is also used as the end of the compute time
+      long serializeStartTimeInNS = System.nanoTime();
+      record = new ComputeResponseRecordV1();
+      record.keyIndex = key.getKeyIndex();
+      record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(resultRecord));
+
+      response.getStats()
+          .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
+      response.getStats()
+          .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
+
+      if (topKRecords != null) {
+        // The output size is only recorded for the records which end up in the response
+        topKRecords.add(score, record);
+        return true;
+      }
+      response.getStats().addReadComputeOutputSize(record.value.remaining());
+      response.addRecord(record);
+      return true;
+    }
+    response.getStats().incrementKeyNotFoundCount();
+    if (countByValue != null) {
+      countByValue.addMissingKey(key.getKeyIndex());
+    } else if (requestContext.isStreaming && topKRecords == null) {
+      // For streaming, we need to send back non-existing keys
+      record = new ComputeResponseRecordV1();
+      // Negative key index to indicate non-existing key
+      record.keyIndex = Math.negateExact(key.getKeyIndex());
+      record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+      response.addRecord(record);
+    }
+    return false;
+  }
+
+  /**
+   * Adds the record holding the counts of the values of the keys a subtask looked up, which replaces their records.
+   */
+  private static void addCountByValueRecord(
+      CountByValueAggregation countByValue,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response) {
+    long serializeStartTimeInNS = System.nanoTime();
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    record.keyIndex = StreamingConstants.KEY_ID_FOR_COUNT_BY_VALUE;
+    record.value = ByteBuffer.wrap(
+        requestContext.countByValueSerializer.serialize(countByValue.toRecord(requestContext.countByValueSchema)));
+
+    response.getStats()
+        .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
+    response.getStats().addReadComputeOutputSize(record.value.remaining());
+    response.addRecord(record);
+  }
+
+  /**
+   * Adds the top K records of a subtask, from the highest score to the lowest. The non-existing keys and the keys which
+   * did not make it into the top K are not reported, even for streaming requests.
+   */
+  private static void addTopKRecords(
+      ComputeTopK.Collector<ComputeResponseRecordV1> topKRecords,
+      ComputeResponseWrapper response) {
+    for (ComputeResponseRecordV1 record: topKRecords.getItems()) {
+      response.getStats().addReadComputeOutputSize(record.value.remaining());
+      response.addRecord(record);
+    }
+  }
+
   private BinaryResponse handleDictionaryFetchRequest(DictionaryFetchRequest request) {
     ByteBuffer dictionary = ingestionMetadataRetriever.getStoreVersionCompressionDictionary(request.getResourceName());
     return new BinaryResponse(dictionary);
@@ -929,6 +1437,73 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     return resultSchema;
   }
 
+  /**
+   * @return the projection of the value schema on the fields the compute request needs, or null if the projection is
+   *         disabled. The deserializers of the projection are null if the request needs all the fields.
+   */
+  private ComputeValueProjection getComputeValueProjection(
+      ComputeRouterRequestWrapper request,
+      SchemaEntry valueSchemaEntry,
+      Schema resultSchema) {
+    if (!computeValueProjectionEnabled) {
+      return null;
+    }
+    List<String> projectedFieldNames = ComputeUtils.getComputeValueProjectionFieldNames(
+        valueSchemaEntry.getSchema(),
+        resultSchema,
+        request.getComputeRequest().getOperations());
+    ComputeValueProjectionKey key =
+        new ComputeValueProjectionKey(request.getStoreName(), valueSchemaEntry.getId(), projectedFieldNames);
+    return computeValueProjectionCache.computeIfAbsent(key, k -> {
+      Schema projectionSchema =
+          ComputeUtils.getComputeValueProjectionSchema(valueSchemaEntry.getSchema(), projectedFieldNames);
+      if (projectionSchema == valueSchemaEntry.getSchema()) {
+        return new ComputeValueProjection(projectionSchema, null);
+      }
+      BiFunction<Schema, Schema, RecordDeserializer<GenericRecord>> deserializerGetter = this.fastAvroEnabled
+          ? FastSerializerDeserializerFactory::getFastAvroGenericDeserializer
+          : SerializerDeserializerFactory::getAvroGenericDeserializer;
+      // The chunking adapter requests the full value schema as reader schema, which is replaced by its projection
+      StoreDeserializerCache<GenericRecord> deserializerCache = new AvroStoreDeserializerCache<>(
+          id -> schemaRepository.getValueSchema(k.storeName, id).getSchema(),
+          (writerSchema, readerSchema) -> deserializerGetter.apply(writerSchema, projectionSchema));
+      return new ComputeValueProjection(projectionSchema, deserializerCache);
+    });
+  }
+
+  /**
+   * @return the schema of the record holding the counts of the values of the fields the request asks to count, or null
+   *         if it does not ask for a count-by-value aggregation, or if the aggregation is disabled. Retried requests
+   *         return the records of their keys, since their counts could overlap with the ones the client already has,
+   *         see {@link CountByValueAggregation}.
+   */
+  private Schema getCountByValueSchema(ComputeRouterRequestWrapper request, Schema resultSchema) {
+    List<String> fieldNames = request.getCountByValueFieldNames();
+    if (!computeCountByValueEnabled || fieldNames.isEmpty() || request.isRetryRequest()) {
+      return null;
+    }
+    List<Schema.Field> countedFields = new ArrayList<>(fieldNames.size());
+    for (String fieldName: fieldNames) {
+      // A missing field is rejected by the schema generation, and thus never cached
+      countedFields.add(resultSchema.getField(fieldName));
+    }
+    return computeCountByValueSchemaCache
+        .computeIfAbsent(countedFields, k -> CountByValueAggregation.getSchema(resultSchema, fieldNames));
+  }
+
+  /**
+   * @return the K and the score field of the results the request asks for, or null if it asks for all the results, or
+   *         if the top-K option is disabled.
+   */
+  private ComputeTopK getComputeTopK(ComputeRouterRequestWrapper request, Schema resultSchema) {
+    ComputeTopK topK = request.getTopK();
+    if (!computeTopKEnabled || topK == null) {
+      return null;
+    }
+    topK.validate(resultSchema);
+    return topK;
+  }
+
   private SchemaEntry getComputeValueSchema(ComputeRouterRequestWrapper request) {
     SchemaEntry superSetOrLatestValueSchema = schemaRepository.getSupersetOrLatestValueSchema(request.getStoreName());
     return request.getValueSchemaId() != SchemaData.INVALID_VALUE_SCHEMA_ID
@@ -3,7 +3,9 @@ package com.linkedin.venice.listener.request;
 import static com.linkedin.venice.compute.ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST;
 
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compute.ComputeTopK;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -26,18 +28,24 @@ public class ComputeRouterRequestWrapper extends MultiKeyRouterRequestWrapper<Co
 
   private final ComputeRequest computeRequest;
   private int valueSchemaId = -1;
+  private final List<String> countByValueFieldNames;
+  private final ComputeTopK topK;
 
   private ComputeRouterRequestWrapper(
       String resourceName,
       ComputeRequest computeRequest,
       List<ComputeRouterRequestKeyV1> keys,
       HttpRequest request,
-      String schemaId) {
+      String schemaId,
+      String countByValueFields,
+      String topK) {
     super(resourceName, keys, request);
     this.computeRequest = computeRequest;
     if (schemaId != null) {
       this.valueSchemaId = Integer.parseInt(schemaId);
     }
+    this.countByValueFieldNames = CountByValueAggregation.parseFieldNames(countByValueFields);
+    this.topK = ComputeTopK.parseHeader(topK);
   }
 
   public static ComputeRouterRequestWrapper parseComputeRequest(FullHttpRequest httpRequest, String[] requestParts) {
@@ -69,7 +77,16 @@ public class ComputeRouterRequestWrapper extends MultiKeyRouterRequestWrapper<Co
 
     List<ComputeRouterRequestKeyV1> keys = DESERIALIZER.deserializeObjects(decoder);
     String schemaId = httpRequest.headers().get(HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID);
-    return new ComputeRouterRequestWrapper(resourceName, computeRequest, keys, httpRequest, schemaId);
+    String countByValueFields = httpRequest.headers().get(HttpConstants.VENICE_COMPUTE_COUNT_BY_VALUE_FIELDS);
+    String topK = httpRequest.headers().get(HttpConstants.VENICE_COMPUTE_TOP_K);
+    return new ComputeRouterRequestWrapper(
+        resourceName,
+        computeRequest,
+        keys,
+        httpRequest,
+        schemaId,
+        countByValueFields,
+        topK);
   }
 
   public ComputeRequest getComputeRequest() {
@@ -80,6 +97,20 @@ public class ComputeRouterRequestWrapper extends MultiKeyRouterRequestWrapper<Co
     return valueSchemaId;
   }
 
+  /**
+   * @return the fields whose values the client asked to count instead of returning them for each key, or an empty list
+   */
+  public List<String> getCountByValueFieldNames() {
+    return countByValueFieldNames;
+  }
+
+  /**
+   * @return the K and the score field of the results the client asked for, or null if it asked for all the results
+   */
+  public ComputeTopK getTopK() {
+    return topK;
+  }
+
   public String toString() {
     return "ComputeRouterRequestWrapper(storeName: " + getStoreName() + ", key count: " + getKeyCount() + ")";
   }
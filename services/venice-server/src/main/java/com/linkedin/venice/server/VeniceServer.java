@@ -533,7 +533,8 @@ public class VeniceServer {
           serverConfig.getBlobTransferServiceWriteLimitBytesPerSec(),
           serverConfig.getSnapshotCleanupIntervalInMins(),
           serverConfig.getMaxConcurrentBlobReceiveReplicas(),
-          serverConfig.getBlobTransferClientNettyWorkerThreadCount());
+          serverConfig.getBlobTransferClientNettyWorkerThreadCount(),
+          serverConfig.getBlobTransferMaxParallelPeersPerReplica());
       VeniceAdaptiveBlobTransferTrafficThrottler writeThrottler = null;
       VeniceAdaptiveBlobTransferTrafficThrottler readThrottler = null;
       if (serverConfig.isAdaptiveThrottlerEnabled() && serverConfig.isBlobTransferAdaptiveThrottlerEnabled()) {
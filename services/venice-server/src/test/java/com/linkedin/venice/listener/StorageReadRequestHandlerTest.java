@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.*;
 
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.kafka.consumer.PartitionConsumptionState;
@@ -43,7 +44,9 @@ import com.linkedin.venice.client.store.AvroGenericReadComputeStoreClient;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.NoopCompressor;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.ComputeTopK;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.CountByValueAggregation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
@@ -116,7 +119,9 @@ import com.linkedin.venice.stats.dimensions.VeniceResponseStatusCategory;
 import com.linkedin.venice.storage.protocol.ChunkId;
 import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.streaming.StreamingConstants;
 import com.linkedin.venice.streaming.StreamingUtils;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.DataProviderUtils;
 import com.linkedin.venice.utils.ValueSize;
 import com.linkedin.venice.utils.concurrent.BlockingQueueType;
@@ -151,6 +156,7 @@ import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.OptimizedBinaryDecoderFactory;
+import org.apache.avro.util.Utf8;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -797,6 +803,248 @@ public class StorageReadRequestHandlerTest {
     }
   }
 
+  @Test
+  public void testHandleComputeRequestWithValueProjection() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+    doReturn(true).when(serverConfig).isComputeValueProjectionEnabled();
+
+    String keyString = "test-key";
+    GenericRecord valueRecord = new GenericData.Record(
+        SchemaBuilder.record("SampleSchema")
+            .fields()
+            .requiredBytes("payload")
+            .name("listField")
+            .type()
+            .array()
+            .items()
+            .floatType()
+            .noDefault()
+            .requiredString("name")
+            .endRecord());
+    valueRecord.put("payload", ByteBuffer.wrap(new byte[1024]));
+    valueRecord.put("listField", Arrays.asList(1.0f, 2.0f));
+    valueRecord.put("name", "foo");
+
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueRecord.getSchema());
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    int partition = 1;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueRecord.getSchema());
+    byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+    doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyString.getBytes()), any());
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeRequestBuilderV3<>(storeClient, getMockSchemaReader(keySchema, valueRecord.getSchema()))
+        .project("name")
+        .dotProduct("listField", Arrays.asList(3.0f, 4.0f), "dotProduct")
+        .execute(Collections.singleton(keyString));
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(requestCaptor.getValue().serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    ComputeRouterRequestKeyV1 key = new ComputeRouterRequestKeyV1(0, ByteBuffer.wrap(keyString.getBytes()), partition);
+    doReturn(Collections.singletonList(key)).when(request).getKeys();
+    doReturn(1).when(request).getKeyCount();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    List<ComputeResponseRecordV1> records =
+        responseDeserializer.deserializeObjects(computeResponse.getResponseBody().array());
+    assertEquals(records.size(), 1);
+    Schema resultSchema = new Schema.Parser().parse(computeRequest.getResultSchemaStr().toString());
+    GenericRecord result = SerializerDeserializerFactory.<GenericRecord>getAvroGenericDeserializer(resultSchema)
+        .deserialize(records.get(0).getValue());
+    assertEquals(result.get("dotProduct"), 11.0f);
+    assertEquals(result.get("name").toString(), "foo");
+
+    // A result schema with another field order reuses the projection of the same value fields
+    List<Schema.Field> reversedFields = new ArrayList<>();
+    for (Schema.Field field: resultSchema.getFields()) {
+      reversedFields.add(0, AvroCompatibilityHelper.newField(field).build());
+    }
+    Schema reversedResultSchema = Schema.createRecord(
+        resultSchema.getName(),
+        resultSchema.getDoc(),
+        resultSchema.getNamespace(),
+        resultSchema.isError());
+    reversedResultSchema.setFields(reversedFields);
+    computeRequest.setResultSchemaStr(new Utf8(reversedResultSchema.toString()));
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(2)).writeAndFlush(argumentCaptor.capture());
+    computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    records = responseDeserializer.deserializeObjects(computeResponse.getResponseBody().array());
+    assertEquals(records.size(), 1);
+    result = SerializerDeserializerFactory.<GenericRecord>getAvroGenericDeserializer(reversedResultSchema)
+        .deserialize(records.get(0).getValue());
+    assertEquals(result.get("dotProduct"), 11.0f);
+    assertEquals(result.get("name").toString(), "foo");
+  }
+
+  @Test
+  public void testHandleComputeRequestWithCountByValue() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+    doReturn(true).when(serverConfig).isComputeCountByValueEnabled();
+
+    Schema valueSchema = SchemaBuilder.record("SampleSchema").fields().requiredString("name").endRecord();
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueSchema);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    int partition = 1;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueSchema);
+    String[] names = { "foo", "bar", "foo", null };
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>();
+    for (int i = 0; i < names.length; i++) {
+      byte[] keyBytes = ("key" + i).getBytes();
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(keyBytes), partition));
+      if (names[i] != null) {
+        GenericRecord valueRecord = new GenericData.Record(valueSchema);
+        valueRecord.put("name", names[i]);
+        byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+        doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyBytes), any());
+      }
+    }
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeRequestBuilderV3<>(storeClient, getMockSchemaReader(keySchema, valueSchema)).project("name")
+        .execute(Collections.singleton("key0"));
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(requestCaptor.getValue().serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    doReturn(keys).when(request).getKeys();
+    doReturn(keys.size()).when(request).getKeyCount();
+    doReturn(Collections.singletonList("name")).when(request).getCountByValueFieldNames();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    List<ComputeResponseRecordV1> records =
+        responseDeserializer.deserializeObjects(computeResponse.getResponseBody().array());
+    // A single record holds the counts of all the keys
+    assertEquals(records.size(), 1);
+    assertEquals(records.get(0).getKeyIndex(), StreamingConstants.KEY_ID_FOR_COUNT_BY_VALUE);
+    Schema resultSchema = new Schema.Parser().parse(computeRequest.getResultSchemaStr().toString());
+    Schema countByValueSchema = CountByValueAggregation.getSchema(resultSchema, Collections.singletonList("name"));
+    CountByValueAggregation countByValue = CountByValueAggregation.fromRecord(
+        SerializerDeserializerFactory.<GenericRecord>getAvroGenericDeserializer(countByValueSchema)
+            .deserialize(records.get(0).getValue()));
+    assertEquals(countByValue.getKeyIndexes(), Arrays.asList(0, 1, 2, 3));
+    Map<String, Integer> expectedCounts = new HashMap<>();
+    expectedCounts.put("foo", 2);
+    expectedCounts.put("bar", 1);
+    assertEquals(countByValue.getValueToCount("name"), expectedCounts);
+
+    // A retried request gets the records of the keys which exist
+    doReturn(true).when(request).isRetryRequest();
+    requestHandler.channelRead(context, request);
+    verify(context, times(2)).writeAndFlush(argumentCaptor.capture());
+    records = responseDeserializer
+        .deserializeObjects(((ComputeResponseWrapper) argumentCaptor.getValue()).getResponseBody().array());
+    assertEquals(records.size(), 3);
+    for (ComputeResponseRecordV1 record: records) {
+      assertNotEquals(record.getKeyIndex(), StreamingConstants.KEY_ID_FOR_COUNT_BY_VALUE);
+    }
+  }
+
+  @Test
+  public void testHandleComputeRequestWithTopK() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+    doReturn(true).when(serverConfig).isComputeTopKEnabled();
+
+    Schema valueSchema = SchemaBuilder.record("SampleSchema").fields().requiredFloat("score").endRecord();
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueSchema);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    int partition = 1;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueSchema);
+    Float[] scores = { 0.5f, 2.0f, null, 1.0f, 3.0f };
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>();
+    for (int i = 0; i < scores.length; i++) {
+      byte[] keyBytes = ("key" + i).getBytes();
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(keyBytes), partition));
+      if (scores[i] != null) {
+        GenericRecord valueRecord = new GenericData.Record(valueSchema);
+        valueRecord.put("score", scores[i]);
+        byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+        doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyBytes), any());
+      }
+    }
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeRequestBuilderV3<>(storeClient, getMockSchemaReader(keySchema, valueSchema)).project("score")
+        .execute(Collections.singleton("key0"));
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(requestCaptor.getValue().serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(true).when(request).isStreamingRequest();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    doReturn(keys).when(request).getKeys();
+    doReturn(keys.size()).when(request).getKeyCount();
+    doReturn(new ComputeTopK("score", 2)).when(request).getTopK();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    List<ComputeResponseRecordV1> records =
+        responseDeserializer.deserializeObjects(computeResponse.getResponseBody().array());
+    // Only the records with the two highest scores are returned, and the non-existing key is not reported
+    assertEquals(records.size(), 2);
+    Schema resultSchema = new Schema.Parser().parse(computeRequest.getResultSchemaStr().toString());
+    RecordDeserializer<GenericRecord> resultDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(resultSchema);
+    assertEquals(records.get(0).getKeyIndex(), 4);
+    assertEquals(resultDeserializer.deserialize(records.get(0).getValue()).get("score"), 3.0f);
+    assertEquals(records.get(1).getKeyIndex(), 1);
+    assertEquals(resultDeserializer.deserialize(records.get(1).getValue()).get("score"), 2.0f);
+  }
+
   /**
    * There was a regression where the "perStoreVersionStateMap" inside {@link StorageReadRequestHandler} could be stale
    * during rebalance. In the following rebalance scenario, the storage engine reference in the map would be stale:
@@ -988,6 +1236,158 @@ public class StorageReadRequestHandlerTest {
     assertEquals(((AbstractReadResponseStats) responseObject.getStats()).getKeyNotFoundCount(), missingRecordCount);
   }
 
+  @Test
+  public void testMultiGetWithBatchLookup() throws Exception {
+    int recordCount = 20;
+    int partitionCount = 3;
+    RecordSerializer<MultiGetRouterRequestKeyV1> serializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$);
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>();
+    VeniceKafkaSerializer keySerializer = new VeniceAvroKafkaSerializer("\"string\"");
+    Map<ByteBuffer, byte[]> storedValues = new HashMap<>();
+    Map<Integer, String> expectedValues = new HashMap<>();
+
+    for (int i = 0; i < recordCount; ++i) {
+      MultiGetRouterRequestKeyV1 requestKey = new MultiGetRouterRequestKeyV1();
+      byte[] keyBytes = keySerializer.serialize(null, "key_" + i);
+      requestKey.keyBytes = ByteBuffer.wrap(keyBytes);
+      requestKey.keyIndex = i;
+      requestKey.partitionId = i % partitionCount;
+      // Every 4th key is missing
+      if (i % 4 != 0) {
+        String valueString = "value_" + i;
+        storedValues.put(ByteBuffer.wrap(keyBytes), ValueRecord.create(1, valueString.getBytes()).serialize());
+        expectedValues.put(i, valueString);
+      }
+      keys.add(requestKey);
+    }
+    Set<Integer> lookedUpPartitions = new HashSet<>();
+    doAnswer(invocation -> {
+      lookedUpPartitions.add(invocation.getArgument(0));
+      List<byte[]> keysToLookUp = invocation.getArgument(1);
+      List<byte[]> values = new ArrayList<>(keysToLookUp.size());
+      keysToLookUp.forEach(k -> values.add(storedValues.get(ByteBuffer.wrap(k))));
+      return values;
+    }).when(storageEngine).multiGet(anyInt(), any());
+    doReturn(true).when(serverConfig).isBatchLookupEnabled();
+
+    String uri = "/" + TYPE_STORAGE + "/test-topic_v1";
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri);
+    httpRequest.headers()
+        .set(
+            HttpConstants.VENICE_API_VERSION,
+            ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion());
+    httpRequest.content().writeBytes(serializer.serializeObjects(keys));
+    MultiGetRouterRequestWrapper request = MultiGetRouterRequestWrapper
+        .parseMultiGetHttpRequest(httpRequest, RequestHelper.getRequestParts(URI.create(uri)));
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, timeout(1000).times(1)).writeAndFlush(argumentCaptor.capture());
+    verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class));
+    assertEquals(lookedUpPartitions.size(), partitionCount);
+    MultiGetResponseWrapper responseObject = (MultiGetResponseWrapper) argumentCaptor.getValue();
+    assertEquals(
+        ((AbstractReadResponseStats) responseObject.getStats()).getKeyNotFoundCount(),
+        recordCount - expectedValues.size());
+    RecordDeserializer<MultiGetResponseRecordV1> deserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(MultiGetResponseRecordV1.class);
+    byte[] responseBytes = new byte[responseObject.getResponseBody().readableBytes()];
+    responseObject.getResponseBody().getBytes(0, responseBytes);
+    Map<Integer, String> results = new HashMap<>();
+    deserializer.deserializeObjects(responseBytes)
+        .forEach(r -> results.put(r.keyIndex, new String(ByteUtils.extractByteArray(r.value), StandardCharsets.UTF_8)));
+    assertEquals(results, expectedValues);
+  }
+
+  @Test
+  public void testSortKeysByPartitionAndKeyBytes() {
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>();
+    int[][] partitionAndKeys = { { 2, 1 }, { 0, 3 }, { 1, 2 }, { 0, -1 }, { 2, 0 }, { 0, 1 } };
+    for (int i = 0; i < partitionAndKeys.length; i++) {
+      MultiGetRouterRequestKeyV1 requestKey = new MultiGetRouterRequestKeyV1();
+      requestKey.keyIndex = i;
+      requestKey.partitionId = partitionAndKeys[i][0];
+      requestKey.keyBytes = ByteBuffer.wrap(new byte[] { 7, (byte) partitionAndKeys[i][1] });
+      keys.add(requestKey);
+    }
+    List<MultiGetRouterRequestKeyV1> sortedKeys = StorageReadRequestHandler.sortKeysByPartitionAndKeyBytes(
+        keys,
+        MultiGetRouterRequestKeyV1::getPartitionId,
+        MultiGetRouterRequestKeyV1::getKeyBytes);
+    List<Integer> sortedKeyIndices = new ArrayList<>();
+    sortedKeys.forEach(k -> sortedKeyIndices.add(k.keyIndex));
+    // Key bytes are compared as unsigned values, so -1 (0xFF) sorts last within partition 0
+    assertEquals(sortedKeyIndices, Arrays.asList(5, 1, 3, 2, 4, 0));
+    // The input list is left untouched
+    assertEquals(keys.get(0).keyIndex, 0);
+  }
+
+  @Test
+  public void testGetAdaptiveChunkSize() {
+    // Keys are spread across the pool threads, but chunks never go below the min chunk size
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(1000, 0, 10, 5, 200), 100);
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(20, 0, 10, 5, 200), 5);
+    // Chunks grow with the queue depth
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(20, 10, 10, 5, 200), 10);
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(20, 35, 10, 5, 200), 20);
+    // And are capped by the max chunk size
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(1000, 100, 10, 5, 200), 200);
+    assertEquals(StorageReadRequestHandler.getAdaptiveChunkSize(5000, 0, 10, 5, 200), 200);
+  }
+
+  @Test
+  public void testParallelMultiGetWithLocalityAwareChunking() throws Exception {
+    int recordCount = 200;
+    int partitionCount = 4;
+    RecordSerializer<MultiGetRouterRequestKeyV1> serializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$);
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>();
+    VeniceKafkaSerializer keySerializer = new VeniceAvroKafkaSerializer("\"string\"");
+    Map<Integer, String> expectedValues = new HashMap<>();
+    for (int i = 0; i < recordCount; ++i) {
+      MultiGetRouterRequestKeyV1 requestKey = new MultiGetRouterRequestKeyV1();
+      byte[] keyBytes = keySerializer.serialize(null, "key_" + i);
+      requestKey.keyBytes = ByteBuffer.wrap(keyBytes);
+      requestKey.keyIndex = i;
+      requestKey.partitionId = i % partitionCount;
+      String valueString = "value_" + i;
+      doReturn(ValueRecord.create(1, valueString.getBytes()).serialize()).when(storageEngine)
+          .get(requestKey.partitionId, ByteBuffer.wrap(keyBytes));
+      expectedValues.put(i, valueString);
+      keys.add(requestKey);
+    }
+    doReturn(true).when(serverConfig).isEnableParallelBatchGet();
+    doReturn(5).when(serverConfig).getParallelBatchGetChunkSize();
+    doReturn(true).when(serverConfig).isParallelBatchGetLocalityAwareEnabled();
+    doReturn(100).when(serverConfig).getParallelBatchGetMaxChunkSize();
+
+    String uri = "/" + TYPE_STORAGE + "/test-topic_v1";
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri);
+    httpRequest.headers()
+        .set(
+            HttpConstants.VENICE_API_VERSION,
+            ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion());
+    httpRequest.content().writeBytes(serializer.serializeObjects(keys));
+    MultiGetRouterRequestWrapper request = MultiGetRouterRequestWrapper
+        .parseMultiGetHttpRequest(httpRequest, RequestHelper.getRequestParts(URI.create(uri)));
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler(true, MultiGetResponseWrapper::new);
+    requestHandler.channelRead(context, request);
+
+    verify(context, timeout(10000).times(1)).writeAndFlush(argumentCaptor.capture());
+    AbstractReadResponse responseObject = (AbstractReadResponse) argumentCaptor.getValue();
+    RecordDeserializer<MultiGetResponseRecordV1> deserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(MultiGetResponseRecordV1.class);
+    byte[] responseBytes = new byte[responseObject.getResponseBody().readableBytes()];
+    responseObject.getResponseBody().getBytes(0, responseBytes);
+    Map<Integer, String> results = new HashMap<>();
+    deserializer.deserializeObjects(responseBytes)
+        .forEach(r -> results.put(r.keyIndex, new String(ByteUtils.extractByteArray(r.value), StandardCharsets.UTF_8)));
+    assertEquals(results, expectedValues);
+  }
+
   @Test
   public void testComputeWithKeyNotFound() throws Exception {
     int recordCount = 2;